@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.ConcreteCall;
+import cascading.operation.Function;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.TupleEntryCollector;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Invokes a Cascading {@link Function} outside of a flow, the way a task would: prepared once, then operated on each
+ * argument entry.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public final class FunctionInvoker {
+
+  private final Function function;
+  private final ConcreteCall call;
+  private final CountingCollector collector = new CountingCollector();
+
+  public FunctionInvoker(@NonNull Function function, @NonNull Fields argumentFields) {
+    this.function = function;
+    this.call = new ConcreteCall(argumentFields);
+    this.call.setOutputCollector(collector);
+
+    function.prepare(FlowProcess.NULL, call);
+  }
+
+  /**
+   * Returns the {@link Function} a row-based plan element adds to a pipe.
+   */
+  public static Function getFunction(@NonNull Pipe pipe) {
+    return (Function) ((Each) pipe).getOperation();
+  }
+
+  /**
+   * Operates on {@code arguments} and returns the number of tuples emitted so far.
+   */
+  public long invoke(@NonNull TupleEntry arguments) {
+    call.setArguments(arguments);
+    function.operate(FlowProcess.NULL, call);
+
+    return collector.getCount();
+  }
+
+  public void cleanup() {
+    function.cleanup(FlowProcess.NULL, call);
+  }
+
+  private static final class CountingCollector extends TupleEntryCollector {
+
+    @Getter
+    private long count;
+
+    @Override
+    protected void collect(TupleEntry tupleEntry) {
+      count++;
+    }
+
+  }
+
+}
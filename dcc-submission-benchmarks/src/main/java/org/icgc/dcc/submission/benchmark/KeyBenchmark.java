@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.validation.key.core.KVKeyType.PK;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.key.core.KVFileType;
+import org.icgc.dcc.submission.validation.key.data.KVEncounteredForeignKeys;
+import org.icgc.dcc.submission.validation.key.data.KVKey;
+import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
+import org.icgc.dcc.submission.validation.key.data.KVRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Lists;
+
+import lombok.val;
+
+/**
+ * Key extraction and the key set operations of the key validation, in keys per second.
+ * <p>
+ * The schemas are chosen for their primary key sizes (1 to 3 fields).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(KeyBenchmark.KEYS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KeyBenchmark {
+
+  static final int KEYS = 16384;
+
+  private static final String FILE_NAME = "benchmark.txt";
+
+  @Param({ "donor", "ssm_m", "biomarker" })
+  public String fileSchemaName;
+
+  private List<List<String>> rows;
+  private List<Integer> indices;
+  private KVKey[] keys;
+  private KVRow[] kvRows;
+  private KVPrimaryKeys primaryKeys;
+  private KVEncounteredForeignKeys encounteredKeys;
+
+  @Setup
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+    val fileSchema = submission.getFileSchema(fileSchemaName);
+    val fieldNames = fileSchema.getFieldNames();
+    val fileType = KVFileType.valueOf(fileSchemaName.toUpperCase());
+
+    indices = Lists.newArrayList();
+    for (val uniqueField : fileSchema.getUniqueFields()) {
+      indices.add(fieldNames.indexOf(uniqueField));
+    }
+    checkState(!indices.isEmpty(), "No primary key for '%s'", fileSchemaName);
+
+    rows = submission.generateRows(fileSchema, KEYS);
+    keys = new KVKey[KEYS];
+    kvRows = new KVRow[KEYS];
+    primaryKeys = new KVPrimaryKeys();
+    encounteredKeys = new KVEncounteredForeignKeys();
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = KVKey.from(rows.get(i), indices);
+      kvRows[i] = new KVRow(ImmutableTable.of(PK, fileType, keys[i]));
+      primaryKeys.updatePks(FILE_NAME, kvRows[i]);
+      encounteredKeys.addEncounteredForeignKey(keys[i]);
+    }
+  }
+
+  @Benchmark
+  public void from(Blackhole blackhole) {
+    for (val row : rows) {
+      blackhole.consume(KVKey.from(row, indices));
+    }
+  }
+
+  @Benchmark
+  public KVKey[] sort() {
+    val sorted = Arrays.copyOf(keys, KEYS);
+    Arrays.sort(sorted);
+
+    return sorted;
+  }
+
+  @Benchmark
+  public KVPrimaryKeys updatePks() {
+    val pks = new KVPrimaryKeys();
+    for (val row : kvRows) {
+      pks.updatePks(FILE_NAME, row);
+    }
+
+    return pks;
+  }
+
+  @Benchmark
+  public int containsPk() {
+    int contained = 0;
+    for (val key : keys) {
+      if (primaryKeys.containsPk(key)) {
+        contained++;
+      }
+    }
+
+    return contained;
+  }
+
+  @Benchmark
+  public KVEncounteredForeignKeys addEncounteredForeignKey() {
+    val fks = new KVEncounteredForeignKeys();
+    for (val key : keys) {
+      fks.addEncounteredForeignKey(key);
+    }
+
+    return fks;
+  }
+
+  @Benchmark
+  public int encountered() {
+    int encountered = 0;
+    for (val key : keys) {
+      if (encounteredKeys.encountered(key)) {
+        encountered++;
+      }
+    }
+
+    return encountered;
+  }
+
+}
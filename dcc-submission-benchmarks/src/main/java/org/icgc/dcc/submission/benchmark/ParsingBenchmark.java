@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.parser.FileLineMapParser;
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.icgc.dcc.submission.validation.core.AbstractValidationContext;
+import org.icgc.dcc.submission.validation.first.file.RowCharsetChecker;
+import org.icgc.dcc.submission.validation.first.file.RowNoOpChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Line parsing and row level first pass checks, in rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(ParsingBenchmark.ROWS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParsingBenchmark {
+
+  static final int ROWS = 1024;
+
+  @Param({ "donor", "specimen", "sample", "ssm_m", "ssm_p", "cnsm_p" })
+  public String fileSchemaName;
+
+  private FileSchema fileSchema;
+  private List<String> lines;
+  private FileLineMapParser parser;
+  private RowCharsetChecker charsetChecker;
+
+  @Setup
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+    fileSchema = submission.getFileSchema(fileSchemaName);
+    lines = submission.generateLines(fileSchema, ROWS);
+    parser = new FileLineMapParser(fileSchema);
+
+    val context = new BenchmarkValidationContext(submission.getDictionary());
+    charsetChecker = new RowCharsetChecker(new RowNoOpChecker(context, null));
+  }
+
+  @Benchmark
+  public void parseLine(Blackhole blackhole) {
+    for (val line : lines) {
+      blackhole.consume(parser.parse(line));
+    }
+  }
+
+  @Benchmark
+  public void checkRowCharset() {
+    long lineNumber = 1;
+    for (val line : lines) {
+      charsetChecker.checkRow(fileSchemaName, fileSchema, line, lineNumber++);
+    }
+  }
+
+  /**
+   * Only what the row checkers need: the dictionary and somewhere to report (unexpected) errors to.
+   */
+  @RequiredArgsConstructor
+  private static class BenchmarkValidationContext extends AbstractValidationContext {
+
+    private final Dictionary dictionary;
+
+    @Override
+    public Dictionary getDictionary() {
+      return dictionary;
+    }
+
+    @Override
+    public Map<String, Submission> getReleaseSubmissions() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<CodeList> getCodeLists() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getOutputDirPath() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reportError(Error error) {
+      throw new IllegalStateException("Synthetic data is expected to be valid: " + error);
+    }
+
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.File;
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.core.model.DataType.DataTypes;
+import org.icgc.dcc.common.core.util.Joiners;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.validation.platform.HadoopSubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.core.PlanMode;
+import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
+import org.icgc.dcc.submission.validation.primary.planner.Planner;
+import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.DiscreteValuesRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RegexRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RequiredRestriction;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import cascading.cascade.Cascade;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Wall time of the primary validation of a project of small files, per {@link PlanMode}, on the Hadoop local job
+ * runner.
+ * <p>
+ * Each invocation plans, connects and completes the cascade of {@code files} synthetic clinical files, so that the
+ * per-job overhead of the {@link PlanMode#PER_FILE} mode, which runs at least one job per report of each file, is
+ * compared to the constant number of jobs of the {@link PlanMode#COALESCED} mode. The number of jobs of the last
+ * invocation is reported as the {@code jobs} secondary result, e.g. with:
+ *
+ * <pre>
+ * $ java -jar target/benchmarks.jar PlanModeBenchmark -p files=40
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PlanModeBenchmark {
+
+  private static final String[] FILE_SCHEMA_NAMES = { "donor", "specimen", "sample" };
+  private static final int ROWS = 1000;
+
+  private static final Map<String, String> HADOOP_PROPERTIES = ImmutableMap.of(
+      "fs.defaultFS", "file:///",
+      "mapred.job.tracker", "local");
+
+  @Param({ "4", "16", "40" })
+  public int files;
+
+  @Param({ "PER_FILE", "COALESCED" })
+  public PlanMode mode;
+
+  private FileSystem fileSystem;
+  private File submissionDir;
+  private File validationDir;
+  private Dictionary dictionary;
+  private Planner planner;
+
+  @Setup
+  @SneakyThrows
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+    dictionary = submission.getDictionary();
+    planner = new Planner(ImmutableSet.<RestrictionType> of(
+        new CodeListRestriction.Type(submission.getRestrictionContext()),
+        new DiscreteValuesRestriction.Type(),
+        new RangeFieldRestriction.Type(),
+        new RegexRestriction.Type(),
+        new RequiredRestriction.Type()), mode);
+
+    fileSystem = FileSystem.getLocal(new Configuration());
+    submissionDir = Files.createTempDir();
+    for (int i = 0; i < files; i++) {
+      val fileSchema = submission.getFileSchema(FILE_SCHEMA_NAMES[i % FILE_SCHEMA_NAMES.length]);
+      val lines = Lists.newArrayList(Joiners.TAB.join(fileSchema.getFieldNames()));
+      lines.addAll(submission.generateLines(fileSchema, ROWS));
+
+      // Matches the patterns of the file schemata
+      val file = new File(submissionDir, fileSchema.getName() + "." + i + ".txt");
+      Files.asCharSink(file, UTF_8).writeLines(lines);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    validationDir = Files.createTempDir();
+  }
+
+  @TearDown(Level.Invocation)
+  @SneakyThrows
+  public void tearDownInvocation() {
+    fileSystem.delete(new Path(validationDir.getPath()), true);
+  }
+
+  @TearDown
+  @SneakyThrows
+  public void tearDown() {
+    fileSystem.delete(new Path(submissionDir.getPath()), true);
+  }
+
+  @Benchmark
+  public void validate(JobCounters counters) {
+    val platform = new HadoopSubmissionPlatformStrategy(
+        HADOOP_PROPERTIES,
+        fileSystem,
+        new Path(submissionDir.toURI()),
+        new Path(validationDir.toURI()));
+
+    val plan = planner.plan(SyntheticSubmission.getProjectKey(), DataTypes.values(), platform, dictionary);
+    plan.connect();
+    plan.getCascade().complete();
+
+    counters.record(plan.getCascade());
+  }
+
+  /**
+   * Number of MapReduce jobs run during the last invocation.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class JobCounters {
+
+    public long jobs;
+
+    void record(Cascade cascade) {
+      jobs = 0;
+      for (val flow : cascade.getFlows()) {
+        jobs += flow.getFlowSteps().size();
+      }
+    }
+
+  }
+
+}
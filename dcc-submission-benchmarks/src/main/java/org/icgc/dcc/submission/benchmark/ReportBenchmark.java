@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+import static org.icgc.dcc.submission.release.model.SubmissionState.VALIDATING;
+
+import org.icgc.dcc.common.core.model.DataTypes;
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.core.report.Report;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.val;
+
+/**
+ * Updates and queries of the validation report of a submission, in operations per second.
+ * <p>
+ * Every file has {@link #ERROR_TYPES} kinds of errors so that traversals would also have to go through them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(ReportBenchmark.OPERATIONS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportBenchmark {
+
+  static final int OPERATIONS = 256;
+
+  private static final int ERROR_TYPES = 8;
+
+  @Param({ "50", "500" })
+  public int fileCount;
+
+  private Report report;
+  private Error[] errors;
+
+  @Setup
+  public void setUp() {
+    report = new Report();
+    errors = new Error[fileCount];
+
+    val fileTypes = FileType.values();
+    for (int i = 0; i < fileCount; i++) {
+      val fileType = fileTypes[i % fileTypes.length];
+      val fileName = fileType.name().toLowerCase() + "." + i + ".txt";
+      report.addFile(fileType, fileName);
+
+      for (int number = 0; number < ERROR_TYPES; number++) {
+        report.addError(error().fileName(fileName).type(CODELIST_ERROR).number(number).fieldNames("f1").build());
+      }
+      errors[i] = error().fileName(fileName).type(CODELIST_ERROR).number(0).fieldNames("f1").build();
+    }
+
+    report.inheritState(VALIDATING, DataTypes.values());
+  }
+
+  @Benchmark
+  public int addErrorAndCount() {
+    int errorCount = 0;
+    for (int i = 0; i < OPERATIONS; i++) {
+      report.addError(errors[i % fileCount]);
+      errorCount += report.getErrorCount();
+    }
+
+    return errorCount;
+  }
+
+  @Benchmark
+  public boolean getFileReportAndValidity() {
+    boolean valid = false;
+    for (int i = 0; i < OPERATIONS; i++) {
+      valid ^= report.getFileReport(errors[i % fileCount].getFileName()).isPresent();
+      valid ^= report.isValid();
+    }
+
+    return valid;
+  }
+
+  @Benchmark
+  public boolean refreshState() {
+    for (int i = 0; i < OPERATIONS; i++) {
+      report.refreshState();
+    }
+
+    return report.isValid();
+  }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.dictionary.model.RestrictionType.DISCRETE_VALUES;
+import static org.icgc.dcc.submission.dictionary.model.RestrictionType.RANGE;
+
+import java.util.List;
+
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.submission.dictionary.model.Field;
+import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
+import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.DiscreteValuesRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RegexRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RequiredRestriction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.mongodb.BasicDBObject;
+
+import cascading.pipe.Pipe;
+import cascading.tuple.TupleEntry;
+import lombok.val;
+
+/**
+ * The field restriction functions of the primary validation, in values per second.
+ * <p>
+ * Every restriction of the selected type in the dictionary is exercised in turn. The fixture dictionary has no
+ * {@code in} and {@code range} restrictions, so these are synthesized: {@code in} over the terms of the code list
+ * fields and {@code range} over the integer fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(RestrictionBenchmark.VALUES)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RestrictionBenchmark {
+
+  static final int VALUES = 4096;
+
+  private static final int VALUES_PER_FIELD = 16;
+  private static final Joiner VALUE_JOINER = Joiner.on(Restriction.CONFIG_VALUE_SEPARATOR);
+
+  @Param({ "codelist", "in", "range", "regex", "required" })
+  public String restrictionName;
+
+  private final FunctionInvoker[] invokers = new FunctionInvoker[VALUES];
+  private final TupleEntry[] entries = new TupleEntry[VALUES];
+
+  @Setup
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+    val type = getType(submission);
+
+    val fieldInvokers = Lists.<FunctionInvoker> newArrayList();
+    val fieldEntries = Lists.<List<TupleEntry>> newArrayList();
+    for (val fileSchema : submission.getDictionary().getFiles()) {
+      for (val field : fileSchema.getFields()) {
+        for (val restriction : getRestrictions(submission, field)) {
+          if (!type.builds(restriction.getType().getId())) {
+            continue;
+          }
+
+          val element = (RowBasedPlanElement) type.build(SyntheticSubmission.getProjectKey(), field, restriction);
+          val function = FunctionInvoker.getFunction(element.extend(new Pipe(field.getName())));
+          val invoker = new FunctionInvoker(function, new ValidationFields(field.getName()));
+
+          val values = submission.generateFieldEntries(field, VALUES_PER_FIELD);
+          if (isValid(invoker, values)) {
+            fieldInvokers.add(invoker);
+            fieldEntries.add(values);
+          }
+        }
+      }
+    }
+    checkState(!fieldInvokers.isEmpty(), "No valid '%s' restriction to benchmark", restrictionName);
+
+    // Interleave the fields, as rows would
+    for (int i = 0; i < VALUES; i++) {
+      val field = i % fieldInvokers.size();
+      invokers[i] = fieldInvokers.get(field);
+      entries[i] = fieldEntries.get(field).get((i / fieldInvokers.size()) % VALUES_PER_FIELD);
+    }
+  }
+
+  @Benchmark
+  public long restrict() {
+    long emitted = 0;
+    for (int i = 0; i < VALUES; i++) {
+      emitted = invokers[i].invoke(entries[i]);
+    }
+
+    return emitted;
+  }
+
+  private RestrictionType getType(SyntheticSubmission submission) {
+    val types = new RestrictionType[] {
+        new CodeListRestriction.Type(submission.getRestrictionContext()),
+        new DiscreteValuesRestriction.Type(),
+        new RangeFieldRestriction.Type(),
+        new RegexRestriction.Type(),
+        new RequiredRestriction.Type() };
+
+    for (val type : types) {
+      if (type.builds(restrictionName)) {
+        return type;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown restriction type: '" + restrictionName + "'");
+  }
+
+  /**
+   * The restrictions of {@code field}, along with the synthetic ones.
+   */
+  private static List<Restriction> getRestrictions(SyntheticSubmission submission, Field field) {
+    val restrictions = Lists.newArrayList(field.getRestrictions());
+
+    val codeListRestriction = field.getCodeListRestriction();
+    if (codeListRestriction.isPresent()) {
+      val codeList = submission.getRestrictionContext()
+          .getCodeList(codeListRestriction.get().getConfig().getString(CodeListRestriction.FIELD));
+      if (codeList.isPresent()) {
+        val codes = Lists.<String> newArrayList();
+        for (val term : codeList.get().getTerms()) {
+          codes.add(term.getCode());
+        }
+
+        restrictions.add(restriction(DISCRETE_VALUES,
+            new BasicDBObject(DiscreteValuesRestriction.PARAM, VALUE_JOINER.join(codes))));
+      }
+    } else if (field.getValueType() == ValueType.INTEGER) {
+      restrictions.add(restriction(RANGE,
+          new BasicDBObject(RangeFieldRestriction.MIN, 0L).append(RangeFieldRestriction.MAX, Long.MAX_VALUE)));
+    }
+
+    return restrictions;
+  }
+
+  private static Restriction restriction(org.icgc.dcc.submission.dictionary.model.RestrictionType type,
+      BasicDBObject config) {
+    val restriction = new Restriction();
+    restriction.setType(type);
+    restriction.setConfig(config);
+
+    return restriction;
+  }
+
+  /**
+   * Leaves out the (few) fields for which the synthetic values do not conform.
+   */
+  private static boolean isValid(FunctionInvoker invoker, List<TupleEntry> values) {
+    for (val value : values) {
+      invoker.invoke(value);
+      if (ValidationFields.state(value).isInvalid()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.dictionary.model.RestrictionType.SCRIPT;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.ScriptContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+import cascading.tuple.TupleEntry;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluation of the {@link ScriptRestriction}s of the dictionary, in evaluations per second.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(ScriptBenchmark.EVALUATIONS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ScriptBenchmark {
+
+  static final int EVALUATIONS = 4096;
+
+  private static final int ROWS_PER_SCHEMA = 16;
+
+  private final ScriptContext[] contexts = new ScriptContext[EVALUATIONS];
+  private final TupleEntry[] entries = new TupleEntry[EVALUATIONS];
+
+  @Setup
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+
+    val scriptContexts = Lists.<ScriptContext> newArrayList();
+    val scriptEntries = Lists.<List<TupleEntry>> newArrayList();
+    for (val fileSchema : submission.getDictionary().getFiles()) {
+      val rows = submission.generateEntries(fileSchema, ROWS_PER_SCHEMA);
+      for (val field : fileSchema.getFields()) {
+        for (val restriction : field.getRestrictions()) {
+          if (restriction.getType() != SCRIPT) {
+            continue;
+          }
+
+          val script = restriction.getConfig().getString(ScriptRestriction.PARAM);
+          val context = new ScriptContext(SyntheticSubmission.getProjectKey(), script);
+          if (isEvaluable(context, rows)) {
+            scriptContexts.add(context);
+            scriptEntries.add(rows);
+          } else {
+            log.warn("Skipping script of '{}.{}' not evaluable on synthetic data: '{}'", new Object[] {
+                fileSchema.getName(), field.getName(), script });
+          }
+        }
+      }
+    }
+    checkState(!scriptContexts.isEmpty(), "No script restriction to benchmark");
+
+    for (int i = 0; i < EVALUATIONS; i++) {
+      val script = i % scriptContexts.size();
+      contexts[i] = scriptContexts.get(script);
+      entries[i] = scriptEntries.get(script).get((i / scriptContexts.size()) % ROWS_PER_SCHEMA);
+    }
+  }
+
+  @Benchmark
+  public int evaluate() {
+    int passed = 0;
+    for (int i = 0; i < EVALUATIONS; i++) {
+      if (contexts[i].evaluate(entries[i])) {
+        passed++;
+      }
+    }
+
+    return passed;
+  }
+
+  private static boolean isEvaluable(ScriptContext context, List<TupleEntry> rows) {
+    try {
+      for (val row : rows) {
+        context.evaluate(row);
+      }
+
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+}
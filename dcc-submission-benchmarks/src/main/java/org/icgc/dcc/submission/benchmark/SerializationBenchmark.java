@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.val;
+
+/**
+ * Hadoop serialization of the {@link TupleState} carried along every row, in states per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SerializationBenchmark {
+
+  @Param({ "0", "1", "4" })
+  public int errorCount;
+
+  private final TupleStateSerialization serialization = new TupleStateSerialization();
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+  private TupleState state;
+  private byte[] serialized;
+
+  @Setup
+  public void setUp() throws IOException {
+    state = new TupleState(1234L);
+    for (int i = 0; i < errorCount; i++) {
+      state.reportError(CODELIST_ERROR, "field_" + i, "value_" + i);
+    }
+
+    serialized = serialize();
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    buffer.reset();
+    val serializer = serialization.getSerializer(TupleState.class);
+    serializer.open(buffer);
+    serializer.serialize(state);
+
+    return buffer.toByteArray();
+  }
+
+  @Benchmark
+  public TupleState deserialize() throws IOException {
+    val deserializer = serialization.getDeserializer(TupleState.class);
+    deserializer.open(new ByteArrayInputStream(serialized));
+
+    return deserializer.deserialize(null);
+  }
+
+}
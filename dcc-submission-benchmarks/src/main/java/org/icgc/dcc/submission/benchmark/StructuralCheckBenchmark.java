@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.validation.cascading.StructuralCheckFunction.LINE_FIELD_NAME;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFSET_FIELD_NAME;
+
+import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.common.core.util.Joiners;
+import org.icgc.dcc.submission.validation.cascading.StructuralCheckFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Iterables;
+
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import lombok.val;
+
+/**
+ * The structural check of the primary validation on wide rows, in rows per second.
+ * <p>
+ * A share of the cells (see {@link #missingPercent}) is replaced by missing codes, as submitters commonly use them for
+ * the optional fields of the mutation files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@OperationsPerInvocation(StructuralCheckBenchmark.ROWS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StructuralCheckBenchmark {
+
+  static final int ROWS = 1024;
+
+  @Param({ "ssm_m", "ssm_p", "jcn_p" })
+  public String fileSchemaName;
+
+  @Param({ "0", "25" })
+  public int missingPercent;
+
+  private final TupleEntry[] entries = new TupleEntry[ROWS];
+  private FunctionInvoker invoker;
+
+  @Setup
+  public void setUp() {
+    val submission = new SyntheticSubmission();
+    val fileSchema = submission.getFileSchema(fileSchemaName);
+    val missingCodes = Iterables.toArray(SpecialValue.FULL_MISSING_CODES, String.class);
+    val fields = new Fields(OFFSET_FIELD_NAME, LINE_FIELD_NAME);
+
+    long offset = 0;
+    int cell = 0;
+    val rows = submission.generateRows(fileSchema, ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      val row = rows.get(i);
+      for (int j = 0; j < row.size(); j++) {
+        if (cell++ % 100 < missingPercent) {
+          row.set(j, missingCodes[cell % missingCodes.length]);
+        }
+      }
+
+      val line = Joiners.TAB.join(row);
+      entries[i] = new TupleEntry(fields, new Tuple(offset, line));
+      offset += line.length() + 1;
+    }
+
+    val function = new StructuralCheckFunction(fileSchema.getFieldNames());
+    invoker = new FunctionInvoker(function, fields);
+  }
+
+  @Benchmark
+  public long checkStructure() {
+    long count = 0;
+    for (val entry : entries) {
+      count = invoker.invoke(entry);
+    }
+
+    return count;
+  }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.icgc.dcc.submission.validation.key.core.KVFileType.DONOR;
+import static org.icgc.dcc.submission.validation.key.core.KVFileType.SPECIMEN;
+import static org.icgc.dcc.submission.validation.key.core.KVKeyType.PK;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.validation.key.core.KVCachingDictionary;
+import org.icgc.dcc.submission.validation.key.core.KVDynamicDictionary;
+import org.icgc.dcc.submission.validation.key.data.KVEncounteredForeignKeys;
+import org.icgc.dcc.submission.validation.key.data.KVKey;
+import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
+import org.icgc.dcc.submission.validation.key.data.KVRow;
+import org.icgc.dcc.submission.validation.key.report.KVReporter;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionEngine;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityValidator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Wall time and peak heap of the surjection check of the key validation, per {@link SurjectionEngine}.
+ * <p>
+ * Each invocation collects the encountered foreign keys of a synthetic specimen file and checks them against the
+ * donor primary keys, of which one in a hundred is never referenced. The peak heap used during the invocation, which
+ * includes the keys shared by both engines, is reported as the {@code peakHeapMb} secondary result, e.g. with:
+ *
+ * <pre>
+ * $ java -jar target/benchmarks.jar SurjectionBenchmark -p keys=4000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SurjectionBenchmark {
+
+  private static final String FILE_NAME = "donor.txt";
+  private static final long SEED = 1234L;
+
+  /**
+   * Number of times each referenced key is encountered.
+   */
+  private static final int FAN_OUT = 3;
+
+  @Param({ "1000000" })
+  public int keys;
+
+  @Param({ "HASH_PROBE", "SORTED_RUN" })
+  public SurjectionEngine engine;
+
+  @Param({ "100000" })
+  public int maxBufferedKeys;
+
+  private File spillDir;
+  private File reportDir;
+  private SurjectivityValidator validator;
+  private KVPrimaryKeys expectedKeys;
+  private List<KVKey> foreignKeys;
+  private KVReporter reporter;
+
+  @Setup
+  @SneakyThrows
+  public void setUp() {
+    spillDir = Files.createTempDir();
+    reportDir = Files.createTempDir();
+    validator = new SurjectivityValidator(new SurjectionConfig(engine, maxBufferedKeys, spillDir.getPath()));
+
+    expectedKeys = new KVPrimaryKeys();
+    foreignKeys = Lists.newArrayListWithCapacity(keys * FAN_OUT);
+    for (int i = 0; i < keys; i++) {
+      val key = key("DO" + i);
+      expectedKeys.updatePks(FILE_NAME, new KVRow(ImmutableTable.of(PK, DONOR, key)));
+
+      if (i % 100 != 0) {
+        for (int j = 0; j < FAN_OUT; j++) {
+          foreignKeys.add(key);
+        }
+      }
+    }
+
+    // Encounter order of a real file is not the primary key order
+    Collections.shuffle(foreignKeys, new Random(SEED));
+
+    val submission = new SyntheticSubmission();
+    val dictionary = new KVCachingDictionary(new KVDynamicDictionary(submission.getDictionary()));
+    reporter = new KVReporter(dictionary, FileSystem.getLocal(new Configuration()),
+        new Path(reportDir.getPath(), "errors.json"));
+  }
+
+  @TearDown
+  @SneakyThrows
+  public void tearDown() {
+    reporter.close();
+    delete(reportDir);
+    delete(spillDir);
+  }
+
+  @Benchmark
+  public long validateSurjection(HeapCounters counters) {
+    long encountered;
+    try (KVEncounteredForeignKeys encounteredKeys = validator.createEncounteredForeignKeys()) {
+      for (val foreignKey : foreignKeys) {
+        encounteredKeys.addEncounteredForeignKey(foreignKey);
+      }
+
+      validator.validateSurjection(SPECIMEN, expectedKeys, encounteredKeys, reporter, DONOR);
+      encountered = encounteredKeys.getSize();
+    }
+
+    counters.record();
+
+    return encountered;
+  }
+
+  private static void delete(File dir) {
+    for (val file : dir.listFiles()) {
+      file.delete();
+    }
+    dir.delete();
+  }
+
+  private static KVKey key(String value) {
+    return KVKey.from(ImmutableList.of(value), ImmutableList.of(0));
+  }
+
+  /**
+   * Peak heap used during the last invocation, as the sum of the peaks of the heap memory pools.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HeapCounters {
+
+    public long peakHeapMb;
+
+    @Setup(Level.Invocation)
+    public void reset() {
+      System.gc();
+      for (val pool : getHeapPools()) {
+        pool.resetPeakUsage();
+      }
+    }
+
+    void record() {
+      long peak = 0;
+      for (val pool : getHeapPools()) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+
+      peakHeapMb = peak / (1024 * 1024);
+    }
+
+    private static List<MemoryPoolMXBean> getHeapPools() {
+      val pools = Lists.<MemoryPoolMXBean> newArrayList();
+      for (val pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          pools.add(pool);
+        }
+      }
+
+      return pools;
+    }
+
+  }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.benchmark;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.uniqueIndex;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.icgc.dcc.common.core.json.Jackson;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.common.core.util.Joiners;
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.Field;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.dictionary.model.RestrictionType;
+import org.icgc.dcc.submission.dictionary.util.Dictionaries;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.RestrictionContext;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Synthetic submission data conforming to the test fixture dictionary.
+ * <p>
+ * Values are drawn from the code lists of {@code codelist} restricted fields, match the pattern of {@code regex}
+ * restricted fields where possible and are never missing, so that the benchmarks measure the common (valid) path.
+ * Generation is seeded and therefore reproducible across forks.
+ */
+public final class SyntheticSubmission {
+
+  /**
+   * System property overriding the location of the dictionary.
+   */
+  public static final String DICTIONARY_PROPERTY = "dictionary";
+
+  /**
+   * The test fixture dictionary, relative to this module.
+   */
+  private static final String DEFAULT_DICTIONARY_PATH =
+      "../dcc-submission-test/src/test/resources/fixtures/input/dictionary.json.gz";
+
+  private static final String PROJECT_KEY = "BENCH-01";
+  private static final long SEED = 1234L;
+  private static final int MAX_INTEGER = 10000;
+
+  private static final String[] TEXT_CANDIDATES = { "id", "Paired End", "BWA 0.6.2", "1" };
+
+  @Getter
+  private final Dictionary dictionary;
+  private final Map<String, CodeList> codeLists;
+  private final Map<String, Pattern> patterns = newHashMap();
+  private final Random random = new Random(SEED);
+
+  public SyntheticSubmission() {
+    this(readDictionary(), Dictionaries.readResourcesCodeLists());
+  }
+
+  public SyntheticSubmission(@NonNull Dictionary dictionary, @NonNull List<CodeList> codeLists) {
+    this.dictionary = dictionary;
+    this.codeLists = uniqueIndex(codeLists, new Function<CodeList, String>() {
+
+      @Override
+      public String apply(CodeList codeList) {
+        return codeList.getName();
+      }
+
+    });
+  }
+
+  public static String getProjectKey() {
+    return PROJECT_KEY;
+  }
+
+  public FileSchema getFileSchema(@NonNull String fileSchemaName) {
+    val fileSchema = dictionary.getFileSchemaByName(fileSchemaName);
+    checkState(fileSchema.isPresent(), "No file schema '%s' in dictionary '%s'", fileSchemaName,
+        dictionary.getVersion());
+
+    return fileSchema.get();
+  }
+
+  public RestrictionContext getRestrictionContext() {
+    return new RestrictionContext() {
+
+      @Override
+      public Optional<CodeList> getCodeList(String codeListName) {
+        return Optional.fromNullable(codeLists.get(codeListName));
+      }
+
+    };
+  }
+
+  /**
+   * Generates {@code count} rows of raw (string) values in the field order of the schema.
+   */
+  public List<List<String>> generateRows(@NonNull FileSchema fileSchema, int count) {
+    val rows = Lists.<List<String>> newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(generateRow(fileSchema, i));
+    }
+
+    return rows;
+  }
+
+  /**
+   * Generates {@code count} tab-separated lines, as they appear in a submission file.
+   */
+  public List<String> generateLines(@NonNull FileSchema fileSchema, int count) {
+    val lines = Lists.<String> newArrayListWithCapacity(count);
+    for (val row : generateRows(fileSchema, count)) {
+      lines.add(Joiners.TAB.join(row));
+    }
+
+    return lines;
+  }
+
+  /**
+   * Generates {@code count} entries of all the fields of the schema, typed as after the value type conversion of the
+   * primary validation, followed by the {@link TupleState} field.
+   */
+  public List<TupleEntry> generateEntries(@NonNull FileSchema fileSchema, int count) {
+    val fieldNames = fileSchema.getFieldNames();
+    val fields = new ValidationFields(fieldNames.toArray(new String[fieldNames.size()]));
+    val schemaFields = fileSchema.getFields();
+
+    val entries = Lists.<TupleEntry> newArrayListWithCapacity(count);
+    int offset = 0;
+    for (val row : generateRows(fileSchema, count)) {
+      val tuple = Tuple.size(fields.size());
+      for (int i = 0; i < row.size(); i++) {
+        tuple.set(i, convert(schemaFields.get(i), row.get(i)));
+      }
+      tuple.set(row.size(), new TupleState(offset++));
+
+      entries.add(new TupleEntry(fields, tuple));
+    }
+
+    return entries;
+  }
+
+  /**
+   * Generates {@code count} entries of a single field followed by the {@link TupleState} field, that is the arguments
+   * of a field restriction function.
+   */
+  public List<TupleEntry> generateFieldEntries(@NonNull Field field, int count) {
+    val fields = new ValidationFields(field.getName());
+
+    val entries = Lists.<TupleEntry> newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      val value = convert(field, generateValue(field, i));
+      entries.add(new TupleEntry(fields, new Tuple(value, new TupleState(i))));
+    }
+
+    return entries;
+  }
+
+  private List<String> generateRow(FileSchema fileSchema, int rowNumber) {
+    val row = Lists.<String> newArrayListWithCapacity(fileSchema.getFields().size());
+    val integers = Maps.<String, Long> newHashMap();
+    for (val field : fileSchema.getFields()) {
+      String value = generateValue(field, rowNumber);
+
+      // Keep intervals well-formed for the script restrictions relating their bounds
+      if (field.getValueType() == ValueType.INTEGER) {
+        val start = integers.get(field.getName().replace("_end", "_start"));
+        if (field.getName().endsWith("_end") && start != null) {
+          value = String.valueOf(start + random.nextInt(MAX_INTEGER));
+        }
+        integers.put(field.getName(), Long.valueOf(value));
+      }
+
+      row.add(value);
+    }
+
+    return row;
+  }
+
+  private String generateValue(Field field, int rowNumber) {
+    val codeList = getCodeList(field);
+    if (codeList.isPresent() && !codeList.get().getTerms().isEmpty()) {
+      val terms = codeList.get().getTerms();
+      return terms.get(random.nextInt(terms.size())).getCode();
+    }
+
+    val valueType = field.getValueType();
+    if (valueType == ValueType.INTEGER) {
+      return String.valueOf(1 + random.nextInt(MAX_INTEGER));
+    } else if (valueType == ValueType.DECIMAL) {
+      return String.valueOf(random.nextInt(MAX_INTEGER) / 100.0);
+    }
+
+    val pattern = getPattern(field);
+    if (pattern.isPresent()) {
+      for (val candidate : getTextCandidates(field, rowNumber)) {
+        if (pattern.get().matcher(candidate).matches()) {
+          return candidate;
+        }
+      }
+    }
+
+    return getTextCandidates(field, rowNumber).get(0);
+  }
+
+  private static List<String> getTextCandidates(Field field, int rowNumber) {
+    val candidates = newArrayList(field.getName() + "_" + rowNumber);
+    for (val candidate : TEXT_CANDIDATES) {
+      candidates.add(candidate);
+    }
+
+    return candidates;
+  }
+
+  private Optional<CodeList> getCodeList(Field field) {
+    val restriction = field.getCodeListRestriction();
+    if (!restriction.isPresent()) {
+      return Optional.absent();
+    }
+
+    return Optional.fromNullable(codeLists.get(restriction.get().getConfig().getString("name")));
+  }
+
+  private Optional<Pattern> getPattern(Field field) {
+    val restriction = field.getRestriction(RestrictionType.REGEX);
+    if (!restriction.isPresent()) {
+      return Optional.absent();
+    }
+
+    return Optional.of(getPattern(restriction.get()));
+  }
+
+  private Pattern getPattern(Restriction restriction) {
+    val regex = restriction.getConfig().getString("pattern");
+    Pattern pattern = patterns.get(regex);
+    if (pattern == null) {
+      pattern = Pattern.compile(regex);
+      patterns.put(regex, pattern);
+    }
+
+    return pattern;
+  }
+
+  private static Object convert(Field field, String value) {
+    val valueType = field.getValueType();
+    if (valueType == ValueType.INTEGER) {
+      return Long.valueOf(value);
+    } else if (valueType == ValueType.DECIMAL) {
+      return Double.valueOf(value);
+    }
+
+    return value;
+  }
+
+  @SneakyThrows
+  private static Dictionary readDictionary() {
+    val file = new File(System.getProperty(DICTIONARY_PROPERTY, DEFAULT_DICTIONARY_PATH));
+    checkState(file.exists(), "Dictionary '%s' not found, set -D%s=<path> to point to it",
+        file.getAbsolutePath(), DICTIONARY_PROPERTY);
+
+    @Cleanup
+    val input = new GZIPInputStream(new FileInputStream(file));
+
+    return Jackson.DEFAULT.readerFor(Dictionary.class).readValue(input);
+  }
+
+}
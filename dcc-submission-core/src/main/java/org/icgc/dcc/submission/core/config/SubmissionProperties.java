@@ -42,12 +42,16 @@ public class SubmissionProperties {
   MailProperties mail = new MailProperties();
   ShiroProperties shiro = new ShiroProperties();
   HadoopProperties hadoop = new HadoopProperties();
+  PlatformProperties platform = new PlatformProperties();
   MongoProperties mongo = new MongoProperties();
   PCAWGProperties pcawg = new PCAWGProperties();
   ReferenceProperties reference = new ReferenceProperties();
   NormalizerProperties normalizer = new NormalizerProperties();
+  KeyProperties key = new KeyProperties();
   AccessionProperties accession = new AccessionProperties();
+  ReferenceDataProperties referenceData = new ReferenceDataProperties();
   EGAProperties ega = new EGAProperties();
+  ReleaseProperties release = new ReleaseProperties();
 
   ValidatorProperties validator = new ValidatorProperties();
   List<String> validators = newArrayList();
@@ -67,6 +71,27 @@ public class SubmissionProperties {
 
   }
 
+  @Data
+  public static class PlatformProperties {
+
+    /**
+     * Whether the flows of small files are executed in-process rather than on the cluster, when on HDFS.
+     */
+    boolean hybrid = false;
+
+    /**
+     * Maximum size of a file, as stored, for its flow to be executed in-process.
+     */
+    long maxInProcessBytes = 64L * 1024 * 1024;
+
+    /**
+     * Maximum number of rows of a file, as counted by the first pass validation, for its flow to be executed
+     * in-process.
+     */
+    long maxInProcessRows = 500000;
+
+  }
+
   @Data
   public static class MongoProperties {
 
@@ -79,6 +104,11 @@ public class SubmissionProperties {
 
     int maxSimultaneous = DEFAULT_MAX_VALIDATING;
 
+    /**
+     * How the primary validation flows are planned: {@code per_file} or {@code coalesced}.
+     */
+    String planMode = "per_file";
+
   }
 
   @Data
@@ -103,6 +133,21 @@ public class SubmissionProperties {
 
   }
 
+  @Data
+  public static class ReferenceDataProperties {
+
+    /**
+     * Local directory the external sheets and dictionaries are snapshotted to, none if not set.
+     */
+    String snapshotDir;
+
+    /**
+     * Age after which the external sheets and dictionaries are refreshed in the background.
+     */
+    long maxAgeMs = 10 * 60 * 1000;
+
+  }
+
   @Data
   public static class EGAProperties {
 
@@ -132,6 +177,54 @@ public class SubmissionProperties {
     String smtpTimeout = "5000";
     String smtpConnectionTimeout = "5000";
 
+    OutboxProperties outbox = new OutboxProperties();
+
+  }
+
+  @Data
+  public static class OutboxProperties {
+
+    /**
+     * Period at which the outbox is polled for due messages.
+     */
+    long pollIntervalMs = 5000;
+
+    /**
+     * Maximum number of messages claimed per poll.
+     */
+    int batchSize = 50;
+
+    /**
+     * Time notifications are held back so that they can be merged into a digest.
+     */
+    long coalesceWindowMs = 30000;
+
+    /**
+     * Delivery attempts after which a message is marked as failed.
+     */
+    int maxAttempts = 8;
+
+    /**
+     * Delay before the first retry, doubled on every subsequent attempt up to {@link #maxRetryBackoffMs}.
+     */
+    long retryBackoffMs = 10000;
+    long maxRetryBackoffMs = 3600000;
+
+    /**
+     * Time after which a message claimed by a sender that did not complete is put back in the outbox.
+     */
+    long claimTimeoutMs = 600000;
+
+  }
+
+  @Data
+  public static class ReleaseProperties {
+
+    /**
+     * Number of project directories copied concurrently when performing a release.
+     */
+    int promotionThreads = 4;
+
   }
 
   @Data
@@ -143,6 +236,26 @@ public class SubmissionProperties {
 
   }
 
+  @Data
+  public static class KeyProperties {
+
+    /**
+     * Surjection engine of the key validator: {@code hash_probe} or {@code sorted_run}.
+     */
+    String surjectionEngine = "hash_probe";
+
+    /**
+     * Maximum number of keys held in memory per sorted run collection before spilling to disk.
+     */
+    int maxBufferedKeys = 1000000;
+
+    /**
+     * Local directory sorted runs are spilled to, the JVM temporary directory if not set.
+     */
+    String spillDir;
+
+  }
+
   @Data
   public static class SftpProperties {
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.model;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Indexed;
+
+import com.google.common.collect.Lists;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An email waiting in the outbox to be delivered.
+ * <p>
+ * Messages are {@link State#PENDING} until {@link #nextAttempt}, at which point a sender claims them (
+ * {@link State#SENDING}) and either deletes them once delivered or puts them back with a later {@link #nextAttempt}.
+ * Messages that could not be delivered after the maximum number of attempts are kept as {@link State#FAILED}.
+ */
+@Entity(value = "Outbox", noClassnameStored = true)
+@Data
+@NoArgsConstructor
+public class OutboxMessage {
+
+  public enum State {
+    PENDING, SENDING, FAILED;
+  }
+
+  @Id
+  private ObjectId id;
+
+  private String from;
+  private List<String> recipients = Lists.newArrayList();
+  private String subject;
+  private String text;
+
+  /**
+   * Whether the message may be merged into a digest with other messages from and to the same addresses.
+   */
+  private boolean coalesce;
+
+  @Indexed
+  private State state = State.PENDING;
+  private int attempts;
+  private String lastError;
+
+  private Date created;
+  private Date nextAttempt;
+  private Date claimed;
+
+  public OutboxMessage(String from, List<String> recipients, String subject, String text, boolean coalesce) {
+    this.from = from;
+    this.recipients = Lists.newArrayList(recipients);
+    this.subject = subject;
+    this.text = text;
+    this.coalesce = coalesce;
+    this.created = new Date();
+    this.nextAttempt = created;
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.model;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Indexed;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records that the submission directory of a project has been fully copied to the release being created.
+ * <p>
+ * Checkpoints let an interrupted release resume where it stopped. They are only trusted if the source directory still
+ * has the same number of files and bytes, and are removed once the new release is saved.
+ */
+@Entity(value = "PromotionCheckpoint", noClassnameStored = true)
+@Data
+@NoArgsConstructor
+public class PromotionCheckpoint {
+
+  @Id
+  private ObjectId id;
+
+  @Indexed
+  private String releaseName;
+  private String projectKey;
+
+  private long files;
+  private long bytes;
+
+  private Date completed;
+
+  public PromotionCheckpoint(String releaseName, String projectKey, long files, long bytes) {
+    this.releaseName = releaseName;
+    this.projectKey = projectKey;
+    this.files = files;
+    this.bytes = bytes;
+    this.completed = new Date();
+  }
+
+}
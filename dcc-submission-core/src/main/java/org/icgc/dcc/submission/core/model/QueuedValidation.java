@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.model;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.icgc.dcc.submission.release.model.QueuedProject;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Index;
+import org.mongodb.morphia.annotations.Indexed;
+import org.mongodb.morphia.annotations.Indexes;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A project waiting in the validation queue of a release.
+ * <p>
+ * Entries are {@link State#QUEUED} until a validator node claims the next one ({@link State#CLAIMED}), in order of
+ * decreasing {@link #priority} then of {@link #enqueued} time. The claim is removed from the queue once the validation
+ * has started or put back if it could not be started.
+ */
+@Entity(value = "ValidationQueue", noClassnameStored = true)
+@Indexes({
+    @Index(value = "releaseName, project.key", unique = true),
+    @Index(value = "releaseName, state, -priority, enqueued") })
+@Data
+@NoArgsConstructor
+public class QueuedValidation {
+
+  public enum State {
+    QUEUED, CLAIMED;
+  }
+
+  /**
+   * Priority of validations requested through the web layer.
+   */
+  public static final int DEFAULT_PRIORITY = 0;
+
+  @Id
+  private ObjectId id;
+
+  private String releaseName;
+  @Embedded
+  private QueuedProject project;
+
+  private int priority;
+  @Indexed
+  private State state = State.QUEUED;
+
+  private Date enqueued;
+  private String claimedBy;
+  private Date claimed;
+
+  public QueuedValidation(String releaseName, QueuedProject project, int priority) {
+    this.releaseName = releaseName;
+    this.project = project;
+    this.priority = priority;
+    this.enqueued = new Date();
+  }
+
+  public String getProjectKey() {
+    return project.getKey();
+  }
+
+}
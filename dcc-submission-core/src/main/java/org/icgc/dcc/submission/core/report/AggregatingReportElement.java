@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.report;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * A {@link ReportElement} maintaining the {@link ReportAggregates} of the files under it.
+ * <p>
+ * Aggregates are computed on first access from those of the children, then kept up to date by applying every change
+ * along the path to the root. Reading them is thus O(1) and updating them O(depth), instead of a traversal of the
+ * files and their errors. Elements whose aggregates were never read (e.g. freshly loaded ones) do not maintain any.
+ * <p>
+ * For this to hold, children must be added and removed through the methods of their parent.
+ */
+public abstract class AggregatingReportElement implements ReportElement {
+
+  /**
+   * Derived state - neither persisted nor serialized.
+   */
+  private transient AggregatingReportElement parent;
+  private transient ReportAggregates aggregates;
+
+  @JsonIgnore
+  public ReportAggregates getAggregates() {
+    if (aggregates == null) {
+      aggregates = aggregate();
+    }
+
+    return aggregates;
+  }
+
+  /**
+   * Computes the aggregates of this element from scratch.
+   */
+  abstract ReportAggregates aggregate();
+
+  /**
+   * Computes the aggregates of this element as the sum of those of {@code children}.
+   */
+  ReportAggregates aggregate(@NonNull Iterable<? extends AggregatingReportElement> children) {
+    val aggregates = new ReportAggregates();
+    for (val child : children) {
+      child.parent = this;
+      aggregates.add(child.getAggregates());
+    }
+
+    return aggregates;
+  }
+
+  AggregatingReportElement getParent() {
+    return parent;
+  }
+
+  void attach(@NonNull AggregatingReportElement child) {
+    child.parent = this;
+    if (aggregates == null) {
+      return;
+    }
+
+    val childAggregates = child.getAggregates();
+    AggregatingReportElement element = this;
+    while (element != null && element.aggregates != null) {
+      element.aggregates.add(childAggregates);
+      element = element.parent;
+    }
+  }
+
+  void detach(@NonNull AggregatingReportElement child) {
+    if (child.parent != this) {
+      return;
+    }
+
+    child.parent = null;
+    if (aggregates == null) {
+      return;
+    }
+
+    AggregatingReportElement element = this;
+    while (element != null && element.aggregates != null) {
+      element.aggregates.remove(child.aggregates);
+      element = element.parent;
+    }
+  }
+
+  void addErrors(long count) {
+    AggregatingReportElement element = this;
+    while (element != null && element.aggregates != null) {
+      element.aggregates.addErrors(count);
+      element = element.parent;
+    }
+  }
+
+  void changeFileState(FileState previous, FileState next) {
+    AggregatingReportElement element = this;
+    while (element != null && element.aggregates != null) {
+      element.aggregates.changeFileState(previous, next);
+      element = element.parent;
+    }
+  }
+
+  /**
+   * Recomputes the aggregates of this element after its content was replaced wholesale.
+   */
+  void reaggregate() {
+    if (aggregates == null) {
+      return;
+    }
+
+    val previous = aggregates;
+    aggregates = aggregate();
+    AggregatingReportElement element = parent;
+    while (element != null && element.aggregates != null) {
+      element.aggregates.remove(previous);
+      element.aggregates.add(aggregates);
+      element = element.parent;
+    }
+  }
+
+}
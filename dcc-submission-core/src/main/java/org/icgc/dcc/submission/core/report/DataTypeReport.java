@@ -60,7 +60,7 @@ import lombok.val;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "dataType")
-public class DataTypeReport implements ReportElement, Comparable<DataTypeReport> {
+public class DataTypeReport extends AggregatingReportElement implements Comparable<DataTypeReport> {
 
   /**
    * Key.
@@ -97,12 +97,27 @@ public class DataTypeReport implements ReportElement, Comparable<DataTypeReport>
     visitor.visit(this);
   }
 
+  public void setFileTypeReports(@NonNull Set<FileTypeReport> fileTypeReports) {
+    this.fileTypeReports = fileTypeReports;
+
+    reaggregate();
+  }
+
   public void addFileTypeReport(@NonNull FileTypeReport fileTypeReport) {
-    fileTypeReports.add(fileTypeReport);
+    if (fileTypeReports.add(fileTypeReport)) {
+      attach(fileTypeReport);
+    }
   }
 
   public void removeFileTypeReport(@NonNull FileTypeReport fileTypeReport) {
-    fileTypeReports.remove(fileTypeReport);
+    if (fileTypeReports.remove(fileTypeReport)) {
+      detach(fileTypeReport);
+    }
+  }
+
+  @Override
+  ReportAggregates aggregate() {
+    return aggregate(fileTypeReports);
   }
 
   @Override
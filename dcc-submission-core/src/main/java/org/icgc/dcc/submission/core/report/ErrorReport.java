@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.mongodb.morphia.annotations.Embedded;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.Sets;
 
 import lombok.Data;
@@ -97,8 +98,25 @@ public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
   }
 
   public void addError(@NonNull Error error) {
+    addError(error, 1);
+  }
+
+  public void addError(@NonNull Error error, long occurrences) {
     val fieldErrorReport = resolveFieldErrorReport(error);
-    fieldErrorReport.addError(error);
+    fieldErrorReport.addError(error, occurrences);
+  }
+
+  /**
+   * Returns the number of errors reported, stored or not.
+   */
+  @JsonIgnore
+  public long getErrorCount() {
+    long count = 0;
+    for (val fieldErrorReport : fieldErrorReports) {
+      count += fieldErrorReport.getCount();
+    }
+
+    return count;
   }
 
   public boolean reportsOn(@NonNull Error error) {
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.core.report;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Maps.newHashMap;
@@ -102,6 +103,16 @@ public class FieldErrorReport implements Serializable {
   }
 
   public void addError(@NonNull Error error) {
+    addError(error, 1);
+  }
+
+  /**
+   * Accounts for {@code occurrences} errors of which {@code error} is the only one whose value and line number are
+   * known, e.g. when the errors were aggregated before being reported.
+   */
+  public void addError(@NonNull Error error, long occurrences) {
+    checkArgument(occurrences > 0, "Expecting a positive number of occurrences, instead got: %s", occurrences);
+
     // Always increment count
     incrementCount();
 
@@ -110,6 +121,8 @@ public class FieldErrorReport implements Serializable {
       addValue(error.getValue());
       addLineNumber(error.getLineNumber());
     }
+
+    count += occurrences - 1;
   }
 
   /**
@@ -65,7 +65,7 @@ import lombok.val;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "fileName")
-public class FileReport implements ReportElement, Comparable<FileReport> {
+public class FileReport extends AggregatingReportElement implements Comparable<FileReport> {
 
   /**
    * Key.
@@ -137,6 +137,32 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
     visitor.visit(this);
   }
 
+  public void setFileState(FileState fileState) {
+    val previous = this.fileState;
+    this.fileState = fileState;
+
+    changeFileState(previous, fileState);
+  }
+
+  public void setErrorReports(@NonNull Set<ErrorReport> errorReports) {
+    this.errorReports = errorReports;
+
+    reaggregate();
+  }
+
+  /**
+   * Resets the state of the file and clears its reports.
+   */
+  public void reset() {
+    setFileState(getDefaultState());
+
+    summaryReports.clear();
+    fieldReports.clear();
+    errorReports.clear();
+
+    reaggregate();
+  }
+
   public void addSummaryReport(@NonNull SummaryReport summaryReport) {
     summaryReports.add(summaryReport);
   }
@@ -146,9 +172,20 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
   }
 
   public void addError(@NonNull Error error) {
+    addError(error, 1);
+  }
+
+  public void addError(@NonNull Error error, long occurrences) {
     val errorReport = resolveErrorReport(error);
 
-    errorReport.addError(error);
+    errorReport.addError(error, occurrences);
+
+    addErrors(occurrences);
+  }
+
+  @Override
+  ReportAggregates aggregate() {
+    return ReportAggregates.of(this);
   }
 
   @Override
@@ -57,7 +57,7 @@ import lombok.val;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "fileType")
-public class FileTypeReport implements ReportElement, Comparable<FileTypeReport> {
+public class FileTypeReport extends AggregatingReportElement implements Comparable<FileTypeReport> {
 
   /**
    * Key.
@@ -93,12 +93,27 @@ public class FileTypeReport implements ReportElement, Comparable<FileTypeReport>
     visitor.visit(this);
   }
 
+  public void setFileReports(@NonNull Set<FileReport> fileReports) {
+    this.fileReports = fileReports;
+
+    reaggregate();
+  }
+
   public void addFileReport(@NonNull FileReport fileReport) {
-    fileReports.add(fileReport);
+    if (fileReports.add(fileReport)) {
+      attach(fileReport);
+    }
   }
 
   public void removeFileReport(@NonNull FileReport fileReport) {
-    fileReports.remove(fileReport);
+    if (fileReports.remove(fileReport)) {
+      detach(fileReport);
+    }
+  }
+
+  @Override
+  ReportAggregates aggregate() {
+    return aggregate(fileReports);
   }
 
   @Override
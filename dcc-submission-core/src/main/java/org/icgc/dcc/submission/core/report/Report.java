@@ -30,15 +30,8 @@ import java.util.Set;
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.visitor.AbortVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddFieldVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddFileVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddSummaryVisitor;
-import org.icgc.dcc.submission.core.report.visitor.ErrorCountVisitor;
-import org.icgc.dcc.submission.core.report.visitor.GetFileReportVisitor;
-import org.icgc.dcc.submission.core.report.visitor.GetFilesVisitor;
 import org.icgc.dcc.submission.core.report.visitor.InheritStateVisitor;
-import org.icgc.dcc.submission.core.report.visitor.IsValidVisitor;
 import org.icgc.dcc.submission.core.report.visitor.RefreshStateVisitor;
 import org.icgc.dcc.submission.core.report.visitor.RemoveFileVisitor;
 import org.icgc.dcc.submission.core.report.visitor.ResetVisitor;
@@ -57,6 +50,7 @@ import com.google.common.collect.Iterables;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.val;
@@ -65,6 +59,9 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Represents a validation report for a submission within a release. This is an "Aggregate Root" in the DDD sense.
  * <p>
+ * Updates of a single file (e.g. adding errors) and queries on the whole report (e.g. error count, validity) go through
+ * the {@link ReportAggregates} of the report rather than traversing it.
+ * <p>
  * Example:
  * 
  * <pre>
@@ -81,10 +78,11 @@ import lombok.extern.slf4j.Slf4j;
 @Embedded
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
 @JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE, setterVisibility = NONE)
 @Converters({ FileTypeConverter.class, DataTypeConverter.class })
 @Slf4j
-public class Report implements ReportElement {
+public class Report extends AggregatingReportElement {
 
   private Set<DataTypeReport> dataTypeReports = newTreeSet();
 
@@ -113,28 +111,69 @@ public class Report implements ReportElement {
     visitor.visit(this);
   }
 
+  public void setDataTypeReports(@NonNull Set<DataTypeReport> dataTypeReports) {
+    this.dataTypeReports = dataTypeReports;
+
+    reaggregate();
+  }
+
   public void addDataTypeReport(@NonNull DataTypeReport dataTypeReport) {
-    dataTypeReports.add(dataTypeReport);
+    if (dataTypeReports.add(dataTypeReport)) {
+      attach(dataTypeReport);
+    }
   }
 
   public void removeDataTypeReport(@NonNull DataTypeReport dataTypeReport) {
-    dataTypeReports.remove(dataTypeReport);
+    if (dataTypeReports.remove(dataTypeReport)) {
+      detach(dataTypeReport);
+    }
   }
 
   public void addSummary(@NonNull String fileName, @NonNull String name, @NonNull String value) {
-    executeVisitor(new AddSummaryVisitor(fileName, name, value));
+    val fileReport = getFileReport(fileName);
+    if (fileReport.isPresent()) {
+      fileReport.get().addSummaryReport(new SummaryReport(name, value));
+    }
   }
 
   public void addFieldReport(@NonNull String fileName, @NonNull FieldReport fieldReport) {
-    executeVisitor(new AddFieldVisitor(fileName, fieldReport));
+    val fileReport = getFileReport(fileName);
+    if (fileReport.isPresent()) {
+      fileReport.get().addFieldReport(fieldReport);
+    }
   }
 
   public void addError(@NonNull Error error) {
-    executeVisitor(new AddErrorVisitor(error));
+    addError(error, 1);
+  }
+
+  /**
+   * Adds {@code occurrences} errors of which only {@code error} has its value and line number kept.
+   */
+  public void addError(@NonNull Error error, long occurrences) {
+    val optional = getFileReport(error.getFileName());
+    if (!optional.isPresent()) {
+      return;
+    }
+
+    val fileReport = optional.get();
+    fileReport.setFileState(FileState.INVALID);
+    fileReport.addError(error, occurrences);
+
+    // For ancestors
+    val fileTypeReport = (FileTypeReport) fileReport.getParent();
+    fileTypeReport.setFileTypeState(FileTypeState.INVALID);
+    val dataTypeReport = (DataTypeReport) fileTypeReport.getParent();
+    dataTypeReport.setDataTypeState(DataTypeState.INVALID);
   }
 
   public Map<String, FileType> getFiles() {
-    return executeVisitor(new GetFilesVisitor()).getFiles();
+    val files = ImmutableMap.<String, FileType> builder();
+    for (val fileReport : getAggregates().getFileReports()) {
+      files.put(fileReport.getFileName(), fileReport.getFileType());
+    }
+
+    return files.build();
   }
 
   public void refreshFiles(@NonNull Iterable<SubmissionFile> submissionFiles) {
@@ -169,19 +208,23 @@ public class Report implements ReportElement {
   }
 
   public Optional<FileReport> getFileReport(@NonNull String fileName) {
-    return executeVisitor(new GetFileReportVisitor(fileName)).getFileReport();
+    return getAggregates().getFileReport(fileName);
   }
 
   public int getErrorCount() {
-    return executeVisitor(new ErrorCountVisitor()).getErrorCount();
+    return (int) getAggregates().getErrorCount();
   }
 
   public boolean hasErrors() {
     return getErrorCount() > 0;
   }
 
+  /**
+   * Whether all the files are {@link FileState#VALID}, provided there are some.
+   */
   public boolean isValid() {
-    return executeVisitor(new IsValidVisitor()).isValid();
+    val aggregates = getAggregates();
+    return aggregates.getFileCount() > 0 && aggregates.getFileCount(FileState.VALID) == aggregates.getFileCount();
   }
 
   public void resetAll() {
@@ -212,6 +255,11 @@ public class Report implements ReportElement {
     new Merger().mergeInOriginalReport(originalReport, dataTypes);
   }
 
+  @Override
+  ReportAggregates aggregate() {
+    return aggregate(dataTypeReports);
+  }
+
   private static Map<String, FileType> transformFiles(Iterable<SubmissionFile> submissionFiles) {
     val files = ImmutableMap.<String, FileType> builder();
     for (val submissionFile : submissionFiles) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.report;
+
+import static com.google.common.base.Optional.fromNullable;
+import static java.util.Collections.unmodifiableCollection;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.EnumMultiset;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * Aggregates of the {@link FileReport}s under a {@link AggregatingReportElement}: their error count, the number of them
+ * in each {@link FileState} and an index of them by file name.
+ * <p>
+ * Example: a file type is valid if it has {@link FileState#VALID} files and no {@link FileState#INVALID} ones.
+ */
+@NotThreadSafe
+@ToString(exclude = "fileReports")
+public final class ReportAggregates {
+
+  /**
+   * Number of errors, stored or not.
+   */
+  @Getter
+  private long errorCount;
+
+  private final Multiset<FileState> fileStates = EnumMultiset.create(FileState.class);
+  private final Map<String, FileReport> fileReports = Maps.newHashMap();
+
+  static ReportAggregates of(@NonNull FileReport fileReport) {
+    val aggregates = new ReportAggregates();
+    for (val errorReport : fileReport.getErrorReports()) {
+      aggregates.errorCount += errorReport.getErrorCount();
+    }
+    aggregates.changeFileState(null, fileReport.getFileState());
+    aggregates.fileReports.put(fileReport.getFileName(), fileReport);
+
+    return aggregates;
+  }
+
+  public int getFileCount() {
+    return fileReports.size();
+  }
+
+  public int getFileCount(@NonNull FileState fileState) {
+    return fileStates.count(fileState);
+  }
+
+  public boolean hasFileState(@NonNull FileState fileState) {
+    return fileStates.contains(fileState);
+  }
+
+  public Optional<FileReport> getFileReport(@NonNull String fileName) {
+    return fromNullable(fileReports.get(fileName));
+  }
+
+  public Collection<FileReport> getFileReports() {
+    return unmodifiableCollection(fileReports.values());
+  }
+
+  void add(@NonNull ReportAggregates other) {
+    errorCount += other.errorCount;
+    fileStates.addAll(other.fileStates);
+    fileReports.putAll(other.fileReports);
+  }
+
+  void remove(@NonNull ReportAggregates other) {
+    errorCount -= other.errorCount;
+    for (val entry : other.fileStates.entrySet()) {
+      fileStates.remove(entry.getElement(), entry.getCount());
+    }
+    fileReports.keySet().removeAll(other.fileReports.keySet());
+  }
+
+  void addErrors(long count) {
+    errorCount += count;
+  }
+
+  void changeFileState(FileState previous, FileState next) {
+    if (previous != null) {
+      fileStates.remove(previous);
+    }
+    if (next != null) {
+      fileStates.add(next);
+    }
+  }
+
+}
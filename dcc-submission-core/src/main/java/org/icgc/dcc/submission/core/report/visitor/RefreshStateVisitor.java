@@ -17,46 +17,32 @@
  */
 package org.icgc.dcc.submission.core.report.visitor;
 
-import static com.google.common.collect.Sets.newHashSet;
-
-import java.util.Set;
-
-import org.icgc.dcc.common.core.model.DataType;
-import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.DataTypeReport;
 import org.icgc.dcc.submission.core.report.DataTypeState;
 import org.icgc.dcc.submission.core.report.FileReport;
 import org.icgc.dcc.submission.core.report.FileState;
 import org.icgc.dcc.submission.core.report.FileTypeReport;
 import org.icgc.dcc.submission.core.report.FileTypeState;
+import org.icgc.dcc.submission.core.report.ReportAggregates;
 import org.icgc.dcc.submission.core.report.ReportElement;
 
 import lombok.RequiredArgsConstructor;
 
 /**
  * Refreshes stale {@link ReportElement} states based on non-state attributes and transitive relationships.
+ * <p>
+ * Files being visited before their ancestors, the valid and invalid file counts of the {@link ReportAggregates} of a
+ * file or data type reflect the refreshed file states by the time it is visited.
  */
 @RequiredArgsConstructor
 public class RefreshStateVisitor extends NoOpVisitor {
 
-  /**
-   * State - journals the <em>valid<em> file and data types as visiting proceeds.
-   */
-  private final Set<DataType> validDataTypes = newHashSet();
-  private final Set<FileType> validFileTypes = newHashSet();
-
-  /**
-   * State - journals the <em>invalid</em> file and data types as visiting proceeds.
-   */
-  private final Set<DataType> invalidDataTypes = newHashSet();
-  private final Set<FileType> invalidFileTypes = newHashSet();
-
   /**
    * Refreshes any dirty valid or invalid states at the data-type level.
    */
   @Override
   public void visit(DataTypeReport dataTypeReport) {
-    // Use the file type results
+    // Use the file results
     if (refreshInvalid(dataTypeReport)) {
       dataTypeReport.setDataTypeState(DataTypeState.INVALID);
     } else if (refreshValid(dataTypeReport)) {
@@ -69,7 +55,7 @@ public class RefreshStateVisitor extends NoOpVisitor {
    */
   @Override
   public void visit(FileTypeReport fileTypeReport) {
-    // Use the file type results
+    // Use the file results
     if (refreshInvalid(fileTypeReport)) {
       fileTypeReport.setFileTypeState(FileTypeState.INVALID);
     } else if (refreshValid(fileTypeReport)) {
@@ -79,35 +65,15 @@ public class RefreshStateVisitor extends NoOpVisitor {
 
   /**
    * Refreshes any dirty valid or invalid states at the file level.
-   * <p>
-   * Tracks valid and invalid types for higher levels.
    */
   @Override
   public void visit(FileReport fileReport) {
     if (refreshInvalid(fileReport)) {
       // Errors:
       fileReport.setFileState(FileState.INVALID);
-
-      // Track
-      recordInvalid(fileReport);
     } else if (refreshValid(fileReport)) {
       // Clean:
       fileReport.setFileState(FileState.VALID);
-
-      // Track
-      recordValid(fileReport);
-    } else if (fileReport.getFileState().in(FileState.VALID)) {
-      // Pass-through:
-      // - Was previously validated
-
-      // Track
-      recordValid(fileReport);
-    } else if (fileReport.getFileState().in(FileState.INVALID)) {
-      // Pass-through:
-      // - Was previously validated
-
-      // Track
-      recordInvalid(fileReport);
     }
   }
 
@@ -115,17 +81,17 @@ public class RefreshStateVisitor extends NoOpVisitor {
   // Helpers - Refresh valid predicates
   //
 
-  private boolean refreshValid(DataTypeReport dataTypeReport) {
+  private static boolean refreshValid(DataTypeReport dataTypeReport) {
     return dataTypeReport.getDataTypeState().in(DataTypeState.INVALID, DataTypeState.VALIDATING)
-        && isValid(dataTypeReport.getDataType());
+        && isValid(dataTypeReport.getAggregates());
   }
 
-  private boolean refreshValid(FileTypeReport fileTypeReport) {
+  private static boolean refreshValid(FileTypeReport fileTypeReport) {
     return fileTypeReport.getFileTypeState().in(FileTypeState.INVALID, FileTypeState.VALIDATING)
-        && isValid(fileTypeReport.getFileType());
+        && isValid(fileTypeReport.getAggregates());
   }
 
-  private boolean refreshValid(FileReport fileReport) {
+  private static boolean refreshValid(FileReport fileReport) {
     return fileReport.getFileState().in(FileState.INVALID, FileState.VALIDATING)
         && isValid(fileReport);
   }
@@ -134,17 +100,17 @@ public class RefreshStateVisitor extends NoOpVisitor {
   // Helpers - Refresh invalid predicates
   //
 
-  private boolean refreshInvalid(DataTypeReport dataTypeReport) {
+  private static boolean refreshInvalid(DataTypeReport dataTypeReport) {
     return dataTypeReport.getDataTypeState().in(DataTypeState.VALID, DataTypeState.VALIDATING)
-        && isInvalid(dataTypeReport.getDataType());
+        && isInvalid(dataTypeReport.getAggregates());
   }
 
-  private boolean refreshInvalid(FileTypeReport fileTypeReport) {
+  private static boolean refreshInvalid(FileTypeReport fileTypeReport) {
     return fileTypeReport.getFileTypeState().in(FileTypeState.VALID, FileTypeState.VALIDATING)
-        && isInvalid(fileTypeReport.getFileType());
+        && isInvalid(fileTypeReport.getAggregates());
   }
 
-  private boolean refreshInvalid(FileReport fileReport) {
+  private static boolean refreshInvalid(FileReport fileReport) {
     return fileReport.getFileState().in(FileState.VALID, FileState.VALIDATING)
         && isInvalid(fileReport);
   }
@@ -153,15 +119,11 @@ public class RefreshStateVisitor extends NoOpVisitor {
   // Helpers - valid predicates
   //
 
-  private boolean isValid(DataType dataType) {
-    return validDataTypes.contains(dataType) && !invalidDataTypes.contains(dataType);
+  private static boolean isValid(ReportAggregates aggregates) {
+    return aggregates.hasFileState(FileState.VALID) && !aggregates.hasFileState(FileState.INVALID);
   }
 
-  private boolean isValid(FileType fileType) {
-    return validFileTypes.contains(fileType) && !invalidFileTypes.contains(fileType);
-  }
-
-  private boolean isValid(FileReport fileReport) {
+  private static boolean isValid(FileReport fileReport) {
     return fileReport.getErrorReports().isEmpty();
   }
 
@@ -169,30 +131,12 @@ public class RefreshStateVisitor extends NoOpVisitor {
   // Helpers - invalid predicates
   //
 
-  private boolean isInvalid(DataType dataType) {
-    return invalidDataTypes.contains(dataType);
-  }
-
-  private boolean isInvalid(FileType fileType) {
-    return invalidFileTypes.contains(fileType);
+  private static boolean isInvalid(ReportAggregates aggregates) {
+    return aggregates.hasFileState(FileState.INVALID);
   }
 
-  private boolean isInvalid(FileReport fileReport) {
+  private static boolean isInvalid(FileReport fileReport) {
     return !isValid(fileReport);
   }
 
-  //
-  // Helpers - journaling
-  //
-
-  private void recordValid(FileReport fileReport) {
-    validFileTypes.add(fileReport.getFileType());
-    validDataTypes.add(fileReport.getFileType().getDataType());
-  }
-
-  private void recordInvalid(FileReport fileReport) {
-    invalidFileTypes.add(fileReport.getFileType());
-    invalidDataTypes.add(fileReport.getFileType().getDataType());
-  }
-
 }
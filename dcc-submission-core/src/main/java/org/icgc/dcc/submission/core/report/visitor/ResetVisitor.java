@@ -28,7 +28,6 @@ import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.DataTypeReport;
 import org.icgc.dcc.submission.core.report.DataTypeState;
 import org.icgc.dcc.submission.core.report.FileReport;
-import org.icgc.dcc.submission.core.report.FileState;
 import org.icgc.dcc.submission.core.report.FileTypeReport;
 import org.icgc.dcc.submission.core.report.FileTypeState;
 import org.icgc.dcc.submission.core.report.Report;
@@ -69,12 +68,8 @@ public class ResetVisitor extends NoOpVisitor {
   @Override
   public void visit(@NonNull FileReport fileReport) {
     if (isResettable(fileReport.getFileType())) {
-      fileReport.setFileState(FileState.getDefaultState());
-
-      // Clear all leaf level reports
-      fileReport.getSummaryReports().clear();
-      fileReport.getFieldReports().clear();
-      fileReport.getErrorReports().clear();
+      // Also clears all leaf level reports
+      fileReport.reset();
     }
   }
 
@@ -17,52 +17,44 @@
  */
 package org.icgc.dcc.submission.core.report.visitor;
 
-import java.util.Set;
-
-import org.icgc.dcc.common.core.model.DataType;
-import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.DataTypeReport;
 import org.icgc.dcc.submission.core.report.DataTypeState;
-import org.icgc.dcc.submission.core.report.FileReport;
 import org.icgc.dcc.submission.core.report.FileState;
 import org.icgc.dcc.submission.core.report.FileTypeReport;
 import org.icgc.dcc.submission.core.report.FileTypeState;
+import org.icgc.dcc.submission.core.report.ReportAggregates;
 import org.icgc.dcc.submission.core.report.ReportElement;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
-
 import lombok.val;
 
 /**
  * Refreshes stale {@link ReportElement} states based on non-state attributes and transitive relationships.
+ * <p>
+ * The file states of a file or data type are read from its {@link ReportAggregates}, which reflect the changes made to
+ * its files as they are visited before it.
  */
 public abstract class UpdateStateVisitor extends NoOpVisitor {
 
-  private final SetMultimap<FileType, FileState> fileTypeStates = createSetMultimap();
-
   @Override
   public void visit(DataTypeReport dataTypeReport) {
-    val dataType = dataTypeReport.getDataType();
-    val fileStates = getFileStates(dataType);
+    val fileStates = dataTypeReport.getAggregates();
 
-    if (fileStates.contains(FileState.ERROR)) {
+    if (fileStates.hasFileState(FileState.ERROR)) {
       dataTypeReport.setDataTypeState(DataTypeState.ERROR);
       return;
     }
 
-    if (fileStates.contains(FileState.INVALID)) {
+    if (fileStates.hasFileState(FileState.INVALID)) {
       dataTypeReport.setDataTypeState(DataTypeState.INVALID);
       return;
     }
 
-    if (fileStates.contains(FileState.NOT_VALIDATED)) {
+    if (fileStates.hasFileState(FileState.NOT_VALIDATED)) {
       dataTypeReport.setDataTypeState(DataTypeState.NOT_VALIDATED);
       return;
     }
 
-    if (fileStates.contains(FileState.VALID)) {
+    if (fileStates.hasFileState(FileState.VALID)) {
       dataTypeReport.setDataTypeState(DataTypeState.VALID);
       return;
     }
@@ -70,67 +62,28 @@ public abstract class UpdateStateVisitor extends NoOpVisitor {
 
   @Override
   public void visit(FileTypeReport fileTypeReport) {
-    val fileType = fileTypeReport.getFileType();
-    val fileStates = getFileStates(fileType);
+    val fileStates = fileTypeReport.getAggregates();
 
-    if (fileStates.contains(FileState.ERROR)) {
+    if (fileStates.hasFileState(FileState.ERROR)) {
       fileTypeReport.setFileTypeState(FileTypeState.ERROR);
       return;
     }
 
-    if (fileStates.contains(FileState.INVALID)) {
+    if (fileStates.hasFileState(FileState.INVALID)) {
       fileTypeReport.setFileTypeState(FileTypeState.INVALID);
       return;
     }
 
-    if (fileStates.contains(FileState.NOT_VALIDATED)) {
+    if (fileStates.hasFileState(FileState.NOT_VALIDATED)) {
       fileTypeReport.setFileTypeState(FileTypeState.NOT_VALIDATED);
       return;
     }
 
-    if (fileStates.contains(FileState.VALID)) {
+    if (fileStates.hasFileState(FileState.VALID)) {
       fileTypeReport.setFileTypeState(FileTypeState.VALID);
       return;
     }
 
   }
 
-  @Override
-  public void visit(FileReport fileReport) {
-    val fileType = fileReport.getFileType();
-    val fileState = fileReport.getFileState();
-
-    fileTypeStates.put(fileType, fileState);
-  }
-
-  private Set<FileState> getFileStates(FileType fileType) {
-    return fileTypeStates.get(fileType);
-  }
-
-  private Set<FileState> getFileStates(DataType dataType) {
-    val fileStates = ImmutableSet.<FileState> builder();
-
-    for (val fileType : getFileTypes(dataType)) {
-      fileStates.addAll(getFileStates(fileType));
-    }
-
-    return fileStates.build();
-  }
-
-  private static Set<FileType> getFileTypes(DataType dataType) {
-    val fileTypes = ImmutableSet.<FileType> builder();
-
-    for (val fileType : FileType.values()) {
-      if (fileType.getDataType() == dataType) {
-        fileTypes.add(fileType);
-      }
-    }
-
-    return fileTypes.build();
-  }
-
-  private static SetMultimap<FileType, FileState> createSetMultimap() {
-    return HashMultimap.<FileType, FileState> create();
-  }
-
 }
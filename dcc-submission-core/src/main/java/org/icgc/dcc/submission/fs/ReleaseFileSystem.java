@@ -26,9 +26,7 @@ import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.submission.release.ReleaseException;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.ReleaseState;
@@ -77,27 +75,6 @@ public class ReleaseFileSystem {
     return new SubmissionDirectory(submissionFileSystem, this, release, projectKey, submission);
   }
 
-  public void setUpNewReleaseFileSystem(
-      String newReleaseName,
-      @NonNull ReleaseFileSystem previous,
-      @NonNull Iterable<String> projectKeys) {
-    log.info("Setting up new release file system for: '{}'", newReleaseName);
-
-    // Shorthands
-    val fileSystem = submissionFileSystem.getFileSystem();
-    val next = this;
-
-    submissionFileSystem.createReleaseDirectory(newReleaseName);
-
-    for (val projectKey : projectKeys) {
-      // Copy "release_(n-1)/projectKey/" to "release_(n)/projectKey/"
-      copySubmissionDir(projectKey, previous, next, fileSystem);
-    }
-
-    // Copy "release_(n-1)/.system/" to "release_(n)/.system/"
-    copySystemDir(previous, next, fileSystem);
-  }
-
   public void resetValidationFolder(@NonNull String projectKey) {
     val validationStringPath = submissionFileSystem.buildValidationDirStringPath(release.getName(), projectKey);
     submissionFileSystem.removeDirIfExist(validationStringPath);
@@ -137,26 +114,4 @@ public class ReleaseFileSystem {
     return isApplication() || hasSpecificProjectPrivilege(authentication, projectKey);
   }
 
-  private static void copySubmissionDir(String projectKey, ReleaseFileSystem previous, ReleaseFileSystem next,
-      FileSystem fileSystem) {
-    val previousSubmissionDir = getSubmissionDir(previous, projectKey);
-    val nextSubmissionDir = getSubmissionDir(next, projectKey);
-
-    HadoopUtils.cp(fileSystem, previousSubmissionDir, nextSubmissionDir);
-  }
-
-  private static void copySystemDir(ReleaseFileSystem previous, ReleaseFileSystem next, FileSystem fileSystem) {
-    val sourceSystemDir = previous.getSystemDirPath();
-    val targetSystemDir = next.getSystemDirPath();
-
-    HadoopUtils.cp(fileSystem, sourceSystemDir, targetSystemDir);
-  }
-
-  private static Path getSubmissionDir(ReleaseFileSystem releaseFileSystem, String projectKey) {
-    val submissionDirectory = releaseFileSystem.getSubmissionDirectory(projectKey);
-    val text = submissionDirectory.getSubmissionDirPath();
-
-    return new Path(text);
-  }
-
 }
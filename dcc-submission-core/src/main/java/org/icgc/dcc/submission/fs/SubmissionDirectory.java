@@ -19,38 +19,26 @@ package org.icgc.dcc.submission.fs;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.regex.Pattern.compile;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_SPECIMEN_ID;
-import static org.icgc.dcc.common.core.model.FileTypes.FileType.SAMPLE_TYPE;
-import static org.icgc.dcc.common.core.model.FileTypes.FileType.SPECIMEN_TYPE;
-import static org.icgc.dcc.common.core.util.Splitters.TAB;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.isFile;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsFile;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.rm;
 
-import java.io.BufferedReader;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
-import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.ReleaseState;
 import org.icgc.dcc.submission.release.model.Submission;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
-import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -194,6 +182,15 @@ public class SubmissionDirectory {
         .open(new Path(getDataFilePath(fileName)));
   }
 
+  /**
+   * Creates (or overwrites) a file in the validation directory. Must close stream after usage.
+   */
+  @SneakyThrows
+  public DataOutputStream createValidationFile(@NonNull String fileName) {
+    return submissionFileSystem.getFileSystem()
+        .create(new Path(getValidationDirPath(), fileName), true);
+  }
+
   /**
    * Must close stream after usage. The extension is expected to match the actual encoding at this point. The client
    * code can read data from this stream without having to worry about what compression is used.
@@ -208,80 +205,6 @@ public class SubmissionDirectory {
         codec.createInputStream(in);
   }
 
-  /**
-   * Returns a map of sample IDs to their corresponding donor IDs, a mapping commonly needed.
-   * <p>
-   * TODO: properly handle using cascading rather.
-   */
-  public Map<String, String> getSampleToDonorMap(Dictionary dictionary) {
-
-    val sampleToSpecimen = Maps.<String, String> newTreeMap();
-    val sampleFileSchema = dictionary.getFileSchema(SAMPLE_TYPE);
-    val sampleSampleIdOrdinal = sampleFileSchema.getFieldOrdinal(SUBMISSION_ANALYZED_SAMPLE_ID).get();
-    val sampleSpecimenIdOrdinal = sampleFileSchema.getFieldOrdinal(SUBMISSION_SPECIMEN_ID).get();
-    val sampleFileNames = listFile(compile(sampleFileSchema.getPattern()));
-
-    for (val sampleFileName : sampleFileNames) {
-      boolean first = true;
-      for (String row : readClinicalFile(sampleFileName)) { // Clinical files are small
-        if (!first) {
-          val fields = Lists.<String> newArrayList(TAB.split(row));
-          val sampleId = fields.get(sampleSampleIdOrdinal);
-          val specimenId = fields.get(sampleSpecimenIdOrdinal);
-          checkState(!sampleToSpecimen.containsKey(sampleId));
-          sampleToSpecimen.put(sampleId, specimenId);
-        }
-        first = false;
-      }
-    }
-    log.debug("Sample to specimen mapping: {}", sampleToSpecimen);
-
-    val specimenToDonor = Maps.<String, String> newTreeMap();
-    val specimenFileSchema = dictionary.getFileSchema(SPECIMEN_TYPE);
-    val specimenSpecimenIdOrdinal = specimenFileSchema.getFieldOrdinal(SUBMISSION_SPECIMEN_ID).get();
-    val specimenDonorIdOrdinal = specimenFileSchema.getFieldOrdinal(SUBMISSION_DONOR_ID).get();
-    val specimenFileNames = listFile(compile(specimenFileSchema.getPattern()));
-
-    for (val specimenFileName : specimenFileNames) {
-      boolean first = true;
-      for (String row : readClinicalFile(specimenFileName)) { // Clinical files are small
-        if (!first) {
-          val fields = Lists.<String> newArrayList(TAB.split(row));
-          val specimenId = fields.get(specimenSpecimenIdOrdinal);
-          val donorId = fields.get(specimenDonorIdOrdinal);
-          checkState(!specimenToDonor.containsKey(specimenId));
-          specimenToDonor.put(specimenId, donorId);
-        }
-        first = false;
-      }
-    }
-    log.debug("Specimen to donor mapping: {}", specimenToDonor);
-
-    val sampleToDonor = Maps.<String, String> newTreeMap();
-    for (val entry : sampleToSpecimen.entrySet()) {
-      sampleToDonor.put(
-          entry.getKey(),
-          specimenToDonor.get(entry.getValue()));
-    }
-    log.debug("Sample to donor mapping: {}", sampleToDonor);
-
-    return sampleToDonor;
-  }
-
-  /**
-   * Only intended for clinical files (small enough).
-   */
-  @SneakyThrows
-  private List<String> readClinicalFile(String fileName) {
-    @Cleanup
-    BufferedReader br = new BufferedReader(new InputStreamReader(getDecompressingInputStream(fileName)));
-    val lines = Lists.<String> newArrayList();
-    for (String line; (line = br.readLine()) != null;) {
-      lines.add(line);
-    }
-    return lines;
-  }
-
   @Override
   public String toString() {
     return String.format("SubmissionDirectory [%s]", getSubmissionDirPath());
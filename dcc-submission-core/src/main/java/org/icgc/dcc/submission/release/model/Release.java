@@ -17,7 +17,6 @@
  */
 package org.icgc.dcc.submission.release.model;
 
-import static com.google.common.base.Preconditions.checkState;
 import static org.icgc.dcc.submission.release.model.ReleaseState.COMPLETED;
 import static org.icgc.dcc.submission.release.model.ReleaseState.OPENED;
 
@@ -33,26 +32,22 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
 import org.hibernate.validator.constraints.NotBlank;
 import org.icgc.dcc.submission.core.model.BaseEntity;
 import org.icgc.dcc.submission.core.model.HasName;
 import org.icgc.dcc.submission.core.model.Views.Digest;
 import org.icgc.dcc.submission.core.util.NameValidator;
-import org.icgc.dcc.submission.release.ReleaseException;
 import org.mongodb.morphia.annotations.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
-import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 /**
  * Not meant to be used in a hash for now (override hashCode if so)
  */
-@Slf4j
 @Entity
 @ToString
 @EqualsAndHashCode(of = "name", callSuper = false)
@@ -79,6 +74,10 @@ public class Release extends BaseEntity implements HasName {
   @Setter
   protected String dictionaryVersion;
 
+  /**
+   * Queue left by previous versions of the server, which are now queued in their own collection. Only read to migrate
+   * it there.
+   */
   @Valid
   @Getter
   protected List<QueuedProject> queue = Lists.newArrayList();
@@ -124,7 +123,7 @@ public class Release extends BaseEntity implements HasName {
   }
 
   /**
-   * Returns the list of project keys that are queued (possibly empty)
+   * Returns the list of project keys that are queued (possibly empty), for migrating them only.
    */
   public List<String> getQueuedProjectKeys() {
     val projectKeys = ImmutableList.<String> builder();
@@ -135,67 +134,4 @@ public class Release extends BaseEntity implements HasName {
     return projectKeys.build();
   }
 
-  public void enqueue(@NonNull List<QueuedProject> queuedProjects) {
-    for (val queuedProject : queuedProjects) {
-      enqueue(queuedProject);
-    }
-  }
-
-  public void enqueue(@NonNull QueuedProject queuedProject) {
-    log.info("Enqueing '{}' from current queue state {}...", queuedProject, queue);
-
-    // Not sure why there is a test / expectation for this, but here it is:
-    if (queuedProject.getKey() == null || queuedProject.getKey().isEmpty()) {
-      return;
-    }
-
-    if (queue.contains(queuedProject)) {
-      throw new ReleaseException("Project '%s' already exists in queue: '%s'", queuedProject, queue);
-    }
-
-    queue.add(queuedProject);
-  }
-
-  public void removeFromQueue(@NonNull final Iterable<String> projectKeys) {
-    for (val projectKey : projectKeys) {
-      removeFromQueue(projectKey);
-    }
-  }
-
-  public void removeFromQueue(@NonNull final String projectKey) {
-    log.info("Removing '{}' from current queue state {}...", projectKey, queue);
-
-    val iterator = queue.iterator();
-    while (iterator.hasNext()) {
-      val queuedProject = iterator.next();
-      if (queuedProject.getKey().equals(projectKey)) {
-        iterator.remove();
-      }
-    }
-  }
-
-  /**
-   * Attempts to retrieve the first element of the queue.
-   */
-  public Optional<QueuedProject> nextInQueue() {
-    return Optional.<QueuedProject> fromNullable(isQueued() ? queue.get(0) : null);
-  }
-
-  /**
-   * Dequeues the first element of the queue, expecting the queue to contain at least one element.<br>
-   * 
-   * Use in combination with <code>{@link Release#nextInQueue()}</code> and guava's <code>Optional.isPresent()</code> <br>
-   * This method is <b>not</b> thread-safe.
-   */
-  public QueuedProject dequeueProject() {
-    log.info("Dequeuing from current queue state {}...", queue);
-    checkState(isQueued(), "Cannot dequeue from empty queue!");
-    return queue.remove(0);
-  }
-
-  public void emptyQueue() {
-    log.info("Emptying from current queue state {}...", queue);
-    queue.clear();
-  }
-
 }
@@ -49,12 +49,12 @@ public class ReleaseView {
   protected String dictionaryVersion;
   protected Map<SubmissionState, ? extends Number> summary;
 
-  public ReleaseView(Release release, Collection<SubmissionState> submissionsStates) {
+  public ReleaseView(Release release, List<String> queue, Collection<SubmissionState> submissionsStates) {
     this.created = release.getCreated();
     this.lastUpdate = release.getLastUpdate();
     this.name = release.name;
     this.state = release.state;
-    this.queue = release.getQueuedProjectKeys();
+    this.queue = queue;
     this.releaseDate = release.releaseDate;
     this.dictionaryVersion = release.dictionaryVersion;
     this.summary = submissionsStates.stream()
@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.release.model;
 
 import static com.google.common.base.Throwables.propagate;
 import static com.google.common.collect.Iterables.transform;
+import static lombok.AccessLevel.NONE;
 import static org.icgc.dcc.submission.release.model.SubmissionState.getDefaultState;
 
 import java.io.Serializable;
@@ -34,6 +35,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -50,15 +52,18 @@ import org.icgc.dcc.submission.fs.SubmissionFile;
 import org.icgc.dcc.submission.fs.SubmissionFileEvent;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.PostLoad;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.mongodb.DBObject;
 
 @Slf4j
 @Data
@@ -94,6 +99,21 @@ public class Submission implements Serializable, Identifiable {
   @Valid
   protected Report report = new Report();
 
+  /**
+   * Incremented on every update of the persisted submission so that partial updates can check that they apply to the
+   * document they were computed from.
+   */
+  @JsonIgnore
+  protected long revision;
+
+  /**
+   * Persisted form of the submission as last read or written, from which partial updates are computed.
+   */
+  @JsonIgnore
+  @Getter(NONE)
+  @Setter(NONE)
+  private transient DBObject persisted;
+
   public Submission(@NonNull String projectKey, @NonNull String projectName, @NonNull String releaseName) {
     this(projectKey, projectName, releaseName, getDefaultState());
   }
@@ -182,6 +202,20 @@ public class Submission implements Serializable, Identifiable {
     this.projectKey = projectKey;
   }
 
+  @JsonIgnore
+  public Optional<DBObject> getPersisted() {
+    return Optional.fromNullable(persisted);
+  }
+
+  public void setPersisted(DBObject persisted) {
+    this.persisted = persisted;
+  }
+
+  @PostLoad
+  void onLoad(DBObject dbObject) {
+    this.persisted = dbObject;
+  }
+
   //
   // Actions
   //
@@ -32,4 +32,20 @@ public class FieldErrorReportTest {
 
   }
 
+  @Test
+  public void testAddErrorOccurrences() {
+    val fieldNames = Lists.newArrayList("f1");
+    val parameters = Maps.<ErrorParameterKey, Object> newHashMap();
+    val fieldErrorReport = new FieldErrorReport(fieldNames, parameters);
+
+    fieldErrorReport.addError(
+        error().type(SCRIPT_ERROR).number(0).fieldNames(fieldNames).lineNumber(1).value("v1").build());
+    fieldErrorReport.addError(
+        error().type(SCRIPT_ERROR).number(0).fieldNames(fieldNames).lineNumber(2).value("v2").build(), 1000);
+
+    assertThat(fieldErrorReport.getCount()).isEqualTo(1001);
+    assertThat(fieldErrorReport.getLineNumbers()).containsExactly(1L, 2L);
+    assertThat(fieldErrorReport.getValues()).containsExactly("v1", "v2");
+  }
+
 }
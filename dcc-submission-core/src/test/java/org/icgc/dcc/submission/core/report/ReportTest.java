@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.ClinicalType.CLINICAL_CORE_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.DONOR_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SAMPLE_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_M_TYPE;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
+import static org.icgc.dcc.submission.release.model.SubmissionState.VALIDATING;
+
+import org.icgc.dcc.common.core.model.DataType;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class ReportTest {
+
+  @Test
+  public void testAggregatesFollowUpdates() {
+    val report = new Report();
+    report.addFile(DONOR_TYPE, "donor.txt");
+    report.addFile(SAMPLE_TYPE, "sample.txt");
+    report.addFile(SSM_M_TYPE, "ssm_m.txt");
+
+    // Computes the aggregates, which are then maintained
+    assertThat(report.getErrorCount()).isEqualTo(0);
+    assertThat(report.getFiles()).hasSize(3);
+
+    report.inheritState(VALIDATING, ImmutableList.<DataType> of(CLINICAL_CORE_TYPE));
+    report.addError(error().fileName("donor.txt").type(SCRIPT_ERROR).fieldNames("f1").build(), 10);
+    report.addError(error().fileName("donor.txt").type(CODELIST_ERROR).fieldNames("f2").build());
+    report.addError(error().fileName("unknown.txt").type(CODELIST_ERROR).fieldNames("f2").build());
+    report.refreshState();
+
+    assertThat(report.getErrorCount()).isEqualTo(11);
+    assertThat(report.getFileReport("donor.txt").get().getFileState()).isEqualTo(FileState.INVALID);
+    assertThat(report.getFileReport("sample.txt").get().getFileState()).isEqualTo(FileState.VALID);
+    assertThat(report.getFileReport("unknown.txt").isPresent()).isFalse();
+    assertThat(report.isValid()).isFalse();
+    assertAggregated(report);
+
+    report.resetDataTypes(CLINICAL_CORE_TYPE);
+    report.removeFile(SSM_M_TYPE, "ssm_m.txt");
+
+    assertThat(report.getErrorCount()).isEqualTo(0);
+    assertThat(report.getFiles()).containsOnlyKeys("donor.txt", "sample.txt");
+    assertThat(report.getAggregates().getFileCount(FileState.NOT_VALIDATED)).isEqualTo(2);
+    assertAggregated(report);
+
+    report.inheritState(VALIDATING, ImmutableList.<DataType> of(CLINICAL_CORE_TYPE));
+    report.refreshState();
+
+    assertThat(report.isValid()).isTrue();
+    assertAggregated(report);
+  }
+
+  @Test
+  public void testAggregatesOfLoadedReport() {
+    val fileReport = new FileReport("donor.txt", DONOR_TYPE);
+    fileReport.addError(error().fileName("donor.txt").type(SCRIPT_ERROR).fieldNames("f1").build(), 5);
+    val fileTypeReport = new FileTypeReport(DONOR_TYPE);
+    fileTypeReport.addFileReport(fileReport);
+    val dataTypeReport = new DataTypeReport(CLINICAL_CORE_TYPE);
+    dataTypeReport.addFileTypeReport(fileTypeReport);
+    val report = new Report();
+    report.addDataTypeReport(dataTypeReport);
+
+    assertThat(report.getErrorCount()).isEqualTo(5);
+    assertThat(report.getFileReport("donor.txt").get()).isSameAs(fileReport);
+
+    // Direct updates of a file are reflected too
+    fileReport.setFileState(FileState.VALID);
+    assertThat(report.isValid()).isTrue();
+    assertAggregated(report);
+  }
+
+  /**
+   * Checks the maintained aggregates against those of a copy, computed from scratch.
+   */
+  private static void assertAggregated(Report report) {
+    val expected = new Report(report).getAggregates();
+    val actual = report.getAggregates();
+
+    assertThat(actual.getErrorCount()).isEqualTo(expected.getErrorCount());
+    assertThat(actual.getFileCount()).isEqualTo(expected.getFileCount());
+    for (val fileState : FileState.values()) {
+      assertThat(actual.getFileCount(fileState)).as(fileState.name()).isEqualTo(expected.getFileCount(fileState));
+    }
+  }
+
+}
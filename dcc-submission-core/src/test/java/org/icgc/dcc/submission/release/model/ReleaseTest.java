@@ -18,19 +18,11 @@
 package org.icgc.dcc.submission.release.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.Assert.assertEquals;
 
-import java.util.List;
-
-import lombok.val;
-
-import org.icgc.dcc.submission.release.ReleaseException;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
-import com.google.common.collect.Lists;
-
 /**
  * 
  */
@@ -52,98 +44,6 @@ public class ReleaseTest {
 
   private final Release release = new Release();
 
-  private static final String EMAIL = "a@a.com";
-
-  @Test
-  public void test_enqueue_oneKey() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    String projectKey = "pkey";
-    release.enqueue(new QueuedProject(projectKey, Lists.newArrayList(EMAIL)));
-    assertEquals(1, release.getQueuedProjectKeys().size());
-    assertEquals("pkey", release.getQueuedProjectKeys().get(0));
-  }
-
-  @Test
-  public void test_enqueue_oneKey_null() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    String projectKey = null;
-    release.enqueue(new QueuedProject(projectKey, Lists.newArrayList(EMAIL)));
-    assertEquals(0, release.getQueuedProjectKeys().size());
-  }
-
-  @Test
-  public void test_enqueue_oneKey_emptyString() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    String projectKey = "";
-    release.enqueue(new QueuedProject(projectKey, Lists.newArrayList(EMAIL)));
-    assertEquals(0, release.getQueuedProjectKeys().size());
-  }
-
-  @Test
-  public void test_enqueue_manyKeys() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    List<QueuedProject> queuedProjects = Lists.newArrayList();
-    queuedProjects.add(new QueuedProject("pkey1", Lists.newArrayList(EMAIL)));
-    queuedProjects.add(new QueuedProject("pkey2", Lists.newArrayList(EMAIL)));
-    release.enqueue(queuedProjects);
-    assertEquals(2, release.getQueuedProjectKeys().size());
-    assertEquals("pkey1", release.getQueuedProjectKeys().get(0));
-  }
-
-  @Test(expected = ReleaseException.class)
-  public void test_enqueue_duplicates() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    val queuedProjects = Lists.<QueuedProject> newArrayList();
-
-    val queuedProject = new QueuedProject("pkey1", Lists.newArrayList(EMAIL));
-    queuedProjects.add(queuedProject);
-    queuedProjects.add(queuedProject);
-    release.enqueue(queuedProjects);
-  }
-
-  @Test(expected = ReleaseException.class)
-  public void test_enqueue_repeated() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    val queuedProjects = Lists.<QueuedProject> newArrayList();
-
-    val queuedProject = new QueuedProject("pkey1", Lists.newArrayList(EMAIL));
-    queuedProjects.add(queuedProject);
-    release.enqueue(queuedProjects);
-    release.enqueue(queuedProjects);
-  }
-
-  @Test
-  public void test_enqueue_manyKeys_null() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    List<QueuedProject> queuedProjects = Lists.newArrayList();
-    queuedProjects.add(new QueuedProject(null, Lists.newArrayList(EMAIL)));
-    queuedProjects.add(new QueuedProject("pkey", Lists.newArrayList(EMAIL)));
-    release.enqueue(queuedProjects);
-    assertEquals(1, release.getQueuedProjectKeys().size());
-    assertEquals("pkey", release.getQueuedProjectKeys().get(0));
-  }
-
-  @Test
-  public void test_enqueue_manyKeys_emptyString() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    List<QueuedProject> queuedProjects = Lists.newArrayList();
-    queuedProjects.add(new QueuedProject("", Lists.newArrayList(EMAIL)));
-    queuedProjects.add(new QueuedProject("pkey", Lists.newArrayList(EMAIL)));
-    release.enqueue(queuedProjects);
-    assertEquals(1, release.getQueuedProjectKeys().size());
-    assertEquals("pkey", release.getQueuedProjectKeys().get(0));
-  }
-
-  @Test
-  public void test_emptyQueue() {
-    assertEquals(0, release.getQueuedProjectKeys().size());
-    String projectKey = "pkey";
-    release.enqueue(new QueuedProject(projectKey, Lists.newArrayList(EMAIL)));
-    assertEquals(1, release.getQueuedProjectKeys().size());
-    release.emptyQueue();
-    assertEquals(0, release.getQueuedProjectKeys().size());
-  }
-
   @Test
   public void testComplete() throws Exception {
     assertThat(release.getState()).isEqualTo(ReleaseState.OPENED);
@@ -17,9 +17,11 @@
  */
 package org.icgc.dcc.submission.server.config;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.io.File;
 import java.util.Set;
 
 import javax.annotation.PostConstruct;
@@ -33,9 +35,13 @@ import org.icgc.dcc.submission.validation.ValidationExecutor;
 import org.icgc.dcc.submission.validation.accession.AccessionValidator;
 import org.icgc.dcc.submission.validation.accession.core.AccessionDictionary;
 import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator;
+import org.icgc.dcc.submission.validation.core.ReferenceDataStore;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.first.FirstPassValidator;
 import org.icgc.dcc.submission.validation.key.KeyValidator;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionEngine;
 import org.icgc.dcc.submission.validation.norm.NormalizationValidator;
 import org.icgc.dcc.submission.validation.pcawg.PCAWGValidator;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGDictionary;
@@ -43,6 +49,7 @@ import org.icgc.dcc.submission.validation.pcawg.core.PCAWGSampleSheet;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactory;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactoryProvider;
 import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
+import org.icgc.dcc.submission.validation.primary.core.PlanMode;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionContext;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.planner.Planner;
@@ -62,6 +69,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.core.annotation.Order;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Optional;
 import com.google.common.collect.Sets;
 
@@ -99,8 +109,8 @@ public class ValidationConfig extends AbstractConfig {
   }
 
   @Bean
-  public Planner planner(Set<RestrictionType> restrictions) {
-    return new Planner(restrictions);
+  public Planner planner(Set<RestrictionType> restrictions, SubmissionProperties properties) {
+    return new Planner(restrictions, PlanMode.from(properties.getValidator().getPlanMode()));
   }
 
   @Bean
@@ -114,10 +124,30 @@ public class ValidationConfig extends AbstractConfig {
   }
 
   @Bean
-  public ValidationExecutor validationExecutor(SubmissionProperties properties) {
+  public ValidationExecutor validationExecutor(SubmissionProperties properties, MetricRegistry metricRegistry) {
     val maxValidating = properties.getValidator().getMaxSimultaneous();
+    val executor = new ValidationExecutor(maxValidating);
+    metricRegistry.register(name("validation", "executor", "active"), (Gauge<Integer>) executor::getActiveCount);
 
-    return new ValidationExecutor(maxValidating);
+    return executor;
+  }
+
+  /**
+   * Registry the validation metrics are recorded in, picked up by the actuator's {@code /metrics} endpoint.
+   */
+  @Bean
+  public MetricRegistry metricRegistry() {
+    return ValidationMetrics.getRegistry();
+  }
+
+  @Bean(destroyMethod = "stop")
+  public JmxReporter jmxReporter(MetricRegistry metricRegistry) {
+    val reporter = JmxReporter.forRegistry(metricRegistry)
+        .inDomain(ValidationMetrics.REGISTRY_NAME)
+        .build();
+    reporter.start();
+
+    return reporter;
   }
 
   @Bean
@@ -184,9 +214,18 @@ public class ValidationConfig extends AbstractConfig {
     return new DccFileSystem2(fileSystem, rootDir, hdfs);
   }
 
+  @Bean(destroyMethod = "close")
+  public ReferenceDataStore referenceDataStore(SubmissionProperties properties) {
+    val referenceData = properties.getReferenceData();
+    val snapshotDir = referenceData.getSnapshotDir() == null ? null : new File(referenceData.getSnapshotDir());
+    log.info("Using reference data snapshot dir '{}' and max age {} ms", snapshotDir, referenceData.getMaxAgeMs());
+
+    return new ReferenceDataStore(snapshotDir, referenceData.getMaxAgeMs());
+  }
+
   @Bean
   public Set<Validator> validators(SubmissionProperties properties, DccFileSystem2 submissionFileSystem2,
-      Planner planner) {
+      Planner planner, ReferenceDataStore referenceDataStore) {
     // Bind common components
 
     // Set binder will preserve bind order as iteration order for injectees
@@ -204,9 +243,9 @@ public class ValidationConfig extends AbstractConfig {
         } else if (value.equals(PRIMARY_VALIDATOR_CONFIG_VALUE)) {
           validators.add(primaryValidator(planner));
         } else if (value.equals(KEY_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(keyValidator());
+          validators.add(keyValidator(properties));
         } else if (value.equals(PCAWG_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(pcawgValidator(properties));
+          validators.add(pcawgValidator(properties, referenceDataStore));
         } else if (value.equals(REFERENCE_GENOME_VALIDATOR_CONFIG_VALUE)) {
           validators.add(referenceGenomeValidator(properties));
         } else if (value.equals(SAMPLE_TYPE_VALIDATOR_CONFIG_VALUE)) {
@@ -214,7 +253,7 @@ public class ValidationConfig extends AbstractConfig {
         } else if (value.equals(NORMALIZATION_VALIDATOR_CONFIG_VALUE)) {
           validators.add(normalizationValidator(properties, submissionFileSystem2));
         } else if (value.equals(ACCESSION_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(accessionValidator(properties));
+          validators.add(accessionValidator(properties, referenceDataStore));
         } else {
           checkState(false, "Invalid validator specification '%s'", value);
         }
@@ -223,12 +262,12 @@ public class ValidationConfig extends AbstractConfig {
       // Default validators and validator ordering
       validators.add(firstPassValidator());
       validators.add(primaryValidator(planner));
-      validators.add(keyValidator());
-      validators.add(pcawgValidator(properties));
+      validators.add(keyValidator(properties));
+      validators.add(pcawgValidator(properties, referenceDataStore));
       validators.add(referenceGenomeValidator(properties));
       validators.add(sampleTypeValidator());
       validators.add(normalizationValidator(properties, submissionFileSystem2));
-      validators.add(accessionValidator(properties));
+      validators.add(accessionValidator(properties, referenceDataStore));
     }
 
     return validators;
@@ -238,8 +277,13 @@ public class ValidationConfig extends AbstractConfig {
     return new FirstPassValidator();
   }
 
-  private static Validator keyValidator() {
-    return new KeyValidator();
+  private static Validator keyValidator(SubmissionProperties properties) {
+    val key = properties.getKey();
+    val surjectionConfig = new SurjectionConfig(
+        SurjectionEngine.from(key.getSurjectionEngine()), key.getMaxBufferedKeys(), key.getSpillDir());
+    log.info("Using key validation surjection config: {}", surjectionConfig);
+
+    return new KeyValidator(surjectionConfig);
   }
 
   private static Validator primaryValidator(Planner planner) {
@@ -247,7 +291,7 @@ public class ValidationConfig extends AbstractConfig {
   }
 
   @SneakyThrows
-  private static Validator pcawgValidator(SubmissionProperties properties) {
+  private static Validator pcawgValidator(SubmissionProperties properties, ReferenceDataStore referenceDataStore) {
     val dictionaryUrl =
         firstNonNull(properties.getPcawg().getDictionaryUrl(), PCAWGDictionary.DEFAULT_PCAWG_DICTIONARY_URL);
     log.info("Using PCAWG dictionary url: {}", dictionaryUrl);
@@ -256,7 +300,9 @@ public class ValidationConfig extends AbstractConfig {
         firstNonNull(properties.getPcawg().getSampleSheetUrl(), PCAWGSampleSheet.DEFAULT_PCAWG_SAMPLE_SHEET_URL);
     log.info("Using PCAWG sample sheet url: {}", sampleSheetUrl);
 
-    return new PCAWGValidator(new PCAWGDictionary(dictionaryUrl), new PCAWGSampleSheet(sampleSheetUrl));
+    return new PCAWGValidator(
+        new PCAWGDictionary(dictionaryUrl, referenceDataStore),
+        new PCAWGSampleSheet(sampleSheetUrl, referenceDataStore));
   }
 
   private static Validator referenceGenomeValidator(SubmissionProperties properties) {
@@ -274,14 +320,15 @@ public class ValidationConfig extends AbstractConfig {
     return NormalizationValidator.getDefaultInstance(submissionFileSystem2, properties.getNormalizer());
   }
 
-  private static Validator accessionValidator(SubmissionProperties properties) {
+  private static Validator accessionValidator(SubmissionProperties properties,
+      ReferenceDataStore referenceDataStore) {
     val dictionaryUrl =
         firstNonNull(properties.getAccession().getDictionaryUrl(),
             AccessionDictionary.DEFAULT_ACCESSION_DICTIONARY_URL);
     log.info("Using accession dictionary url: {}", dictionaryUrl);
     val egaValidator = new EGAFileAccessionValidator(properties.getEga().getReportUrl());
 
-    return new AccessionValidator(new AccessionDictionary(dictionaryUrl), egaValidator);
+    return new AccessionValidator(new AccessionDictionary(dictionaryUrl, referenceDataStore), egaValidator);
   }
 
 }
@@ -51,6 +51,7 @@ public class StartupListener {
   public void start() throws InvalidStateException {
     log.info("Clearing queue, if needed...");
     try {
+      releaseService.migrateReleaseQueue();
       releaseService.removeQueuedSubmissions();
       releaseService.cancelValidatingSubmissions();
     } catch (ReleaseException e) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.dictionary;
+
+import static com.google.common.base.Optional.fromNullable;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * All the {@link CodeList}s as loaded from the database, along with indexes derived from them.
+ * <p>
+ * Snapshots are shared, the code lists they hold must not be modified.
+ */
+@Value
+public class CodeListSnapshot {
+
+  List<CodeList> codeLists;
+
+  /**
+   * Entity tag of the JSON representation of {@link #codeLists}.
+   */
+  String etag;
+
+  Map<String, CodeList> codeListsByName;
+  Map<String, String> etagsByName;
+
+  public static CodeListSnapshot of(@NonNull List<CodeList> codeLists) {
+    val codeListsByName = ImmutableMap.<String, CodeList> builder();
+    val etagsByName = ImmutableMap.<String, String> builder();
+    for (val codeList : codeLists) {
+      val name = codeList.getName();
+      codeListsByName.put(name, codeList);
+      etagsByName.put(name, ETags.of(codeList));
+    }
+
+    return new CodeListSnapshot(
+        ImmutableList.copyOf(codeLists),
+        ETags.of(codeLists),
+        codeListsByName.build(),
+        etagsByName.build());
+  }
+
+  public Optional<CodeList> getCodeList(@NonNull String name) {
+    return fromNullable(codeListsByName.get(name));
+  }
+
+  public String getEtag(@NonNull String name) {
+    return etagsByName.get(name);
+  }
+
+}
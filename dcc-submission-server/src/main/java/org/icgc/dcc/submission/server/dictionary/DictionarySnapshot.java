@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.dictionary;
+
+import java.util.Map;
+
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+
+import com.google.common.collect.ImmutableMap;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * A version of a {@link Dictionary} as loaded from the database, along with indexes derived from it.
+ * <p>
+ * Snapshots are shared, the dictionary they hold must not be modified.
+ */
+@Value
+public class DictionarySnapshot {
+
+  Dictionary dictionary;
+
+  /**
+   * Entity tag of the JSON representation of {@link #dictionary}.
+   */
+  String etag;
+
+  Map<String, FileType> filePatternToTypeMap;
+
+  public static DictionarySnapshot of(@NonNull Dictionary dictionary) {
+    val filePatternToType = ImmutableMap.<String, FileType> builder();
+    for (val fileSchema : dictionary.getFiles()) {
+      filePatternToType.put(fileSchema.getPattern(), fileSchema.getFileType());
+    }
+
+    return new DictionarySnapshot(
+        dictionary,
+        ETags.of(dictionary),
+        filePatternToType.build());
+  }
+
+  public String getVersion() {
+    return dictionary.getVersion();
+  }
+
+}
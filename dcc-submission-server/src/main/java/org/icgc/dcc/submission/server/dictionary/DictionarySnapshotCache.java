@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.dictionary;
+
+import static com.google.common.base.Optional.fromNullable;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.repository.DictionaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version-keyed cache of {@link DictionarySnapshot}s and of the {@link CodeListSnapshot}.
+ * <p>
+ * Entries never expire: they are only invalidated by the server when it writes a dictionary or a code list, which it
+ * must do through this class. Entries loaded before their last invalidation, which does not cancel loads in progress,
+ * are loaded again when read. Snapshots are shared by all callers and must be treated as read-only.
+ */
+@Slf4j
+public class DictionarySnapshotCache {
+
+  /**
+   * Key of single-entry caches.
+   */
+  private static final String ALL = "all";
+
+  /**
+   * Maximum number of dictionary versions kept in memory.
+   */
+  private static final int MAX_DICTIONARIES = 100;
+
+  /**
+   * Dependencies.
+   */
+  private final DictionaryRepository dictionaryRepository;
+  private final CodeListRepository codeListRepository;
+
+  /**
+   * State.
+   */
+  private final Snapshots<Optional<DictionarySnapshot>> dictionaries;
+  private final Snapshots<List<String>> versions;
+  private final Snapshots<CodeListSnapshot> codeLists;
+
+  @Autowired
+  public DictionarySnapshotCache(@NonNull DictionaryRepository dictionaryRepository,
+      @NonNull CodeListRepository codeListRepository) {
+    this.dictionaryRepository = dictionaryRepository;
+    this.codeListRepository = codeListRepository;
+    // Bounded since unknown versions are cached too
+    this.dictionaries = new Snapshots<>(CacheBuilder.newBuilder().maximumSize(MAX_DICTIONARIES), this::loadDictionary);
+    this.versions = new Snapshots<>(CacheBuilder.newBuilder(), key -> loadVersions());
+    this.codeLists = new Snapshots<>(CacheBuilder.newBuilder(), key -> loadCodeLists());
+  }
+
+  public Optional<DictionarySnapshot> getDictionary(@NonNull String version) {
+    return dictionaries.get(version);
+  }
+
+  /**
+   * @return the dictionary with {@code version} or {@code null} if there is none
+   */
+  public Dictionary findDictionary(@NonNull String version) {
+    val snapshot = getDictionary(version);
+    return snapshot.isPresent() ? snapshot.get().getDictionary() : null;
+  }
+
+  /**
+   * Return a map of file pattern to {@link FileType} for the dictionary version provided, which is expected to exist.
+   */
+  public Map<String, FileType> getFilePatternToTypeMap(@NonNull String version) {
+    val snapshot = checkNotNull(getDictionary(version).orNull(), "No dictionary with version '%s' found", version);
+
+    return snapshot.getFilePatternToTypeMap();
+  }
+
+  public List<DictionarySnapshot> getDictionaries() {
+    val snapshots = ImmutableList.<DictionarySnapshot> builder();
+    for (val version : versions.get(ALL)) {
+      // Skip versions removed in the meantime
+      snapshots.addAll(getDictionary(version).asSet());
+    }
+
+    return snapshots.build();
+  }
+
+  public CodeListSnapshot getCodeLists() {
+    return codeLists.get(ALL);
+  }
+
+  /**
+   * To be called after any write of the dictionary with {@code version}, including its creation.
+   */
+  public void invalidateDictionary(@NonNull String version) {
+    log.info("Invalidating dictionary snapshot '{}'", version);
+    dictionaries.invalidate(version);
+    versions.invalidate(ALL);
+  }
+
+  /**
+   * To be called after any write of a code list.
+   */
+  public void invalidateCodeLists() {
+    log.info("Invalidating code list snapshot");
+    codeLists.invalidate(ALL);
+  }
+
+  private Optional<DictionarySnapshot> loadDictionary(String version) {
+    log.info("Loading dictionary snapshot '{}'", version);
+    val dictionary = dictionaryRepository.findDictionaryByVersion(version);
+
+    return fromNullable(dictionary == null ? null : DictionarySnapshot.of(dictionary));
+  }
+
+  private List<String> loadVersions() {
+    val versions = ImmutableList.<String> builder();
+    for (val dictionary : dictionaryRepository.getVersions()) {
+      versions.add(dictionary.getVersion());
+    }
+
+    return versions.build();
+  }
+
+  private CodeListSnapshot loadCodeLists() {
+    log.info("Loading code list snapshot");
+    return CodeListSnapshot.of(codeListRepository.findCodeLists());
+  }
+
+  /**
+   * Cache of snapshots remembering when each key was last invalidated, so that snapshots loaded before are not served.
+   */
+  private static class Snapshots<T> {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Long> invalidations = Maps.newConcurrentMap();
+    private final LoadingCache<String, Generation<T>> cache;
+
+    private Snapshots(CacheBuilder<Object, Object> builder, Function<String, T> loader) {
+      this.cache = builder.build(new CacheLoader<String, Generation<T>>() {
+
+        @Override
+        public Generation<T> load(String key) {
+          // Read before loading so that a write completed in between invalidates the snapshot
+          val loaded = generation.get();
+          return new Generation<T>(loaded, loader.apply(key));
+        }
+
+      });
+    }
+
+    private T get(String key) {
+      while (true) {
+        val snapshot = cache.getUnchecked(key);
+        if (snapshot.getGeneration() >= invalidations.getOrDefault(key, 0L)) {
+          return snapshot.getValue();
+        }
+
+        // Loaded concurrently with a write
+        cache.asMap().remove(key, snapshot);
+      }
+    }
+
+    private void invalidate(String key) {
+      invalidations.merge(key, generation.incrementAndGet(), Math::max);
+      cache.invalidate(key);
+    }
+
+  }
+
+  @Value
+  private static class Generation<T> {
+
+    long generation;
+    T value;
+
+  }
+
+}
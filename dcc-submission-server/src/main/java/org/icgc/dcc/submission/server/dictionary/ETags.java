@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.dictionary;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import org.icgc.dcc.common.core.json.Jackson;
+
+import com.google.common.base.Joiner;
+import com.google.common.hash.Hashing;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * Strong entity tags derived from the JSON representation of entities, so that they only change with the content.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ETags {
+
+  @SneakyThrows
+  public static String of(@NonNull Object entity) {
+    return quote(Hashing.murmur3_128().hashBytes(Jackson.DEFAULT.writeValueAsBytes(entity)).toString());
+  }
+
+  /**
+   * Combines the entity tags of the elements of a collection.
+   */
+  public static String combine(@NonNull Iterable<String> etags) {
+    return quote(Hashing.murmur3_128().hashUnencodedChars(Joiner.on(',').join(etags)).toString());
+  }
+
+  private static String quote(String value) {
+    return "\"" + value + "\"";
+  }
+
+}
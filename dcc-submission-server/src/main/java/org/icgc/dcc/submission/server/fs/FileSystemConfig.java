@@ -46,4 +46,14 @@ public class FileSystemConfig extends AbstractConfig {
     return singleton(SubmissionFileSystem.class);
   }
 
+  @Bean
+  public SubmissionFileStatusCache submissionFileStatusCache() {
+    return singleton(SubmissionFileStatusCache.class);
+  }
+
+  @Bean
+  public ReleasePromoter releasePromoter() {
+    return singleton(ReleasePromoter.class);
+  }
+
 }
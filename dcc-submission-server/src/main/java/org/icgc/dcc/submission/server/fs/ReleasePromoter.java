@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.fs;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.icgc.dcc.submission.fs.ReleaseFileSystem.SYSTEM_FILES_DIR_NAME;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.core.model.PromotionCheckpoint;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.icgc.dcc.submission.release.ReleaseException;
+import org.icgc.dcc.submission.server.repository.PromotionCheckpointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copies the submission directories of a release to the release being created.
+ * <p>
+ * Projects are copied concurrently by a bounded pool and a {@link PromotionCheckpoint} is recorded as each one
+ * completes, so that a release that failed half way only copies the remaining projects when it is performed again.
+ * Progress and throughput are logged as projects complete and are available as meters.
+ */
+@Slf4j
+public class ReleasePromoter {
+
+  /**
+   * Dependencies.
+   */
+  private final SubmissionFileSystem submissionFileSystem;
+  private final PromotionCheckpointRepository checkpointRepository;
+  private final int threads;
+
+  /**
+   * Metrics.
+   */
+  private final Meter promotedBytes;
+  private final Meter promotedFiles;
+  private final Meter resumedProjects;
+
+  @Autowired
+  public ReleasePromoter(
+      @NonNull SubmissionProperties properties,
+      @NonNull SubmissionFileSystem submissionFileSystem,
+      @NonNull PromotionCheckpointRepository checkpointRepository,
+      @NonNull MetricRegistry metricRegistry) {
+    this.submissionFileSystem = submissionFileSystem;
+    this.checkpointRepository = checkpointRepository;
+    this.threads = Math.max(1, properties.getRelease().getPromotionThreads());
+    this.promotedBytes = metricRegistry.meter(name("release", "promotion", "bytes"));
+    this.promotedFiles = metricRegistry.meter(name("release", "promotion", "files"));
+    this.resumedProjects = metricRegistry.meter(name("release", "promotion", "resumed"));
+  }
+
+  /**
+   * Copies the directories of {@code projectKeys} and the system directory from {@code oldReleaseName} to
+   * {@code newReleaseName}, skipping projects that were already copied by a previous attempt.
+   */
+  public Promotion promote(@NonNull String oldReleaseName, @NonNull String newReleaseName,
+      @NonNull Collection<String> projectKeys) {
+    log.info("Promoting {} projects from '{}' to '{}' with {} threads",
+        projectKeys.size(), oldReleaseName, newReleaseName, threads);
+    val watch = Stopwatch.createStarted();
+    val progress = new Progress(projectKeys.size(), watch);
+
+    createReleaseDirectory(newReleaseName);
+    val checkpoints = getCheckpoints(newReleaseName);
+
+    val executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("release-promotion-%s").setDaemon(true).build());
+    try {
+      val futures = Lists.<Future<?>> newArrayList();
+      for (val projectKey : projectKeys) {
+        futures.add(executor.submit(() -> {
+          promoteProject(oldReleaseName, newReleaseName, projectKey, checkpoints.get(projectKey), progress);
+          return null;
+        }));
+      }
+
+      await(futures);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Small, so simply copied again on every attempt
+    copy(
+        new Path(submissionFileSystem.buildReleaseStringPath(oldReleaseName), SYSTEM_FILES_DIR_NAME),
+        new Path(submissionFileSystem.buildReleaseStringPath(newReleaseName), SYSTEM_FILES_DIR_NAME));
+
+    val promotion = progress.toPromotion();
+    log.info("Promoted '{}' to '{}': {}", oldReleaseName, newReleaseName, promotion);
+
+    return promotion;
+  }
+
+  /**
+   * Forgets the checkpoints of {@code newReleaseName} once the release is saved.
+   */
+  public void complete(@NonNull String newReleaseName) {
+    val count = checkpointRepository.deleteCheckpoints(newReleaseName);
+    log.info("Removed {} promotion checkpoints of '{}'", count, newReleaseName);
+  }
+
+  private void promoteProject(String oldReleaseName, String newReleaseName, String projectKey,
+      PromotionCheckpoint checkpoint, Progress progress) throws IOException {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    val source = new Path(submissionFileSystem.buildProjectStringPath(oldReleaseName, projectKey));
+    val target = new Path(submissionFileSystem.buildProjectStringPath(newReleaseName, projectKey));
+
+    val summary = fileSystem.getContentSummary(source);
+    val files = summary.getFileCount();
+    val bytes = summary.getLength();
+    if (isComplete(checkpoint, files, bytes) && fileSystem.exists(target)) {
+      log.info("Project '{}' was already promoted to '{}', skipping", projectKey, newReleaseName);
+      resumedProjects.mark();
+      progress.skipped();
+
+      return;
+    }
+
+    copy(source, target);
+    checkpointRepository.saveCheckpoint(new PromotionCheckpoint(newReleaseName, projectKey, files, bytes));
+
+    promotedFiles.mark(files);
+    promotedBytes.mark(bytes);
+    progress.copied(projectKey, files, bytes);
+  }
+
+  private void copy(Path source, Path target) {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    try {
+      // Left over by an interrupted attempt, copying into it would nest the source
+      if (fileSystem.exists(target)) {
+        fileSystem.delete(target, true);
+      }
+    } catch (IOException e) {
+      throw new ReleaseException(String.format("Could not remove partial copy '%s'", target), e);
+    }
+
+    HadoopUtils.cp(fileSystem, source, target);
+  }
+
+  private void createReleaseDirectory(String newReleaseName) {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    val releasePath = new Path(submissionFileSystem.buildReleaseStringPath(newReleaseName));
+    try {
+      if (!fileSystem.exists(releasePath)) {
+        fileSystem.mkdirs(releasePath);
+      }
+    } catch (IOException e) {
+      throw new ReleaseException(String.format("Could not create release directory '%s'", releasePath), e);
+    }
+  }
+
+  private Map<String, PromotionCheckpoint> getCheckpoints(String newReleaseName) {
+    val checkpoints = Maps.<String, PromotionCheckpoint> newHashMap();
+    for (val checkpoint : checkpointRepository.findCheckpoints(newReleaseName)) {
+      checkpoints.put(checkpoint.getProjectKey(), checkpoint);
+    }
+
+    if (!checkpoints.isEmpty()) {
+      log.info("Resuming promotion to '{}', found checkpoints for {}", newReleaseName, checkpoints.keySet());
+    }
+
+    return checkpoints;
+  }
+
+  private static boolean isComplete(PromotionCheckpoint checkpoint, long files, long bytes) {
+    // Files may have been changed since the checkpoint was recorded
+    return checkpoint != null && checkpoint.getFiles() == files && checkpoint.getBytes() == bytes;
+  }
+
+  private static void await(List<Future<?>> futures) {
+    for (val future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ReleaseException("Interrupted while promoting release", e);
+      } catch (ExecutionException e) {
+        throw new ReleaseException("Could not promote release", e);
+      }
+    }
+  }
+
+  /**
+   * Outcome of a promotion.
+   */
+  @Value
+  public static class Promotion {
+
+    int copiedProjects;
+    int skippedProjects;
+    long files;
+    long bytes;
+    long elapsedMs;
+
+  }
+
+  /**
+   * Running totals shared by the workers.
+   */
+  private static class Progress {
+
+    private final int total;
+    private final Stopwatch watch;
+
+    private final AtomicInteger copied = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    Progress(int total, Stopwatch watch) {
+      this.total = total;
+      this.watch = watch;
+    }
+
+    void skipped() {
+      skipped.incrementAndGet();
+    }
+
+    void copied(String projectKey, long projectFiles, long projectBytes) {
+      val done = copied.incrementAndGet() + skipped.get();
+      val totalFiles = files.addAndGet(projectFiles);
+      val totalBytes = bytes.addAndGet(projectBytes);
+      val seconds = Math.max(watch.elapsed(NANOSECONDS), 1) / 1e9;
+
+      log.info("Promoted project '{}' ({} files, {} bytes), {}/{} projects done, {} bytes/s, {} files/s",
+          projectKey, projectFiles, projectBytes, done, total,
+          (long) (totalBytes / seconds), (long) (totalFiles / seconds));
+    }
+
+    Promotion toPromotion() {
+      return new Promotion(copied.get(), skipped.get(), files.get(), bytes.get(), watch.elapsed(MILLISECONDS));
+    }
+
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.fs;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.fs.SubmissionFileEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Lists;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived cache of the statuses of the submission files of a release, keyed by project.
+ * <p>
+ * The submissions of a whole release are listed in one pass (the release directory, then each of its project
+ * directories) and cached together, so that listing them lists each directory once per expiry rather than once per
+ * request. The files of a single project missing from the cache are listed on their own, without the other projects.
+ * Entries expire after a short time to pick up changes made outside of the server, and are invalidated as soon as a
+ * {@link SubmissionFileEvent} is registered for the release or the server changes its directories (e.g. validation
+ * output, resets, sign off, release).
+ */
+@Slf4j
+public class SubmissionFileStatusCache {
+
+  /**
+   * Default time after which a listing is refreshed.
+   */
+  public static final long DEFAULT_TTL_SECONDS = 10;
+
+  /**
+   * Dependencies.
+   */
+  private final SubmissionFileSystem submissionFileSystem;
+
+  /**
+   * Release name to project key to file statuses.
+   */
+  private final LoadingCache<String, ImmutableListMultimap<String, FileStatus>> releases;
+
+  /**
+   * Release name and project key to file statuses, for projects read on their own.
+   */
+  private final LoadingCache<ProjectFilesKey, List<FileStatus>> projects;
+
+  @Autowired
+  public SubmissionFileStatusCache(@NonNull SubmissionFileSystem submissionFileSystem) {
+    this(submissionFileSystem, DEFAULT_TTL_SECONDS, SECONDS, Ticker.systemTicker());
+  }
+
+  public SubmissionFileStatusCache(@NonNull SubmissionFileSystem submissionFileSystem, long ttl,
+      @NonNull TimeUnit unit, @NonNull Ticker ticker) {
+    this.submissionFileSystem = submissionFileSystem;
+    this.releases = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, unit)
+        .ticker(ticker)
+        .build(new CacheLoader<String, ImmutableListMultimap<String, FileStatus>>() {
+
+          @Override
+          public ImmutableListMultimap<String, FileStatus> load(String releaseName) throws IOException {
+            return listRelease(releaseName);
+          }
+
+        });
+    this.projects = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, unit)
+        .ticker(ticker)
+        .build(new CacheLoader<ProjectFilesKey, List<FileStatus>>() {
+
+          @Override
+          public List<FileStatus> load(ProjectFilesKey key) throws IOException {
+            return listProject(key.getReleaseName(), key.getProjectKey());
+          }
+
+        });
+  }
+
+  /**
+   * Returns the statuses of the submission files of all the projects of {@code releaseName}, keyed by project.
+   */
+  public ImmutableListMultimap<String, FileStatus> getReleaseFiles(@NonNull String releaseName) {
+    return releases.getUnchecked(releaseName);
+  }
+
+  /**
+   * Returns the statuses of the submission files of {@code projectKey}, from the listing of its release if cached.
+   */
+  public List<FileStatus> getProjectFiles(@NonNull String releaseName, @NonNull String projectKey) {
+    val releaseFiles = releases.getIfPresent(releaseName);
+    if (releaseFiles != null) {
+      return releaseFiles.get(projectKey);
+    }
+
+    return projects.getUnchecked(new ProjectFilesKey(releaseName, projectKey));
+  }
+
+  /**
+   * Invalidates the listing of {@code releaseName} following {@code event}.
+   */
+  public void onEvent(@NonNull String releaseName, @NonNull String projectKey, @NonNull SubmissionFileEvent event) {
+    log.debug("Invalidating file statuses of release '{}' following {} on '{}'", releaseName, event, projectKey);
+    invalidate(releaseName);
+  }
+
+  public void invalidate(@NonNull String releaseName) {
+    releases.invalidate(releaseName);
+    projects.asMap().keySet().removeIf(key -> key.getReleaseName().equals(releaseName));
+  }
+
+  private ImmutableListMultimap<String, FileStatus> listRelease(String releaseName) throws IOException {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    val releasePath = new Path(submissionFileSystem.buildReleaseStringPath(releaseName));
+    val files = ImmutableListMultimap.<String, FileStatus> builder();
+    if (!fileSystem.exists(releasePath)) {
+      return files.build();
+    }
+
+    val projectPaths = Lists.<Path> newArrayList();
+    for (val status : fileSystem.listStatus(releasePath)) {
+      if (status.isDirectory() && !isHidden(status.getPath())) {
+        projectPaths.add(status.getPath());
+      }
+    }
+
+    for (val status : listStatus(projectPaths)) {
+      // Submission files only, not the validation directory
+      if (status.isFile()) {
+        files.put(status.getPath().getParent().getName(), status);
+      }
+    }
+
+    return files.build();
+  }
+
+  private List<FileStatus> listProject(String releaseName, String projectKey) throws IOException {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    val projectPath = new Path(submissionFileSystem.buildReleaseStringPath(releaseName), projectKey);
+    val files = ImmutableList.<FileStatus> builder();
+    try {
+      for (val status : fileSystem.listStatus(projectPath)) {
+        // Submission files only, not the validation directory
+        if (status.isFile()) {
+          files.add(status);
+        }
+      }
+    } catch (FileNotFoundException ignored) {
+      // No project directory (yet)
+    }
+
+    return files.build();
+  }
+
+  private FileStatus[] listStatus(List<Path> projectPaths) throws IOException {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    try {
+      return fileSystem.listStatus(projectPaths.toArray(new Path[projectPaths.size()]));
+    } catch (FileNotFoundException e) {
+      // A project directory was removed in the meantime, skip it
+      log.warn("Project directory removed while listing: {}", e.getMessage());
+      val statuses = Lists.<FileStatus> newArrayList();
+      for (val projectPath : projectPaths) {
+        try {
+          statuses.addAll(Lists.newArrayList(fileSystem.listStatus(projectPath)));
+        } catch (FileNotFoundException ignored) {
+          // Removed
+        }
+      }
+
+      return statuses.toArray(new FileStatus[statuses.size()]);
+    }
+  }
+
+  private static boolean isHidden(Path path) {
+    return path.getName().startsWith(".");
+  }
+
+  @Value
+  private static class ProjectFilesKey {
+
+    String releaseName;
+    String projectKey;
+
+  }
+
+}
@@ -35,6 +35,7 @@ import org.mongodb.morphia.query.UpdateResults;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.collect.ImmutableList;
+import com.mongodb.DBCollection;
 import com.mongodb.WriteResult;
 import com.mysema.query.mongodb.MongodbQuery;
 import com.mysema.query.mongodb.morphia.MorphiaQuery;
@@ -113,6 +114,13 @@ public abstract class AbstractRepository<E, Q extends EntityPath<E>> {
     return datastore().createUpdateOperations(getEntityType());
   }
 
+  /**
+   * The underlying collection, for updates that cannot be expressed through the mapper (e.g. raw documents).
+   */
+  protected DBCollection collection() {
+    return datastore().getCollection(getEntityType());
+  }
+
   protected static String fieldName(@NonNull Path<?> path) {
     return path.getMetadata().getName();
   }
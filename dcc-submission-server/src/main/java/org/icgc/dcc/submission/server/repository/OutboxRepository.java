@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.FAILED;
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.PENDING;
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.SENDING;
+import static org.icgc.dcc.submission.core.model.QOutboxMessage.outboxMessage;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.icgc.dcc.submission.core.model.OutboxMessage;
+import org.icgc.dcc.submission.core.model.QOutboxMessage;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import lombok.NonNull;
+
+public class OutboxRepository extends AbstractRepository<OutboxMessage, QOutboxMessage> {
+
+  @Autowired
+  public OutboxRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
+    super(morphia, datastore, outboxMessage);
+  }
+
+  public long countPendingMessages() {
+    return count(entity.state.eq(PENDING));
+  }
+
+  public void saveMessage(@NonNull OutboxMessage message) {
+    save(message);
+  }
+
+  /**
+   * Atomically claims the pending message that has been due the longest, if any.
+   *
+   * @return the claimed message or {@code null}
+   */
+  public OutboxMessage claimNextMessage(@NonNull Date now) {
+    return findAndModify(
+        createQuery()
+            .filter("state", PENDING)
+            .filter("nextAttempt <=", now)
+            .order("nextAttempt"),
+        createUpdateOperations()
+            .set("state", SENDING)
+            .set("claimed", now),
+        false, false);
+  }
+
+  /**
+   * Puts back messages claimed before {@code claimedBefore} by a sender that did not complete, e.g. because the server
+   * was stopped while sending.
+   */
+  public int releaseStaleClaims(@NonNull Date claimedBefore) {
+    return update(
+        createQuery()
+            .filter("state", SENDING)
+            .filter("claimed <", claimedBefore),
+        createUpdateOperations()
+            .set("state", PENDING))
+        .getUpdatedCount();
+  }
+
+  public void deleteMessage(@NonNull ObjectId id) {
+    delete(createQuery().filter("_id", id));
+  }
+
+  public void updateRetry(@NonNull ObjectId id, int attempts, @NonNull Date nextAttempt, @NonNull String error) {
+    update(
+        createQuery()
+            .filter("_id", id),
+        createUpdateOperations()
+            .set("state", PENDING)
+            .set("attempts", attempts)
+            .set("nextAttempt", nextAttempt)
+            .set("lastError", error));
+  }
+
+  public void updateFailed(@NonNull ObjectId id, int attempts, @NonNull String error) {
+    update(
+        createQuery()
+            .filter("_id", id),
+        createUpdateOperations()
+            .set("state", FAILED)
+            .set("attempts", attempts)
+            .set("lastError", error));
+  }
+
+}
@@ -15,49 +15,37 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.server.repository;
 
-import static com.google.common.collect.Sets.newHashSet;
-import static org.icgc.dcc.submission.core.report.FileState.VALID;
+import static org.icgc.dcc.submission.core.model.QPromotionCheckpoint.promotionCheckpoint;
 
-import java.util.Set;
+import java.util.List;
 
-import org.icgc.dcc.submission.core.report.FileReport;
-import org.icgc.dcc.submission.core.report.FileState;
+import org.icgc.dcc.submission.core.model.PromotionCheckpoint;
+import org.icgc.dcc.submission.core.model.QPromotionCheckpoint;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import lombok.NonNull;
 
-/**
- * Value producing visitor that returns the global valid status based on the internal state of the report.
- */
-public class IsValidVisitor extends NoOpVisitor {
-
-  @NonNull
-  private final Set<FileState> fileStates = newHashSet();
+public class PromotionCheckpointRepository extends AbstractRepository<PromotionCheckpoint, QPromotionCheckpoint> {
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    fileStates.add(fileReport.getFileState());
+  @Autowired
+  public PromotionCheckpointRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
+    super(morphia, datastore, promotionCheckpoint);
   }
 
-  //
-  // Result
-  //
-
-  public boolean isValid() {
-    return hasOnlyOneFileState() && hasFileState(VALID);
+  public List<PromotionCheckpoint> findCheckpoints(@NonNull String releaseName) {
+    return list(entity.releaseName.eq(releaseName));
   }
 
-  //
-  // Helpers
-  //
-
-  private boolean hasOnlyOneFileState() {
-    return fileStates.size() == 1;
+  public void saveCheckpoint(@NonNull PromotionCheckpoint checkpoint) {
+    save(checkpoint);
   }
 
-  private boolean hasFileState(@NonNull FileState fileState) {
-    return fileStates.contains(fileState);
+  public int deleteCheckpoints(@NonNull String releaseName) {
+    return delete(createQuery().filter("releaseName", releaseName)).getN();
   }
 
 }
@@ -34,11 +34,21 @@ public class RepositoryConfig extends AbstractConfig {
     return singleton(DictionaryRepository.class);
   }
 
+  @Bean
+  public OutboxRepository outboxRepository() {
+    return singleton(OutboxRepository.class);
+  }
+
   @Bean
   public ProjectRepository projectRepository() {
     return singleton(ProjectRepository.class);
   }
 
+  @Bean
+  public PromotionCheckpointRepository promotionCheckpointRepository() {
+    return singleton(PromotionCheckpointRepository.class);
+  }
+
   @Bean
   public ReleaseRepository releaseRepository() {
     return singleton(ReleaseRepository.class);
@@ -54,4 +64,9 @@ public class RepositoryConfig extends AbstractConfig {
     return singleton(SubmissionRepository.class);
   }
 
+  @Bean
+  public ValidationQueueRepository validationQueueRepository() {
+    return singleton(ValidationQueueRepository.class);
+  }
+
 }
\ No newline at end of file
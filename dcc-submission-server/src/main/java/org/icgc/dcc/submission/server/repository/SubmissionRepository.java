@@ -17,52 +17,113 @@
  */
 package org.icgc.dcc.submission.server.repository;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.mongodb.WriteConcern.ACKNOWLEDGED;
+import static java.util.Arrays.asList;
 import static org.icgc.dcc.submission.release.model.QSubmission.submission;
+import static org.icgc.dcc.submission.server.repository.SubmissionUpdate.REVISION_FIELD;
 
 import java.util.Collection;
 import java.util.List;
 
 import lombok.NonNull;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.submission.release.model.QSubmission;
 import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.release.model.SubmissionState;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
-import org.mongodb.morphia.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Optional;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
 import com.mysema.query.mongodb.MongodbQuery;
 
+/**
+ * Repository of the submissions.
+ * <p>
+ * Updates of a submission that was read from the repository only write the paths that changed since (see
+ * {@link SubmissionUpdate}) instead of rewriting the whole document with its report, provided its revision did not
+ * change in between. Otherwise its changes are merged with the latest document, written as paths computed against that
+ * document and checked against its revision, and the submission is refreshed with the merged document. Submissions that
+ * were not read from the repository or only partially, such as summaries, are written as a whole.
+ */
+@Slf4j
 public class SubmissionRepository extends AbstractRepository<Submission, QSubmission> {
 
-  @Autowired
+  /**
+   * Number of attempts at writing a submission before giving up on concurrent updates.
+   */
+  private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+  /**
+   * Metrics.
+   */
+  private final Meter partialUpdates;
+  private final Meter fullUpdates;
+  private final Meter conflicts;
+  private final Meter writtenBytes;
+  private final Histogram updateBytes;
+
   public SubmissionRepository(Morphia morphia, Datastore datastore) {
+    this(morphia, datastore, new MetricRegistry());
+  }
+
+  @Autowired
+  public SubmissionRepository(Morphia morphia, Datastore datastore, @NonNull MetricRegistry registry) {
     super(morphia, datastore, submission);
+    this.partialUpdates = registry.meter(name("submission", "update", "partial"));
+    this.fullUpdates = registry.meter(name("submission", "update", "full"));
+    this.conflicts = registry.meter(name("submission", "update", "conflicts"));
+    this.writtenBytes = registry.meter(name("submission", "update", "bytes"));
+    this.updateBytes = registry.histogram(name("submission", "update", "bytes-per-update"));
   }
 
   public void addSubmissions(@NonNull Iterable<Submission> submissions) {
     save(submissions);
+    for (val submission : submissions) {
+      submission.setPersisted(morphia().toDBObject(submission));
+    }
   }
 
   public void addSubmission(@NonNull Submission submission) {
     save(submission);
+    submission.setPersisted(morphia().toDBObject(submission));
   }
 
   public void updateExistingSubmissions(@NonNull Iterable<Submission> submissions) {
     for (val submission : submissions) {
-      updateFirst(
-          createFilterByIdQuery(submission),
-          submission,
-          false);
+      updateSubmission(submission);
     }
   }
 
   public int updateSubmission(@NonNull Submission submission) {
-    val result = updateFirst(createFilterByIdQuery(submission), submission, false);
+    val persisted = submission.getPersisted();
+    if (!persisted.isPresent() || !persisted.get().containsField(REVISION_FIELD)) {
+      // Not read as a whole from a revised document: there is nothing to compute the changed paths against
+      return updateDocument(submission);
+    }
 
-    return result.getUpdatedCount();
+    val current = morphia().toDBObject(submission);
+    val update = SubmissionUpdate.diff(persisted.get(), current);
+    if (update.isEmpty()) {
+      return 1;
+    }
+
+    if (updatePaths(submission.getId(), submission.getRevision(), update)) {
+      submission.setRevision(submission.getRevision() + 1);
+      submission.setPersisted(current);
+
+      return 1;
+    }
+
+    return mergePaths(submission, persisted.get(), current);
   }
 
   public List<Submission> findSubmissionStateByReleaseName(@NonNull String releaseName) {
@@ -133,9 +194,124 @@ public class SubmissionRepository extends AbstractRepository<Submission, QSubmis
     return result.getN();
   }
 
-  private Query<Submission> createFilterByIdQuery(Submission submission) {
-    return createQuery()
-        .filter("id", submission.getId());
+  private boolean updatePaths(String id, long revision, SubmissionUpdate update) {
+    val document = update.toDBObject();
+    val filter = createFilterByRevision(id, revision);
+    val result = collection().update(filter, document, false, false, ACKNOWLEDGED);
+    if (result.getN() == 0) {
+      return false;
+    }
+
+    partialUpdates.mark();
+    val bytes = recordBytes(document);
+    log.debug("Updated {} path(s) of submission '{}' writing {} bytes", new Object[] {
+        update.getPathCount(), id, bytes });
+
+    return true;
+  }
+
+  private int mergePaths(Submission submission, DBObject persisted, DBObject current) {
+    // Retried while other updates happen between reading the latest document and writing
+    for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+      conflicts.mark();
+      val latest = collection().findOne(new BasicDBObject("_id", submission.getId()));
+      if (latest == null) {
+        return 0;
+      }
+
+      val revision = getRevision(latest);
+      log.warn("Submission '{}' changed since revision {} was read, merging its changes into revision {}",
+          new Object[] { submission.getId(), submission.getRevision(), revision });
+
+      val merged = SubmissionUpdate.merge(persisted, current, latest);
+      val update = SubmissionUpdate.diff(latest, merged);
+      if (update.isEmpty() || updatePaths(submission.getId(), revision, update)) {
+        merged.put(REVISION_FIELD, update.isEmpty() ? revision : revision + 1);
+        refresh(submission, merged);
+
+        return 1;
+      }
+    }
+
+    throw new IllegalStateException("Submission '" + submission.getId() + "' kept changing while being updated after "
+        + MAX_UPDATE_ATTEMPTS + " attempts");
+  }
+
+  /**
+   * Brings the {@code submission} up to date with its persisted {@code document}, which includes the changes of other
+   * writers, so that its next update is computed against it.
+   */
+  private void refresh(Submission submission, DBObject document) {
+    val latest = morphia().fromDBObject(Submission.class, document);
+    submission.setProjectKey(latest.getProjectKey());
+    submission.setProjectName(latest.getProjectName());
+    submission.setReleaseName(latest.getReleaseName());
+    submission.setState(latest.getState());
+    submission.setReport(latest.getReport());
+    submission.setLastUpdated(latest.getLastUpdated());
+    submission.setRevision(latest.getRevision());
+    submission.setPersisted(document);
+  }
+
+  private int updateDocument(Submission submission) {
+    // Retried while other updates happen between reading the revision and writing
+    for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+      val revision = findRevision(submission.getId());
+      if (!revision.isPresent()) {
+        return 0;
+      }
+
+      submission.setRevision(revision.get() + 1);
+      val document = morphia().toDBObject(submission);
+      val filter = createFilterByRevision(submission.getId(), revision.get());
+      val result = collection().update(filter, document, false, false, ACKNOWLEDGED);
+      if (result.getN() > 0) {
+        fullUpdates.mark();
+        recordBytes(document);
+        submission.setPersisted(document);
+
+        return 1;
+      }
+
+      conflicts.mark();
+    }
+
+    throw new IllegalStateException("Submission '" + submission.getId() + "' kept changing while being updated after "
+        + MAX_UPDATE_ATTEMPTS + " attempts");
+  }
+
+  private Optional<Long> findRevision(String id) {
+    val document = collection().findOne(new BasicDBObject("_id", id), new BasicDBObject(REVISION_FIELD, 1));
+    if (document == null) {
+      return Optional.absent();
+    }
+
+    return Optional.of(getRevision(document));
+  }
+
+  private static long getRevision(DBObject document) {
+    val revision = (Number) document.get(REVISION_FIELD);
+    return revision == null ? 0L : revision.longValue();
+  }
+
+  private int recordBytes(DBObject document) {
+    val bytes = SubmissionUpdate.getSize(document);
+    writtenBytes.mark(bytes);
+    updateBytes.update(bytes);
+
+    return bytes;
+  }
+
+  private static DBObject createFilterByRevision(String id, long revision) {
+    val filter = new BasicDBObject("_id", id);
+    if (revision == 0) {
+      // Documents written before revisions were introduced have none
+      filter.put(REVISION_FIELD, new BasicDBObject("$in", asList(0L, null)));
+    } else {
+      filter.put(REVISION_FIELD, revision);
+    }
+
+    return filter;
   }
 
   private MongodbQuery<Submission> createFilterByReleaseNameQuery(String releaseName) {
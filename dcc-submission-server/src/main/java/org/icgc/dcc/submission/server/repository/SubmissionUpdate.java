@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BasicBSONEncoder;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Targeted update of a persisted submission, computed as the difference between its persisted form as last read or
+ * written and its current one.
+ * <p>
+ * Documents are compared key by key and arrays of the same length element by element, so that e.g. adding a file only
+ * sets the file reports of its file type and finishing a validation only sets the reports of the validated data types,
+ * rather than rewriting the whole report. Arrays whose length changed are set as a whole as Mongo cannot remove an
+ * element by position.
+ * <p>
+ * The paths of an update only apply to the document it was computed from. When another writer changed the submission
+ * in between, the changes of both are first merged (see {@link #merge(DBObject, DBObject, DBObject)}) and the update is
+ * computed again against the latest document.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class SubmissionUpdate {
+
+  /**
+   * Name of the persisted field holding the revision of a submission.
+   */
+  static final String REVISION_FIELD = "revision";
+
+  /**
+   * Top-level fields that are never set: the key, the mapper's discriminator and the revision, which is incremented.
+   */
+  private static final Set<String> IGNORED_FIELDS = ImmutableSet.of("_id", "className", REVISION_FIELD);
+
+  private final BasicDBObject sets = new BasicDBObject();
+  private final BasicDBObject unsets = new BasicDBObject();
+
+  static SubmissionUpdate diff(@NonNull DBObject persisted, @NonNull DBObject current) {
+    val update = new SubmissionUpdate();
+    for (val key : current.keySet()) {
+      if (!IGNORED_FIELDS.contains(key)) {
+        update.diff(key, persisted.get(key), current.get(key));
+      }
+    }
+
+    for (val key : persisted.keySet()) {
+      if (!IGNORED_FIELDS.contains(key) && !current.containsField(key)) {
+        update.unsets.put(key, 1);
+      }
+    }
+
+    return update;
+  }
+
+  /**
+   * Three-way merge of the changes made to a submission since it was {@code persisted} into the {@code latest} form
+   * another writer persisted since. Documents and arrays of the same length are merged element by element; a value both
+   * changed takes the {@code current} one, as the later write.
+   */
+  static DBObject merge(@NonNull DBObject persisted, @NonNull DBObject current, @NonNull DBObject latest) {
+    return (DBObject) mergeValue(persisted, current, latest);
+  }
+
+  boolean isEmpty() {
+    return sets.isEmpty() && unsets.isEmpty();
+  }
+
+  /**
+   * Number of paths set or unset.
+   */
+  int getPathCount() {
+    return sets.size() + unsets.size();
+  }
+
+  /**
+   * Returns the update document, which also increments the revision.
+   */
+  DBObject toDBObject() {
+    val update = new BasicDBObject("$inc", new BasicDBObject(REVISION_FIELD, 1L));
+    if (!sets.isEmpty()) {
+      update.put("$set", sets);
+    }
+    if (!unsets.isEmpty()) {
+      update.put("$unset", unsets);
+    }
+
+    return update;
+  }
+
+  static int getSize(@NonNull DBObject dbObject) {
+    return new BasicBSONEncoder().encode(dbObject).length;
+  }
+
+  private void diff(String path, Object previous, Object next) {
+    if (previous instanceof List && next instanceof List) {
+      diffList(path, (List<?>) previous, (List<?>) next);
+    } else if (isDocument(previous) && isDocument(next)) {
+      diffDocument(path, (DBObject) previous, (DBObject) next);
+    } else if (!Objects.equal(previous, next)) {
+      sets.put(path, next);
+    }
+  }
+
+  private void diffDocument(String path, DBObject previous, DBObject next) {
+    for (val key : next.keySet()) {
+      diff(path + "." + key, previous.get(key), next.get(key));
+    }
+
+    for (val key : previous.keySet()) {
+      if (!next.containsField(key)) {
+        unsets.put(path + "." + key, 1);
+      }
+    }
+  }
+
+  private void diffList(String path, List<?> previous, List<?> next) {
+    if (previous.size() != next.size()) {
+      sets.put(path, next);
+      return;
+    }
+
+    for (int i = 0; i < next.size(); i++) {
+      diff(path + "." + i, previous.get(i), next.get(i));
+    }
+  }
+
+  private static Object mergeValue(Object persisted, Object current, Object latest) {
+    if (Objects.equal(persisted, current)) {
+      return latest;
+    }
+    if (Objects.equal(persisted, latest)) {
+      return current;
+    }
+
+    if (isDocument(persisted) && isDocument(current) && isDocument(latest)) {
+      return mergeDocument((DBObject) persisted, (DBObject) current, (DBObject) latest);
+    }
+    if (isSameSizeList(persisted, current, latest)) {
+      return mergeList((List<?>) persisted, (List<?>) current, (List<?>) latest);
+    }
+
+    return current;
+  }
+
+  private static DBObject mergeDocument(DBObject persisted, DBObject current, DBObject latest) {
+    val merged = new BasicDBObject();
+    for (val key : Sets.union(latest.keySet(), current.keySet())) {
+      val value = mergeValue(persisted.get(key), current.get(key), latest.get(key));
+      if (value != null) {
+        merged.put(key, value);
+      }
+    }
+
+    return merged;
+  }
+
+  private static List<?> mergeList(List<?> persisted, List<?> current, List<?> latest) {
+    val merged = new BasicDBList();
+    for (int i = 0; i < current.size(); i++) {
+      merged.add(mergeValue(persisted.get(i), current.get(i), latest.get(i)));
+    }
+
+    return merged;
+  }
+
+  private static boolean isSameSizeList(Object persisted, Object current, Object latest) {
+    return persisted instanceof List && current instanceof List && latest instanceof List
+        && ((List<?>) persisted).size() == ((List<?>) current).size()
+        && ((List<?>) current).size() == ((List<?>) latest).size();
+  }
+
+  private static boolean isDocument(Object value) {
+    return value instanceof DBObject && !(value instanceof List);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static org.icgc.dcc.submission.core.model.QQueuedValidation.queuedValidation;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.State.CLAIMED;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.State.QUEUED;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.icgc.dcc.submission.core.model.QQueuedValidation;
+import org.icgc.dcc.submission.core.model.QueuedValidation;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import lombok.NonNull;
+
+public class ValidationQueueRepository extends AbstractRepository<QueuedValidation, QQueuedValidation> {
+
+  /**
+   * Queue order: highest priority first, then first come first served.
+   */
+  private static final String QUEUE_ORDER = "-priority, enqueued, _id";
+
+  @Autowired
+  public ValidationQueueRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
+    super(morphia, datastore, queuedValidation);
+  }
+
+  /**
+   * @return the queued and claimed entries of {@code releaseName}, in queue order
+   */
+  public List<QueuedValidation> findQueue(@NonNull String releaseName) {
+    return createReleaseQuery(releaseName)
+        .order(QUEUE_ORDER)
+        .asList();
+  }
+
+  public QueuedValidation findQueuedValidation(@NonNull String releaseName, @NonNull String projectKey) {
+    return createReleaseQuery(releaseName)
+        .filter("project.key", projectKey)
+        .get();
+  }
+
+  public long countQueue(@NonNull String releaseName) {
+    return count(entity.releaseName.eq(releaseName));
+  }
+
+  public long countQueued() {
+    return count(entity.state.eq(QUEUED));
+  }
+
+  public void saveQueuedValidations(@NonNull Collection<QueuedValidation> queuedValidations) {
+    save(queuedValidations);
+  }
+
+  /**
+   * Atomically claims the next queued entry of {@code releaseName} on behalf of {@code owner}, if any.
+   *
+   * @return the claimed entry or {@code null}
+   */
+  public QueuedValidation claimNext(@NonNull String releaseName, @NonNull String owner, @NonNull Date now) {
+    return findAndModify(
+        createReleaseQuery(releaseName)
+            .filter("state", QUEUED)
+            .order(QUEUE_ORDER),
+        createUpdateOperations()
+            .set("state", CLAIMED)
+            .set("claimedBy", owner)
+            .set("claimed", now),
+        false, false);
+  }
+
+  /**
+   * Puts a claimed entry back in the queue, in its original position.
+   */
+  public void unclaim(@NonNull ObjectId id) {
+    update(
+        createQuery()
+            .filter("_id", id)
+            .filter("state", CLAIMED),
+        createUpdateOperations()
+            .set("state", QUEUED)
+            .unset("claimedBy")
+            .unset("claimed"));
+  }
+
+  /**
+   * Puts back entries claimed before {@code claimedBefore} by a node that neither started nor released them, e.g. because
+   * it was stopped in between.
+   */
+  public int releaseStaleClaims(@NonNull Date claimedBefore) {
+    return update(
+        createQuery()
+            .filter("state", CLAIMED)
+            .filter("claimed <", claimedBefore),
+        createUpdateOperations()
+            .set("state", QUEUED)
+            .unset("claimedBy")
+            .unset("claimed"))
+        .getUpdatedCount();
+  }
+
+  /**
+   * Removes the entries of {@code projectKeys} from the queue of {@code releaseName}, whether claimed or not.
+   *
+   * @return the number of entries removed
+   */
+  public int deleteQueuedValidations(@NonNull String releaseName, @NonNull Collection<String> projectKeys) {
+    return delete(
+        createReleaseQuery(releaseName)
+            .field("project.key").in(projectKeys))
+        .getN();
+  }
+
+  /**
+   * Empties the queue of {@code releaseName}.
+   *
+   * @return the number of entries removed
+   */
+  public int deleteQueue(@NonNull String releaseName) {
+    return delete(createReleaseQuery(releaseName)).getN();
+  }
+
+  public int updateReleaseName(@NonNull String releaseName, @NonNull String newReleaseName) {
+    return update(
+        createReleaseQuery(releaseName),
+        createUpdateOperations()
+            .set("releaseName", newReleaseName))
+        .getUpdatedCount();
+  }
+
+  private Query<QueuedValidation> createReleaseQuery(String releaseName) {
+    return createQuery().filter("releaseName", releaseName);
+  }
+
+}
@@ -17,9 +17,9 @@
  */
 package org.icgc.dcc.submission.server.service;
 
-import static com.google.common.base.Optional.fromNullable;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.submission.dictionary.model.DictionaryState.OPENED;
 
 import java.util.List;
@@ -35,7 +35,10 @@ import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Term;
 import org.icgc.dcc.submission.dictionary.visitor.DictionaryCloneVisitor;
 import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.server.dictionary.CodeListSnapshot;
 import org.icgc.dcc.submission.server.dictionary.DictionaryServiceException;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshot;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
 import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,9 +60,17 @@ public class DictionaryService {
   private final DictionaryRepository dictionaryRepository;
   @NonNull
   private final CodeListRepository codeListRepository;
+  @NonNull
+  private final DictionarySnapshotCache snapshots;
 
   public List<Dictionary> getDictionaries() {
-    return dictionaryRepository.findDictionaries();
+    return getDictionarySnapshots().stream()
+        .map(DictionarySnapshot::getDictionary)
+        .collect(toImmutableList());
+  }
+
+  public List<DictionarySnapshot> getDictionarySnapshots() {
+    return snapshots.getDictionaries();
   }
 
   public Dictionary getCurrentDictionary() {
@@ -72,6 +83,11 @@ public class DictionaryService {
     return getDictionaryByVersion(version);
   }
 
+  public Optional<DictionarySnapshot> getCurrentDictionarySnapshot() {
+    val release = releaseService.getNextRelease();
+    return getDictionarySnapshot(release.getDictionaryVersion());
+  }
+
   public ArrayNode getVersions() {
     val mapper = Jackson.DEFAULT;
     val dicts = dictionaryRepository.getVersions();
@@ -104,8 +120,15 @@ public class DictionaryService {
     return response;
   }
 
+  /**
+   * Returns the shared, read-only, dictionary with {@code version}, or {@code null} if there is none.
+   */
   public Dictionary getDictionaryByVersion(@NonNull String version) {
-    return dictionaryRepository.findDictionaryByVersion(version);
+    return snapshots.findDictionary(version);
+  }
+
+  public Optional<DictionarySnapshot> getDictionarySnapshot(@NonNull String version) {
+    return snapshots.getDictionary(version);
   }
 
   /**
@@ -125,6 +148,7 @@ public class DictionaryService {
 
     log.info("Updating dictionary version {}...", dictionary.getVersion());
     dictionaryRepository.updateDictionary(dictionary);
+    snapshots.invalidateDictionary(version);
 
     // Reset submissions if applicable
     if (!isReleaseDictionary(version)) {
@@ -198,10 +222,15 @@ public class DictionaryService {
     }
 
     dictionaryRepository.saveDictionary(dictionary);
+    snapshots.invalidateDictionary(version);
   }
 
   public List<CodeList> getCodeLists() {
-    return codeListRepository.findCodeLists();
+    return getCodeListSnapshot().getCodeLists();
+  }
+
+  public CodeListSnapshot getCodeListSnapshot() {
+    return snapshots.getCodeLists();
   }
 
   /**
@@ -221,12 +250,15 @@ public class DictionaryService {
     }
 
     codeListRepository.saveCodeLists(codeLists);
+    snapshots.invalidateCodeLists();
   }
 
+  /**
+   * Returns the shared, read-only, code list named {@code name}.
+   */
   public Optional<CodeList> getCodeList(@NonNull String name) {
     log.debug("Retrieving code list: {}", name);
-    val codeList = codeListRepository.findCodeListByName(name);
-    return fromNullable(codeList);
+    return getCodeListSnapshot().getCodeList(name);
   }
 
   /**
@@ -241,6 +273,7 @@ public class DictionaryService {
     }
 
     codeListRepository.updateCodeList(name, newCodeList);
+    snapshots.invalidateCodeLists();
   }
 
   /**
@@ -260,8 +293,8 @@ public class DictionaryService {
       throw new DictionaryServiceException("Cannot add an existing term: " + term.getCode());
     }
 
-    codeList.addTerm(term);
     codeListRepository.addCodeListTerm(codeListName, term);
+    snapshots.invalidateCodeLists();
 
     // Reset INVALID submissions if applicable
     val release = releaseService.getNextRelease();
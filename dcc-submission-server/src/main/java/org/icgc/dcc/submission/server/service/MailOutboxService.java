@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Strings.repeat;
+import static com.google.common.util.concurrent.AbstractScheduledService.Scheduler.newFixedDelaySchedule;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.mail.Message.RecipientType.TO;
+import static org.icgc.dcc.submission.server.service.MailService.MAIL_SMTP_CONNECTION_TIMEOUT;
+import static org.icgc.dcc.submission.server.service.MailService.MAIL_SMTP_HOST;
+import static org.icgc.dcc.submission.server.service.MailService.MAIL_SMTP_PORT;
+import static org.icgc.dcc.submission.server.service.MailService.MAIL_SMTP_TIMEOUT;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.Address;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.core.config.SubmissionProperties.OutboxProperties;
+import org.icgc.dcc.submission.core.model.OutboxMessage;
+import org.icgc.dcc.submission.server.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.AbstractScheduledService;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the emails of {@link MailService} from a durable outbox.
+ * <p>
+ * Messages are persisted by {@link #enqueue(OutboxMessage)} and delivered by a single background thread that
+ * periodically claims the due messages, merges the {@link OutboxMessage#isCoalesce() coalescible} ones from and to the
+ * same addresses into a digest and retries failed deliveries with exponential backoff. Delivery is at-least-once: a
+ * message claimed by a sender that did not complete is put back in the outbox after a timeout.
+ * <p>
+ * Metrics are recorded as {@code mail.outbox.*}.
+ */
+@Slf4j
+public class MailOutboxService extends AbstractScheduledService {
+
+  /**
+   * Dependencies.
+   */
+  private final SubmissionProperties properties;
+  private final OutboxRepository outboxRepository;
+
+  /**
+   * Metrics.
+   */
+  private final AtomicLong depth = new AtomicLong();
+  private final Meter enqueued;
+  private final Meter sent;
+  private final Meter retried;
+  private final Meter failed;
+  private final Timer sendTime;
+  private final Timer latency;
+  private final Histogram coalesced;
+
+  @Autowired
+  public MailOutboxService(
+      @NonNull SubmissionProperties properties,
+      @NonNull OutboxRepository outboxRepository,
+      @NonNull MetricRegistry registry) {
+    this.properties = properties;
+    this.outboxRepository = outboxRepository;
+
+    this.enqueued = registry.meter(name("mail", "outbox", "enqueued"));
+    this.sent = registry.meter(name("mail", "outbox", "sent"));
+    this.retried = registry.meter(name("mail", "outbox", "retried"));
+    this.failed = registry.meter(name("mail", "outbox", "failed"));
+    this.sendTime = registry.timer(name("mail", "outbox", "send"));
+    this.latency = registry.timer(name("mail", "outbox", "latency"));
+    this.coalesced = registry.histogram(name("mail", "outbox", "coalesced"));
+    registry.register(name("mail", "outbox", "depth"), (Gauge<Long>) depth::get);
+  }
+
+  /**
+   * Persists {@code message} for delivery. Coalescible messages are held back for the coalescing window.
+   */
+  public void enqueue(@NonNull OutboxMessage message) {
+    if (message.isCoalesce()) {
+      message.setNextAttempt(new Date(message.getCreated().getTime() + getOutbox().getCoalesceWindowMs()));
+    }
+
+    outboxRepository.saveMessage(message);
+    enqueued.mark();
+    depth.incrementAndGet();
+    log.info("Enqueued email '{}' to {}", message.getSubject(), message.getRecipients());
+  }
+
+  /**
+   * Delivers the messages that are due.
+   *
+   * @return the number of messages processed
+   */
+  public int flush() {
+    val outbox = getOutbox();
+    val now = new Date();
+
+    val released = outboxRepository.releaseStaleClaims(new Date(now.getTime() - outbox.getClaimTimeoutMs()));
+    if (released > 0) {
+      log.warn("Released {} stale outbox claim(s)", released);
+    }
+
+    val batch = claim(now, outbox.getBatchSize());
+    if (!batch.isEmpty()) {
+      val session = createSession();
+      for (val messages : coalesce(batch)) {
+        deliver(session, messages);
+      }
+    }
+
+    depth.set(outboxRepository.countPendingMessages());
+
+    return batch.size();
+  }
+
+  @Override
+  protected void runOneIteration() throws Exception {
+    try {
+      flush();
+    } catch (Exception e) {
+      // Keep polling, the messages are still in the outbox
+      log.error("Exception flushing outbox:", e);
+    }
+  }
+
+  @Override
+  protected Scheduler scheduler() {
+    val pollInterval = getOutbox().getPollIntervalMs();
+
+    return newFixedDelaySchedule(pollInterval, pollInterval, MILLISECONDS);
+  }
+
+  private List<OutboxMessage> claim(Date now, int batchSize) {
+    val batch = Lists.<OutboxMessage> newArrayList();
+    while (batch.size() < batchSize) {
+      val message = outboxRepository.claimNextMessage(now);
+      if (message == null) {
+        break;
+      }
+
+      batch.add(message);
+    }
+
+    return batch;
+  }
+
+  /**
+   * Groups coalescible messages by sender and recipients, keeping the others on their own.
+   */
+  private static Collection<List<OutboxMessage>> coalesce(List<OutboxMessage> batch) {
+    val groups = Maps.<String, List<OutboxMessage>> newLinkedHashMap();
+    for (val message : batch) {
+      val key = message.isCoalesce() ?
+          message.getFrom() + " -> " + Ordering.<String> natural().sortedCopy(message.getRecipients()) :
+          message.getId().toString();
+
+      List<OutboxMessage> group = groups.get(key);
+      if (group == null) {
+        group = Lists.newArrayList();
+        groups.put(key, group);
+      }
+
+      group.add(message);
+    }
+
+    return groups.values();
+  }
+
+  private void deliver(Session session, List<OutboxMessage> messages) {
+    val first = messages.get(0);
+    val subject = messages.size() == 1 ?
+        first.getSubject() :
+        format("%s (and %s more)", first.getSubject(), messages.size() - 1);
+    val text = messages.size() == 1 ? first.getText() : digest(messages);
+
+    try {
+      val message = new MimeMessage(session);
+      message.setFrom(address(first.getFrom()));
+      message.addRecipients(TO, addresses(first.getRecipients()));
+      message.setSubject(subject);
+      message.setText(text);
+
+      log.info("Sending email '{}' to {}...", subject, first.getRecipients());
+      val start = System.nanoTime();
+      Transport.send(message);
+      sendTime.update(System.nanoTime() - start, NANOSECONDS);
+      log.info("Sent email '{}' to {}", subject, first.getRecipients());
+    } catch (Exception e) {
+      log.error("Error sending email '{}' to {}: {}", new Object[] { subject, first.getRecipients(), e });
+      for (val message : messages) {
+        retry(message, e);
+      }
+
+      return;
+    }
+
+    val now = System.currentTimeMillis();
+    for (val message : messages) {
+      outboxRepository.deleteMessage(message.getId());
+      latency.update(now - message.getCreated().getTime(), MILLISECONDS);
+    }
+
+    sent.mark();
+    coalesced.update(messages.size());
+  }
+
+  private void retry(OutboxMessage message, Exception cause) {
+    val outbox = getOutbox();
+    val attempts = message.getAttempts() + 1;
+    val error = String.valueOf(cause.getMessage());
+    if (attempts >= outbox.getMaxAttempts()) {
+      log.error("Giving up on email '{}' to {} after {} attempt(s)",
+          new Object[] { message.getSubject(), message.getRecipients(), attempts });
+      outboxRepository.updateFailed(message.getId(), attempts, error);
+      failed.mark();
+
+      return;
+    }
+
+    val backoff = getBackoff(outbox, attempts);
+    outboxRepository.updateRetry(message.getId(), attempts, new Date(System.currentTimeMillis() + backoff), error);
+    retried.mark();
+  }
+
+  private static long getBackoff(OutboxProperties outbox, int attempts) {
+    // Doubles from the first retry on, capped to avoid overflowing
+    val factor = 1L << Math.min(attempts - 1, 30);
+
+    return Math.min(outbox.getRetryBackoffMs() * factor, outbox.getMaxRetryBackoffMs());
+  }
+
+  private static String digest(List<OutboxMessage> messages) {
+    val digest = new StringBuilder();
+    for (val message : messages) {
+      digest.append(message.getSubject()).append('\n');
+      digest.append(repeat("-", message.getSubject().length())).append('\n');
+      digest.append(message.getText()).append("\n\n");
+    }
+
+    return digest.toString();
+  }
+
+  private Session createSession() {
+    val mail = properties.getMail();
+    val props = new Properties();
+    props.put(MAIL_SMTP_HOST, mail.getSmtpHost());
+    props.put(MAIL_SMTP_PORT, mail.getSmtpPort());
+    props.put(MAIL_SMTP_TIMEOUT, mail.getSmtpTimeout());
+    props.put(MAIL_SMTP_CONNECTION_TIMEOUT, mail.getSmtpConnectionTimeout());
+
+    return Session.getInstance(props);
+  }
+
+  private OutboxProperties getOutbox() {
+    return properties.getMail().getOutbox();
+  }
+
+  private static Address[] addresses(List<String> emails) {
+    val addresses = ImmutableList.<Address> builder();
+    for (val email : emails) {
+      try {
+        addresses.add(address(email));
+      } catch (UnsupportedEncodingException e) {
+        log.error("Illegal Address: " + e + " in " + emails);
+      }
+    }
+
+    return addresses.build().toArray(new Address[0]);
+  }
+
+  private static InternetAddress address(String email) throws UnsupportedEncodingException {
+    return new InternetAddress(email, email);
+  }
+
+}
@@ -18,42 +18,33 @@
 package org.icgc.dcc.submission.server.service;
 
 import static java.lang.String.format;
-import static javax.mail.Message.RecipientType.TO;
 import static org.icgc.dcc.submission.release.model.SubmissionState.ERROR;
 import static org.icgc.dcc.submission.release.model.SubmissionState.INVALID;
 import static org.icgc.dcc.submission.release.model.SubmissionState.NOT_VALIDATED;
 import static org.icgc.dcc.submission.release.model.SubmissionState.VALID;
 
-import java.io.UnsupportedEncodingException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Properties;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-
-import javax.mail.Address;
-import javax.mail.Message;
-import javax.mail.Session;
-import javax.mail.Transport;
-import javax.mail.internet.InternetAddress;
-import javax.mail.internet.MimeMessage;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.model.Feedback;
+import org.icgc.dcc.submission.core.model.OutboxMessage;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.core.state.State;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.collect.ImmutableList;
 
+/**
+ * Composes the emails sent by the submission system and hands them to the {@link MailOutboxService} for delivery, so
+ * that callers never wait on SMTP.
+ */
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class MailService {
@@ -72,19 +63,16 @@ public class MailService {
   public static final String NOTIFICATION_SUBJECT_PREFEX = "Notification: ";
 
   /**
-   * Executor used in sending emails asynchronously.
+   * Application config.
    */
-  private final Executor executor = Executors.newCachedThreadPool(
-      new ThreadFactoryBuilder()
-          .setNameFormat("mail-%s") // For logging
-          .setPriority(Thread.MIN_PRIORITY) // For niceness
-          .build());
+  @NonNull
+  private final SubmissionProperties properties;
 
   /**
-   * Application config.
+   * Dependencies.
    */
   @NonNull
-  private final SubmissionProperties properties;
+  private final MailOutboxService outbox;
 
   public void sendSupportFeedback(@NonNull Feedback feedback) {
     sendNotification(format("Feedback from %s - '%s'", feedback.getEmail(), feedback.getSubject()),
@@ -94,7 +82,8 @@ public class MailService {
         feedback.getEmail(),
         properties.getMail().getSupportEmail(),
         feedback.getSubject(),
-        feedback.getMessage());
+        feedback.getMessage(),
+        false);
   }
 
   public void sendSupportProblem(@NonNull String subject, @NonNull String message) {
@@ -104,7 +93,8 @@ public class MailService {
         properties.getMail().getFromEmail(),
         properties.getMail().getSupportEmail(),
         subject,
-        message);
+        message,
+        false);
   }
 
   public void sendFileTransferred(@NonNull String user, @NonNull String path) {
@@ -151,17 +141,13 @@ public class MailService {
 
     sendValidationFinsished(releaseName, projectKey, emails, state, report);
 
-    try {
-      val message = message();
-      message.setFrom(address(properties.getMail().getFromEmail()));
-      message.addRecipients(TO, addresses(emails));
-      message.setSubject(template(properties.getMail().getSubject(), projectKey, state, report));
-      message.setText(getResult(releaseName, projectKey, state));
-
-      send(message);
-    } catch (Exception e) {
-      log.error("An error occured while emailing: ", e);
-    }
+    // Submitters of several projects get a digest
+    enqueue(new OutboxMessage(
+        properties.getMail().getFromEmail(),
+        emails,
+        template(properties.getMail().getSubject(), projectKey, state, report),
+        getResult(releaseName, projectKey, state),
+        true));
   }
 
   public Boolean isEnabled() {
@@ -185,67 +171,31 @@ public class MailService {
         properties.getMail().getFromEmail(),
         properties.getMail().getNotificationEmail(),
         NOTIFICATION_SUBJECT_PREFEX + subject,
-        message);
+        message,
+        true);
   }
 
   private void sendNotification(String subject) {
     sendNotification(subject, subject);
   }
 
-  private void send(final String from, final String recipient, final String subject, final String text) {
+  private void send(String from, String recipient, String subject, String text, boolean coalesce) {
     if (!isEnabled()) {
       log.info("Mail not enabled. Skipping...");
       return;
     }
 
-    try {
-      val message = message();
-      message.setFrom(address(from));
-      message.addRecipient(TO, address(recipient));
-      message.setSubject(formatSubject(subject));
-      message.setText(text);
+    enqueue(new OutboxMessage(from, ImmutableList.of(recipient), formatSubject(subject), text, coalesce));
+  }
 
-      send(message);
+  private void enqueue(OutboxMessage message) {
+    try {
+      outbox.enqueue(message);
     } catch (Exception e) {
       log.error("An error occured while emailing: ", e);
     }
   }
 
-  /**
-   * Sends the supplied {@code message} asynchronously using JavaMail.
-   * 
-   * @param message the message to send
-   */
-  private void send(final Message message) {
-    executor.execute(new Runnable() {
-
-      @Override
-      @SneakyThrows
-      public void run() {
-        try {
-          log.info("Sending email '{}' to {}...", message.getSubject(), Arrays.toString(message.getAllRecipients()));
-          Transport.send(message);
-          log.info("Sent email '{}' to {}", message.getSubject(), Arrays.toString(message.getAllRecipients()));
-        } catch (Throwable t) {
-          log.error("Error sending email '{}' to {}", message.getSubject(),
-              Arrays.toString(message.getAllRecipients()));
-          log.error("Exception:", t);
-        }
-      }
-    });
-
-  }
-
-  private Message message() {
-    val props = new Properties();
-    props.put(MAIL_SMTP_HOST, properties.getMail().getSmtpHost());
-    props.put(MAIL_SMTP_PORT, properties.getMail().getSmtpPort());
-    props.put(MAIL_SMTP_TIMEOUT, properties.getMail().getSmtpTimeout());
-    props.put(MAIL_SMTP_CONNECTION_TIMEOUT, properties.getMail().getSmtpConnectionTimeout());
-
-    return new MimeMessage(Session.getDefaultInstance(props, null));
-  }
-
   private String formatSubject(String text) {
     return format("[%s] %s", getHostName(), text);
   }
@@ -254,23 +204,6 @@ public class MailService {
     return format(body, arguments);
   }
 
-  private static Address[] addresses(List<String> emails) {
-    val addresses = new Address[emails.size()];
-    for (int i = 0; i < emails.size(); i++) {
-      try {
-        addresses[i] = address(emails.get(i));
-      } catch (UnsupportedEncodingException e) {
-        log.error("Illegal Address: " + e + " in " + emails);
-      }
-    }
-
-    return addresses;
-  }
-
-  private static InternetAddress address(String email) throws UnsupportedEncodingException {
-    return new InternetAddress(email, email);
-  }
-
   private static String getHostName() {
     try {
       return InetAddress.getLocalHost().getHostName();
@@ -27,10 +27,9 @@ import static org.icgc.dcc.submission.dictionary.model.RestrictionType.SCRIPT;
 
 import org.icgc.dcc.submission.core.report.FieldErrorReport;
 import org.icgc.dcc.submission.core.report.FileReport;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
-import org.icgc.dcc.submission.server.repository.DictionaryRepository;
-import org.icgc.dcc.submission.server.repository.ReleaseRepository;
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
 
 import com.google.common.base.Optional;
@@ -44,16 +43,12 @@ import lombok.val;
  */
 public class MongoMaxSizeHack {
 
-  static Optional<FileReport> augmentScriptErrors(Optional<FileReport> optional,
-      ReleaseRepository releaseRepository, DictionaryRepository dictionaryRepository) {
+  static Optional<FileReport> augmentScriptErrors(Optional<FileReport> optional, Dictionary dictionary) {
 
     if (optional.isPresent()) {
       val fileReport = optional.get();
       val errorReports = fileReport.getErrorReports();
 
-      val dictionary = dictionaryRepository.findDictionaryByVersion(
-          releaseRepository.findNextReleaseDictionaryVersion());
-
       val fileType = fileReport.getFileType();
       val fileSchema = dictionary.getFileSchema(fileType);
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.collect.Iterables.transform;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Locks serializing the state transitions of {@link ReleaseService}.
+ * <p>
+ * Locks are always acquired in the following order, and only the innermost is ever held alone:
+ * <ol>
+ * <li>the release lock: exclusive for release-wide transitions (e.g. performing a release), shared otherwise</li>
+ * <li>the project locks, keyed by release and project, for transitions of individual submissions</li>
+ * <li>the queue lock, keyed by release, guarding the read-modify-write of the release queue</li>
+ * </ol>
+ * so that transitions of different projects proceed concurrently. Side-effecting I/O is kept out of the release lock:
+ * the validation folder of a project is emptied holding that project's lock only, and mail is sent once the locks are
+ * released.
+ * <p>
+ * The time spent waiting for each kind of lock is recorded as {@code release.lock.<kind>.wait}.
+ */
+@Slf4j
+public class ReleaseLockManager {
+
+  /**
+   * Number of stripes of the project and queue locks.
+   */
+  private static final int PROJECT_STRIPES = 256;
+  private static final int QUEUE_STRIPES = 16;
+
+  /**
+   * Waits beyond this are logged.
+   */
+  private static final long SLOW_WAIT_NANOS = SECONDS.toNanos(1);
+
+  private final ReentrantReadWriteLock releaseLock = new ReentrantReadWriteLock(true);
+  private final Striped<Lock> projectLocks = Striped.lazyWeakLock(PROJECT_STRIPES);
+  private final Striped<Lock> queueLocks = Striped.lazyWeakLock(QUEUE_STRIPES);
+
+  private final Timer exclusiveWait;
+  private final Timer sharedWait;
+  private final Timer projectWait;
+  private final Timer queueWait;
+
+  public ReleaseLockManager(@NonNull MetricRegistry registry) {
+    this.exclusiveWait = registry.timer(name("release", "lock", "release-exclusive", "wait"));
+    this.sharedWait = registry.timer(name("release", "lock", "release-shared", "wait"));
+    this.projectWait = registry.timer(name("release", "lock", "project", "wait"));
+    this.queueWait = registry.timer(name("release", "lock", "queue", "wait"));
+  }
+
+  /**
+   * Performs a release-wide transition, excluding all others.
+   */
+  public <T> T withRelease(@NonNull String operation, @NonNull Callable<T> action) {
+    return call(operation, ImmutableList.<Lock> of(releaseLock.writeLock()), exclusiveWait, action);
+  }
+
+  /**
+   * Performs a transition of the submissions of {@code projectKeys}, excluding release-wide transitions and other
+   * transitions of the same submissions.
+   *
+   * @param releaseName resolved once the release lock is held, so that it cannot change under the caller
+   */
+  public <T> T withProjects(@NonNull String operation, @NonNull Supplier<String> releaseName,
+      @NonNull Iterable<String> projectKeys, @NonNull Callable<T> action) {
+    val shared = releaseLock.readLock();
+    lock(operation, shared, sharedWait);
+    try {
+      val name = releaseName.get();
+      val locks = projectLocks.bulkGet(transform(projectKeys, projectKey -> getProjectLockKey(name, projectKey)));
+
+      return call(operation, locks, projectWait, action);
+    } finally {
+      shared.unlock();
+    }
+  }
+
+  /**
+   * Performs a read-modify-write of the queue of {@code releaseName}. Must not acquire any other lock.
+   */
+  public <T> T withQueue(@NonNull String operation, @NonNull String releaseName, @NonNull Callable<T> action) {
+    return call(operation, ImmutableList.of(queueLocks.get(releaseName)), queueWait, action);
+  }
+
+  @SneakyThrows
+  private static <T> T call(String operation, Iterable<Lock> locks, Timer wait, Callable<T> action) {
+    // Stripes are returned in a consistent order by Striped#bulkGet, which prevents deadlocks
+    val acquired = Lists.<Lock> newArrayList();
+    try {
+      for (val lock : locks) {
+        lock(operation, lock, wait);
+        acquired.add(lock);
+      }
+
+      return action.call();
+    } finally {
+      unlock(acquired);
+    }
+  }
+
+  private static void lock(String operation, Lock lock, Timer wait) {
+    val start = System.nanoTime();
+    lock.lock();
+    val waited = System.nanoTime() - start;
+
+    wait.update(waited, NANOSECONDS);
+    if (waited > SLOW_WAIT_NANOS) {
+      log.warn("Waited {} ms for a lock to {}", NANOSECONDS.toMillis(waited), operation);
+    }
+  }
+
+  private static void unlock(List<Lock> locks) {
+    for (val lock : Lists.reverse(locks)) {
+      lock.unlock();
+    }
+  }
+
+  private static String getProjectLockKey(String releaseName, String projectKey) {
+    return releaseName + "/" + projectKey;
+  }
+
+}
@@ -23,6 +23,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.function.Predicate.isEqual;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableSet;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsFile;
 import static org.icgc.dcc.submission.core.util.NameValidator.validateEntityName;
 import static org.icgc.dcc.submission.release.model.ReleaseState.OPENED;
@@ -42,18 +43,20 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import lombok.NonNull;
-import lombok.Synchronized;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.submission.core.model.DccModelOptimisticLockException;
 import org.icgc.dcc.submission.core.model.Outcome;
+import org.icgc.dcc.submission.core.model.Project;
 import org.icgc.dcc.submission.core.report.FileReport;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.core.util.NameValidator;
@@ -72,6 +75,9 @@ import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.release.model.SubmissionState;
 import org.icgc.dcc.submission.server.core.InvalidStateException;
 import org.icgc.dcc.submission.server.core.StartupListener;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
+import org.icgc.dcc.submission.server.fs.ReleasePromoter;
+import org.icgc.dcc.submission.server.fs.SubmissionFileStatusCache;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
 import org.icgc.dcc.submission.server.repository.ReleaseRepository;
@@ -79,8 +85,11 @@ import org.icgc.dcc.submission.server.web.InvalidNameException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 @Slf4j
@@ -92,8 +101,17 @@ public class ReleaseService extends AbstractService {
   private final SubmissionFileSystem submissionFileSystem;
   private final ReleaseRepository releaseRepository;
   private final DictionaryRepository dictionaryRepository;
+  private final DictionarySnapshotCache dictionarySnapshots;
   private final ProjectRepository projectRepository;
   private final SubmissionService submissionService;
+  private final SubmissionFileStatusCache fileStatusCache;
+  private final ReleasePromoter releasePromoter;
+  private final ValidationQueueService validationQueue;
+
+  /**
+   * State.
+   */
+  private final ReleaseLockManager locks;
 
   @Autowired
   public ReleaseService(
@@ -101,14 +119,24 @@ public class ReleaseService extends AbstractService {
       @NonNull final SubmissionFileSystem submissionFileSystem,
       @NonNull final ReleaseRepository releaseRepository,
       @NonNull final DictionaryRepository dictionaryRepository,
+      @NonNull final DictionarySnapshotCache dictionarySnapshots,
       @NonNull final ProjectRepository projectRepository,
-      @NonNull final SubmissionService submissionService) {
+      @NonNull final SubmissionService submissionService,
+      @NonNull final SubmissionFileStatusCache fileStatusCache,
+      @NonNull final ReleasePromoter releasePromoter,
+      @NonNull final ValidationQueueService validationQueue,
+      @NonNull final MetricRegistry metricRegistry) {
     super(mailService);
     this.submissionFileSystem = submissionFileSystem;
     this.releaseRepository = releaseRepository;
     this.dictionaryRepository = dictionaryRepository;
+    this.dictionarySnapshots = dictionarySnapshots;
     this.projectRepository = projectRepository;
     this.submissionService = submissionService;
+    this.fileStatusCache = fileStatusCache;
+    this.releasePromoter = releasePromoter;
+    this.validationQueue = validationQueue;
+    this.locks = new ReleaseLockManager(metricRegistry);
   }
 
   /**
@@ -144,7 +172,8 @@ public class ReleaseService extends AbstractService {
 
     Optional<ReleaseView> releaseView = Optional.absent();
     if (release != null) {
-      releaseView = Optional.of(new ReleaseView(release, submissionStates));
+      val queue = validationQueue.getQueuedProjectKeys(releaseName);
+      releaseView = Optional.of(new ReleaseView(release, queue, submissionStates));
     }
 
     return releaseView;
@@ -177,11 +206,17 @@ public class ReleaseService extends AbstractService {
   public Dictionary getNextDictionary() {
     val release = getNextRelease();
     val version = release.getDictionaryVersion();
-    return dictionaryRepository.findDictionaryByVersion(version);
+    return dictionarySnapshots.findDictionary(version);
   }
 
-  @Synchronized
   public void createInitialRelease(Release initRelease) {
+    locks.withRelease("create initial release", () -> {
+      doCreateInitialRelease(initRelease);
+      return null;
+    });
+  }
+
+  private void doCreateInitialRelease(Release initRelease) {
     // check for init release name
     val releaseName = initRelease.getName();
     if (!NameValidator.validateEntityName(releaseName)) {
@@ -208,6 +243,7 @@ public class ReleaseService extends AbstractService {
     val projects = Sets.<String> newHashSet();
     val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(releaseName);
     submissionFileSystem.createInitialReleaseFilesystem(nextRelease, submissions, projects);
+    fileStatusCache.invalidate(releaseName);
   }
 
   public boolean isSignOffAllowed(String releaseName) {
@@ -217,8 +253,11 @@ public class ReleaseService extends AbstractService {
         .anyMatch(isEqual(SIGNED_OFF));
   }
 
-  @Synchronized
   public Release performRelease(@NonNull String nextReleaseName) throws InvalidStateException {
+    return locks.withRelease("perform release", () -> doPerformRelease(nextReleaseName));
+  }
+
+  private Release doPerformRelease(String nextReleaseName) throws InvalidStateException {
     // Check for next release name
     if (validateEntityName(nextReleaseName) == false) {
       throw new InvalidNameException(nextReleaseName);
@@ -242,7 +281,7 @@ public class ReleaseService extends AbstractService {
         log.error(errorMessage);
         throw new InvalidStateException(SIGNED_OFF_SUBMISSION_REQUIRED, errorMessage);
       }
-      if (oldRelease.isQueued()) {
+      if (validationQueue.isQueued(oldRelease.getName())) {
         val errorMessage = "Some projects are still enqueued in " + oldRelease;
         log.error(errorMessage);
         throw new InvalidStateException(QUEUE_NOT_EMPTY, errorMessage);
@@ -271,38 +310,42 @@ public class ReleaseService extends AbstractService {
     return newRelease;
   }
 
-  @Synchronized
   public void signOffRelease(Collection<String> projectKeys, String user) throws InvalidStateException,
       DccModelOptimisticLockException {
-    val release = getNextRelease();
-    val releaseName = release.getName();
-    log.info("signing off {} for {}", projectKeys, releaseName);
+    Release release = locks.withProjects("sign off", this::getNextReleaseName, projectKeys, () -> {
+      val nextRelease = getNextRelease();
+      val releaseName = nextRelease.getName();
+      log.info("signing off {} for {}", projectKeys, releaseName);
+
+      // TODO: Do we need to check if the project is being validated currently?
+      val filePatternToTypeMap = dictionarySnapshots.getFilePatternToTypeMap(nextRelease.getDictionaryVersion());
+      val submissions = submissionService.findProjectKeysToSubmissions(releaseName, projectKeys);
+      for (val projectKey : projectKeys) {
+        val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
+        val submission = submissions.get(projectKey);
+        checkNotNullSubmission(releaseName, projectKey, submission);
 
-    // TODO: Do we need to check if the project is being validated currently?
-    release.removeFromQueue(projectKeys);
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
-    val submissions = submissionService.findProjectKeysToSubmissions(releaseName, projectKeys);
-    for (val projectKey : projectKeys) {
-      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, filePatternToTypeMap);
-      val submission = submissions.get(projectKey);
-      checkNotNullSubmission(releaseName, projectKey, submission);
+        //
+        // Transition
+        //
 
-      //
-      // Transition
-      //
+        submission.signOff(submissionFiles);
+      }
 
-      submission.signOff(submissionFiles);
-    }
+      validationQueue.remove(releaseName, projectKeys);
+      submissionService.updateExistingSubmissions(submissions.values());
 
-    releaseRepository.updateRelease(releaseName, release);
-    submissionService.updateExistingSubmissions(submissions.values());
+      return nextRelease;
+    });
+    val releaseName = release.getName();
 
     // Remove validation files in the ".validation" folder (leave normalization files untouched)
-    val releaseFs = submissionFileSystem.getReleaseFilesystem(release, submissions);
+    val releaseFs = getReleaseFileSystem(release);
     val projects = projectRepository.findProjects(projectKeys);
     for (val project : projects) {
       releaseFs.getSubmissionDirectory(project.getKey()).removeValidationFiles();
     }
+    fileStatusCache.invalidate(releaseName);
 
     // after sign off, send a email to DCC support
     mailService.sendSignoff(user, projectKeys, releaseName);
@@ -320,8 +363,20 @@ public class ReleaseService extends AbstractService {
    * This method is not included in NextRelease because of its dependence on methods from NextRelease (we may reconsider
    * in the future) - see comments in DCC-245
    */
-  @Synchronized
   public Release updateRelease(@NonNull String newReleaseName, String newDictionaryVersion) {
+    val resetProjectKeys = Lists.<String> newArrayList();
+    val release = locks.withRelease("update release",
+        () -> doUpdateRelease(newReleaseName, newDictionaryVersion, resetProjectKeys));
+    resetValidationFolders(resetProjectKeys);
+
+    return release;
+  }
+
+  /**
+   * @param resetProjectKeys - receives the keys of the projects reset, whose validation folders are to be emptied once
+   * the release lock is released
+   */
+  private Release doUpdateRelease(String newReleaseName, String newDictionaryVersion, List<String> resetProjectKeys) {
     val release = getNextRelease();
     val oldReleaseName = release.getName();
     val oldDictionaryVersion = release.getDictionaryVersion();
@@ -349,27 +404,33 @@ public class ReleaseService extends AbstractService {
         new Object[] { oldReleaseName, newReleaseName, newDictionaryVersion });
     release.setName(newReleaseName);
     release.setDictionaryVersion(newDictionaryVersion);
-    if (sameDictionary == false) {
-      release.emptyQueue();
-    }
 
     val success = releaseRepository.updateRelease(oldReleaseName, release, newReleaseName, newDictionaryVersion);
     if (success) { // Ensure update was successful
-      notifyUpdateError(oldReleaseName, on(",").join(newReleaseName, newDictionaryVersion, release.getQueue()));
+      val queue = validationQueue.getQueuedProjectKeys(oldReleaseName);
+      notifyUpdateError(oldReleaseName, on(",").join(newReleaseName, newDictionaryVersion, queue));
+    }
+
+    if (sameDictionary == false) {
+      validationQueue.clear(oldReleaseName);
+    } else if (sameName == false) {
+      validationQueue.rename(oldReleaseName, newReleaseName);
     }
 
     // If a new dictionary was specified, reset submissions, TODO: use resetSubmission() instead (DCC-901)!
     if (sameDictionary == false) {
       // Reset all projects
-      resetSubmissions();
+      val nextRelease = getNextRelease();
+      val projectKeys = submissionService.findReleaseProjectKeys(nextRelease.getName());
+      doResetSubmissions(nextRelease, projectKeys);
+      resetProjectKeys.addAll(projectKeys);
     }
 
     return release;
   }
 
-  @Synchronized
   public List<String> getQueuedProjectKeys() {
-    return releaseRepository.findNextReleaseQueue().getQueuedProjectKeys();
+    return validationQueue.getQueuedProjectKeys(getNextReleaseName());
   }
 
   /**
@@ -377,22 +438,26 @@ public class ReleaseService extends AbstractService {
    * 
    * @return Current Open Release
    */
-  @Synchronized
   public void addSubmission(String projectKey, String projectName) {
-    log.info("Creating Submission for Project '{}' in current open Release", projectKey);
-    val release = releaseRepository.findOpenRelease();
-    val submissionPath = submissionFileSystem.createNewProjectDirectoryStructure(release.getName(), projectKey);
-    val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
-    val submission = new Submission(projectKey, projectName, release.getName(), NOT_VALIDATED);
+    Supplier<String> openReleaseName = () -> releaseRepository.findOpenRelease().getName();
+    locks.withProjects("add submission", openReleaseName, ImmutableList.of(projectKey), () -> {
+      log.info("Creating Submission for Project '{}' in current open Release", projectKey);
+      val release = releaseRepository.findOpenRelease();
+      val submissionPath = submissionFileSystem.createNewProjectDirectoryStructure(release.getName(), projectKey);
+      val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
+      val submission = new Submission(projectKey, projectName, release.getName(), NOT_VALIDATED);
 
-    //
-    // Transition
-    //
+      //
+      // Transition
+      //
 
-    submission.initialize(submissionFiles);
-    submissionService.addSubmission(submission);
+      submission.initialize(submissionFiles);
+      submissionService.addSubmission(submission);
+      fileStatusCache.invalidate(release.getName());
 
-    log.info("Created Submission '{}' with directory '{}'", submission, submissionPath);
+      log.info("Created Submission '{}' with directory '{}'", submission, submissionPath);
+      return null;
+    });
   }
 
   public boolean submissionExists(String releaseName, String projectKey) {
@@ -413,12 +478,8 @@ public class ReleaseService extends AbstractService {
 
   public DetailedSubmission getDetailedSubmission(String releaseName, String projectKey) {
     val submission = getSubmission(releaseName, projectKey);
-    val project = projectRepository.findProject(projectKey);
-    val detailedSubmission = new DetailedSubmission(submission, project);
-    val submissionFiles = getSubmissionFiles(releaseName, projectKey);
-    detailedSubmission.setSubmissionFiles(submissionFiles);
 
-    return detailedSubmission;
+    return convertToDetailedSubmissions(ImmutableList.of(submission)).get(0);
   }
 
   public List<DetailedSubmission> getDetailedSubmissionsBySubject(String releaseName, Authentication authentication) {
@@ -439,46 +500,45 @@ public class ReleaseService extends AbstractService {
     if (submission != null) {
       val report = submission.getReport();
       if (report != null) {
-        optional = MongoMaxSizeHack.augmentScriptErrors(
-            report.getFileReport(fileName),
-            releaseRepository, dictionaryRepository);
+        optional = MongoMaxSizeHack.augmentScriptErrors(report.getFileReport(fileName), getNextDictionary());
       }
     }
 
     return optional;
   }
 
-  @Synchronized
   public void queueSubmissions(@NonNull List<QueuedProject> queuedProjects) throws InvalidStateException,
       DccModelOptimisticLockException {
-    val release = getNextRelease();
-    val releaseName = release.getName();
-    log.info("Enqueuing {} for {}", queuedProjects, releaseName);
-
-    // Update release object
-    release.enqueue(queuedProjects);
-
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
     val projectKeys = queuedProjects.stream()
         .map(QueuedProject::getKey)
         .collect(toImmutableList());
-    val submissions = submissionService.findProjectKeysToSubmissions(releaseName, projectKeys);
-    for (val queuedProject : queuedProjects) {
-      val projectKey = queuedProject.getKey();
-      val submission = submissions.get(projectKey);
-      checkNotNullSubmission(releaseName, projectKey, submission);
-      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, filePatternToTypeMap);
 
-      //
-      // Transition
-      //
+    locks.withProjects("queue", this::getNextReleaseName, projectKeys, () -> {
+      val release = getNextRelease();
+      val releaseName = release.getName();
+      log.info("Enqueuing {} for {}", queuedProjects, releaseName);
 
-      submission.queueRequest(submissionFiles, queuedProject.getDataTypes());
-    }
+      val filePatternToTypeMap = dictionarySnapshots.getFilePatternToTypeMap(release.getDictionaryVersion());
+      val submissions = submissionService.findProjectKeysToSubmissions(releaseName, projectKeys);
+      for (val queuedProject : queuedProjects) {
+        val projectKey = queuedProject.getKey();
+        val submission = submissions.get(projectKey);
+        checkNotNullSubmission(releaseName, projectKey, submission);
+        val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
 
-    releaseRepository.updateRelease(releaseName, release);
-    submissionService.updateExistingSubmissions(submissions.values());
-    log.info("Enqueued {} for {}", queuedProjects, releaseName);
+        //
+        // Transition
+        //
+
+        submission.queueRequest(submissionFiles, queuedProject.getDataTypes());
+      }
+
+      validationQueue.enqueue(releaseName, queuedProjects);
+      submissionService.updateExistingSubmissions(submissions.values());
+      log.info("Enqueued {} for {}", queuedProjects, releaseName);
+
+      return null;
+    });
   }
 
   /**
@@ -490,117 +550,152 @@ public class ReleaseService extends AbstractService {
    * @param nextReport
    * @param dataTypes
    */
-  @Synchronized
   public void dequeueSubmission(@NonNull final QueuedProject queuedProject, @NonNull final Report nextReport) {
     val projectKey = queuedProject.getKey();
 
     val description = format("validate project '%s'", projectKey);
     log.info("Attempting to {}", description);
 
-    withRetry(description, new Callable<Optional<?>>() {
+    Release release = withRetry(description, new Callable<Release>() {
 
       @Override
-      public Optional<?> call() throws DccModelOptimisticLockException {
-        val release = getNextRelease();
-        val releaseName = release.getName();
-        log.info("Dequeuing {} to validating for {}", projectKey, releaseName);
-
-        // In-memory - queue transition
-        val dequeuedProject = release.dequeueProject();
-        val dequeuedProjectKey = dequeuedProject.getKey();
-        if (dequeuedProjectKey.equals(projectKey) == false) {
-          log.error("Mismatch: '{}' != '{}'", dequeuedProjectKey, projectKey);
-          throw new ReleaseException("Mismatch: '%s' != '%s'", dequeuedProjectKey, projectKey);
-        }
-
-        // In-memory - submission resolve
-        val submissionFiles =
-            getSubmissionFiles(release.getName(), release.getDictionaryVersion(), queuedProject.getKey());
-        val submissionOpt = submissionService.findSubmissionByReleaseNameAndProjectKey(releaseName, projectKey);
-        checkSubmissionExistence(projectKey, releaseName, submissionOpt);
-        val submission = submissionOpt.get();
-
-        // In-memory - submission transition
-        submission.startValidation(submissionFiles, queuedProject.getDataTypes(), nextReport);
-
-        // Mongo - queue / submission persist
-        log.info("--> Updating db release / submission state for '{}'...", projectKey);
-        releaseRepository.updateRelease(releaseName, release);
-        submissionService.updateSubmission(submission);
-        log.info("<-- Finished updating db release / submission state for '{}'", projectKey);
-
-        // HDFS - validation files removal
-        resetValidationFolder(queuedProject.getKey(), release);
-
-        // Mail - send
-        mailService.sendValidationStarted(releaseName, queuedProject.getKey(), queuedProject.getEmails());
-
-        log.info("Dequeued {} to validating state for {}", projectKey, releaseName);
-        return Optional.absent();
+      public Release call() throws DccModelOptimisticLockException {
+        return locks.withProjects(description, ReleaseService.this::getNextReleaseName, ImmutableList.of(projectKey),
+            () -> {
+              val release = getNextRelease();
+              val releaseName = release.getName();
+              log.info("Dequeuing {} to validating for {}", projectKey, releaseName);
+
+              // In-memory - submission resolve
+              val submissionFiles =
+                  getSubmissionFiles(releaseName, release.getDictionaryVersion(), projectKey);
+              val submissionOpt = submissionService.findSubmissionByReleaseNameAndProjectKey(releaseName, projectKey);
+              checkSubmissionExistence(projectKey, releaseName, submissionOpt);
+              val submission = submissionOpt.get();
+
+              // In-memory - submission transition
+              submission.startValidation(submissionFiles, queuedProject.getDataTypes(), nextReport);
+
+              // Mongo - queue / submission persist
+              log.info("--> Updating db release / submission state for '{}'...", projectKey);
+              validationQueue.dequeue(releaseName, projectKey);
+              submissionService.updateSubmission(submission);
+              log.info("<-- Finished updating db release / submission state for '{}'", projectKey);
+
+              // HDFS - validation files removal, before the project can be validated
+              resetValidationFolder(projectKey, release);
+
+              return release;
+            });
       }
 
-    });
+    }).get();
+
+    // Mail - send
+    mailService.sendValidationStarted(release.getName(), projectKey, queuedProject.getEmails());
+
+    log.info("Dequeued {} to validating state for {}", projectKey, release.getName());
   }
 
   /**
    * Removes queued submissions from the validation queue.
    * @param targets - submissions to remove. Removes all if the argument is empty.
    */
-  @Synchronized
   public void removeQueuedSubmissions(@NonNull String... targets) throws InvalidStateException {
+    val description = "remove queued submissions";
+    val all = targets.length == 0;
+    val projectKeys = ImmutableList.<String> copyOf(targets);
+
+    // Removing the whole queue is a release-wide transition, but the folders are emptied project by project after it
+    if (all) {
+      val removedProjectKeys = locks.withRelease(description, () -> doRemoveQueuedSubmissions(projectKeys));
+      resetValidationFolders(removedProjectKeys);
+    } else {
+      locks.withProjects(description, this::getNextReleaseName, projectKeys, () -> {
+        val removedProjectKeys = doRemoveQueuedSubmissions(projectKeys);
+        resetValidationFolders(removedProjectKeys);
+
+        return removedProjectKeys;
+      });
+    }
+  }
+
+  /**
+   * Transitions the submissions only; callers reset their validation folders.
+   * 
+   * @return the keys of the projects removed from the queue
+   */
+  private List<String> doRemoveQueuedSubmissions(List<String> projectKeys) {
     val release = getNextRelease();
     val releaseName = release.getName();
-    val projectKeys = targets.length > 0 ? ImmutableList.<String> copyOf(targets) : release.getQueuedProjectKeys();
 
-    log.info("Deleting queued request for project(s) '{}'", projectKeys);
-    val queue = ImmutableList.<QueuedProject> copyOf(release.getQueue());
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
-    val queuedProjectKeys = queue.stream()
+    log.info("Deleting queued request for project(s) '{}'", projectKeys.isEmpty() ? "*" : projectKeys);
+    val queue = validationQueue.getQueue(releaseName).stream()
+        .filter(queuedProject -> projectKeys.isEmpty() || projectKeys.contains(queuedProject.getKey()))
+        .collect(toImmutableList());
+    val filePatternToTypeMap = dictionarySnapshots.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val removedProjectKeys = queue.stream()
         .map(QueuedProject::getKey)
         .collect(toImmutableList());
-    val submissions = submissionService.findProjectKeysToSubmissions(releaseName, queuedProjectKeys);
+    val submissions = submissionService.findProjectKeysToSubmissions(releaseName, removedProjectKeys);
     for (val queuedProject : queue) {
       val projectKey = queuedProject.getKey();
       val dataTypes = queuedProject.getDataTypes();
 
-      val remove = projectKeys.isEmpty() || projectKeys.contains(projectKey);
-      if (remove) {
-        val submission = submissions.get(projectKey);
-        checkNotNullSubmission(releaseName, projectKey, submission);
-        val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
+      val submission = submissions.get(projectKey);
+      checkNotNullSubmission(releaseName, projectKey, submission);
+      val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
 
-        //
-        // Transition
-        //
+      //
+      // Transition
+      //
 
-        submission.cancelValidation(submissionFiles, dataTypes);
-        release.removeFromQueue(projectKey);
-        resetValidationFolder(projectKey, release);
-      }
+      submission.cancelValidation(submissionFiles, dataTypes);
     }
 
-    releaseRepository.updateReleaseQueue(releaseName, release.getQueue());
+    validationQueue.remove(releaseName, removedProjectKeys);
     submissionService.updateExistingSubmissions(submissions.values());
+
+    return removedProjectKeys;
+  }
+
+  /**
+   * Moves the projects left in the queue of the release document by a previous version of the server to the queue
+   * collection.<br>
+   * <b>NB:</b> This method should be used by {@link StartupListener} only, before the queue is cleared.
+   */
+  public void migrateReleaseQueue() {
+    val releaseName = getNextReleaseName();
+    locks.withQueue("migrate queue", releaseName, () -> {
+      val release = releaseRepository.findReleaseByName(releaseName);
+      if (release.isQueued()) {
+        log.info("Moving queue {} of '{}' to the queue collection", release.getQueuedProjectKeys(), releaseName);
+        validationQueue.enqueue(releaseName, release.getQueue());
+        releaseRepository.updateReleaseQueue(releaseName, ImmutableList.<QueuedProject> of());
+      }
+
+      return null;
+    });
   }
 
   /**
    * Cancels all validating submissions for the next release.<br>
    * <b>NB:</b> This method should be used by {@link StartupListener} only to reset submission state on a start-up.
    */
-  @Synchronized
   public void cancelValidatingSubmissions() {
-    val release = getNextRelease();
-    val releaseName = release.getName();
-    val submissions = submissionService.findValidatingSubmissions(releaseName);
-    if (submissions.isEmpty()) {
-      return;
-    }
+    val projectKeys = locks.withRelease("cancel validating submissions", () -> {
+      val release = getNextRelease();
+      val releaseName = release.getName();
+      val validatingProjectKeys = submissionService.findValidatingSubmissions(releaseName).stream()
+          .map(Submission::getProjectKey)
+          .collect(toImmutableList());
 
-    val projectKeys = submissions.stream()
-        .map(Submission::getProjectKey)
-        .collect(toImmutableList());
+      doResetSubmissions(release, validatingProjectKeys);
 
-    resetSubmissions(projectKeys);
+      return validatingProjectKeys;
+    });
+
+    resetValidationFolders(projectKeys);
   }
 
   public void resetSubmissions() {
@@ -608,47 +703,55 @@ public class ReleaseService extends AbstractService {
     resetSubmissions(projectKeys);
   }
 
-  @Synchronized
   public void resetInvalidSubmissions() {
     val release = getNextRelease();
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
-    val invalidProjectKeys = submissionService.findSubmissionSummariesByReleaseName(release.getName()).stream()
-        .filter(submission -> submission.getState() == INVALID)
-        .map(Submission::getProjectKey)
-        .collect(toImmutableList());
 
-    for (val projectKey : invalidProjectKeys) {
-      resetSubmission(release, projectKey, filePatternToTypeMap);
-    }
+    // Selecting by state is only consistent if no other transition happens in the meantime
+    val projectKeys = locks.withRelease("reset invalid submissions", () -> {
+      val invalidProjectKeys = submissionService.findSubmissionSummariesByReleaseName(release.getName()).stream()
+          .filter(submission -> submission.getState() == INVALID)
+          .map(Submission::getProjectKey)
+          .collect(toImmutableList());
+
+      doResetSubmissions(release, invalidProjectKeys);
+
+      return invalidProjectKeys;
+    });
+
+    resetValidationFolders(projectKeys);
   }
 
-  @Synchronized
   public void resetSubmissions(Iterable<String> projects) {
-    val release = getNextRelease();
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    locks.withProjects("reset submissions", this::getNextReleaseName, projects, () -> {
+      val nextRelease = getNextRelease();
+      doResetSubmissions(nextRelease, projects);
+      resetValidationFolders(projects);
 
-    for (val projectKey : projects) {
-      resetSubmission(release, projectKey, filePatternToTypeMap);
-    }
+      return nextRelease;
+    });
   }
 
-  @Synchronized
   public Submission modifySubmission(@NonNull String releaseName, @NonNull String projectKey,
       @NonNull SubmissionFileEvent event) {
-
     val release = releaseRepository.findReleaseByName(releaseName);
-    val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
-    val submissionOpt = submissionService.findSubmissionByReleaseNameAndProjectKey(releaseName, projectKey);
-    checkSubmissionExistence(projectKey, releaseName, submissionOpt);
-    val submission = submissionOpt.get();
+    Submission submission = locks.withProjects("modify submission", () -> releaseName, ImmutableList.of(projectKey),
+        () -> {
+          val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
+          val submissionOpt = submissionService.findSubmissionByReleaseNameAndProjectKey(releaseName, projectKey);
+          checkSubmissionExistence(projectKey, releaseName, submissionOpt);
+          val modified = submissionOpt.get();
 
-    //
-    // Transition
-    //
+          //
+          // Transition
+          //
 
-    submission.modifyFile(submissionFiles, event);
-    submissionService.updateSubmission(submission);
-    resetValidationFolder(projectKey, release);
+          modified.modifyFile(submissionFiles, event);
+          submissionService.updateSubmission(modified);
+          fileStatusCache.onEvent(releaseName, projectKey, event);
+          resetValidationFolder(projectKey, release);
+
+          return modified;
+        });
 
     return submission;
   }
@@ -660,25 +763,33 @@ public class ReleaseService extends AbstractService {
    * - the queue was emptied by an admin in another thread (TODO: complete, this is only partially supported now)<br>
    * - the optimistic lock on Release cannot be obtained (retries a number of time before giving up)<br>
    */
-  @Synchronized
   public void resolveSubmission(@NonNull QueuedProject project, @NonNull Outcome outcome, @NonNull Report newReport) {
     // Update the in-memory submission state
     val projectKey = project.getKey();
     val emails = project.getEmails();
-    val release = getNextRelease();
-    val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
-    val submission = getSubmission(release, projectKey);
+    Submission submission = locks.withProjects("resolve", this::getNextReleaseName, ImmutableList.of(projectKey),
+        () -> {
+          val release = getNextRelease();
+          val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
+          val resolved = getSubmission(release, projectKey);
 
-    //
-    // Transition
-    //
+          //
+          // Transition
+          //
 
-    submission.finishValidation(submissionFiles, project.getDataTypes(), outcome, newReport);
-    submissionService.updateSubmission(submission);
+          resolved.finishValidation(submissionFiles, project.getDataTypes(), outcome, newReport);
+          submissionService.updateSubmission(resolved);
+
+          // The validation wrote its output to the submission directory
+          fileStatusCache.invalidate(release.getName());
+
+          return resolved;
+        });
 
     if (!emails.isEmpty()) {
       log.info("Sending notification emails for project '{}'...", projectKey);
-      mailService.sendValidationResult(release.getName(), projectKey, emails, submission.getState(), newReport);
+      mailService.sendValidationResult(submission.getReleaseName(), projectKey, emails, submission.getState(),
+          newReport);
     }
 
     log.info("Resolved project '{}'", projectKey);
@@ -686,7 +797,7 @@ public class ReleaseService extends AbstractService {
 
   private List<SubmissionFile> getSubmissionFiles(
       @NonNull String releaseName, @NonNull String dictionaryVersion, @NonNull String projectKey) {
-    return getSubmissionFiles(releaseName, projectKey, dictionaryRepository.getFilePatternToTypeMap(dictionaryVersion));
+    return getSubmissionFiles(releaseName, projectKey, dictionarySnapshots.getFilePatternToTypeMap(dictionaryVersion));
   }
 
   private List<SubmissionFile> getSubmissionFiles(
@@ -706,22 +817,47 @@ public class ReleaseService extends AbstractService {
     return submissionFiles;
   }
 
+  /**
+   * Fetches the projects of all {@code submissions} in one query and lists their files in one (cached) listing per
+   * release, rather than querying and listing once per submission.
+   */
   private List<DetailedSubmission> convertToDetailedSubmissions(List<Submission> submissions) {
-    return submissions.stream()
-        .map(this::convertToDetailedSubmission)
+    val projectKeys = submissions.stream()
+        .map(Submission::getProjectKey)
         .collect(toImmutableList());
-  }
+    val projects = Maps.<String, Project> newHashMap();
+    for (val project : projectRepository.findProjects(projectKeys)) {
+      projects.put(project.getKey(), project);
+    }
 
-  private DetailedSubmission convertToDetailedSubmission(Submission submission) {
-    val releaseName = submission.getReleaseName();
-    val projectKey = submission.getProjectKey();
-    val project = projectRepository.findProject(projectKey);
+    val releaseNames = submissions.stream()
+        .map(Submission::getReleaseName)
+        .collect(toImmutableSet());
+    val filePatternToTypeMaps = Maps.<String, Map<String, FileType>> newHashMap();
+    for (val releaseName : releaseNames) {
+      val release =
+          checkNotNull(releaseRepository.findReleaseByName(releaseName), "No release with name '%s'", releaseName);
+      filePatternToTypeMaps.put(releaseName,
+          dictionarySnapshots.getFilePatternToTypeMap(release.getDictionaryVersion()));
+    }
+
+    // A single submission is listed on its own rather than with the rest of its release
+    val single = submissions.size() == 1;
+    val detailedSubmissions = ImmutableList.<DetailedSubmission> builder();
+    for (val submission : submissions) {
+      val releaseName = submission.getReleaseName();
+      val projectKey = submission.getProjectKey();
 
-    val detailedSubmission = new DetailedSubmission(submission, project);
-    val submissionFiles = getSubmissionFiles(releaseName, projectKey);
-    detailedSubmission.setSubmissionFiles(submissionFiles);
+      val detailedSubmission = new DetailedSubmission(submission, projects.get(projectKey));
+      val fileStatuses = single ?
+          fileStatusCache.getProjectFiles(releaseName, projectKey) :
+          fileStatusCache.getReleaseFiles(releaseName).get(projectKey);
+      detailedSubmission.setSubmissionFiles(getSubmissionFiles(filePatternToTypeMaps.get(releaseName), fileStatuses));
 
-    return detailedSubmission;
+      detailedSubmissions.add(detailedSubmission);
+    }
+
+    return detailedSubmissions.build();
   }
 
   private Release performRelease(@NonNull Release oldRelease, @NonNull String nextReleaseName,
@@ -729,7 +865,7 @@ public class ReleaseService extends AbstractService {
 
     // Create new release entity
     val newRelease = new Release(nextReleaseName, dictionaryVersion);
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(oldRelease.getDictionaryVersion());
+    val filePatternToTypeMap = dictionarySnapshots.getFilePatternToTypeMap(oldRelease.getDictionaryVersion());
     val oldReleaseName = oldRelease.getName();
     val oldReleaseSubmissions = submissionService.findSubmissionsByReleaseName(oldReleaseName);
     val newSubmissions = ImmutableList.<Submission> builder();
@@ -745,8 +881,11 @@ public class ReleaseService extends AbstractService {
       newSubmissions.add(newSubmission);
     }
 
-    // Set up new release file system counterpart
-    setUpNewReleaseFileSystem(oldRelease, newRelease);
+    // Set up new release file system counterpart, resuming a previous attempt if any
+    val projectKeys = submissionService.findProjectKeyToSubmissionByReleaseName(oldReleaseName).keySet();
+    releasePromoter.promote(oldReleaseName, newRelease.getName(), projectKeys);
+    fileStatusCache.invalidate(oldReleaseName);
+    fileStatusCache.invalidate(newRelease.getName());
 
     // Must happen AFTER creating the new release object and setting up the file system (both operations need the old
     // release in its pre-completion state)
@@ -756,6 +895,7 @@ public class ReleaseService extends AbstractService {
     // Persist modified entity objects
     log.info("Closing dictionary: '{}'", dictionaryVersion);
     dictionaryRepository.closeDictionary(dictionaryVersion);
+    dictionarySnapshots.invalidateDictionary(dictionaryVersion);
 
     log.info("Updating completed release: '{}'", oldReleaseName);
     releaseRepository.updateCompletedRelease(oldRelease);
@@ -765,22 +905,11 @@ public class ReleaseService extends AbstractService {
     log.info("Saving new release: '{}'", newRelease.getName());
     releaseRepository.saveNewRelease(newRelease);
     submissionService.addSubmissions(newSubmissions.build());
+    releasePromoter.complete(newRelease.getName());
 
     return newRelease;
   }
 
-  private void setUpNewReleaseFileSystem(@NonNull Release oldRelease, @NonNull Release nextRelease) {
-    val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(oldRelease.getName());
-    val oldReleaseFileSystem = submissionFileSystem.getReleaseFilesystem(oldRelease, submissions);
-
-    // Copy all files from the old to the new release
-    submissionFileSystem.getReleaseFilesystem(nextRelease, submissions)
-        .setUpNewReleaseFileSystem(
-            nextRelease.getName(),
-            oldReleaseFileSystem,
-            submissions.keySet());
-  }
-
   /**
    * Empties .validation dir to ensure the cascade runs
    * 
@@ -790,6 +919,25 @@ public class ReleaseService extends AbstractService {
   private void resetValidationFolder(@NonNull String projectKey, @NonNull Release release) {
     log.info("Resetting validation folder for '{}' in release '{}'", projectKey, release.getName());
     getReleaseFileSystem(release).resetValidationFolder(projectKey);
+    fileStatusCache.invalidate(release.getName());
+  }
+
+  /**
+   * Empties the .validation dirs of {@code projectKeys} holding the lock of one project at a time, so that only the
+   * transitions of that project wait on the file system.
+   */
+  private void resetValidationFolders(Iterable<String> projectKeys) {
+    for (val projectKey : projectKeys) {
+      locks.withProjects("reset validation folder", this::getNextReleaseName, ImmutableList.of(projectKey), () -> {
+        resetValidationFolder(projectKey, getNextRelease());
+
+        return null;
+      });
+    }
+  }
+
+  private String getNextReleaseName() {
+    return getNextRelease().getName();
   }
 
   private ReleaseFileSystem getReleaseFileSystem(Release release) {
@@ -799,6 +947,20 @@ public class ReleaseService extends AbstractService {
     return submissionFileSystem.getReleaseFilesystem(release, submissions);
   }
 
+  /**
+   * Transitions the submissions only; callers reset their validation folders (see
+   * {@link #resetValidationFolders(Iterable)}).
+   */
+  private void doResetSubmissions(Release release, Iterable<String> projectKeys) {
+    val filePatternToTypeMap = dictionarySnapshots.getFilePatternToTypeMap(release.getDictionaryVersion());
+    for (val projectKey : projectKeys) {
+      resetSubmission(release, projectKey, filePatternToTypeMap);
+    }
+  }
+
+  /**
+   * Transitions the submission of {@code projectKey} only.
+   */
   private Submission resetSubmission(
       @NonNull Release release, @NonNull String projectKey, @NonNull Map<String, FileType> filePatternToTypeMap) {
     val releaseName = release.getName();
@@ -813,7 +975,6 @@ public class ReleaseService extends AbstractService {
 
     submission.reset(submissionFiles);
     submissionService.updateSubmission(submission);
-    resetValidationFolder(projectKey, release);
 
     return submission;
   }
@@ -839,8 +1000,20 @@ public class ReleaseService extends AbstractService {
 
   private SubmissionFile getSubmissionFile(Map<String, FileType> filePatternToTypeMap, Path filePath)
       throws IOException {
-    val fileName = filePath.getName();
     val fileStatus = HadoopUtils.getFileStatus(submissionFileSystem.getFileSystem(), filePath).get();
+
+    return getSubmissionFile(filePatternToTypeMap, fileStatus);
+  }
+
+  private List<SubmissionFile> getSubmissionFiles(Map<String, FileType> filePatternToTypeMap,
+      List<FileStatus> fileStatuses) {
+    return fileStatuses.stream()
+        .map(fileStatus -> getSubmissionFile(filePatternToTypeMap, fileStatus))
+        .collect(toImmutableList());
+  }
+
+  private SubmissionFile getSubmissionFile(Map<String, FileType> filePatternToTypeMap, FileStatus fileStatus) {
+    val fileName = fileStatus.getPath().getName();
     val fileLastUpdate = new Date(fileStatus.getModificationTime());
     val fileSize = fileStatus.getLen();
     val fileType = getFileType(filePatternToTypeMap, fileName).orNull();
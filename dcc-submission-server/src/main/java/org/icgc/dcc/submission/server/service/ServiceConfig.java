@@ -18,6 +18,7 @@
 package org.icgc.dcc.submission.server.service;
 
 import org.icgc.dcc.submission.server.config.AbstractConfig;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,11 +30,21 @@ public class ServiceConfig extends AbstractConfig {
     return singleton(DictionaryService.class);
   }
 
+  @Bean
+  public DictionarySnapshotCache dictionarySnapshotCache() {
+    return singleton(DictionarySnapshotCache.class);
+  }
+
   @Bean
   public MailService mailService() {
     return singleton(MailService.class);
   }
 
+  @Bean
+  public MailOutboxService mailOutboxService() {
+    return singleton(MailOutboxService.class);
+  }
+
   @Bean
   public ProjectService projectService() {
     return singleton(ProjectService.class);
@@ -59,6 +70,11 @@ public class ServiceConfig extends AbstractConfig {
     return singleton(ValidationService.class);
   }
 
+  @Bean
+  public ValidationQueueService validationQueueService() {
+    return singleton(ValidationQueueService.class);
+  }
+
   @Bean
   public SubmissionService submissionService() {
     return singleton(SubmissionService.class);
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Optional.fromNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.DEFAULT_PRIORITY;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.icgc.dcc.submission.core.model.QueuedValidation;
+import org.icgc.dcc.submission.release.ReleaseException;
+import org.icgc.dcc.submission.release.model.QueuedProject;
+import org.icgc.dcc.submission.server.repository.ValidationQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The queue of projects waiting to be validated, kept in its own collection rather than in the release document.
+ * <p>
+ * Validator nodes {@link #claimNext(String) claim} the next project atomically so that several of them may pull from
+ * the same queue. A claim is {@link #dequeue(String, String) removed} once the validation has started, or
+ * {@link #unclaim(QueuedValidation) put back} in its original position if it could not be started. Claims that were
+ * neither are put back after a timeout.
+ * <p>
+ * Metrics are recorded as {@code validation.queue.*}.
+ */
+@Slf4j
+public class ValidationQueueService {
+
+  /**
+   * Time after which a claimed project that was not started is put back in the queue.
+   */
+  private static final long CLAIM_TIMEOUT_MS = MINUTES.toMillis(5);
+
+  /**
+   * Dependencies.
+   */
+  private final ValidationQueueRepository queueRepository;
+
+  /**
+   * Identifies the claims of this node.
+   */
+  private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+  /**
+   * Metrics.
+   */
+  private final Meter enqueued;
+  private final Timer waitTime;
+
+  @Autowired
+  public ValidationQueueService(@NonNull ValidationQueueRepository queueRepository, @NonNull MetricRegistry registry) {
+    this.queueRepository = queueRepository;
+    this.enqueued = registry.meter(name("validation", "queue", "enqueued"));
+    this.waitTime = registry.timer(name("validation", "queue", "wait"));
+    registry.register(name("validation", "queue", "depth"), (Gauge<Long>) queueRepository::countQueued);
+  }
+
+  /**
+   * Appends {@code queuedProjects} to the queue of {@code releaseName}.
+   */
+  public void enqueue(@NonNull String releaseName, @NonNull List<QueuedProject> queuedProjects) {
+    val queuedProjectKeys = getQueuedProjectKeys(releaseName);
+    val queuedValidations = ImmutableList.<QueuedValidation> builder();
+    for (val queuedProject : queuedProjects) {
+      // Not sure why there is a test / expectation for this, but here it is:
+      if (queuedProject.getKey() == null || queuedProject.getKey().isEmpty()) {
+        continue;
+      }
+
+      if (queuedProjectKeys.contains(queuedProject.getKey())) {
+        throw new ReleaseException("Project '%s' already exists in queue: '%s'", queuedProject, queuedProjectKeys);
+      }
+
+      queuedValidations.add(new QueuedValidation(releaseName, queuedProject, DEFAULT_PRIORITY));
+    }
+
+    val batch = queuedValidations.build();
+    queueRepository.saveQueuedValidations(batch);
+    enqueued.mark(batch.size());
+    log.info("Enqueued {} project(s) in '{}'", batch.size(), releaseName);
+  }
+
+  /**
+   * Claims the next project of the queue of {@code releaseName} for this node, if any.
+   */
+  public Optional<QueuedValidation> claimNext(@NonNull String releaseName) {
+    val now = new Date();
+    val released = queueRepository.releaseStaleClaims(new Date(now.getTime() - CLAIM_TIMEOUT_MS));
+    if (released > 0) {
+      log.warn("Released {} stale validation queue claim(s)", released);
+    }
+
+    val claimed = queueRepository.claimNext(releaseName, owner, now);
+    if (claimed != null) {
+      log.info("Claimed '{}' from the queue of '{}'", claimed.getProjectKey(), releaseName);
+    }
+
+    return fromNullable(claimed);
+  }
+
+  /**
+   * Puts {@code claimed} back in the queue, e.g. because there was no slot to validate it.
+   */
+  public void unclaim(@NonNull QueuedValidation claimed) {
+    queueRepository.unclaim(claimed.getId());
+  }
+
+  /**
+   * Removes the project {@code projectKey} from the queue of {@code releaseName} once its validation started.
+   */
+  public void dequeue(@NonNull String releaseName, @NonNull String projectKey) {
+    val queuedValidation = queueRepository.findQueuedValidation(releaseName, projectKey);
+    if (queuedValidation == null || remove(releaseName, ImmutableList.of(projectKey)) != 1) {
+      throw new ReleaseException("Project '%s' is no longer in the queue of '%s'", projectKey, releaseName);
+    }
+
+    waitTime.update(System.currentTimeMillis() - queuedValidation.getEnqueued().getTime(), MILLISECONDS);
+  }
+
+  /**
+   * @return the number of projects removed
+   */
+  public int remove(@NonNull String releaseName, @NonNull Collection<String> projectKeys) {
+    return queueRepository.deleteQueuedValidations(releaseName, projectKeys);
+  }
+
+  /**
+   * @return the number of projects removed
+   */
+  public int clear(@NonNull String releaseName) {
+    val count = queueRepository.deleteQueue(releaseName);
+    log.info("Emptied queue of '{}' ({} project(s))", releaseName, count);
+
+    return count;
+  }
+
+  public void rename(@NonNull String releaseName, @NonNull String newReleaseName) {
+    queueRepository.updateReleaseName(releaseName, newReleaseName);
+  }
+
+  public boolean isQueued(@NonNull String releaseName) {
+    return queueRepository.countQueue(releaseName) > 0;
+  }
+
+  /**
+   * @return the queued and claimed projects of {@code releaseName}, in queue order
+   */
+  public List<QueuedProject> getQueue(@NonNull String releaseName) {
+    return queueRepository.findQueue(releaseName).stream()
+        .map(QueuedValidation::getProject)
+        .collect(toImmutableList());
+  }
+
+  public List<String> getQueuedProjectKeys(@NonNull String releaseName) {
+    return queueRepository.findQueue(releaseName).stream()
+        .map(QueuedValidation::getProjectKey)
+        .collect(toImmutableList());
+  }
+
+}
@@ -20,8 +20,6 @@ package org.icgc.dcc.submission.server.service;
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.getStackTraceAsString;
-import static com.google.common.collect.ImmutableList.copyOf;
-import static com.google.common.collect.Iterables.transform;
 import static com.google.common.util.concurrent.AbstractScheduledService.Scheduler.newFixedDelaySchedule;
 import static java.lang.Thread.sleep;
 import static java.util.Comparator.comparing;
@@ -37,6 +35,7 @@ import static org.icgc.dcc.submission.core.model.Outcome.FAILED;
 import static org.icgc.dcc.submission.release.model.ReleaseState.OPENED;
 
 import java.util.Comparator;
+import java.util.Date;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,14 +45,14 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.common.core.model.DataType;
-import org.icgc.dcc.common.core.model.Identifiable.Identifiables;
+import org.icgc.dcc.submission.core.model.QueuedValidation;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.QueuedProject;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.server.core.InvalidStateException;
-import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
 import org.icgc.dcc.submission.validation.ValidationExecutor;
 import org.icgc.dcc.submission.validation.ValidationListener;
 import org.icgc.dcc.submission.validation.ValidationRejectedException;
@@ -62,6 +61,8 @@ import org.icgc.dcc.submission.validation.core.DefaultValidationContext;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.core.Validation;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.core.ValidationTrace;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -93,7 +94,9 @@ public class ValidationService extends AbstractScheduledService {
   @NonNull
   private final SubmissionService submissionService;
   @NonNull
-  private final CodeListRepository codeListRepository;
+  private final ValidationQueueService validationQueue;
+  @NonNull
+  private final DictionarySnapshotCache dictionarySnapshots;
   @NonNull
   private final ValidationExecutor executor;
   @NonNull
@@ -138,6 +141,16 @@ public class ValidationService extends AbstractScheduledService {
     releaseService.removeQueuedSubmissions(projectKey);
   }
 
+  /**
+   * Returns the timeline of the last validations of a project, including a running one, as a Chrome Trace Event JSON
+   * object.
+   * 
+   * @param projectKey the key of the project to trace
+   */
+  public Map<String, Object> getValidationTrace(@NonNull String projectKey) {
+    return ValidationTrace.toChromeTrace(ValidationTraces.getTraces(projectKey));
+  }
+
   /**
    * Creates a {@code Scheduler} instance that runs every {@link #POLLING_PERIOD_SECONDS}.
    */
@@ -191,26 +204,34 @@ public class ValidationService extends AbstractScheduledService {
    */
   private void pollQueue() {
     log.debug("Polling validation queue...");
-    Optional<QueuedProject> nextProject = absent();
+    if (executor.isFull()) {
+      // Leave the queue to other nodes
+      log.debug("No available validation slots");
+      return;
+    }
 
+    Optional<QueuedValidation> claimed = absent();
     try {
-      // Try to find a queued validation
+      // Try to claim a queued validation
       val release = releaseService.getNextRelease();
-      val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(release.getName());
-      nextProject = release.nextInQueue();
-
-      if (nextProject.isPresent()) {
-        val queue = release.getQueue();
-        val next = nextProject.get();
-        log.info("Trying to validate next eligible project in queue: '{}' ('{}': '{}')",
-            new Object[] { next.getId(), queue.size(), copyOf(transform(queue, Identifiables.getId())) });
-        tryValidation(release, submissions, next);
+      claimed = validationQueue.claimNext(release.getName());
+
+      if (claimed.isPresent()) {
+        val next = claimed.get().getProject();
+        log.info("Trying to validate next eligible project in queue: '{}' (enqueued '{}')",
+            next.getId(), claimed.get().getEnqueued());
+        val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(release.getName());
+        tryValidation(release, submissions, next, claimed.get().getEnqueued());
       }
     } catch (ValidationRejectedException e) {
       // No available slots
-      log.info("Validation for '{}' was rejected:", nextProject.get());
+      log.info("Validation for '{}' was rejected:", claimed.get().getProjectKey());
+      validationQueue.unclaim(claimed.get());
     } catch (Throwable t) {
       log.error("Caught an unexpected exception: {}", t);
+      if (claimed.isPresent()) {
+        validationQueue.unclaim(claimed.get());
+      }
     }
   }
 
@@ -219,10 +240,11 @@ public class ValidationService extends AbstractScheduledService {
    * 
    * @param release the current release
    * @param project the project to validate
+   * @param enqueued when the project was enqueued
    * @throws ValidationRejectedException if the validation could not be executed
    */
   private void tryValidation(@NonNull final Release release, @NonNull final Map<String, Submission> submissions,
-      @NonNull final QueuedProject project) {
+      @NonNull final QueuedProject project, @NonNull Date enqueued) {
     // Prepare validation
     val validationContext = createValidationContext(release, submissions, project);
     val validation = createValidation(validationContext);
@@ -281,7 +303,7 @@ public class ValidationService extends AbstractScheduledService {
         log.error("onFailure - Completed '{}'.", project.getKey());
       }
 
-    });
+    }, enqueued.getTime());
   }
 
   /**
@@ -307,7 +329,7 @@ public class ValidationService extends AbstractScheduledService {
   private ValidationContext createValidationContext(Release release, Map<String, Submission> submissions,
       QueuedProject project) {
     val dictionary = releaseService.getNextDictionary();
-    val codeLists = codeListRepository.findCodeLists();
+    val codeLists = dictionarySnapshots.getCodeLists().getCodeLists();
     val prioritizedDataTypes = project.getDataTypes().stream()
         .distinct() // Remove duplicates, if any
         .sorted(prioritizedDataTypes())
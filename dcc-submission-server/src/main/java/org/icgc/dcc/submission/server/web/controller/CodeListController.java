@@ -18,16 +18,16 @@
 package org.icgc.dcc.submission.server.web.controller;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.Lists.newArrayList;
 import static org.icgc.dcc.submission.core.security.Authorizations.isSuperUser;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.ALREADY_EXISTS;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.NAME_MISMATCH;
 import static org.icgc.dcc.submission.server.web.controller.Responses.badRequest;
+import static org.icgc.dcc.submission.server.web.controller.Responses.cached;
 import static org.icgc.dcc.submission.server.web.controller.Responses.created;
 import static org.icgc.dcc.submission.server.web.controller.Responses.noContent;
 import static org.icgc.dcc.submission.server.web.controller.Responses.notFound;
 import static org.icgc.dcc.submission.server.web.controller.Responses.unauthorizedResponse;
-import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 
 import java.util.List;
 
@@ -47,6 +47,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -73,13 +74,10 @@ public class CodeListController {
    */
   @CrossOrigin
   @GetMapping
-  public ResponseEntity<List<CodeList>> getCodeLists() {
-    List<CodeList> codeLists = dictionaryService.getCodeLists();
-    if (codeLists == null) {
-      codeLists = newArrayList();
-    }
+  public ResponseEntity<?> getCodeLists(@RequestHeader(name = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    val snapshot = dictionaryService.getCodeListSnapshot();
 
-    return ok(codeLists);
+    return cached(ifNoneMatch, snapshot.getEtag(), snapshot::getCodeLists);
   }
 
   @Admin
@@ -111,17 +109,19 @@ public class CodeListController {
 
   @CrossOrigin
   @GetMapping("{name:.+}")
-  public ResponseEntity<?> getCodeList(@PathVariable("name") String name) {
+  public ResponseEntity<?> getCodeList(@PathVariable("name") String name,
+      @RequestHeader(name = IF_NONE_MATCH, required = false) String ifNoneMatch) {
     // No authorization check necessary
     log.debug("Getting codelist: {}", name);
     checkArgument(name != null);
 
-    val optional = dictionaryService.getCodeList(name);
+    val snapshot = dictionaryService.getCodeListSnapshot();
+    val optional = snapshot.getCodeList(name);
     if (!optional.isPresent()) {
       return ResponseEntity.notFound().build();
     }
 
-    return ResponseEntity.ok(optional.get());
+    return cached(ifNoneMatch, snapshot.getEtag(name), optional::get);
   }
 
   /**
@@ -19,23 +19,27 @@ package org.icgc.dcc.submission.server.web.controller;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.submission.dictionary.model.DictionaryState.OPENED;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.MISSING_REQUIRED_DATA;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.NAME_MISMATCH;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.NO_SUCH_ENTITY;
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.RESOURCE_CLOSED;
+import static org.icgc.dcc.submission.server.web.controller.Responses.cached;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.fromMethodCall;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
 
 import java.net.URI;
 import java.util.Collections;
-import java.util.List;
 
 import javax.validation.Valid;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshot;
 import org.icgc.dcc.submission.server.dictionary.DictionaryValidator;
 import org.icgc.dcc.submission.server.dictionary.DictionaryValidator.DictionaryConstraintViolations;
+import org.icgc.dcc.submission.server.dictionary.ETags;
 import org.icgc.dcc.submission.server.security.Admin;
 import org.icgc.dcc.submission.server.service.DictionaryService;
 import org.icgc.dcc.submission.server.web.ServerErrorResponseMessage;
@@ -48,6 +52,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -74,15 +79,14 @@ public class DictionaryController {
 
   @CrossOrigin
   @GetMapping
-  public List<Dictionary> getDictionaries() {
+  public ResponseEntity<?> getDictionaries(@RequestHeader(name = IF_NONE_MATCH, required = false) String ifNoneMatch) {
     // No authorization check necessary
     log.debug("Getting dictionaries");
-    List<Dictionary> dictionaries = dictionaryService.getDictionaries();
-    if (dictionaries == null) {
-      dictionaries = newArrayList();
-    }
+    val snapshots = dictionaryService.getDictionarySnapshots();
+    val etag = ETags.combine(snapshots.stream().map(DictionarySnapshot::getEtag).collect(toImmutableList()));
 
-    return dictionaries;
+    return cached(ifNoneMatch, etag,
+        () -> snapshots.stream().map(DictionarySnapshot::getDictionary).collect(toImmutableList()));
   }
 
   @CrossOrigin
@@ -97,22 +101,30 @@ public class DictionaryController {
 
   @CrossOrigin
   @GetMapping("current")
-  public Dictionary getCurrentDictionary() {
-    return dictionaryService.getCurrentDictionary();
+  public ResponseEntity<?> getCurrentDictionary(
+      @RequestHeader(name = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    val snapshot = dictionaryService.getCurrentDictionarySnapshot();
+    if (!snapshot.isPresent()) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(new ServerErrorResponseMessage(NO_SUCH_ENTITY, "current"));
+    }
+
+    return cached(ifNoneMatch, snapshot.get().getEtag(), snapshot.get()::getDictionary);
   }
 
   @CrossOrigin
   @GetMapping("{version:.+}")
-  public ResponseEntity<?> getDictionary(@PathVariable("version") String version) {
+  public ResponseEntity<?> getDictionary(@PathVariable("version") String version,
+      @RequestHeader(name = IF_NONE_MATCH, required = false) String ifNoneMatch) {
     // No authorization check necessary
     log.debug("Getting dictionary: {}", version);
-    Dictionary dict = this.dictionaryService.getDictionaryByVersion(version);
-    if (dict == null) {
+    val snapshot = dictionaryService.getDictionarySnapshot(version);
+    if (!snapshot.isPresent()) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND)
           .body(new ServerErrorResponseMessage(NO_SUCH_ENTITY, version));
     }
 
-    return ResponseEntity.ok(dict);
+    return cached(ifNoneMatch, snapshot.get().getEtag(), snapshot.get()::getDictionary);
   }
 
   /**
@@ -230,7 +242,7 @@ public class DictionaryController {
 
   private static URI getDictionaryURL(Dictionary dict) {
     val controller = on(DictionaryController.class);
-    controller.getDictionary(dict.getVersion());
+    controller.getDictionary(dict.getVersion(), null);
     return fromMethodCall(controller).build().toUri();
   }
 
@@ -257,6 +257,19 @@ public class NextReleaseController {
     return ResponseEntity.ok().build();
   }
 
+  @GetMapping("validation/{projectKey:.+}/trace")
+  public ResponseEntity<?> getValidationTrace(@PathVariable("projectKey") String projectKey,
+      Authentication authentication) {
+    if (!hasSpecificProjectPrivilege(authentication, projectKey)) {
+      return unauthorizedResponse();
+    }
+
+    val trace = validationScheduler.getValidationTrace(projectKey);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + projectKey + "-trace.json\"")
+        .body(trace);
+  }
+
   @Admin
   @SneakyThrows
   @DeleteMapping("state/{projectKey:.+}")
@@ -19,6 +19,8 @@ package org.icgc.dcc.submission.server.web.controller;
 
 import static org.icgc.dcc.submission.server.web.ServerErrorCode.NO_SUCH_ENTITY;
 
+import java.util.function.Supplier;
+
 import org.icgc.dcc.submission.server.web.ServerErrorCode;
 import org.icgc.dcc.submission.server.web.ServerErrorResponseMessage;
 import org.springframework.http.HttpStatus;
@@ -65,6 +67,23 @@ public class Responses {
         .body(new ServerErrorResponseMessage(NO_SUCH_ENTITY, name));
   }
 
+  /**
+   * Responds with {@code body} tagged with {@code etag}, or with no body if the client already has it.
+   */
+  public static ResponseEntity<?> cached(String ifNoneMatch, String etag, Supplier<?> body) {
+    if (matches(ifNoneMatch, etag)) {
+      return ResponseEntity
+          .status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .build();
+    }
+
+    return ResponseEntity
+        .ok()
+        .eTag(etag)
+        .body(body.get());
+  }
+
   public static ResponseEntity<?> noSuchEntityResponse(String... names) {
     return noSuchEntityResponse(false, names);
   }
@@ -78,4 +97,25 @@ public class Responses {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorMessage);
   }
 
+  /**
+   * Whether the value of an {@code If-None-Match} request header matches {@code etag}.
+   */
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals("*") || candidate.equals(etag)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
 }
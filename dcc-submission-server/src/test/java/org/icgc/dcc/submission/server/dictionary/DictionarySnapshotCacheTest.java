@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.DONOR_TYPE;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.dictionary.model.Term;
+import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.repository.DictionaryRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DictionarySnapshotCacheTest {
+
+  static final String VERSION = "0.1a";
+
+  /**
+   * Class under test.
+   */
+  DictionarySnapshotCache cache;
+
+  /**
+   * Dependencies.
+   */
+  @Mock
+  DictionaryRepository dictionaryRepository;
+  @Mock
+  CodeListRepository codeListRepository;
+
+  @Before
+  public void setUp() {
+    cache = new DictionarySnapshotCache(dictionaryRepository, codeListRepository);
+  }
+
+  @Test
+  public void test_getDictionary_cached_until_invalidated() {
+    val dictionary = dictionary("^donor\\.txt$");
+    when(dictionaryRepository.findDictionaryByVersion(VERSION)).thenReturn(dictionary);
+
+    val snapshot = cache.getDictionary(VERSION).get();
+    assertThat(cache.getDictionary(VERSION).get()).isSameAs(snapshot);
+    assertThat(cache.findDictionary(VERSION)).isSameAs(dictionary);
+    assertThat(snapshot.getFilePatternToTypeMap()).containsEntry("^donor\\.txt$", DONOR_TYPE);
+    verify(dictionaryRepository, times(1)).findDictionaryByVersion(VERSION);
+
+    val updated = dictionary("^donor\\.tsv$");
+    when(dictionaryRepository.findDictionaryByVersion(VERSION)).thenReturn(updated);
+    cache.invalidateDictionary(VERSION);
+
+    val updatedSnapshot = cache.getDictionary(VERSION).get();
+    assertThat(updatedSnapshot.getDictionary()).isSameAs(updated);
+    assertThat(updatedSnapshot.getEtag()).isNotEqualTo(snapshot.getEtag());
+  }
+
+  @Test
+  public void test_getDictionary_loaded_concurrently_with_write() {
+    val stale = dictionary("^donor\\.txt$");
+    val updated = dictionary("^donor\\.tsv$");
+    val loads = new AtomicInteger();
+    when(dictionaryRepository.findDictionaryByVersion(VERSION)).thenAnswer(invocation -> {
+      if (loads.getAndIncrement() > 0) {
+        return updated;
+      }
+
+      // Written and invalidated once the first load read the repository
+      cache.invalidateDictionary(VERSION);
+      return stale;
+    });
+
+    assertThat(cache.findDictionary(VERSION)).isSameAs(updated);
+    assertThat(cache.findDictionary(VERSION)).isSameAs(updated);
+    verify(dictionaryRepository, times(2)).findDictionaryByVersion(VERSION);
+  }
+
+  @Test
+  public void test_getDictionary_missing() {
+    assertThat(cache.getDictionary(VERSION).isPresent()).isFalse();
+    assertThat(cache.findDictionary(VERSION)).isNull();
+  }
+
+  @Test
+  public void test_getDictionaries() {
+    when(dictionaryRepository.getVersions()).thenReturn(ImmutableList.of(new Dictionary(VERSION)));
+    when(dictionaryRepository.findDictionaryByVersion(VERSION)).thenReturn(dictionary("^donor\\.txt$"));
+
+    val snapshots = cache.getDictionaries();
+
+    assertThat(snapshots).hasSize(1);
+    assertThat(snapshots.get(0).getVersion()).isEqualTo(VERSION);
+  }
+
+  @Test
+  public void test_getCodeLists() {
+    val codeList = new CodeList("gender");
+    codeList.addTerm(new Term("1", "male", null));
+    codeList.addTerm(new Term("2", "female", null));
+    when(codeListRepository.findCodeLists()).thenReturn(ImmutableList.of(codeList));
+
+    val snapshot = cache.getCodeLists();
+
+    assertThat(cache.getCodeLists()).isSameAs(snapshot);
+    assertThat(snapshot.getCodeList("gender").get()).isSameAs(codeList);
+    assertThat(snapshot.getCodeList("other").isPresent()).isFalse();
+    assertThat(snapshot.getEtag("gender")).isNotNull();
+
+    cache.invalidateCodeLists();
+    assertThat(cache.getCodeLists()).isNotSameAs(snapshot);
+    verify(codeListRepository, times(2)).findCodeLists();
+  }
+
+  private static Dictionary dictionary(String donorPattern) {
+    val fileSchema = new FileSchema("donor");
+    fileSchema.setPattern(donorPattern);
+
+    val dictionary = new Dictionary(VERSION);
+    dictionary.addFile(fileSchema);
+
+    return dictionary;
+  }
+
+}
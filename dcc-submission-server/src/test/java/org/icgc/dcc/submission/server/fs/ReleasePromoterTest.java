@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.fs;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+
+import org.icgc.dcc.common.hadoop.fs.FileSystems;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.core.model.PromotionCheckpoint;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.icgc.dcc.submission.server.repository.PromotionCheckpointRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReleasePromoterTest {
+
+  static final String OLD_RELEASE_NAME = "release1";
+  static final String NEW_RELEASE_NAME = "release2";
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Class under test.
+   */
+  ReleasePromoter promoter;
+
+  /**
+   * Dependencies.
+   */
+  @Mock
+  PromotionCheckpointRepository checkpointRepository;
+
+  MetricRegistry registry = new MetricRegistry();
+  File root;
+
+  @Before
+  public void setUp() {
+    root = tmp.getRoot();
+    val properties = new SubmissionProperties();
+    properties.getFs().setRoot(root.getAbsolutePath());
+    properties.getRelease().setPromotionThreads(2);
+
+    val submissionFileSystem = new SubmissionFileSystem(properties, FileSystems.getDefaultLocalFileSystem());
+    promoter = new ReleasePromoter(properties, submissionFileSystem, checkpointRepository, registry);
+
+    write(OLD_RELEASE_NAME + "/.system/pcawg.txt", "system");
+    write(OLD_RELEASE_NAME + "/p1/donor.txt", "p1 donor");
+    write(OLD_RELEASE_NAME + "/p1/.validation/donor.txt--errors.json", "[]");
+    write(OLD_RELEASE_NAME + "/p2/donor.txt", "p2 donor");
+    write(OLD_RELEASE_NAME + "/p3/specimen.txt", "p3 specimen");
+  }
+
+  @Test
+  public void test_promote() {
+    val promotion = promoter.promote(OLD_RELEASE_NAME, NEW_RELEASE_NAME, ImmutableList.of("p1", "p2", "p3"));
+
+    assertThat(read(NEW_RELEASE_NAME + "/.system/pcawg.txt")).isEqualTo("system");
+    assertThat(read(NEW_RELEASE_NAME + "/p1/donor.txt")).isEqualTo("p1 donor");
+    assertThat(read(NEW_RELEASE_NAME + "/p1/.validation/donor.txt--errors.json")).isEqualTo("[]");
+    assertThat(read(NEW_RELEASE_NAME + "/p2/donor.txt")).isEqualTo("p2 donor");
+    assertThat(read(NEW_RELEASE_NAME + "/p3/specimen.txt")).isEqualTo("p3 specimen");
+
+    assertThat(promotion.getCopiedProjects()).isEqualTo(3);
+    assertThat(promotion.getSkippedProjects()).isEqualTo(0);
+    assertThat(promotion.getFiles()).isEqualTo(4);
+    assertThat(registry.meter("release.promotion.files").getCount()).isEqualTo(4);
+    assertThat(registry.meter("release.promotion.bytes").getCount()).isEqualTo(promotion.getBytes());
+
+    val checkpoints = ArgumentCaptor.forClass(PromotionCheckpoint.class);
+    verify(checkpointRepository, times(3)).saveCheckpoint(checkpoints.capture());
+    assertThat(checkpoints.getAllValues()).extracting("projectKey").containsOnly("p1", "p2", "p3");
+    assertThat(checkpoints.getAllValues()).extracting("releaseName").containsOnly(NEW_RELEASE_NAME);
+  }
+
+  @Test
+  public void test_promote_resumes() {
+    // Completed by a previous attempt
+    write(NEW_RELEASE_NAME + "/p1/donor.txt", "p1 donor");
+    write(NEW_RELEASE_NAME + "/p1/.validation/donor.txt--errors.json", "[]");
+
+    // Interrupted by a previous attempt
+    write(NEW_RELEASE_NAME + "/p2/partial.txt", "partial");
+
+    when(checkpointRepository.findCheckpoints(NEW_RELEASE_NAME)).thenReturn(ImmutableList.of(
+        new PromotionCheckpoint(NEW_RELEASE_NAME, "p1", 2, "p1 donor".length() + "[]".length())));
+
+    val promotion = promoter.promote(OLD_RELEASE_NAME, NEW_RELEASE_NAME, ImmutableList.of("p1", "p2", "p3"));
+
+    assertThat(promotion.getCopiedProjects()).isEqualTo(2);
+    assertThat(promotion.getSkippedProjects()).isEqualTo(1);
+    assertThat(new File(root, NEW_RELEASE_NAME + "/p2/partial.txt")).doesNotExist();
+    assertThat(read(NEW_RELEASE_NAME + "/p2/donor.txt")).isEqualTo("p2 donor");
+    assertThat(new File(root, NEW_RELEASE_NAME + "/p2/p2")).doesNotExist();
+    assertThat(registry.meter("release.promotion.resumed").getCount()).isEqualTo(1);
+    verify(checkpointRepository, times(2)).saveCheckpoint(any(PromotionCheckpoint.class));
+  }
+
+  @Test
+  public void test_promote_ignores_stale_checkpoint() {
+    write(NEW_RELEASE_NAME + "/p1/donor.txt", "p1 old donor");
+
+    // Files changed since
+    when(checkpointRepository.findCheckpoints(NEW_RELEASE_NAME)).thenReturn(ImmutableList.of(
+        new PromotionCheckpoint(NEW_RELEASE_NAME, "p1", 1, "p1 old donor".length())));
+
+    val promotion = promoter.promote(OLD_RELEASE_NAME, NEW_RELEASE_NAME, ImmutableList.of("p1"));
+
+    assertThat(promotion.getCopiedProjects()).isEqualTo(1);
+    assertThat(read(NEW_RELEASE_NAME + "/p1/donor.txt")).isEqualTo("p1 donor");
+  }
+
+  @Test
+  public void test_complete() {
+    promoter.complete(NEW_RELEASE_NAME);
+
+    verify(checkpointRepository).deleteCheckpoints(NEW_RELEASE_NAME);
+    verify(checkpointRepository, never()).saveCheckpoint(any(PromotionCheckpoint.class));
+  }
+
+  @SneakyThrows
+  private void write(String path, String text) {
+    val file = new File(root, path);
+    Files.createParentDirs(file);
+    Files.write(text, file, UTF_8);
+  }
+
+  @SneakyThrows
+  private String read(String path) {
+    return Files.toString(new File(root, path), UTF_8);
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.fs;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.hadoop.fs.FileSystems;
+import org.icgc.dcc.submission.fs.SubmissionFileEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Ticker;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubmissionFileStatusCacheTest {
+
+  static final String RELEASE_NAME = "release1";
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Class under test.
+   */
+  SubmissionFileStatusCache cache;
+
+  /**
+   * Dependencies.
+   */
+  @Mock
+  SubmissionFileSystem submissionFileSystem;
+  @Mock
+  SubmissionFileEvent event;
+
+  File releaseDir;
+  AtomicLong nanos = new AtomicLong();
+
+  @Before
+  public void setUp() {
+    releaseDir = new File(tmp.getRoot(), RELEASE_NAME);
+    when(submissionFileSystem.getFileSystem()).thenReturn(FileSystems.getDefaultLocalFileSystem());
+    when(submissionFileSystem.buildReleaseStringPath(RELEASE_NAME)).thenReturn(releaseDir.getAbsolutePath());
+
+    cache = new SubmissionFileStatusCache(submissionFileSystem, 10, SECONDS, new Ticker() {
+
+      @Override
+      public long read() {
+        return nanos.get();
+      }
+
+    });
+  }
+
+  @Test
+  public void test_getReleaseFiles_groups_by_project() {
+    createFile("project1/donor.txt");
+    createFile("project1/specimen.txt");
+    createFile("project1/.validation/donor.txt--errors.json");
+    createFile("project2/donor.txt");
+    createFile(".system/file.txt");
+    createFile("project3/");
+
+    val files = cache.getReleaseFiles(RELEASE_NAME);
+
+    assertThat(files.keySet()).containsOnly("project1", "project2");
+    assertThat(names(files.get("project1"))).containsOnly("donor.txt", "specimen.txt");
+    assertThat(names(files.get("project2"))).containsOnly("donor.txt");
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project3")).isEmpty();
+  }
+
+  @Test
+  public void test_getReleaseFiles_missing_release() {
+    assertThat(cache.getReleaseFiles(RELEASE_NAME).isEmpty()).isTrue();
+  }
+
+  @Test
+  @SneakyThrows
+  public void test_getProjectFiles_lists_project_only() {
+    val fileSystem = spy(FileSystems.getDefaultLocalFileSystem());
+    when(submissionFileSystem.getFileSystem()).thenReturn(fileSystem);
+    createFile("project1/donor.txt");
+    createFile("project2/donor.txt");
+
+    assertThat(names(cache.getProjectFiles(RELEASE_NAME, "project1"))).containsOnly("donor.txt");
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project3")).isEmpty();
+    verify(fileSystem).listStatus(new Path(releaseDir.getAbsolutePath(), "project1"));
+    verify(fileSystem, never()).listStatus(new Path(releaseDir.getAbsolutePath(), "project2"));
+    verify(fileSystem, never()).listStatus(new Path(releaseDir.getAbsolutePath()));
+
+    createFile("project1/specimen.txt");
+    cache.invalidate(RELEASE_NAME);
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(2);
+  }
+
+  @Test
+  public void test_onEvent_invalidates() {
+    createFile("project1/donor.txt");
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(1);
+
+    createFile("project1/specimen.txt");
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(1);
+
+    cache.onEvent(RELEASE_NAME, "project1", event);
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(2);
+  }
+
+  @Test
+  public void test_entries_expire() {
+    createFile("project1/donor.txt");
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(1);
+
+    createFile("project1/specimen.txt");
+    nanos.addAndGet(SECONDS.toNanos(9));
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(1);
+
+    nanos.addAndGet(SECONDS.toNanos(1));
+    assertThat(cache.getProjectFiles(RELEASE_NAME, "project1")).hasSize(2);
+  }
+
+  @SneakyThrows
+  private void createFile(String path) {
+    val file = new File(releaseDir, path);
+    if (path.endsWith("/")) {
+      file.mkdirs();
+    } else {
+      Files.createParentDirs(file);
+      Files.touch(file);
+    }
+  }
+
+  private static List<String> names(List<FileStatus> statuses) {
+    return statuses.stream().map(status -> status.getPath().getName()).collect(toList());
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.FAILED;
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.PENDING;
+import static org.icgc.dcc.submission.core.model.OutboxMessage.State.SENDING;
+
+import java.util.Date;
+
+import org.icgc.dcc.submission.core.model.OutboxMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.MongoClientURI;
+
+import lombok.val;
+
+public class OutboxRepositoryTest extends AbstractRepositoryTest {
+
+  private OutboxRepository outboxRepository;
+
+  private Datastore datastore;
+
+  @Before
+  public void setUp() throws Exception {
+    val morphia = new Morphia();
+    val uri = new MongoClientURI(getMongoUri());
+
+    datastore = morphia.createDatastore(embeddedMongo.getMongo(), uri.getDatabase());
+    outboxRepository = new OutboxRepository(morphia, datastore);
+  }
+
+  @Test
+  public void testClaimNextMessage() {
+    val now = new Date();
+    val later = message("later", new Date(now.getTime() + 60000));
+    val due = message("due", new Date(now.getTime() - 1000));
+    val first = message("first", new Date(now.getTime() - 2000));
+    outboxRepository.saveMessage(later);
+    outboxRepository.saveMessage(due);
+    outboxRepository.saveMessage(first);
+
+    assertThat(outboxRepository.countPendingMessages()).isEqualTo(3);
+
+    val claimed1 = outboxRepository.claimNextMessage(now);
+    val claimed2 = outboxRepository.claimNextMessage(now);
+    val claimed3 = outboxRepository.claimNextMessage(now);
+
+    assertThat(claimed1.getSubject()).isEqualTo("first");
+    assertThat(claimed1.getState()).isEqualTo(SENDING);
+    assertThat(claimed2.getSubject()).isEqualTo("due");
+    assertThat(claimed3).isNull();
+    assertThat(outboxRepository.countPendingMessages()).isEqualTo(1);
+  }
+
+  @Test
+  public void testUpdateRetry() {
+    val now = new Date();
+    outboxRepository.saveMessage(message("retry", now));
+    val claimed = outboxRepository.claimNextMessage(now);
+
+    val nextAttempt = new Date(now.getTime() + 1000);
+    outboxRepository.updateRetry(claimed.getId(), 1, nextAttempt, "error");
+
+    assertThat(outboxRepository.claimNextMessage(now)).isNull();
+    val reclaimed = outboxRepository.claimNextMessage(nextAttempt);
+    assertThat(reclaimed.getAttempts()).isEqualTo(1);
+    assertThat(reclaimed.getLastError()).isEqualTo("error");
+  }
+
+  @Test
+  public void testUpdateFailedAndDelete() {
+    val now = new Date();
+    outboxRepository.saveMessage(message("failed", now));
+    outboxRepository.saveMessage(message("sent", now));
+    val failed = outboxRepository.claimNextMessage(now);
+    val sent = outboxRepository.claimNextMessage(now);
+
+    outboxRepository.updateFailed(failed.getId(), 3, "error");
+    outboxRepository.deleteMessage(sent.getId());
+
+    val messages = datastore.createQuery(OutboxMessage.class).asList();
+    assertThat(messages).hasSize(1);
+    assertThat(messages.get(0).getState()).isEqualTo(FAILED);
+  }
+
+  @Test
+  public void testReleaseStaleClaims() {
+    val now = new Date();
+    outboxRepository.saveMessage(message("stale", now));
+    outboxRepository.claimNextMessage(now);
+
+    assertThat(outboxRepository.releaseStaleClaims(now)).isEqualTo(0);
+    assertThat(outboxRepository.releaseStaleClaims(new Date(now.getTime() + 1))).isEqualTo(1);
+
+    val message = datastore.createQuery(OutboxMessage.class).get();
+    assertThat(message.getState()).isEqualTo(PENDING);
+  }
+
+  private static OutboxMessage message(String subject, Date nextAttempt) {
+    val message = new OutboxMessage("from@example.org", ImmutableList.of("to@example.org"), subject, "text", false);
+    message.setNextAttempt(nextAttempt);
+
+    return message;
+  }
+
+}
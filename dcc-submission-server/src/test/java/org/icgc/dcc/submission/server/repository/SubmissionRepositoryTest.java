@@ -99,6 +99,72 @@ public class SubmissionRepositoryTest extends AbstractRepositoryTest {
     assertThat(morphiaQuery.count()).isEqualTo(1);
   }
 
+  @Test
+  public void testUpdateSubmissionWritesChangedPaths() throws Exception {
+    val submission = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    submission.getReport().addFile(FileType.SPECIMEN_TYPE, "/specimen.txt");
+    submission.setState(SubmissionState.INVALID);
+
+    assertThat(submissionRepository.updateSubmission(submission)).isEqualTo(1);
+    assertThat(submission.getRevision()).isEqualTo(1);
+
+    val updated = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    assertThat(updated.getRevision()).isEqualTo(1);
+    assertThat(updated.getState()).isEqualTo(SubmissionState.INVALID);
+    assertThat(updated.getReport().getFiles()).containsOnlyKeys("/donor.txt", "/specimen.txt");
+    assertThat(updated.getProjectName()).isEqualTo("Proj1");
+
+    // Unchanged by the previous update
+    val other = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P2");
+    assertThat(other.getReport().getFiles()).containsOnlyKeys("/donor.txt");
+  }
+
+  @Test
+  public void testUpdateSubmissionWithStaleRevision() throws Exception {
+    val first = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    val stale = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+
+    first.getReport().addSummary("/donor.txt", "count", "1");
+    submissionRepository.updateSubmission(first);
+
+    stale.setState(SubmissionState.INVALID);
+    stale.setProjectName("Renamed");
+    assertThat(submissionRepository.updateSubmission(stale)).isEqualTo(1);
+
+    // Merged with the latest revision and refreshed with it
+    val updated = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    assertThat(updated.getRevision()).isEqualTo(2);
+    assertThat(updated.getState()).isEqualTo(SubmissionState.INVALID);
+    assertThat(updated.getProjectName()).isEqualTo("Renamed");
+    assertThat(updated.getReport().getFileReport("/donor.txt").get().getSummaryReports()).hasSize(1);
+    assertThat(stale.getRevision()).isEqualTo(2);
+    assertThat(stale.getReport().getFileReport("/donor.txt").get().getSummaryReports()).hasSize(1);
+
+    // Later updates of the refreshed copy apply to the latest revision
+    stale.getReport().removeFile(FileType.DONOR_TYPE, "/donor.txt");
+    assertThat(submissionRepository.updateSubmission(stale)).isEqualTo(1);
+    val removed = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    assertThat(removed.getRevision()).isEqualTo(3);
+    assertThat(removed.getState()).isEqualTo(SubmissionState.INVALID);
+    assertThat(removed.getReport().getFiles()).isEmpty();
+  }
+
+  @Test
+  public void testUpdateSubmissionSummary() throws Exception {
+    val full = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    full.setState(SubmissionState.INVALID);
+    submissionRepository.updateSubmission(full);
+
+    // Summaries carry no revision nor report to compute paths against
+    val summary = submissionRepository.findSubmissionSummaryByReleaseNameAndProjectKey("R1", "P1");
+    summary.setState(SubmissionState.VALID);
+    assertThat(submissionRepository.updateSubmission(summary)).isEqualTo(1);
+
+    val updated = submissionRepository.findSubmissionByReleaseNameAndProjectKey("R1", "P1");
+    assertThat(updated.getRevision()).isEqualTo(2);
+    assertThat(updated.getState()).isEqualTo(SubmissionState.VALID);
+  }
+
   @Test
   public void testFindSubmissionSummariesByReleaseName() throws Exception {
     val r2submission = submissionRepository.findSubmissionSummariesByReleaseName("R2").get(0);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+import lombok.val;
+
+public class SubmissionUpdateTest {
+
+  @Test
+  public void testDiffSetsChangedPathsOnly() {
+    val persisted = document("VALID", asList(file("a", "VALID"), file("b", "VALID")));
+    val current = document("INVALID", asList(file("a", "VALID"), file("b", "INVALID")));
+
+    val update = SubmissionUpdate.diff(persisted, current).toDBObject();
+    assertThat(set(update).keySet()).containsOnly("state", "report.files.1.state");
+    assertThat(update.get("$unset")).isNull();
+    assertThat(update.get("$inc")).isEqualTo(new BasicDBObject("revision", 1L));
+  }
+
+  @Test
+  public void testDiffSetsResizedArrays() {
+    val persisted = document("VALID", asList(file("a", "VALID")));
+    val current = document("VALID", asList(file("a", "VALID"), file("b", "VALID")));
+
+    val update = SubmissionUpdate.diff(persisted, current).toDBObject();
+    assertThat(set(update).keySet()).containsOnly("report.files");
+  }
+
+  @Test
+  public void testDiffUnsetsRemovedFields() {
+    val persisted = document("VALID", asList(file("a", "VALID")));
+    val current = document("VALID", asList(new BasicDBObject("name", "a")));
+    current.removeField("state");
+
+    val update = SubmissionUpdate.diff(persisted, current);
+    assertThat(update.getPathCount()).isEqualTo(2);
+    assertThat(((DBObject) update.toDBObject().get("$unset")).keySet()).containsOnly("state", "report.files.0.state");
+  }
+
+  @Test
+  public void testDiffIgnoresRevision() {
+    val persisted = document("VALID", asList(file("a", "VALID")));
+    val current = document("VALID", asList(file("a", "VALID")));
+    current.put("revision", 10L);
+
+    assertThat(SubmissionUpdate.diff(persisted, current).isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testMergeKeepsChangesOfBothWriters() {
+    val persisted = document("VALID", asList(file("a", "VALID"), file("b", "VALID")));
+    val current = document("INVALID", asList(file("a", "VALID"), file("b", "VALID")));
+    val latest = document("VALID", asList(file("a", "ERROR"), file("b", "VALID")));
+
+    val merged = SubmissionUpdate.merge(persisted, current, latest);
+    assertThat(merged).isEqualTo(document("INVALID", asList(file("a", "ERROR"), file("b", "VALID"))));
+
+    val update = SubmissionUpdate.diff(latest, merged).toDBObject();
+    assertThat(set(update).keySet()).containsOnly("state");
+  }
+
+  @Test
+  public void testMergeTakesCurrentValuesChangedByBoth() {
+    val persisted = document("VALID", asList(file("a", "VALID"), file("b", "VALID")));
+    val current = document("VALID", asList(file("a", "VALID"), file("b", "INVALID")));
+    val latest = document("VALID", asList(file("b", "VALID")));
+
+    // Not merged by position as the other writer resized the array
+    val merged = SubmissionUpdate.merge(persisted, current, latest);
+    assertThat(merged).isEqualTo(current);
+
+    val update = SubmissionUpdate.diff(latest, merged).toDBObject();
+    assertThat(set(update).keySet()).containsOnly("report.files");
+  }
+
+  private static DBObject document(String state, Object files) {
+    return new BasicDBObject("_id", "R1#P1")
+        .append("state", state)
+        .append("report", new BasicDBObject("files", files));
+  }
+
+  private static DBObject file(String name, String state) {
+    return new BasicDBObject("name", name).append("state", state);
+  }
+
+  private static DBObject set(DBObject update) {
+    return (DBObject) update.get("$set");
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.DEFAULT_PRIORITY;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.State.CLAIMED;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.State.QUEUED;
+
+import java.util.Date;
+
+import org.icgc.dcc.submission.core.model.QueuedValidation;
+import org.icgc.dcc.submission.release.model.QueuedProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Morphia;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.MongoClientURI;
+
+import lombok.val;
+
+public class ValidationQueueRepositoryTest extends AbstractRepositoryTest {
+
+  private static final String RELEASE_NAME = "release1";
+
+  private ValidationQueueRepository queueRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    val morphia = new Morphia();
+    val uri = new MongoClientURI(getMongoUri());
+
+    val datastore = morphia.createDatastore(embeddedMongo.getMongo(), uri.getDatabase());
+    queueRepository = new ValidationQueueRepository(morphia, datastore);
+  }
+
+  @Test
+  public void testClaimNext() {
+    val now = new Date();
+    queueRepository.saveQueuedValidations(ImmutableList.of(
+        queuedValidation("first", DEFAULT_PRIORITY, new Date(now.getTime() - 2000)),
+        queuedValidation("second", DEFAULT_PRIORITY, new Date(now.getTime() - 1000)),
+        queuedValidation("urgent", DEFAULT_PRIORITY + 1, now)));
+
+    val claimed1 = queueRepository.claimNext(RELEASE_NAME, "node", now);
+    val claimed2 = queueRepository.claimNext(RELEASE_NAME, "node", now);
+
+    assertThat(claimed1.getProjectKey()).isEqualTo("urgent");
+    assertThat(claimed1.getState()).isEqualTo(CLAIMED);
+    assertThat(claimed1.getClaimedBy()).isEqualTo("node");
+    assertThat(claimed2.getProjectKey()).isEqualTo("first");
+    assertThat(queueRepository.countQueued()).isEqualTo(1);
+    assertThat(queueRepository.countQueue(RELEASE_NAME)).isEqualTo(3);
+    assertThat(queueRepository.claimNext("other", "node", now)).isNull();
+  }
+
+  @Test
+  public void testUnclaim() {
+    val now = new Date();
+    queueRepository.saveQueuedValidations(ImmutableList.of(
+        queuedValidation("first", DEFAULT_PRIORITY, new Date(now.getTime() - 1000)),
+        queuedValidation("second", DEFAULT_PRIORITY, now)));
+
+    val claimed = queueRepository.claimNext(RELEASE_NAME, "node", now);
+    queueRepository.unclaim(claimed.getId());
+
+    // Same position as before the claim
+    val reclaimed = queueRepository.claimNext(RELEASE_NAME, "node", now);
+    assertThat(reclaimed.getProjectKey()).isEqualTo("first");
+  }
+
+  @Test
+  public void testReleaseStaleClaims() {
+    val now = new Date();
+    queueRepository.saveQueuedValidations(ImmutableList.of(queuedValidation("stale", DEFAULT_PRIORITY, now)));
+    queueRepository.claimNext(RELEASE_NAME, "node", now);
+
+    assertThat(queueRepository.releaseStaleClaims(now)).isEqualTo(0);
+    assertThat(queueRepository.releaseStaleClaims(new Date(now.getTime() + 1))).isEqualTo(1);
+
+    val queuedValidation = queueRepository.findQueuedValidation(RELEASE_NAME, "stale");
+    assertThat(queuedValidation.getState()).isEqualTo(QUEUED);
+    assertThat(queuedValidation.getClaimedBy()).isNull();
+  }
+
+  @Test
+  public void testDeleteAndRename() {
+    val now = new Date();
+    queueRepository.saveQueuedValidations(ImmutableList.of(
+        queuedValidation("p1", DEFAULT_PRIORITY, now),
+        queuedValidation("p2", DEFAULT_PRIORITY, now),
+        queuedValidation("p3", DEFAULT_PRIORITY, now)));
+
+    assertThat(queueRepository.deleteQueuedValidations(RELEASE_NAME, ImmutableList.of("p2", "unknown"))).isEqualTo(1);
+    assertThat(queueRepository.updateReleaseName(RELEASE_NAME, "release2")).isEqualTo(2);
+    assertThat(queueRepository.findQueue(RELEASE_NAME)).isEmpty();
+    assertThat(queueRepository.findQueue("release2")).extracting("projectKey").containsExactly("p1", "p3");
+    assertThat(queueRepository.deleteQueue("release2")).isEqualTo(2);
+    assertThat(queueRepository.countQueue("release2")).isEqualTo(0);
+  }
+
+  private static QueuedValidation queuedValidation(String projectKey, int priority, Date enqueued) {
+    val queuedValidation =
+        new QueuedValidation(RELEASE_NAME, new QueuedProject(projectKey, ImmutableList.of("user@example.org")),
+            priority);
+    queuedValidation.setEnqueued(enqueued);
+
+    return queuedValidation;
+  }
+
+}
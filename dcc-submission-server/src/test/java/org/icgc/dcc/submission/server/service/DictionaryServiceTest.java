@@ -20,10 +20,14 @@ package org.icgc.dcc.submission.server.service;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Term;
+import org.icgc.dcc.submission.server.dictionary.CodeListSnapshot;
 import org.icgc.dcc.submission.server.dictionary.DictionaryServiceException;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
 import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.service.DictionaryService;
@@ -48,6 +52,8 @@ public class DictionaryServiceTest {
   @Mock
   private CodeListRepository codeListRepository;
   @Mock
+  private DictionarySnapshotCache snapshots;
+  @Mock
   private Dictionary mockDictionary;
   @Mock
   private CodeList mockCodeList;
@@ -62,6 +68,8 @@ public class DictionaryServiceTest {
 
     when(dictionaryRepository.countDictionariesByVersion(anyString())).thenReturn(0L);
     when(dictionaryRepository.findDictionaryByVersion(anyString())).thenReturn(mockDictionary);
+    when(snapshots.findDictionary(anyString())).thenReturn(mockDictionary);
+    when(snapshots.getCodeLists()).thenReturn(CodeListSnapshot.of(Collections.<CodeList> emptyList()));
   }
 
   @Test(expected = DictionaryServiceException.class)
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ServerSocket;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.core.model.OutboxMessage;
+import org.icgc.dcc.submission.server.repository.OutboxRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.codahale.metrics.MetricRegistry;
+import com.dumbster.smtp.SimpleSmtpServer;
+import com.dumbster.smtp.SmtpMessage;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MailOutboxServiceTest {
+
+  static final String FROM = "from@example.org";
+  static final String NOTIFICATION = "notification@example.org";
+  static final String SUPPORT = "support@example.org";
+
+  /**
+   * Class under test.
+   */
+  MailOutboxService outbox;
+
+  /**
+   * Dependencies.
+   */
+  @Mock
+  OutboxRepository outboxRepository;
+
+  SubmissionProperties properties = new SubmissionProperties();
+  MetricRegistry registry = new MetricRegistry();
+
+  /**
+   * Fake SMTP server.
+   */
+  SimpleSmtpServer smtpServer;
+
+  @Before
+  public void setUp() {
+    val port = getFreePort();
+    properties.getMail().setSmtpHost("localhost");
+    properties.getMail().setSmtpPort(String.valueOf(port));
+
+    smtpServer = SimpleSmtpServer.start(port);
+    outbox = new MailOutboxService(properties, outboxRepository, registry);
+  }
+
+  @After
+  public void tearDown() {
+    smtpServer.stop();
+  }
+
+  @Test
+  public void test_enqueue_coalescible_held_back() {
+    val message = message(NOTIFICATION, "notification", true);
+
+    outbox.enqueue(message);
+
+    verify(outboxRepository).saveMessage(message);
+    val delay = message.getNextAttempt().getTime() - message.getCreated().getTime();
+    assertThat(delay).isEqualTo(properties.getMail().getOutbox().getCoalesceWindowMs());
+  }
+
+  @Test
+  public void test_flush_coalesces_per_recipient() {
+    val n1 = message(NOTIFICATION, "n1", true);
+    val n2 = message(NOTIFICATION, "n2", true);
+    val n3 = message(NOTIFICATION, "n3", true);
+    val support = message(SUPPORT, "support", true);
+    val problem = message(SUPPORT, "problem", false);
+    claim(n1, support, n2, problem, n3);
+
+    val count = outbox.flush();
+
+    assertThat(count).isEqualTo(5);
+    assertThat(smtpServer.getReceivedEmailSize()).isEqualTo(3);
+
+    val emails = getEmails();
+    assertThat(emails.get(0).getHeaderValue("Subject")).isEqualTo("n1 (and 2 more)");
+    assertThat(emails.get(0).getBody()).contains("n1").contains("n2").contains("n3");
+    assertThat(emails.get(1).getHeaderValue("Subject")).isEqualTo("support");
+    assertThat(emails.get(2).getHeaderValue("Subject")).isEqualTo("problem");
+
+    verify(outboxRepository, times(5)).deleteMessage(any(ObjectId.class));
+    assertThat(registry.meter("mail.outbox.sent").getCount()).isEqualTo(3);
+    assertThat(registry.histogram("mail.outbox.coalesced").getSnapshot().getMax()).isEqualTo(3);
+  }
+
+  @Test
+  public void test_flush_retries_with_backoff() {
+    smtpServer.stop();
+    val message = message(SUPPORT, "problem", false);
+    claim(message);
+
+    val before = System.currentTimeMillis();
+    outbox.flush();
+
+    val nextAttempt = ArgumentCaptor.forClass(Date.class);
+    verify(outboxRepository).updateRetry(eq(message.getId()), eq(1), nextAttempt.capture(), anyString());
+    verify(outboxRepository, never()).deleteMessage(any(ObjectId.class));
+    assertThat(nextAttempt.getValue().getTime())
+        .isGreaterThanOrEqualTo(before + properties.getMail().getOutbox().getRetryBackoffMs());
+  }
+
+  @Test
+  public void test_flush_gives_up() {
+    smtpServer.stop();
+    val message = message(SUPPORT, "problem", false);
+    message.setAttempts(properties.getMail().getOutbox().getMaxAttempts() - 1);
+    claim(message);
+
+    outbox.flush();
+
+    verify(outboxRepository).updateFailed(eq(message.getId()), anyInt(), anyString());
+    assertThat(registry.meter("mail.outbox.failed").getCount()).isEqualTo(1);
+  }
+
+  private void claim(OutboxMessage first, OutboxMessage... rest) {
+    val next = Lists.newArrayList(rest);
+    next.add(null);
+
+    when(outboxRepository.claimNextMessage(any(Date.class)))
+        .thenReturn(first, next.toArray(new OutboxMessage[next.size()]));
+  }
+
+  private List<SmtpMessage> getEmails() {
+    val emails = Lists.<SmtpMessage> newArrayList();
+    val iterator = smtpServer.getReceivedEmail();
+    while (iterator.hasNext()) {
+      emails.add((SmtpMessage) iterator.next());
+    }
+
+    return emails;
+  }
+
+  private static OutboxMessage message(String recipient, String subject, boolean coalesce) {
+    val message = new OutboxMessage(FROM, ImmutableList.of(recipient), subject, subject + " text", coalesce);
+    message.setId(new ObjectId());
+
+    return message;
+  }
+
+  @SneakyThrows
+  private static int getFreePort() {
+    @Cleanup
+    val socket = new ServerSocket(0);
+
+    return socket.getLocalPort();
+  }
+
+}
@@ -18,41 +18,31 @@
 package org.icgc.dcc.submission.server.service;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Sets.newHashSet;
-import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
 import static java.lang.String.format;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.submission.release.model.SubmissionState.ERROR;
 import static org.icgc.dcc.submission.release.model.SubmissionState.NOT_VALIDATED;
 import static org.icgc.dcc.submission.server.service.MailService.NOTIFICATION_SUBJECT_PREFEX;
 import static org.mockito.Mockito.times;
-import static org.powermock.api.mockito.PowerMockito.mockStatic;
-import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 import java.util.List;
 
-import javax.mail.Address;
-import javax.mail.MessagingException;
-import javax.mail.Transport;
-import javax.mail.internet.InternetAddress;
-import javax.mail.internet.MimeMessage;
-
-import lombok.SneakyThrows;
 import lombok.val;
 
 import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.config.SubmissionProperties.MailProperties;
+import org.icgc.dcc.submission.core.model.OutboxMessage;
 import org.icgc.dcc.submission.core.report.Report;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
 
-@RunWith(PowerMockRunner.class)
-@PrepareForTest(Transport.class)
+@RunWith(MockitoJUnitRunner.class)
 public class MailServiceTest {
 
   SubmissionProperties properties = new SubmissionProperties();
@@ -63,10 +53,14 @@ public class MailServiceTest {
    */
   MailService mailService;
 
+  /**
+   * Dependencies.
+   */
+  @Mock
+  MailOutboxService outbox;
+
   @Before
   public void setUp() {
-    mockStatic(Transport.class);
-
     mail.setEnabled(true);
     mail.setErrorBody("ERROR");
     mail.setFromEmail("from@email.com");
@@ -80,120 +74,105 @@ public class MailServiceTest {
 
     mail.setSmtpHost("localhost");
 
-    this.mailService = new MailService(properties);
+    this.mailService = new MailService(properties, outbox);
   }
 
   @Test
-  @SneakyThrows
   public void test_sendSupportProblem() {
     val subject = "subject";
     val text = "text";
 
     mailService.sendSupportProblem(subject, text);
-    sleepUninterruptibly(1, SECONDS);
-
-    verifyStatic(times(2));
-
-    val messages = getMessages();
-    assertThat(messages.size()).isEqualTo(2);
 
+    val messages = getMessages(2);
     val m1 = messages.get(0);
     val m2 = messages.get(1);
     val notifyMessage = isNotification(m1) ? m1 : m2;
     val supportMessage = isNotification(m1) ? m2 : m1;
 
-    assertThat(notifyMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(notifyMessage.getAllRecipients()).contains(address(mail.getNotificationEmail()));
+    assertThat(notifyMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(notifyMessage.getRecipients()).containsExactly(mail.getNotificationEmail());
+    assertThat(notifyMessage.isCoalesce()).isTrue();
 
-    assertThat(supportMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(supportMessage.getAllRecipients()).contains(address(mail.getSupportEmail()));
+    assertThat(supportMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(supportMessage.getRecipients()).containsExactly(mail.getSupportEmail());
     assertThat(supportMessage.getSubject()).endsWith(subject);
-    assertThat(supportMessage.getContent()).isEqualTo(text);
+    assertThat(supportMessage.getText()).isEqualTo(text);
+    assertThat(supportMessage.isCoalesce()).isFalse();
   }
 
   @Test
-  @SneakyThrows
   public void test_sendValidated_with_ERROR_state() {
     val releaseName = "releaseName";
     val projectKey = "projectKey";
     val state = ERROR;
     val emails = newArrayList("email@domain.com");
-    val addresses = newHashSet(address("email@domain.com"));
     val report = new Report();
 
     mailService.sendValidationResult(releaseName, projectKey, emails, state, report);
-    sleepUninterruptibly(1, SECONDS);
-
-    verifyStatic(times(2));
-
-    val messages = getMessages();
-    assertThat(messages.size()).isEqualTo(2);
 
+    val messages = getMessages(2);
     val m1 = messages.get(0);
     val m2 = messages.get(1);
     val notifyMessage = isNotification(m1) ? m1 : m2;
     val supportMessage = isNotification(m1) ? m2 : m1;
 
-    assertThat(notifyMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(notifyMessage.getAllRecipients()).contains(address(mail.getNotificationEmail()));
+    assertThat(notifyMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(notifyMessage.getRecipients()).containsExactly(mail.getNotificationEmail());
 
-    assertThat(supportMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(supportMessage.getAllRecipients()).containsAll(addresses);
+    assertThat(supportMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(supportMessage.getRecipients()).containsAll(emails);
     assertThat(supportMessage.getSubject()).endsWith(template(mail.getSubject(), projectKey, state));
-    assertThat(supportMessage.getContent()).isEqualTo(template(mail.getErrorBody(), projectKey, state));
+    assertThat(supportMessage.getText()).isEqualTo(template(mail.getErrorBody(), projectKey, state));
   }
 
   @Test
-  @SneakyThrows
   public void test_sendValidated_with_NOT_VALIDATED_state() {
     val releaseName = "releaseName";
     val projectKey = "projectKey";
     val state = NOT_VALIDATED;
     val emails = newArrayList("email@domain.com");
-    val addresses = newHashSet(address("email@domain.com"));
     val report = new Report();
 
     mailService.sendValidationResult(releaseName, projectKey, emails, state, report);
-    sleepUninterruptibly(1, SECONDS);
-
-    verifyStatic(times(2));
-
-    val messages = getMessages();
-    assertThat(messages.size()).isEqualTo(2);
 
+    val messages = getMessages(2);
     val m1 = messages.get(0);
     val m2 = messages.get(1);
     val notifyMessage = isNotification(m1) ? m1 : m2;
     val supportMessage = isNotification(m1) ? m2 : m1;
 
-    assertThat(notifyMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(notifyMessage.getAllRecipients()).contains(address(mail.getNotificationEmail()));
+    assertThat(notifyMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(notifyMessage.getRecipients()).containsExactly(mail.getNotificationEmail());
 
-    assertThat(supportMessage.getFrom()).contains(address(mail.getFromEmail()));
-    assertThat(supportMessage.getAllRecipients()).containsAll(addresses);
+    assertThat(supportMessage.getFrom()).isEqualTo(mail.getFromEmail());
+    assertThat(supportMessage.getRecipients()).containsAll(emails);
     assertThat(supportMessage.getSubject()).endsWith(template(mail.getSubject(), projectKey, state));
-    assertThat(supportMessage.getContent()).isEqualTo(
+    assertThat(supportMessage.getText()).isEqualTo(
         template(mail.getNotValidatedBody(), projectKey, state, releaseName, projectKey));
   }
 
-  private static boolean isNotification(MimeMessage message) throws MessagingException {
+  @Test
+  public void test_send_disabled() {
+    mail.setEnabled(false);
+
+    mailService.sendSupportProblem("subject", "text");
+
+    verifyZeroInteractions(outbox);
+  }
+
+  private static boolean isNotification(OutboxMessage message) {
     // Low-tech but works
     return message.getSubject().contains(NOTIFICATION_SUBJECT_PREFEX);
   }
 
-  @SneakyThrows
-  private static List<MimeMessage> getMessages() {
-    val captor = ArgumentCaptor.forClass(MimeMessage.class);
-    Transport.send(captor.capture());
+  private List<OutboxMessage> getMessages(int count) {
+    val captor = ArgumentCaptor.forClass(OutboxMessage.class);
+    verify(outbox, times(count)).enqueue(captor.capture());
 
     return captor.getAllValues();
   }
 
-  @SneakyThrows
-  private static Address address(String email) {
-    return new InternetAddress(email, email);
-  }
-
   private String template(String body, Object... arguments) {
     return format(body, arguments);
   }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class ReleaseLockManagerTest {
+
+  static final String RELEASE_NAME = "release1";
+  static final Supplier<String> RELEASE = () -> RELEASE_NAME;
+
+  /**
+   * Class under test.
+   */
+  ReleaseLockManager locks;
+
+  MetricRegistry registry;
+  ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    registry = new MetricRegistry();
+    locks = new ReleaseLockManager(registry);
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void test_withProjects_different_projects_concurrent() throws Exception {
+    val inside = new CountDownLatch(1);
+    val release = new CountDownLatch(1);
+
+    Future<Boolean> other = executor.submit(() -> locks.withProjects("test", RELEASE, ImmutableList.of("p1"), () -> {
+      inside.countDown();
+      return release.await(10, SECONDS);
+    }));
+    assertThat(inside.await(10, SECONDS)).isTrue();
+
+    // Would block if p2 were excluded by p1
+    String result = locks.withProjects("test", RELEASE, ImmutableList.of("p2"), () -> "p2");
+    release.countDown();
+
+    assertThat(result).isEqualTo("p2");
+    assertThat(other.get(10, SECONDS)).isTrue();
+  }
+
+  @Test
+  public void test_withProjects_same_project_exclusive() throws Exception {
+    val inside = new CountDownLatch(1);
+
+    locks.withProjects("test", RELEASE, ImmutableList.of("p1"), () -> {
+      executor.submit(() -> locks.withProjects("test", RELEASE, ImmutableList.of("p1"), () -> {
+        inside.countDown();
+        return null;
+      }));
+
+      assertThat(inside.await(200, MILLISECONDS)).isFalse();
+      return null;
+    });
+
+    assertThat(inside.await(10, SECONDS)).isTrue();
+  }
+
+  @Test
+  public void test_withRelease_excludes_projects() throws Exception {
+    val inside = new CountDownLatch(1);
+
+    locks.withRelease("test", () -> {
+      executor.submit(() -> locks.withProjects("test", RELEASE, ImmutableList.of("p1"), () -> {
+        inside.countDown();
+        return null;
+      }));
+
+      assertThat(inside.await(200, MILLISECONDS)).isFalse();
+      return null;
+    });
+
+    assertThat(inside.await(10, SECONDS)).isTrue();
+  }
+
+  @Test
+  public void test_withRelease_reentrant() {
+    String result = locks.withRelease("test", () -> locks.withProjects("test", RELEASE, ImmutableList.of("p1", "p2"),
+        () -> locks.withQueue("test", RELEASE_NAME, () -> "done")));
+
+    assertThat(result).isEqualTo("done");
+  }
+
+  @Test
+  public void test_withProjects_records_wait() {
+    locks.withProjects("test", RELEASE, ImmutableList.of("p1", "p2"), () -> null);
+
+    assertThat(registry.timer("release.lock.release-shared.wait").getCount()).isEqualTo(1);
+    assertThat(registry.timer("release.lock.project.wait").getCount()).isGreaterThanOrEqualTo(1);
+    assertThat(registry.timer("release.lock.release-exclusive.wait").getCount()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalStateException.class, timeout = 10000)
+  public void test_withProjects_releases_on_failure() {
+    try {
+      locks.withProjects("test", RELEASE, ImmutableList.of("p1"), () -> {
+        throw new IllegalStateException();
+      });
+    } finally {
+      // Would deadlock if the locks were still held
+      locks.withRelease("test", () -> null);
+    }
+  }
+
+}
@@ -21,8 +21,9 @@ import static java.util.Collections.singletonList;
 import static org.icgc.dcc.submission.release.model.SubmissionState.SIGNED_OFF;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,6 +42,9 @@ import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.ReleaseState;
 import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.server.core.InvalidStateException;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
+import org.icgc.dcc.submission.server.fs.ReleasePromoter;
+import org.icgc.dcc.submission.server.fs.SubmissionFileStatusCache;
 import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
@@ -51,8 +55,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Optional;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -77,6 +83,12 @@ public class ReleaseServiceNextReleaseTest {
   @Mock
   ReleaseFileSystem releaseFileSystem;
   @Mock
+  SubmissionFileStatusCache fileStatusCache;
+  @Mock
+  ReleasePromoter releasePromoter;
+  @Mock
+  ValidationQueueService validationQueue;
+  @Mock
   MailService mailService;
   @Mock
   SubmissionService submissionService;
@@ -89,9 +101,13 @@ public class ReleaseServiceNextReleaseTest {
   @Mock
   DictionaryRepository dictionaryRepository;
   @Mock
+  DictionarySnapshotCache dictionarySnapshots;
+  @Mock
   ProjectRepository projectRepository;
   @Mock
   CodeListRepository codelistRepository;
+  @Spy
+  MetricRegistry metricRegistry = new MetricRegistry();
 
   static final String FIRST_RELEASE_NAME = "release1";
   static final String NEXT_RELEASE_NAME = "release2";
@@ -114,6 +130,7 @@ public class ReleaseServiceNextReleaseTest {
     when(releaseRepository.findReleaseByName(NEXT_RELEASE_NAME)).thenReturn(null);
 
     when(dictionaryRepository.findDictionaryByVersion("0.6c")).thenReturn(dictionary);
+    when(dictionarySnapshots.findDictionary("0.6c")).thenReturn(dictionary);
 
     when(dictionaryService.getDictionaryByVersion("existing_dictionary")).thenReturn(dictionary);
   }
@@ -124,11 +141,10 @@ public class ReleaseServiceNextReleaseTest {
 
     releaseService.performRelease(NEXT_RELEASE_NAME);
 
-    verify(releaseFileSystem)
-        .setUpNewReleaseFileSystem(
-            anyString(),
-            any(ReleaseFileSystem.class),
-            anyListOf(String.class));
+    verify(releasePromoter).promote(eq(FIRST_RELEASE_NAME), eq(NEXT_RELEASE_NAME), anyCollectionOf(String.class));
+    verify(releasePromoter).complete(NEXT_RELEASE_NAME);
+    verify(fileStatusCache).invalidate(FIRST_RELEASE_NAME);
+    verify(fileStatusCache).invalidate(NEXT_RELEASE_NAME);
     verify(release).complete();
   }
 
@@ -208,7 +224,7 @@ public class ReleaseServiceNextReleaseTest {
     when(dictionary.getVersion()).thenReturn("0.6c");
     when(dictionary.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> absent());
     when(release.getDictionaryVersion()).thenReturn("0.6c");
-    when(release.isQueued()).thenReturn(false);
+    when(validationQueue.isQueued(FIRST_RELEASE_NAME)).thenReturn(false);
   }
 
   @SuppressWarnings("unused")
@@ -31,6 +31,7 @@ import java.util.Set;
 
 import lombok.val;
 
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.model.DccModelOptimisticLockException;
 import org.icgc.dcc.submission.core.model.Project;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
@@ -39,11 +40,16 @@ import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.release.model.SubmissionState;
 import org.icgc.dcc.submission.server.core.InvalidStateException;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
+import org.icgc.dcc.submission.server.fs.ReleasePromoter;
+import org.icgc.dcc.submission.server.fs.SubmissionFileStatusCache;
 import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
+import org.icgc.dcc.submission.server.repository.PromotionCheckpointRepository;
 import org.icgc.dcc.submission.server.repository.ReleaseRepository;
 import org.icgc.dcc.submission.server.repository.SubmissionRepository;
+import org.icgc.dcc.submission.server.repository.ValidationQueueRepository;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -53,6 +59,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Throwables;
 import com.mongodb.Mongo;
 import com.mongodb.MongoClient;
@@ -124,6 +131,9 @@ public class ReleaseServiceTest {
       val codeListRepository = spy(new CodeListRepository(morphia, datastore));
       val projectRepository = spy(new ProjectRepository(morphia, datastore));
       val submissionRepository = spy(new SubmissionRepository(morphia, datastore));
+      val checkpointRepository = new PromotionCheckpointRepository(morphia, datastore);
+      val validationQueueRepository = new ValidationQueueRepository(morphia, datastore);
+      val dictionarySnapshots = new DictionarySnapshotCache(dictionaryRepository, codeListRepository);
 
       val projectService = new ProjectService(projectRepository);
 
@@ -133,9 +143,15 @@ public class ReleaseServiceTest {
       submissionService.addSubmission(queuedSubmission);
 
       releaseService = new ReleaseService(mailService, submissionFileSystem,
-          releaseRepository, dictionaryRepository, projectRepository, submissionService);
-
-      dictionaryService = new DictionaryService(releaseService, dictionaryRepository, codeListRepository);
+          releaseRepository, dictionaryRepository, dictionarySnapshots, projectRepository, submissionService,
+          new SubmissionFileStatusCache(submissionFileSystem),
+          new ReleasePromoter(new SubmissionProperties(), submissionFileSystem, checkpointRepository,
+              new MetricRegistry()),
+          new ValidationQueueService(validationQueueRepository, new MetricRegistry()),
+          new MetricRegistry());
+
+      dictionaryService = new DictionaryService(releaseService, dictionaryRepository, codeListRepository,
+          dictionarySnapshots);
       dictionaryService.addDictionary(dictionary);
       releaseService.createInitialRelease(release);
     } catch (UnknownHostException e) {
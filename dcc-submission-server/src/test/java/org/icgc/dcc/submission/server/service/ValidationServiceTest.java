@@ -24,8 +24,13 @@ import static org.icgc.dcc.submission.core.model.Outcome.CANCELLED;
 import static org.icgc.dcc.submission.core.model.Outcome.COMPLETED;
 import static org.icgc.dcc.submission.core.model.Outcome.FAILED;
 import static org.icgc.dcc.submission.release.model.ReleaseState.OPENED;
+import static org.icgc.dcc.submission.core.model.QueuedValidation.DEFAULT_PRIORITY;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +41,7 @@ import lombok.SneakyThrows;
 import lombok.val;
 
 import org.icgc.dcc.submission.core.model.Outcome;
+import org.icgc.dcc.submission.core.model.QueuedValidation;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
@@ -43,10 +49,13 @@ import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.QueuedProject;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.Submission;
-import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.dictionary.CodeListSnapshot;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshotCache;
 import org.icgc.dcc.submission.validation.ValidationExecutor;
 import org.icgc.dcc.submission.validation.ValidationListener;
+import org.icgc.dcc.submission.validation.ValidationRejectedException;
 import org.icgc.dcc.submission.validation.core.Validation;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactory;
@@ -69,6 +78,7 @@ public class ValidationServiceTest {
    * Test data.
    */
   final QueuedProject queuedProject = new QueuedProject("project", ImmutableList.<String> of("user@project.com"));
+  final QueuedValidation queuedValidation = new QueuedValidation("release", queuedProject, DEFAULT_PRIORITY);
 
   /**
    * Class under test.
@@ -84,7 +94,9 @@ public class ValidationServiceTest {
   @Mock
   SubmissionService submissionService;
   @Mock
-  CodeListRepository codeListRepository;
+  ValidationQueueService validationQueue;
+  @Mock
+  DictionarySnapshotCache dictionarySnapshots;
   @Mock
   ValidationExecutor executor;
   @Mock
@@ -114,15 +126,17 @@ public class ValidationServiceTest {
   public void setUp() {
     // Establish an open release with a single queued project
     when(submission.getReport()).thenReturn(new Report());
-    when(release.nextInQueue()).thenReturn(Optional.fromNullable(queuedProject));
+    when(release.getName()).thenReturn("release");
     when(release.getState()).thenReturn(OPENED);
+    when(validationQueue.claimNext("release")).thenReturn(Optional.of(queuedValidation));
 
     when(context.getReport()).thenReturn(new Report());
+    when(context.getCancellationToken()).thenReturn(new CancellationToken());
 
     when(releaseService.getNextRelease()).thenReturn(release);
     when(releaseService.countOpenReleases()).thenReturn(1L);
     when(releaseService.getNextDictionary()).thenReturn(dictionary);
-    when(codeListRepository.findCodeLists()).thenReturn(Collections.<CodeList> emptyList());
+    when(dictionarySnapshots.getCodeLists()).thenReturn(CodeListSnapshot.of(Collections.<CodeList> emptyList()));
   }
 
   @Test
@@ -202,10 +216,40 @@ public class ValidationServiceTest {
     verifyOutcome(FAILED);
   }
 
+  @Test
+  @SneakyThrows
+  public void test_pollValidation_rejected() {
+    // Setup: No available slots
+    doThrow(new ValidationRejectedException("full")).when(executor).execute(
+        any(Validation.class),
+        any(ValidationListener.class),
+        anyLong());
+
+    // Exercise
+    service.pollValidation();
+
+    // Verify: Ensure the claim is put back in the queue
+    verify(validationQueue).unclaim(queuedValidation);
+  }
+
+  @Test
+  @SneakyThrows
+  public void test_pollValidation_full() {
+    // Setup: No available slots
+    when(executor.isFull()).thenReturn(true);
+
+    // Exercise
+    service.pollValidation();
+
+    // Verify: Ensure nothing is claimed
+    verify(validationQueue, never()).claimNext(anyString());
+  }
+
   private void mockExecutorCallback(Answer<Object> answer) {
     doAnswer(answer).when(executor).execute(
         any(Validation.class),
-        any(ValidationListener.class));
+        any(ValidationListener.class),
+        anyLong());
   }
 
   private void verifyOutcome(Outcome outcome) {
@@ -19,14 +19,20 @@ package org.icgc.dcc.submission.server.web.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
+import static org.hamcrest.CoreMatchers.not;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.server.dictionary.DictionarySnapshot;
 import org.icgc.dcc.submission.server.service.DictionaryService;
 import org.icgc.dcc.submission.server.web.controller.DictionaryController;
 import org.junit.Before;
@@ -36,6 +42,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
 import lombok.val;
@@ -60,8 +67,12 @@ public class DictionaryControllerTest extends ControllerTest {
 
   @Before
   public void setUp() {
-    when(dictionaryService.getCurrentDictionary()).thenReturn(dictionary2);
-    when(dictionaryService.getDictionaries()).thenReturn(ImmutableList.of(dictionary1, dictionary2));
+    val snapshot1 = DictionarySnapshot.of(dictionary1);
+    val snapshot2 = DictionarySnapshot.of(dictionary2);
+    when(dictionaryService.getCurrentDictionarySnapshot()).thenReturn(Optional.of(snapshot2));
+    when(dictionaryService.getDictionarySnapshot(DICTIONARY_VERSION1)).thenReturn(Optional.of(snapshot1));
+    when(dictionaryService.getDictionarySnapshot(DICTIONARY_VERSION2)).thenReturn(Optional.of(snapshot2));
+    when(dictionaryService.getDictionarySnapshots()).thenReturn(ImmutableList.of(snapshot1, snapshot2));
   }
 
   @Test
@@ -109,4 +120,33 @@ public class DictionaryControllerTest extends ControllerTest {
     assertThat(dictionary.getVersion()).isEqualTo(DICTIONARY_VERSION2);
   }
 
+  @Test
+  public void testDictionaryNotModified() throws Exception {
+    val result = mvc
+        .perform(
+            get("/ws/dictionaries/" + DICTIONARY_VERSION1)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    val etag = result.getResponse().getHeader(ETAG);
+    assertThat(etag).isNotNull();
+
+    mvc
+        .perform(
+            get("/ws/dictionaries/" + DICTIONARY_VERSION1)
+                .header(IF_NONE_MATCH, etag)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    mvc
+        .perform(
+            get("/ws/dictionaries/" + DICTIONARY_VERSION2)
+                .header(IF_NONE_MATCH, etag)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string(ETAG, not(etag)));
+  }
+
 }
@@ -18,12 +18,14 @@
 package org.icgc.dcc.submission.validation;
 
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.submission.validation.ValidationListener.NOOP_LISTENER;
 
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -33,6 +35,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.icgc.dcc.common.core.util.concurrent.ThreadNamingRunnable;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.Validation;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -69,6 +72,14 @@ public class ValidationExecutor {
   @Getter(lazy = true, value = PRIVATE)
   private final ThreadPoolExecutor jobPool = createExecutor(maxConcurrentValidations);
 
+  /**
+   * The thread pool running the cancellation callbacks of the jobs, such as stopping their flows, so that they do not
+   * hold up the thread requesting the cancellation.
+   */
+  @Getter(lazy = true, value = PRIVATE)
+  private final ExecutorService cancelPool = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("validation-cancel-%s").setDaemon(true).build());
+
   /**
    * Bookkeeping for canceling, indexed by {@link ValidationJob#getJobId()}.
    * <p>
@@ -77,6 +88,12 @@ public class ValidationExecutor {
   @Getter(lazy = true, value = PRIVATE)
   private final Map<String, Future<?>> jobHandles = new MapMaker().weakValues().makeMap();
 
+  /**
+   * Cancellation tokens of the jobs, indexed by {@link ValidationJob#getJobId()}.
+   */
+  @Getter(lazy = true, value = PRIVATE)
+  private final Map<String, CancellationToken> jobTokens = new MapMaker().weakValues().makeMap();
+
   /**
    * Returns the number of active validation "slots".
    */
@@ -84,6 +101,13 @@ public class ValidationExecutor {
     return getJobPool().getActiveCount();
   }
 
+  /**
+   * Returns whether all validation "slots" are taken, in which case {@link #execute} is expected to be rejected.
+   */
+  public boolean isFull() {
+    return getActiveCount() >= maxConcurrentValidations;
+  }
+
   /**
    * Execute a validation job asynchronously.
    * <p>
@@ -106,19 +130,38 @@ public class ValidationExecutor {
    * @param listener validation listener to callback on validation lifecycle events
    */
   public void execute(@NonNull Validation validation, @NonNull ValidationListener listener) {
+    execute(validation, listener, currentTimeMillis());
+  }
+
+  /**
+   * Execute a validation job asynchronously.
+   * <p>
+   * Uses {@link Validation#getId()} to identify in a {@link #cancel} call.
+   * 
+   * @param validation the validation job to run. {@link Validation#execute()} is called asynchronously with respect to
+   * the caller upon successful submission.
+   * @param listener validation listener to callback on validation lifecycle events
+   * @param enqueuedTime when the validation was requested, in milliseconds since the epoch, from which its wait is
+   * measured
+   */
+  public void execute(@NonNull Validation validation, @NonNull ValidationListener listener, long enqueuedTime) {
     val jobId = validation.getId();
 
     log.info("execute: Submitting validation job '{}' ... {}", jobId, formatStats());
-    val job = new ValidationJob(jobId, validation, listener);
+    val job = new ValidationJob(jobId, validation, listener, enqueuedTime);
     val jobHandle = submit(jobId, job);
 
     // Track it for future cancellation purposes
     getJobHandles().put(jobId, jobHandle);
+    getJobTokens().put(jobId, validation.getValidationContext().getCancellationToken());
   }
 
   /**
    * Cancel a running validation.
    * <p>
+   * The validation's {@link CancellationToken} is cancelled first on the cancellation pool, which stops its running
+   * flows and makes its validators bail out at the next batch of rows, then its thread is interrupted.
+   * <p>
    * Will return {@code false} if the job has already completed, has already been cancelled, or could not be found
    * 
    * @see https://issues.apache.org/jira/browse/HDFS-1208
@@ -130,6 +173,12 @@ public class ValidationExecutor {
     val available = jobHandle != null;
     if (available) {
       log.warn("cancel: Cancelling validation job '{}'... {}", jobId, formatStats());
+      val token = getJobTokens().get(jobId);
+      if (token != null) {
+        // Stopping flows may take a while
+        getCancelPool().execute(token::cancel);
+      }
+
       val cancelled = jobHandle.cancel(true);
       log.warn("cancel: Finished cancelling validation job '{}'. cancelled = {} {}",
           new Object[] { jobId, cancelled, formatStats() });
@@ -147,6 +196,7 @@ public class ValidationExecutor {
   public void shutdown() {
     log.info("Shutting down pool...");
     getJobPool().shutdownNow();
+    getCancelPool().shutdown();
   }
 
   /**
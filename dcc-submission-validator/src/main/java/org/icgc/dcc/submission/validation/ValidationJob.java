@@ -19,10 +19,15 @@ package org.icgc.dcc.submission.validation;
 
 import static com.google.common.base.Throwables.getRootCause;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import org.icgc.dcc.common.core.util.concurrent.ThreadNamingRunnable;
 import org.icgc.dcc.submission.validation.core.Validation;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -46,13 +51,33 @@ public class ValidationJob implements Runnable {
   @NonNull
   private final ValidationListener listener;
 
+  /**
+   * When the validation was requested (e.g. enqueued), in milliseconds since the epoch, to measure how long it waited
+   * to start.
+   */
+  private final long enqueuedTime;
+
   @Override
   @SneakyThrows
   public void run() {
-    try {
+    // The run's timeline starts when it was requested so that the queue wait is part of it, clock skew aside
+    val started = currentTimeMillis();
+    val requested = Math.min(enqueuedTime, started);
+    val trace = ValidationTraces.begin(validation.getId(), requested);
+    ValidationMetrics.recordQueueWait(MILLISECONDS.toNanos(started - requested));
+    trace.recordMillis("queue-wait", "job", currentThread().getName(), requested, started);
+    try (Span span = trace.span(jobId, "job")) {
       execute();
     } catch (Throwable t) {
       log.error("Unknown exception executing validation " + validation, t);
+    } finally {
+      ValidationTraces.end();
+    }
+
+    // The slot is released as soon as this returns
+    val token = validation.getValidationContext().getCancellationToken();
+    if (token.isRequested()) {
+      ValidationMetrics.recordCancelLatency(jobId, System.nanoTime() - token.getRequestedNanos());
     }
 
     log.info("job: Exiting validation. '{}' duration: {} ms", jobId, validation.getDuration());
@@ -26,7 +26,6 @@ import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getAnalyzedSampleId;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getRawDataAccession;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getRawDataRepository;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
 import java.io.IOException;
 import java.util.List;
@@ -165,7 +164,7 @@ public class AccessionValidator implements Validator {
       String fileName,
       long lineNumber, Map<String, String> record, Term egaTerm) throws IOException {
     // Cooperate
-    checkInterrupted(getName());
+    context.getCancellationToken().check(getName(), lineNumber);
 
     // Currently only EGA validation is supported
     val rawDataRepository = getRawDataRepository(record);
@@ -17,35 +17,34 @@
  */
 package org.icgc.dcc.submission.validation.accession.core;
 
-import static com.google.common.base.Suppliers.memoizeWithExpiration;
-import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
 
 import java.net.URL;
 import java.util.List;
+import java.util.Set;
 
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.validation.accession.AccessionValidator;
+import org.icgc.dcc.submission.validation.core.ReferenceData;
+import org.icgc.dcc.submission.validation.core.ReferenceDataStore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.Value;
-import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * Externalizable metadata for accession validation.
  * <p>
  * Used for identifying "grandfathered" {@code analysis_id}s that should be excluded from validation. See
  * {@linkplain AccessionValidator} for details.
+ * <p>
+ * Records are held in a set built once per refresh of the dictionary (see {@link ReferenceData}), so that the
+ * exclusion of a record is a lookup rather than a scan.
  */
-@Slf4j
-@RequiredArgsConstructor
 public class AccessionDictionary {
 
   /**
@@ -53,42 +52,39 @@ public class AccessionDictionary {
    */
   public static final URL DEFAULT_ACCESSION_DICTIONARY_URL = Resources.getResource("accession-dictionary.json");
 
-  /**
-   * The URL of the externalized JSON file.
-   */
-  @NonNull
-  private final URL url;
-
   /**
    * State.
    */
-  private final Supplier<List<Record>> supplier = memoizeWithExpiration(this::read, 10, MINUTES);
+  private final ReferenceData<Set<Record>> data;
 
   public AccessionDictionary() {
     this(DEFAULT_ACCESSION_DICTIONARY_URL);
   }
 
+  /**
+   * @param url the URL of the externalized JSON file
+   */
+  public AccessionDictionary(@NonNull URL url) {
+    this(url, ReferenceDataStore.getDefault());
+  }
+
+  public AccessionDictionary(@NonNull URL url, @NonNull ReferenceDataStore store) {
+    this.data = store.register("accession-dictionary", url, AccessionDictionary::readRecords);
+  }
+
   public boolean isExcluded(String projectKey, FileType fileType, String analysisId, String analyzedSampleId) {
-    for (val record : records()) {
-      if (record.getProjectKey().equals(projectKey) &&
-          record.getFileType().equals(fileType) &&
-          record.getAnalysisId().equals(analysisId) &&
-          record.getAnalyzedSampleId().equals(analyzedSampleId)) {
-        return true;
-      }
-    }
-
-    return false;
+    return records().contains(new Record(projectKey, fileType, analyzedSampleId, analysisId));
   }
 
-  private List<Record> records() {
-    return supplier.get();
+  private Set<Record> records() {
+    return data.get();
   }
 
   @SneakyThrows
-  private List<Record> read() {
-    log.info("Refreshing dictionary...");
-    return DEFAULT.readValue(url, new TypeReference<List<Record>>() {});
+  private static Set<Record> readRecords(byte[] content) {
+    List<Record> records = DEFAULT.readValue(content, new TypeReference<List<Record>>() {});
+
+    return ImmutableSet.copyOf(records);
   }
 
   @Value
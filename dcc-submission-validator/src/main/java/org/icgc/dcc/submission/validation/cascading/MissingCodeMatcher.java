@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.cascading;
+
+import java.io.Serializable;
+
+import com.google.common.collect.ObjectArrays;
+
+import lombok.NonNull;
+
+/**
+ * Matches missing codes in place within a line, so that values do not need to be extracted to be looked up.
+ * <p>
+ * The codes are indexed by length, which rejects most values before comparing any character and leaves at most a
+ * couple of candidates to compare against otherwise.
+ */
+final class MissingCodeMatcher implements Serializable {
+
+  private final String[][] codesByLength;
+
+  MissingCodeMatcher(@NonNull Iterable<String> codes) {
+    int maxLength = 0;
+    for (String code : codes) {
+      maxLength = Math.max(maxLength, code.length());
+    }
+
+    codesByLength = new String[maxLength + 1][0];
+    for (String code : codes) {
+      codesByLength[code.length()] = ObjectArrays.concat(codesByLength[code.length()], code);
+    }
+  }
+
+  /**
+   * Returns whether the characters of {@code line} from {@code start} (inclusive) to {@code end} (exclusive) are a
+   * missing code.
+   */
+  boolean matches(String line, int start, int end) {
+    int length = end - start;
+    if (length >= codesByLength.length) {
+      return false;
+    }
+
+    for (String code : codesByLength[length]) {
+      if (line.regionMatches(start, code, 0, length)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+}
@@ -17,27 +17,28 @@
  */
 package org.icgc.dcc.submission.validation.cascading;
 
-import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
-import static org.apache.commons.lang.StringUtils.isBlank;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFSET_FIELD_NAME;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.icgc.dcc.common.cascading.RemoveHollowTupleFilter;
 import org.icgc.dcc.common.core.model.SpecialValue;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
-import cascading.tuple.TupleEntry;
+import lombok.val;
 
 /**
  * Checks structural aspects of an input data file (header, format, ...)
@@ -46,84 +47,99 @@ import cascading.tuple.TupleEntry;
  * <p>
  * Empty lines have already been filtered out in {@link RemoveHollowTupleFilter}.
  * <p>
+ * Values are read in place between the separators of the line: missing codes and blank values are recognized without
+ * being extracted, so that only the other values are copied out of the line, into a result tuple reused across lines.
+ * <p>
  * TODO: this should be split in multiple operations.
  */
-@SuppressWarnings("rawtypes")
-public class StructuralCheckFunction extends BaseOperation implements Function {
+public class StructuralCheckFunction extends BaseOperation<Tuple> implements Function<Tuple> {
 
   public static final String LINE_FIELD_NAME = "line";
 
   public static final char FIELD_SEPARATOR = '\t';
 
-  private final Integer headerSize;
+  private static final MissingCodeMatcher MISSING_CODES = new MissingCodeMatcher(SpecialValue.FULL_MISSING_CODES);
+
+  private final int headerSize;
 
-  private final Fields dictionaryFields;
+  /**
+   * Shared by the states of all the tuples to mark their missing fields.
+   */
+  private final Map<String, Integer> fieldIndices;
 
-  @SuppressWarnings("unchecked")
   public StructuralCheckFunction(Iterable<String> fieldNames) {
     super(1);
-    dictionaryFields = new Fields(Iterables.toArray(fieldNames, String.class));
+    val dictionaryFields = new Fields(Iterables.toArray(fieldNames, String.class));
     headerSize = dictionaryFields.size();
-    fieldDeclaration = dictionaryFields.append(ValidationFields.STATE_FIELD);
+    fieldIndices = indexFields(fieldNames);
+    fieldDeclaration = dictionaryFields.append(STATE_FIELD);
   }
 
   @Override
-  public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
-    checkState(fieldDeclaration != null);
-    checkState(headerSize != null);
-
-    TupleEntry arguments = functionCall.getArguments();
-
-    long offset = functionCall.getArguments().getLong(ValidationFields.OFFSET_FIELD_NAME);
-    TupleState tupleState = new TupleState(offset);
+  public void prepare(FlowProcess flowProcess, OperationCall<Tuple> operationCall) {
+    // The collector copies the result out, and plans are shared across flows so the tuple belongs to the call
+    operationCall.setContext(Tuple.size(headerSize + 1));
+  }
 
-    String line = arguments.getString(LINE_FIELD_NAME);
-    List<String> values = parseValues(line);
-    List<String> adjustedValues = adjustValues(values, tupleState);
+  @Override
+  public void operate(FlowProcess flowProcess, FunctionCall<Tuple> functionCall) {
+    val arguments = functionCall.getArguments();
+    val tupleState = new TupleState(arguments.getLong(OFFSET_FIELD_NAME));
+    val line = arguments.getString(LINE_FIELD_NAME);
+    val result = functionCall.getContext();
+
+    int start = 0;
+    for (int index = 0; index < headerSize; index++) {
+      int end = line.indexOf(FIELD_SEPARATOR, start);
+      boolean last = index == headerSize - 1;
+      if (last != (end == -1)) {
+        throw new IllegalStateException(String.format("'%s' != '%s'", headerSize, parseValues(line).size()));
+      }
+      if (last) {
+        end = line.length();
+      }
 
-    List<Object> tupleValues = Lists.<Object> newArrayList(adjustedValues);
-    tupleValues.add(tupleState); // lastly state
-    checkState(fieldDeclaration.size() == tupleValues.size());
+      result.set(index, getValue(line, start, end, index, tupleState));
+      start = end + 1;
+    }
+    result.set(headerSize, tupleState); // lastly state
 
-    functionCall.getOutputCollector().add(new Tuple(tupleValues.toArray()));
+    functionCall.getOutputCollector().add(result);
   }
 
   public static List<String> parseValues(String line) {
     return newArrayList(Splitter.on(FIELD_SEPARATOR).split(line));
   }
 
-  private List<String> adjustValues(List<String> values, TupleState tupleState) {
-    checkState(headerSize == values.size(),
-        "'%s' != '%s'", headerSize, values.size());
-    return replaceEmptyStrings(convertMissingCodes(
-        values,
-        tupleState));
+  private String getValue(String line, int start, int end, int index, TupleState tupleState) {
+    if (MISSING_CODES.matches(line, start, end)) {
+      // Mark field as originally using a missing code
+      tupleState.addMissingField(fieldIndices, index);
+
+      return (String) SpecialValue.NO_VALUE;
+    }
+
+    return isBlank(line, start, end) ? null : line.substring(start, end);
   }
 
-  private List<String> convertMissingCodes(List<String> values, TupleState tupleState) {
-    List<String> adjustedValues = new ArrayList<String>(values.size());
-    for (int i = 0; i < values.size(); i++) {
-      String value = values.get(i);
-      if (SpecialValue.FULL_MISSING_CODES.contains(value)) {
-        adjustedValues.add((String) SpecialValue.NO_VALUE);
-
-        // Mark field as originally using a missing code
-        tupleState.addMissingField((String) this.getFieldDeclaration().get(i));
-      } else {
-        adjustedValues.add(value);
+  private static boolean isBlank(String line, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (!Character.isWhitespace(line.charAt(i))) {
+        return false;
       }
     }
-    return adjustedValues;
+
+    return true;
   }
 
-  private List<String> replaceEmptyStrings(List<String> adjustedValues) {
-    for (int i = 0; i < adjustedValues.size(); i++) {
-      String value = adjustedValues.get(i);
-      if (value != null && isBlank(value)) {
-        adjustedValues.set(i, null);
-      }
+  private static Map<String, Integer> indexFields(Iterable<String> fieldNames) {
+    val fieldIndices = ImmutableMap.<String, Integer> builder();
+    int index = 0;
+    for (val fieldName : fieldNames) {
+      fieldIndices.put(fieldName, index++);
     }
-    return adjustedValues;
+
+    return fieldIndices.build();
   }
 
 }
@@ -20,12 +20,14 @@ package org.icgc.dcc.submission.validation.cascading;
 import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.icgc.dcc.submission.core.report.ErrorParameterKey;
 import org.icgc.dcc.submission.core.report.ErrorType;
@@ -33,8 +35,10 @@ import org.icgc.dcc.submission.core.report.ErrorType;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.ToString;
 
 /**
@@ -50,7 +54,13 @@ public class TupleState implements Serializable {
 
   private boolean structurallyValid; // to save time on filtering
 
-  private final Set<String> missingFieldNames = new HashSet<String>();
+  /**
+   * Indices of the fields that originally held a missing code, into {@link #fieldIndices} which is shared by all the
+   * states of a file. Both are {@code null} until a field is found missing, and only the names of the missing fields
+   * are serialized.
+   */
+  private transient Map<String, Integer> fieldIndices;
+  private transient BitSet missingFields;
 
   public TupleState() {
     this(-1L);
@@ -117,13 +127,57 @@ public class TupleState implements Serializable {
         .add("valid", isValid()).add("errors", errors).toString();
   }
 
-  public void addMissingField(String fieldName) {
-    this.missingFieldNames.add(fieldName);
+  /**
+   * Marks the field at {@code index} as originally holding a missing code.
+   *
+   * @param fieldIndices the indices of the fields by name, the same instance for all the missing fields of a state
+   */
+  public void addMissingField(@NonNull Map<String, Integer> fieldIndices, int index) {
+    if (missingFields == null) {
+      this.fieldIndices = fieldIndices;
+      this.missingFields = new BitSet(fieldIndices.size());
+    } else {
+      checkArgument(this.fieldIndices == fieldIndices, "Missing fields must be indexed by the same field indices");
+    }
+
+    missingFields.set(index);
   }
 
   @JsonIgnore
   public boolean isFieldMissing(String fieldName) {
-    return this.missingFieldNames.contains(fieldName);
+    if (missingFields == null) {
+      return false;
+    }
+
+    Integer index = fieldIndices.get(fieldName);
+    return index != null && missingFields.get(index);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(missingFields == null ? 0 : missingFields.cardinality());
+    if (missingFields != null) {
+      for (Map.Entry<String, Integer> entry : fieldIndices.entrySet()) {
+        if (missingFields.get(entry.getValue())) {
+          out.writeUTF(entry.getKey());
+        }
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int count = in.readInt();
+    if (count > 0) {
+      // Only the missing fields are indexed once deserialized
+      fieldIndices = Maps.newHashMapWithExpectedSize(count);
+      for (int index = 0; index < count; index++) {
+        fieldIndices.put(in.readUTF(), index);
+      }
+
+      missingFields = new BitSet(count);
+      missingFields.set(0, count);
+    }
   }
 
   /**
@@ -32,8 +32,14 @@ public class ValidationFields extends Fields {
   public static final String STATE_FIELD_NAME = "_state";
   public static final String OFFSET_FIELD_NAME = "offset";
 
+  /**
+   * Name of the file a tuple originates from, when the tuples of several files share a pipe.
+   */
+  public static final String FILE_FIELD_NAME = "_file";
+
   public static final Fields STATE_FIELD = field(STATE_FIELD_NAME);
   public static final Fields OFFSET_FIELD = field(OFFSET_FIELD_NAME);
+  public static final Fields FILE_FIELD = field(FILE_FIELD_NAME);
 
   /**
    * Extract the {@code TupleState} field from a {@cude TupleEntry}.
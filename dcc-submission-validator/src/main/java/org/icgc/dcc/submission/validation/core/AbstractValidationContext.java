@@ -43,12 +43,35 @@ import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractValidationContext implements ValidationContext {
 
+  /**
+   * Not cancelled in stand-alone use, but still honours thread interrupts.
+   */
+  private final CancellationToken cancellationToken = new CancellationToken();
+
+  /**
+   * Lazy-loaded.
+   */
+  private final Supplier<ClinicalColumnIndex> clinicalColumnIndex =
+      Suppliers.memoize(() -> ClinicalColumnIndexCache.getIndex(this));
+
+  @Override
+  public CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  @Override
+  public ClinicalColumnIndex getClinicalColumnIndex() {
+    return clinicalColumnIndex.get();
+  }
+
   @Override
   public SubmissionPlatformStrategy getPlatformStrategy() {
     throw new UnsupportedOperationException();
@@ -169,6 +192,12 @@ public abstract class AbstractValidationContext implements ValidationContext {
     log.error("{}", text);
   }
 
+  @Override
+  public void reportError(Error error, long occurrences) {
+    log.error("[reportError] {} occurrence(s) of:", occurrences);
+    reportError(error);
+  }
+
   @Override
   public void reportLineNumbers(Path path) {
     new UnsupportedOperationException();
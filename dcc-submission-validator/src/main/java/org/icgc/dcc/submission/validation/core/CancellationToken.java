@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.icgc.dcc.submission.validation.ValidationExecutor;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cooperative cancellation of a running {@link Validation}, shared by its {@link Validator}s through the
+ * {@link ValidationContext}.
+ * <p>
+ * Interrupting the validation thread is not enough to stop a validation quickly: interrupts are swallowed by some
+ * libraries and do not reach work running on other threads, such as Cascading flows. Long running loops are therefore
+ * expected to {@link #check(String, long) check} the token every batch of rows, and work running elsewhere to
+ * {@link #onCancel(Runnable) register} a callback that stops it. The thread interrupt is still honoured so that
+ * validators running outside of the {@link ValidationExecutor} behave as before.
+ */
+@Slf4j
+public class CancellationToken {
+
+  /**
+   * Number of rows between two checks, a power of two.
+   */
+  public static final int BATCH_ROWS = 1 << 10;
+
+  private static final long NOT_REQUESTED = -1;
+
+  /**
+   * {@link System#nanoTime()} of the cancellation request.
+   */
+  private final AtomicLong requested = new AtomicLong(NOT_REQUESTED);
+  private final List<Runnable> callbacks = new CopyOnWriteArrayList<Runnable>();
+
+  /**
+   * Requests the cancellation and runs the registered callbacks on the calling thread.
+   *
+   * @return {@code false} if the cancellation was already requested
+   */
+  public boolean cancel() {
+    if (!requested.compareAndSet(NOT_REQUESTED, System.nanoTime())) {
+      return false;
+    }
+
+    for (val callback : callbacks) {
+      run(callback);
+    }
+
+    return true;
+  }
+
+  public boolean isCancelled() {
+    return isRequested() || Thread.currentThread().isInterrupted();
+  }
+
+  /**
+   * @return whether {@link #cancel()} was called, as opposed to the thread being interrupted
+   */
+  public boolean isRequested() {
+    return requested.get() != NOT_REQUESTED;
+  }
+
+  /**
+   * @return the {@link System#nanoTime()} at which the cancellation was requested
+   */
+  public long getRequestedNanos() {
+    return requested.get();
+  }
+
+  /**
+   * Checks if the validation has been cancelled.
+   *
+   * @throws InterruptedException if it was
+   */
+  @SneakyThrows
+  public void check(@NonNull String name) {
+    if (isCancelled()) {
+      throw new InterruptedException("'" + name + "' was cancelled");
+    }
+  }
+
+  /**
+   * Checks if the validation has been cancelled once every {@link #BATCH_ROWS} rows.
+   *
+   * @param row the number of rows processed so far
+   * @throws InterruptedException if it was
+   */
+  public void check(@NonNull String name, long row) {
+    if ((row & (BATCH_ROWS - 1)) == 0) {
+      check(name);
+    }
+  }
+
+  /**
+   * Registers {@code callback} to be run upon cancellation, or runs it immediately if the cancellation was already
+   * requested. Callbacks should return quickly.
+   *
+   * @return a registration to close once the work the callback stops has completed
+   */
+  public Registration onCancel(@NonNull Runnable callback) {
+    // Runs at most once, even if requested while registering
+    val ran = new AtomicBoolean();
+    Runnable once = () -> {
+      if (ran.compareAndSet(false, true)) {
+        callback.run();
+      }
+    };
+
+    callbacks.add(once);
+    if (isRequested()) {
+      run(once);
+    }
+
+    return () -> callbacks.remove(once);
+  }
+
+  private static void run(Runnable callback) {
+    try {
+      callback.run();
+    } catch (Throwable t) {
+      log.warn("Exception running cancellation callback: {}", t.getMessage());
+    }
+  }
+
+  /**
+   * Registration of a cancellation callback.
+   */
+  public interface Registration extends AutoCloseable {
+
+    @Override
+    void close();
+
+  }
+
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.primitives.Ints.checkedCast;
+import static java.util.Collections.unmodifiableList;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_SPECIMEN_ID;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.STUDY_FIELD_NAME;
+import static org.icgc.dcc.submission.validation.sample.util.SampleTypeFields.SPECIMEN_TYPE_FIELD_NAME;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.core.model.Record;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Memory-compact, column oriented index of the clinical core (donors, specimens and samples) of a project.
+ * <p>
+ * Each entity type is held as parallel arrays sorted by id: an id is resolved to an ordinal by binary search, the
+ * parent of a specimen or sample is the ordinal of its donor or specimen and the children of a donor or specimen are a
+ * contiguous range of an adjacency array. Ids and repeated values are interned while building so that an id referenced
+ * from several files is only held once.
+ * <p>
+ * Instances are immutable and shared by all the validators of a validation (see
+ * {@link ValidationContext#getClinicalColumnIndex()}).
+ */
+public class ClinicalColumnIndex {
+
+  /**
+   * Ordinal of an unknown entity.
+   */
+  public static final int MISSING = -1;
+
+  /**
+   * Provenance.
+   */
+  private final List<Path> files;
+
+  /**
+   * Entities.
+   */
+  private final Column donors;
+  private final Column specimens;
+  private final Column samples;
+
+  /**
+   * Attributes.
+   */
+  private final int[] specimenDonors;
+  private final String[] specimenTypes;
+  private final int[] sampleSpecimens;
+  private final String[] sampleStudies;
+
+  /**
+   * Adjacency.
+   */
+  private final Adjacency donorSpecimens;
+  private final Adjacency specimenSamples;
+
+  private ClinicalColumnIndex(Builder builder) {
+    this.files = ImmutableList.copyOf(builder.files);
+
+    this.donors = Column.of(builder.donors);
+    this.specimens = Column.of(builder.specimens);
+    this.samples = Column.of(builder.samples);
+
+    this.specimenDonors = parents(specimens, builder.specimens, donors);
+    this.specimenTypes = values(specimens, builder.specimens);
+    this.sampleSpecimens = parents(samples, builder.samples, specimens);
+    this.sampleStudies = values(samples, builder.samples);
+
+    this.donorSpecimens = Adjacency.of(donors.size(), specimenDonors);
+    this.specimenSamples = Adjacency.of(specimens.size(), sampleSpecimens);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getDonorCount() {
+    return donors.size();
+  }
+
+  public int getSpecimenCount() {
+    return specimens.size();
+  }
+
+  public int getSampleCount() {
+    return samples.size();
+  }
+
+  public List<String> getDonorIds() {
+    return donors.getIds();
+  }
+
+  public List<String> getSpecimenIds() {
+    return specimens.getIds();
+  }
+
+  public List<String> getSampleIds() {
+    return samples.getIds();
+  }
+
+  public boolean containsDonor(@NonNull String donorId) {
+    return donors.ordinal(donorId) != MISSING;
+  }
+
+  public boolean containsSpecimen(@NonNull String specimenId) {
+    return specimens.ordinal(specimenId) != MISSING;
+  }
+
+  public boolean containsSample(@NonNull String sampleId) {
+    return samples.ordinal(sampleId) != MISSING;
+  }
+
+  public List<String> getDonorSpecimenIds(@NonNull String donorId) {
+    return donorSpecimens.get(donors.ordinal(donorId), specimens);
+  }
+
+  public List<String> getSpecimenSampleIds(@NonNull String specimenId) {
+    return specimenSamples.get(specimens.ordinal(specimenId), samples);
+  }
+
+  public String getSpecimenDonorId(@NonNull String specimenId) {
+    return parentId(specimens.ordinal(specimenId), specimenDonors, donors);
+  }
+
+  public String getSpecimenType(@NonNull String specimenId) {
+    val specimen = specimens.ordinal(specimenId);
+    return specimen == MISSING ? null : specimenTypes[specimen];
+  }
+
+  public String getSampleSpecimenId(@NonNull String sampleId) {
+    return parentId(samples.ordinal(sampleId), sampleSpecimens, specimens);
+  }
+
+  public String getSampleDonorId(@NonNull String sampleId) {
+    val sample = samples.ordinal(sampleId);
+    val specimen = sample == MISSING ? MISSING : sampleSpecimens[sample];
+
+    return parentId(specimen, specimenDonors, donors);
+  }
+
+  public String getSampleStudy(@NonNull String sampleId) {
+    val sample = samples.ordinal(sampleId);
+    return sample == MISSING ? null : sampleStudies[sample];
+  }
+
+  /**
+   * @return the specimen type of the specimen of {@code sampleId}, or {@code null} if either is unknown
+   */
+  public String getSpecimenTypeBySampleId(@NonNull String sampleId) {
+    val sample = samples.ordinal(sampleId);
+    val specimen = sample == MISSING ? MISSING : sampleSpecimens[sample];
+
+    return specimen == MISSING ? null : specimenTypes[specimen];
+  }
+
+  /**
+   * Returns a new (serializable) map of sample IDs to their corresponding donor IDs.
+   */
+  public Map<String, String> getSampleToDonorMap() {
+    val sampleToDonor = Maps.<String, String> newTreeMap();
+    for (int sample = 0; sample < samples.size(); sample++) {
+      val specimen = sampleSpecimens[sample];
+      val donor = specimen == MISSING ? MISSING : specimenDonors[specimen];
+
+      sampleToDonor.put(samples.ids[sample], donor == MISSING ? null : donors.ids[donor]);
+    }
+
+    return sampleToDonor;
+  }
+
+  /**
+   * Materializes the index as a new, mutable {@link Clinical} whose records only hold the identifying fields, the
+   * specimen type and the sample study.
+   */
+  public Clinical toClinical() {
+    val donorRecords = Lists.<Record> newArrayListWithCapacity(donors.size());
+    for (int donor = 0; donor < donors.size(); donor++) {
+      val fields = Maps.<String, String> newHashMap();
+      fields.put(SUBMISSION_DONOR_ID, donors.ids[donor]);
+
+      donorRecords.add(record(fields, FileType.DONOR_TYPE, donors, donor));
+    }
+
+    val specimenRecords = Lists.<Record> newArrayListWithCapacity(specimens.size());
+    for (int specimen = 0; specimen < specimens.size(); specimen++) {
+      val fields = Maps.<String, String> newHashMap();
+      fields.put(SUBMISSION_SPECIMEN_ID, specimens.ids[specimen]);
+      fields.put(SUBMISSION_DONOR_ID, parentId(specimen, specimenDonors, donors));
+      fields.put(SPECIMEN_TYPE_FIELD_NAME, specimenTypes[specimen]);
+
+      specimenRecords.add(record(fields, FileType.SPECIMEN_TYPE, specimens, specimen));
+    }
+
+    val sampleRecords = Lists.<Record> newArrayListWithCapacity(samples.size());
+    for (int sample = 0; sample < samples.size(); sample++) {
+      val fields = Maps.<String, String> newHashMap();
+      fields.put(SUBMISSION_ANALYZED_SAMPLE_ID, samples.ids[sample]);
+      fields.put(SUBMISSION_SPECIMEN_ID, parentId(sample, sampleSpecimens, specimens));
+      fields.put(STUDY_FIELD_NAME, sampleStudies[sample]);
+
+      sampleRecords.add(record(fields, FileType.SAMPLE_TYPE, samples, sample));
+    }
+
+    return new Clinical(new ClinicalCore(donorRecords, specimenRecords, sampleRecords));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ClinicalColumnIndex(donors=%s, specimens=%s, samples=%s)",
+        donors.size(), specimens.size(), samples.size());
+  }
+
+  private Record record(Map<String, String> fields, FileType fileType, Column column, int ordinal) {
+    return new Record(fields, fileType, files.get(column.files[ordinal]), column.lineNumbers[ordinal]);
+  }
+
+  private static String parentId(int child, int[] parents, Column parentColumn) {
+    val parent = child == MISSING ? MISSING : parents[child];
+    return parent == MISSING ? null : parentColumn.ids[parent];
+  }
+
+  private static int[] parents(Column column, List<Row> rows, Column parentColumn) {
+    val parents = new int[column.size()];
+    for (int i = 0; i < parents.length; i++) {
+      val parentId = rows.get(column.rows[i]).parentId;
+      parents[i] = parentId == null ? MISSING : parentColumn.ordinal(parentId);
+    }
+
+    return parents;
+  }
+
+  private static String[] values(Column column, List<Row> rows) {
+    val values = new String[column.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = rows.get(column.rows[i]).value;
+    }
+
+    return values;
+  }
+
+  /**
+   * Accumulates the rows of the clinical files in any order.
+   */
+  public static class Builder {
+
+    private final Interner<String> interner = Interners.newStrongInterner();
+
+    private final List<Path> files = Lists.newArrayList();
+    private final Map<Path, Integer> fileOrdinals = Maps.newHashMap();
+
+    private final List<Row> donors = Lists.newArrayList();
+    private final List<Row> specimens = Lists.newArrayList();
+    private final List<Row> samples = Lists.newArrayList();
+
+    public Builder addDonor(String donorId, @NonNull Path file, long lineNumber) {
+      donors.add(row(donorId, null, null, file, lineNumber));
+      return this;
+    }
+
+    public Builder addSpecimen(String specimenId, String donorId, String specimenType, @NonNull Path file,
+        long lineNumber) {
+      specimens.add(row(specimenId, donorId, specimenType, file, lineNumber));
+      return this;
+    }
+
+    public Builder addSample(String sampleId, String specimenId, String study, @NonNull Path file, long lineNumber) {
+      samples.add(row(sampleId, specimenId, study, file, lineNumber));
+      return this;
+    }
+
+    public ClinicalColumnIndex build() {
+      return new ClinicalColumnIndex(this);
+    }
+
+    private Row row(String id, String parentId, String value, Path file, long lineNumber) {
+      Integer fileOrdinal = fileOrdinals.get(file);
+      if (fileOrdinal == null) {
+        fileOrdinal = files.size();
+        fileOrdinals.put(file, fileOrdinal);
+        files.add(file);
+      }
+
+      return new Row(intern(id), intern(parentId), intern(value), fileOrdinal, checkedCast(lineNumber));
+    }
+
+    private String intern(String value) {
+      return value == null ? null : interner.intern(value);
+    }
+
+  }
+
+  /**
+   * A parsed row, only used while building.
+   */
+  @RequiredArgsConstructor
+  private static class Row {
+
+    final String id;
+    final String parentId;
+    final String value;
+    final int file;
+    final int lineNumber;
+
+  }
+
+  /**
+   * The ids of an entity type in sorted order along with their provenance.
+   */
+  @RequiredArgsConstructor
+  private static class Column {
+
+    final String[] ids;
+    final int[] files;
+    final int[] lineNumbers;
+
+    /**
+     * Index of the built row of each ordinal, to resolve its attributes.
+     */
+    final int[] rows;
+
+    static Column of(List<Row> rows) {
+      // Sorted by id, keeping the first of duplicated ids which are reported by prior validators
+      val order = new Integer[rows.size()];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, Comparator.comparing((Integer i) -> rows.get(i).id, Comparator.nullsFirst(String::compareTo)));
+
+      val unique = Lists.<Integer> newArrayListWithCapacity(order.length);
+      String previous = null;
+      for (val i : order) {
+        val id = rows.get(i).id;
+        if (id == null || (!unique.isEmpty() && id.equals(previous))) {
+          continue;
+        }
+
+        unique.add(i);
+        previous = id;
+      }
+
+      val size = unique.size();
+      val ids = new String[size];
+      val files = new int[size];
+      val lineNumbers = new int[size];
+      val indexes = new int[size];
+      for (int ordinal = 0; ordinal < size; ordinal++) {
+        val index = unique.get(ordinal);
+        val row = rows.get(index);
+
+        ids[ordinal] = row.id;
+        files[ordinal] = row.file;
+        lineNumbers[ordinal] = row.lineNumber;
+        indexes[ordinal] = index;
+      }
+
+      return new Column(ids, files, lineNumbers, indexes);
+    }
+
+    int size() {
+      return ids.length;
+    }
+
+    int ordinal(String id) {
+      val ordinal = Arrays.binarySearch(ids, id);
+      return ordinal < 0 ? MISSING : ordinal;
+    }
+
+    List<String> getIds() {
+      return unmodifiableList(Arrays.asList(ids));
+    }
+
+  }
+
+  /**
+   * Compressed adjacency lists: the children of parent {@code p} are {@code children[offsets[p]..offsets[p + 1])}.
+   */
+  @RequiredArgsConstructor
+  private static class Adjacency {
+
+    final int[] offsets;
+    final int[] children;
+
+    static Adjacency of(int parentCount, int[] parents) {
+      val offsets = new int[parentCount + 1];
+      for (val parent : parents) {
+        if (parent != MISSING) {
+          offsets[parent + 1]++;
+        }
+      }
+      for (int parent = 0; parent < parentCount; parent++) {
+        offsets[parent + 1] += offsets[parent];
+      }
+
+      // Children are visited in order so each list is sorted by id
+      val next = Arrays.copyOf(offsets, parentCount);
+      val children = new int[offsets[parentCount]];
+      for (int child = 0; child < parents.length; child++) {
+        val parent = parents[child];
+        if (parent != MISSING) {
+          children[next[parent]++] = child;
+        }
+      }
+
+      return new Adjacency(offsets, children);
+    }
+
+    List<String> get(int parent, Column childColumn) {
+      if (parent == MISSING) {
+        return ImmutableList.of();
+      }
+
+      val ids = ImmutableList.<String> builder();
+      for (int i = offsets[parent]; i < offsets[parent + 1]; i++) {
+        ids.add(childColumn.ids[children[i]]);
+      }
+
+      return ids.build();
+    }
+
+  }
+
+}
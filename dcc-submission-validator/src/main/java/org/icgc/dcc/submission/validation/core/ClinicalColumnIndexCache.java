@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process wide cache of {@link ClinicalColumnIndex}es, so that a project whose clinical core files did not change since
+ * its last validation is not parsed again.
+ * <p>
+ * Entries are keyed by the directory of the clinical files and are only reused if the paths, modification times and
+ * sizes of the files are the same as when the index was built.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class ClinicalColumnIndexCache {
+
+  /**
+   * Maximum number of projects kept in memory.
+   */
+  private static final int MAX_PROJECTS = 200;
+
+  private static final Cache<String, Entry> ENTRIES = CacheBuilder.newBuilder().maximumSize(MAX_PROJECTS).build();
+
+  /**
+   * Returns the index of the clinical core files of {@code context}, building it if the files changed.
+   */
+  public static ClinicalColumnIndex getIndex(@NonNull ValidationContext context) {
+    val stamps = stamp(context);
+    if (stamps.isEmpty()) {
+      return ClinicalColumnIndex.builder().build();
+    }
+
+    val key = stamps.get(0).getDirectory();
+    val entry = ENTRIES.getIfPresent(key);
+    if (entry != null && entry.getStamps().equals(stamps)) {
+      log.info("Reusing clinical index of '{}': {}", key, entry.getIndex());
+      ValidationMetrics.recordClinicalIndex(true, 0);
+
+      return entry.getIndex();
+    }
+
+    val watch = Stopwatch.createStarted();
+    val index = ClinicalParser.parseIndex(context);
+    ENTRIES.put(key, new Entry(stamps, index));
+
+    log.info("Built clinical index of '{}' in {}: {}", key, watch, index);
+    ValidationMetrics.recordClinicalIndex(false, watch.elapsed(NANOSECONDS));
+
+    return index;
+  }
+
+  public static void invalidateAll() {
+    ENTRIES.invalidateAll();
+  }
+
+  @SneakyThrows
+  private static List<FileStamp> stamp(ValidationContext context) {
+    val fileSystem = context.getFileSystem();
+    val stamps = ImmutableList.<FileStamp> builder();
+    for (val fileType : ClinicalCore.getFileTypes()) {
+      for (val file : context.getFiles(fileType)) {
+        val status = fileSystem.getFileStatus(file);
+
+        stamps.add(new FileStamp(
+            file.getParent().toString(), file.toString(), status.getModificationTime(), status.getLen()));
+      }
+    }
+
+    return stamps.build();
+  }
+
+  @Value
+  private static class FileStamp {
+
+    String directory;
+    String path;
+    long modificationTime;
+    long length;
+
+  }
+
+  @Value
+  private static class Entry {
+
+    List<FileStamp> stamps;
+    ClinicalColumnIndex index;
+
+  }
+
+}
@@ -17,10 +17,19 @@
  */
 package org.icgc.dcc.submission.validation.core;
 
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getDonorDonorId;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSampleSampleId;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSampleSpecimenId;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSampleStudy;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSpecimenDonorId;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSpecimenSpecimenId;
+import static org.icgc.dcc.submission.validation.core.ClinicalFields.getSpecimenType;
 import static org.icgc.dcc.submission.validation.util.ValidationFileParsers.newMapFileParser;
 
 import java.util.List;
+import java.util.Map;
 
+import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.model.Record;
 
@@ -37,29 +46,56 @@ public class ClinicalParser {
   public static Clinical parse(ValidationContext context) {
     return new Clinical(
         new ClinicalCore(
-            parseFileType(FileType.DONOR_TYPE, context),
-            parseFileType(FileType.SPECIMEN_TYPE, context),
-            parseFileType(FileType.SAMPLE_TYPE, context)));
+            parseRecords(FileType.DONOR_TYPE, context),
+            parseRecords(FileType.SPECIMEN_TYPE, context),
+            parseRecords(FileType.SAMPLE_TYPE, context)));
+  }
+
+  /**
+   * Parses the clinical core into a {@link ClinicalColumnIndex}, which only retains the fields needed to relate donors,
+   * specimens and samples.
+   */
+  public static ClinicalColumnIndex parseIndex(ValidationContext context) {
+    val index = ClinicalColumnIndex.builder();
+    parseFileType(FileType.DONOR_TYPE, context, (file, lineNumber, fields) -> index
+        .addDonor(getDonorDonorId(fields), file, lineNumber));
+    parseFileType(FileType.SPECIMEN_TYPE, context, (file, lineNumber, fields) -> index
+        .addSpecimen(getSpecimenSpecimenId(fields), getSpecimenDonorId(fields), getSpecimenType(fields), file,
+            lineNumber));
+    parseFileType(FileType.SAMPLE_TYPE, context, (file, lineNumber, fields) -> index
+        .addSample(getSampleSampleId(fields), getSampleSpecimenId(fields), getSampleStudy(fields), file, lineNumber));
+
+    return index.build();
+  }
+
+  private static List<Record> parseRecords(FileType fileType, ValidationContext context) {
+    val records = Lists.<Record> newArrayList();
+    parseFileType(fileType, context, (file, lineNumber, fields) -> {
+      Record record = new Record(fields, fileType, file, lineNumber);
+
+      records.add(record);
+    });
+
+    return records;
   }
 
   @SneakyThrows
-  private static List<Record> parseFileType(FileType fileType, ValidationContext context) {
+  private static void parseFileType(FileType fileType, ValidationContext context, RowHandler handler) {
     val fileParser = newMapFileParser(context, fileType);
 
-    val records = Lists.<Record> newArrayList();
     for (val file : context.getFiles(fileType)) {
       try {
-        fileParser.parse(file, (lineNumber, fields) -> {
-          Record record = new Record(fields, fileType, file, lineNumber);
-
-          records.add(record);
-        });
+        fileParser.parse(file, (lineNumber, fields) -> handler.handle(file, lineNumber, fields));
       } catch (Exception e) {
         throw new IllegalStateException("Failed to parse file " + file, e);
       }
     }
+  }
+
+  private interface RowHandler {
+
+    void handle(Path file, long lineNumber, Map<String, String> fields);
 
-    return records;
   }
 
 }
@@ -30,15 +30,17 @@ import org.icgc.dcc.submission.core.report.visitor.NoOpVisitor;
 import org.icgc.dcc.submission.validation.primary.report.ByteOffsetToLineNumber;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 /**
- * Needed for updating byte offsets to line numbers
+ * Needed for updating byte offsets to line numbers.
+ * <p>
+ * The offsets of all the unconverted {@link ErrorReport}s of the file are remapped in a single (sorted) pass over it.
  */
 @RequiredArgsConstructor
 public class ConvertLineNumbersReportVisitor extends NoOpVisitor {
@@ -48,37 +50,45 @@ public class ConvertLineNumbersReportVisitor extends NoOpVisitor {
 
   @Override
   public void visit(FileReport fileReport) {
+    if (!fileReport.getFileName().equals(filePath.getName())) {
+      return;
+    }
+
+    val errorReports = Lists.<ErrorReport> newArrayList();
     for (val errorReport : fileReport.getErrorReports()) {
       if (!errorReport.isConverted()) {
-        convert(errorReport);
-
-        // Remember we converted so that we don't do again
-        errorReport.setConverted(true);
+        errorReports.add(errorReport);
       }
     }
-  }
+    if (errorReports.isEmpty()) {
+      return;
+    }
 
-  private void convert(ErrorReport errorReport) {
     // Convert byte offsets to line numbers
-    val mapping = createMapping(errorReport);
+    val mapping = createMapping(errorReports);
+
+    for (val errorReport : errorReports) {
+      // Is mapping needed?
+      val needed = mapping.isPresent();
+      if (needed) {
+        // Update the report using the mapping
+        updateErrorReport(errorReport, mapping.get());
+      }
 
-    // Is mapping needed?
-    val needed = mapping.isPresent();
-    if (needed) {
-      // Update the report using the mapping
-      updateErrorReport(errorReport, mapping.get());
+      // Remember we converted so that we don't do again
+      errorReport.setConverted(true);
     }
   }
 
-  private Optional<Map<Long, Long>> createMapping(ErrorReport errorReport) {
-    val offsets = ImmutableSet.<Long> builder();
-
-    val fieldErrorReports = errorReport.getFieldErrorReports();
-    for (val fieldErrorReport : fieldErrorReports) {
-      offsets.addAll(fieldErrorReport.getLineNumbers());
+  private Optional<Map<Long, Long>> createMapping(List<ErrorReport> errorReports) {
+    val offsets = Sets.<Long> newHashSet();
+    for (val errorReport : errorReports) {
+      for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
+        offsets.addAll(fieldErrorReport.getLineNumbers());
+      }
     }
 
-    val mapping = ByteOffsetToLineNumber.convert(filePath, offsets.build());
+    val mapping = ByteOffsetToLineNumber.convert(filePath, offsets);
     return fromNullable(mapping);
   }
 
@@ -99,4 +109,4 @@ public class ConvertLineNumbersReportVisitor extends NoOpVisitor {
     return lineNumbers;
   }
 
-}
\ No newline at end of file
+}
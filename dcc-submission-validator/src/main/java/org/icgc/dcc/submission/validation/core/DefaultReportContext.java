@@ -58,6 +58,11 @@ public class DefaultReportContext implements ReportContext {
     report.addError(error);
   }
 
+  @Override
+  public void reportError(@NonNull Error error, long occurrences) {
+    report.addError(error, occurrences);
+  }
+
   @Override
   public boolean hasErrors() {
     return report.hasErrors();
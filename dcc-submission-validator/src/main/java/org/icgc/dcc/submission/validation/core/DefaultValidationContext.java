@@ -47,6 +47,8 @@ import org.icgc.dcc.submission.release.model.Submission;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactory;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -87,16 +89,33 @@ public class DefaultValidationContext implements ValidationContext {
   @NonNull
   private final SubmissionPlatformStrategyFactory platformStrategyFactory;
 
+  /**
+   * State.
+   */
+  private final CancellationToken cancellationToken = new CancellationToken();
+
   /**
    * Lazy-loaded.
    */
   private SubmissionPlatformStrategy platform;
+  private final Supplier<ClinicalColumnIndex> clinicalColumnIndex =
+      Suppliers.memoize(() -> ClinicalColumnIndexCache.getIndex(this));
 
   @Override
   public String getOutputDirPath() {
     throw new UnsupportedOperationException("See DCC-2431");
   }
 
+  @Override
+  public CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  @Override
+  public ClinicalColumnIndex getClinicalColumnIndex() {
+    return clinicalColumnIndex.get();
+  }
+
   @Override
   public String getProjectKey() {
     return projectKey;
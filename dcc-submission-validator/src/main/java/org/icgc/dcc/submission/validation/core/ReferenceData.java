@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PACKAGE;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference data read from a URL and kept in memory in its indexed form, as registered in a
+ * {@link ReferenceDataStore}.
+ * <p>
+ * Reads are served from memory. Expired data is still served while it is refreshed in the background, and kept if the
+ * refresh fails. Only the first read blocks, on the snapshot if there is one or else on the source.
+ * <p>
+ * Closing the data stops its periodic refresh, if any. It can still be read, refreshing it when it expired.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = PACKAGE)
+public class ReferenceData<T> implements Closeable {
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final String name;
+  @NonNull
+  private final URL url;
+  @NonNull
+  private final Function<byte[], T> parser;
+  private final long maxAgeMs;
+  private final File snapshot;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final Executor executor;
+
+  /**
+   * State.
+   */
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile Loaded<T> loaded;
+  private volatile ScheduledFuture<?> schedule;
+
+  public T get() {
+    Loaded<T> current = loaded;
+    if (current == null) {
+      current = load();
+    }
+
+    if (currentTimeMillis() - current.getTime() >= maxAgeMs && !refreshing.get()) {
+      executor.execute(this::refresh);
+    }
+
+    return current.getValue();
+  }
+
+  /**
+   * Milliseconds since the data was fetched, {@code -1} if it was not loaded yet.
+   */
+  public long getAgeMs() {
+    val current = loaded;
+    return current == null ? -1 : currentTimeMillis() - current.getTime();
+  }
+
+  @Override
+  public void close() {
+    val current = schedule;
+    if (current != null) {
+      current.cancel(false);
+    }
+  }
+
+  boolean isReadFrom(@NonNull URL source) {
+    // Not URL#equals which resolves host names
+    return url.toExternalForm().equals(source.toExternalForm());
+  }
+
+  void setSchedule(@NonNull ScheduledFuture<?> schedule) {
+    this.schedule = schedule;
+  }
+
+  /**
+   * Fetches the data from its source, keeping the current one if that fails.
+   */
+  void refresh() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      fetch();
+    } catch (Exception e) {
+      log.warn("Could not refresh reference data '{}' from '{}', keeping the current one: {}",
+          new Object[] { name, url, e.getMessage() });
+      ValidationMetrics.recordReferenceFailure(name);
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  private synchronized Loaded<T> load() {
+    if (loaded != null) {
+      return loaded;
+    }
+
+    if (snapshot != null && snapshot.isFile()) {
+      try {
+        val value = parser.apply(Files.toByteArray(snapshot));
+        loaded = new Loaded<T>(value, snapshot.lastModified());
+        log.info("Loaded reference data '{}' from snapshot '{}'", name, snapshot);
+
+        return loaded;
+      } catch (Exception e) {
+        log.warn("Could not load reference data '{}' from snapshot '{}': {}",
+            new Object[] { name, snapshot, e.getMessage() });
+      }
+    }
+
+    fetch();
+    return loaded;
+  }
+
+  @SneakyThrows
+  private void fetch() {
+    log.info("Refreshing reference data '{}' from '{}'...", name, url);
+    val watch = Stopwatch.createStarted();
+    val content = Resources.toByteArray(url);
+
+    // Parsed before being swapped in so that invalid content does not replace valid data
+    val value = parser.apply(content);
+    loaded = new Loaded<T>(value, currentTimeMillis());
+
+    ValidationMetrics.recordReferenceFetch(name, watch.elapsed(NANOSECONDS), content.length);
+    log.info("Refreshed reference data '{}' in {}", name, watch);
+
+    writeSnapshot(content);
+  }
+
+  private void writeSnapshot(byte[] content) {
+    if (snapshot == null) {
+      return;
+    }
+
+    // Written aside then renamed so that a partial snapshot is never read
+    val temp = new File(snapshot.getPath() + ".tmp");
+    try {
+      Files.createParentDirs(snapshot);
+      Files.write(content, temp);
+      Files.move(temp, snapshot);
+    } catch (IOException e) {
+      log.warn("Could not write snapshot '{}' of reference data '{}': {}",
+          new Object[] { snapshot, name, e.getMessage() });
+    }
+  }
+
+  @Value
+  private static class Loaded<T> {
+
+    T value;
+    long time;
+
+  }
+
+}
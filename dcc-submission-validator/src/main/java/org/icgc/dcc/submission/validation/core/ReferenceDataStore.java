@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.io.Closeable;
+import java.io.File;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Store of the {@link ReferenceData} read by validators from external sheets and dictionaries, shared by the
+ * validations of the server.
+ * <p>
+ * Data is refreshed on a background thread of the store every {@code maxAgeMs}, or when it is read after it expired,
+ * so that validations never wait on a download once the data was loaded. If a snapshot directory is configured, the
+ * content of every successful fetch is written to it and read back on first access, so that the server can start
+ * without access to the sources.
+ * <p>
+ * Data is registered once per name: registering the same name and URL again returns the data already registered,
+ * whereas registering it with another URL replaces it.
+ */
+@Slf4j
+public class ReferenceDataStore implements Closeable {
+
+  /**
+   * Default age after which reference data is refreshed.
+   */
+  public static final long DEFAULT_MAX_AGE_MS = MINUTES.toMillis(10);
+
+  /**
+   * Store without snapshots nor periodic refreshes, for components that are not given one (e.g. command line tools and
+   * tests). Its data is only refreshed when read after it expired.
+   */
+  private static final ReferenceDataStore DEFAULT = new ReferenceDataStore(null, DEFAULT_MAX_AGE_MS, false);
+
+  /**
+   * Configuration.
+   */
+  private final File snapshotDir;
+  private final long maxAgeMs;
+  private final boolean scheduled;
+
+  /**
+   * State.
+   */
+  private final ScheduledExecutorService executor = newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("reference-data-%s").setDaemon(true).build());
+  private final Map<String, ReferenceData<?>> registered = newHashMap();
+
+  /**
+   * @param snapshotDir the directory holding the snapshots, none if {@code null}
+   */
+  public ReferenceDataStore(File snapshotDir, long maxAgeMs) {
+    this(snapshotDir, maxAgeMs, true);
+  }
+
+  /**
+   * @param scheduled whether data is refreshed periodically rather than only when read after it expired
+   */
+  ReferenceDataStore(File snapshotDir, long maxAgeMs, boolean scheduled) {
+    this.snapshotDir = snapshotDir;
+    this.maxAgeMs = maxAgeMs;
+    this.scheduled = scheduled;
+  }
+
+  public static ReferenceDataStore getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Registers the reference data named {@code name}, read from {@code url} and indexed by {@code parser}.
+   * <p>
+   * The parser is given the content of the source and should return an immutable value precomputing whatever lookups
+   * are performed on the data, as it is called once per refresh rather than per lookup.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> ReferenceData<T> register(@NonNull String name, @NonNull URL url,
+      @NonNull Function<byte[], T> parser) {
+    val existing = registered.get(name);
+    if (existing != null) {
+      if (existing.isReadFrom(url)) {
+        // A name is registered by a single component, so with the same parser
+        return (ReferenceData<T>) existing;
+      }
+
+      log.info("Replacing reference data '{}' with the one from '{}'", name, url);
+      existing.close();
+    }
+
+    val snapshot = snapshotDir == null ? null : new File(snapshotDir, name + ".json");
+    val data = new ReferenceData<T>(name, url, parser, maxAgeMs, snapshot, executor);
+    if (scheduled) {
+      data.setSchedule(executor.scheduleWithFixedDelay(data::refresh, maxAgeMs, maxAgeMs, MILLISECONDS));
+    }
+
+    registered.put(name, data);
+    ValidationMetrics.registerReferenceAge(name, data::getAgeMs);
+
+    log.info("Registered reference data '{}' from '{}' with snapshot '{}'", new Object[] { name, url, snapshot });
+    return data;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+}
@@ -58,6 +58,12 @@ public interface ReportContext {
    */
   void reportError(Error error);
 
+  /**
+   * Report {@code occurrences} validation errors of the same kind, of which only {@code error} has its value and line
+   * number kept.
+   */
+  void reportError(Error error, long occurrences);
+
   /**
    * Allows the context an opportunity to update line numbers referenced in report elements.
    */
@@ -18,14 +18,17 @@
 package org.icgc.dcc.submission.validation.core;
 
 import static com.google.common.base.Stopwatch.createUnstarted;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.commons.lang.StringUtils.repeat;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.icgc.dcc.submission.validation.ValidationExecutor;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics.JvmSnapshot;
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
 
 import com.google.common.base.Stopwatch;
 
@@ -93,7 +96,7 @@ public class Validation {
     log.info(banner());
 
     // Cooperate
-    checkInterrupted(getClass().getSimpleName());
+    checkCancelled(validationContext, getClass().getSimpleName());
 
     val n = validators.size();
     int i = 1;
@@ -109,9 +112,13 @@ public class Validation {
         log.info(banner());
 
         // Execute synchronously
+        val before = JvmSnapshot.take();
         watch.reset().start();
-        validator.validate(validationContext);
+        try (Span span = ValidationTraces.span(name, "validator")) {
+          validator.validate(validationContext);
+        }
         watch.stop();
+        ValidationMetrics.recordValidator(name, watch.elapsed(NANOSECONDS), before);
 
         log.info(banner());
         log.info("[" + i + "/" + n + "] < Finished '{}' for '{}' in {}", new Object[] { name, getId(), watch });
@@ -127,7 +134,7 @@ public class Validation {
         }
 
         // Cooperate
-        checkInterrupted(getClass().getSimpleName());
+        checkCancelled(validationContext, getClass().getSimpleName());
 
         i++;
       }
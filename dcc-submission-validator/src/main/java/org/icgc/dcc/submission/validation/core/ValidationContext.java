@@ -115,6 +115,17 @@ public interface ValidationContext extends ReportContext {
    */
   SubmissionPlatformStrategy getPlatformStrategy();
 
+  /**
+   * Gets the index of the clinical core (donors, specimens and samples) of the project under validation. It is built on
+   * first use and shared by all {@link Validator}s of the validation.
+   */
+  ClinicalColumnIndex getClinicalColumnIndex();
+
+  /**
+   * Gets the token through which the validation is cancelled.
+   */
+  CancellationToken getCancellationToken();
+
   /**
    * Temporarily here (see DCC-2431).
    */
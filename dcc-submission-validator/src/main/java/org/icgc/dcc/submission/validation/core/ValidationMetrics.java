@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
+
+import java.lang.management.ManagementFactory;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+import cascading.flow.Flow;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Metrics of the validation pipeline.
+ * <p>
+ * Recorded in a shared registry (see {@link #REGISTRY_NAME}) so that the validators do not need to be handed one; the
+ * server exposes it through the actuator and JMX. Metric names are of the form {@code validation.<phase>.<...>}, where
+ * file level metrics are keyed by file type rather than file name to keep their number bounded.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class ValidationMetrics {
+
+  /**
+   * Name of the shared registry.
+   */
+  public static final String REGISTRY_NAME = "dcc-submission-validation";
+
+  private static final String PREFIX = "validation";
+  private static final String UNKNOWN_FILE_TYPE = "unknown";
+
+  public static MetricRegistry getRegistry() {
+    return SharedMetricRegistries.getOrCreate(REGISTRY_NAME);
+  }
+
+  /**
+   * Records the time a validation waited between its request (e.g. being enqueued) and the start of its execution.
+   */
+  public static void recordQueueWait(long nanos) {
+    getRegistry().timer(name(PREFIX, "executor", "queue-wait")).update(nanos, NANOSECONDS);
+  }
+
+  /**
+   * Records the time between the cancellation of a validation and the release of its executor slot.
+   */
+  public static void recordCancelLatency(@NonNull String jobId, long nanos) {
+    getRegistry().timer(name(PREFIX, "executor", "cancel-latency")).update(nanos, NANOSECONDS);
+
+    log.info("'{}' released its slot {} ms after being cancelled", jobId, NANOSECONDS.toMillis(nanos));
+  }
+
+  /**
+   * Records whether a validation reused the clinical index of a previous one and, if not, the time taken to build it.
+   */
+  public static void recordClinicalIndex(boolean reused, long nanos) {
+    val registry = getRegistry();
+    if (reused) {
+      registry.meter(name(PREFIX, "clinical-index", "reused")).mark();
+    } else {
+      registry.meter(name(PREFIX, "clinical-index", "built")).mark();
+      registry.timer(name(PREFIX, "clinical-index", "build-time")).update(nanos, NANOSECONDS);
+    }
+  }
+
+  /**
+   * Records the time taken to plan the primary validation of a project and whether a previous plan was reused.
+   */
+  public static void recordPlanning(boolean reused, long nanos) {
+    val registry = getRegistry();
+    registry.meter(name(PREFIX, "planning", reused ? "reused" : "planned")).mark();
+    registry.timer(name(PREFIX, "planning", reused ? "reuse-time" : "plan-time")).update(nanos, NANOSECONDS);
+  }
+
+  /**
+   * Records the time taken by the flow connector to plan the flows of a primary validation.
+   */
+  public static void recordPlanConnect(long nanos) {
+    getRegistry().timer(name(PREFIX, "planning", "connect-time")).update(nanos, NANOSECONDS);
+  }
+
+  /**
+   * Records the wall time of a {@link Validator} along with the JVM state at the phase boundary.
+   *
+   * @param before the JVM state when the validator started
+   */
+  public static void recordValidator(@NonNull String validatorName, long nanos, @NonNull JvmSnapshot before) {
+    val registry = getRegistry();
+    val after = JvmSnapshot.take();
+    val validator = sanitize(validatorName);
+    val gcCount = after.getGcCount() - before.getGcCount();
+    val gcTime = after.getGcTime() - before.getGcTime();
+
+    registry.timer(name(PREFIX, "validator", validator, "time")).update(nanos, NANOSECONDS);
+    registry.histogram(name(PREFIX, "validator", validator, "gc-count")).update(gcCount);
+    registry.histogram(name(PREFIX, "validator", validator, "gc-time")).update(gcTime);
+    registry.histogram(name(PREFIX, "validator", validator, "heap-used")).update(after.getHeapUsed());
+
+    log.info("'{}' JVM state: {} GC(s) taking {} ms, heap used {} (was {})", new Object[] {
+        validatorName, gcCount, gcTime, formatBytes(after.getHeapUsed()), formatBytes(before.getHeapUsed()) });
+  }
+
+  /**
+   * Records the time spent processing a file in a given phase along with its throughput.
+   *
+   * @param fileType the type of the file, if known
+   */
+  public static void recordFile(@NonNull String phase, String fileType, long nanos, long rows, long bytes) {
+    val registry = getRegistry();
+    val prefix = name(PREFIX, sanitize(phase));
+    val type = fileType == null ? UNKNOWN_FILE_TYPE : sanitize(fileType);
+    registry.timer(name(prefix, type, "time")).update(nanos, NANOSECONDS);
+    if (nanos <= 0) {
+      return;
+    }
+
+    val seconds = (double) nanos / SECONDS.toNanos(1);
+    val rowsPerSecond = (long) (rows / seconds);
+    val bytesPerSecond = (long) (bytes / seconds);
+
+    registry.meter(name(prefix, "rows")).mark(rows);
+    registry.meter(name(prefix, "bytes")).mark(bytes);
+    registry.histogram(name(prefix, type, "rows-per-second")).update(rowsPerSecond);
+    registry.histogram(name(prefix, type, "bytes-per-second")).update(bytesPerSecond);
+
+    log.info("'{}' throughput for '{}': {} rows/s, {}/s", new Object[] {
+        phase, fileType, rowsPerSecond, formatBytes(bytesPerSecond) });
+  }
+
+  /**
+   * Records the durations of the steps of a completed flow.
+   */
+  public static void recordFlow(@NonNull String phase, @NonNull Flow<?> flow) {
+    val registry = getRegistry();
+    val flowStats = flow.getFlowStats();
+    registry.timer(name(PREFIX, sanitize(phase), "flow", "time")).update(flowStats.getDuration(), MILLISECONDS);
+
+    for (val stepStats : flowStats.getFlowStepStats()) {
+      val duration = stepStats.getDuration();
+      registry.timer(name(PREFIX, sanitize(phase), "flow-step", "time")).update(duration, MILLISECONDS);
+
+      log.info("'{}' flow '{}' step '{}' took {} ms", new Object[] {
+          phase, flow.getName(), stepStats.getName(), duration });
+    }
+  }
+
+  /**
+   * Records the fetch of reference data from its source.
+   */
+  public static void recordReferenceFetch(@NonNull String referenceName, long nanos, long bytes) {
+    val registry = getRegistry();
+    val prefix = name(PREFIX, "reference", sanitize(referenceName));
+    registry.timer(name(prefix, "fetch-time")).update(nanos, NANOSECONDS);
+    registry.histogram(name(prefix, "bytes")).update(bytes);
+  }
+
+  /**
+   * Records a failed refresh of reference data, in which case the previous data is kept.
+   */
+  public static void recordReferenceFailure(@NonNull String referenceName) {
+    getRegistry().meter(name(PREFIX, "reference", sanitize(referenceName), "failures")).mark();
+  }
+
+  /**
+   * Registers the age of reference data, in milliseconds since it was fetched, replacing that of data of the same name.
+   */
+  public static void registerReferenceAge(@NonNull String referenceName, @NonNull Gauge<Long> age) {
+    val registry = getRegistry();
+    val metricName = name(PREFIX, "reference", sanitize(referenceName), "age");
+    registry.remove(metricName);
+    registry.register(metricName, age);
+  }
+
+  private static String sanitize(String name) {
+    return name.trim().toLowerCase().replaceAll("[^a-z0-9_]+", "-");
+  }
+
+  /**
+   * Garbage collection and heap state of the JVM at a point in time.
+   */
+  @Value
+  public static class JvmSnapshot {
+
+    long gcCount;
+    long gcTime;
+    long heapUsed;
+
+    public static JvmSnapshot take() {
+      long gcCount = 0;
+      long gcTime = 0;
+      for (val collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+        // -1 if undefined
+        gcCount += Math.max(0, collector.getCollectionCount());
+        gcTime += Math.max(0, collector.getCollectionTime());
+      }
+
+      val heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+      return new JvmSnapshot(gcCount, gcTime, heapUsed);
+    }
+
+  }
+
+}
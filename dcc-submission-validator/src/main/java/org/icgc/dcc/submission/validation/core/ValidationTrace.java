@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Timeline of a validation run made of the spans of its phases (e.g. validators, files, flows), exportable as Chrome
+ * Trace Event JSON to be viewed in {@code chrome://tracing}.
+ * <p>
+ * Spans are complete events ({@code "ph": "X"}) whose timestamps are in microseconds since the start of the run. Spans
+ * recorded live are placed on the lane of the thread that recorded them, whereas spans recorded after the fact (e.g.
+ * flows) are placed on lanes of their own. Spans of a lane nest by time.
+ *
+ * @see <a href="https://docs.google.com/document/d/1CvAClvFfyA5R-PhYUmn5OOQtYMH4h6I0nSsKchNAySU">Trace Event Format</a>
+ */
+public class ValidationTrace {
+
+  /**
+   * The key of the project validated.
+   */
+  @Getter
+  private final String projectKey;
+
+  /**
+   * When the run started, in milliseconds since the epoch.
+   */
+  @Getter
+  private final long startTime;
+  private final long startNanos;
+
+  /**
+   * State.
+   */
+  private final List<TraceEvent> events = newArrayList();
+  private final Map<String, Long> lanes = newLinkedHashMap();
+
+  public ValidationTrace(@NonNull String projectKey) {
+    this(projectKey, currentTimeMillis());
+  }
+
+  /**
+   * @param startTime when the timeline starts in milliseconds since the epoch, possibly before now
+   */
+  public ValidationTrace(@NonNull String projectKey, long startTime) {
+    this.projectKey = projectKey;
+    this.startTime = startTime;
+    this.startNanos = nanoTime() - MILLISECONDS.toNanos(currentTimeMillis() - startTime);
+  }
+
+  /**
+   * Starts a span on the lane of the current thread, ended when closed.
+   */
+  public Span span(@NonNull String name, @NonNull String category) {
+    return new Span(this, name, category, nanoTime());
+  }
+
+  /**
+   * Records a completed span on the lane of the current thread given its bounds as {@link System#nanoTime()}s.
+   */
+  public void recordNanos(@NonNull String name, @NonNull String category, long spanStartNanos, long spanEndNanos) {
+    record(name, category, Thread.currentThread().getName(),
+        NANOSECONDS.toMicros(spanStartNanos - startNanos), NANOSECONDS.toMicros(spanEndNanos - spanStartNanos),
+        ImmutableMap.<String, Object> of());
+  }
+
+  /**
+   * Records a completed span on {@code lane} given its bounds in milliseconds since the epoch.
+   */
+  public void recordMillis(@NonNull String name, @NonNull String category, @NonNull String lane, long spanStartTime,
+      long spanEndTime) {
+    record(name, category, lane,
+        MILLISECONDS.toMicros(spanStartTime - startTime), MILLISECONDS.toMicros(spanEndTime - spanStartTime),
+        ImmutableMap.<String, Object> of());
+  }
+
+  public synchronized List<TraceEvent> getEvents() {
+    return ImmutableList.copyOf(events);
+  }
+
+  /**
+   * Returns the events of the trace as process {@code pid}, preceded by the metadata naming the process and its lanes.
+   */
+  public synchronized List<TraceEvent> toChromeEvents(int pid) {
+    val chromeEvents = ImmutableList.<TraceEvent> builder();
+    chromeEvents.add(metadata("process_name", pid, 0, projectKey + " @ " + new Date(startTime)));
+    chromeEvents.add(metadata("process_sort_index", pid, 0, "sort_index", pid));
+    for (val lane : lanes.entrySet()) {
+      chromeEvents.add(metadata("thread_name", pid, lane.getValue(), lane.getKey()));
+    }
+
+    for (val event : events) {
+      chromeEvents.add(new TraceEvent(
+          event.getName(), event.getCat(), event.getPh(), event.getTs(), event.getDur(), pid, event.getTid(),
+          event.getArgs()));
+    }
+
+    return chromeEvents.build();
+  }
+
+  /**
+   * Returns the Chrome Trace Event JSON object of the given runs, each as its own process.
+   */
+  public static Map<String, Object> toChromeTrace(@NonNull List<ValidationTrace> traces) {
+    val events = ImmutableList.<TraceEvent> builder();
+    for (int i = 0; i < traces.size(); i++) {
+      events.addAll(traces.get(i).toChromeEvents(i + 1));
+    }
+
+    return ImmutableMap.<String, Object> of(
+        "traceEvents", events.build(),
+        "displayTimeUnit", "ms");
+  }
+
+  private synchronized void record(String name, String category, String lane, long ts, long dur,
+      Map<String, Object> args) {
+    events.add(new TraceEvent(name, category, "X", ts, dur, 0, getLane(lane), args));
+  }
+
+  private long getLane(String lane) {
+    Long id = lanes.get(lane);
+    if (id == null) {
+      id = (long) lanes.size() + 1;
+      lanes.put(lane, id);
+    }
+
+    return id;
+  }
+
+  private static TraceEvent metadata(String name, int pid, long tid, Object value) {
+    return metadata(name, pid, tid, "name", value);
+  }
+
+  private static TraceEvent metadata(String name, int pid, long tid, String key, Object value) {
+    return new TraceEvent(name, null, "M", null, null, pid, tid, ImmutableMap.<String, Object> of(key, value));
+  }
+
+  /**
+   * A span being recorded, to be closed when the work it covers ends.
+   */
+  @RequiredArgsConstructor
+  public static class Span implements AutoCloseable {
+
+    /**
+     * Span of no trace.
+     */
+    static final Span NONE = new Span(null, "", "", 0);
+
+    private final ValidationTrace trace;
+    private final String name;
+    private final String category;
+    private final long startNanos;
+
+    private final Map<String, Object> args = newLinkedHashMap();
+
+    /**
+     * Annotates the span with {@code value}, shown when the span is selected.
+     */
+    public Span arg(@NonNull String key, Object value) {
+      if (trace != null) {
+        args.put(key, String.valueOf(value));
+      }
+
+      return this;
+    }
+
+    @Override
+    public void close() {
+      if (trace == null) {
+        return;
+      }
+
+      val ts = NANOSECONDS.toMicros(startNanos - trace.startNanos);
+      val dur = NANOSECONDS.toMicros(nanoTime() - startNanos);
+      trace.record(name, category, Thread.currentThread().getName(), ts, dur, ImmutableMap.copyOf(args));
+    }
+
+  }
+
+  /**
+   * An event of the Chrome Trace Event format.
+   */
+  @Value
+  @JsonInclude(NON_NULL)
+  public static class TraceEvent {
+
+    String name;
+    String cat;
+    String ph;
+    Long ts;
+    Long dur;
+    int pid;
+    long tid;
+    Map<String, Object> args;
+
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import cascading.flow.Flow;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Process wide registry of the {@link ValidationTrace}s of the last {@link #MAX_TRACES_PER_PROJECT} runs of every
+ * project, including running ones.
+ * <p>
+ * The trace of a run is bound to the thread executing it, so that the phases of the validation can record spans
+ * without being handed the trace. Spans recorded outside of a run are ignored.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ValidationTraces {
+
+  /**
+   * Number of runs kept per project.
+   */
+  public static final int MAX_TRACES_PER_PROJECT = 5;
+
+  private static final ThreadLocal<ValidationTrace> CURRENT = new ThreadLocal<ValidationTrace>();
+  private static final ConcurrentMap<String, Deque<ValidationTrace>> TRACES = newConcurrentMap();
+
+  /**
+   * Starts the trace of a run of {@code projectKey} on the current thread.
+   */
+  public static ValidationTrace begin(@NonNull String projectKey) {
+    return begin(projectKey, currentTimeMillis());
+  }
+
+  /**
+   * Starts the trace of a run of {@code projectKey} on the current thread, with its timeline starting at
+   * {@code startTime} (e.g. when the run was requested) in milliseconds since the epoch.
+   */
+  public static ValidationTrace begin(@NonNull String projectKey, long startTime) {
+    val trace = new ValidationTrace(projectKey, startTime);
+    CURRENT.set(trace);
+
+    Deque<ValidationTrace> traces = TRACES.get(projectKey);
+    if (traces == null) {
+      val newTraces = new ArrayDeque<ValidationTrace>();
+      traces = TRACES.putIfAbsent(projectKey, newTraces);
+      if (traces == null) {
+        traces = newTraces;
+      }
+    }
+
+    synchronized (traces) {
+      traces.addFirst(trace);
+      while (traces.size() > MAX_TRACES_PER_PROJECT) {
+        traces.removeLast();
+      }
+    }
+
+    return trace;
+  }
+
+  /**
+   * Ends the trace of the run of the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public static Optional<ValidationTrace> current() {
+    return Optional.fromNullable(CURRENT.get());
+  }
+
+  /**
+   * Starts a span in the trace of the current thread, if any.
+   */
+  public static Span span(@NonNull String name, @NonNull String category) {
+    val trace = CURRENT.get();
+    return trace == null ? Span.NONE : trace.span(name, category);
+  }
+
+  /**
+   * Records the processing of a file which just ended and took {@code nanos}.
+   */
+  public static void recordFile(@NonNull String phase, @NonNull String fileName, long nanos) {
+    val trace = CURRENT.get();
+    if (trace != null) {
+      val end = nanoTime();
+      trace.recordNanos(fileName, phase, end - nanos, end);
+    }
+  }
+
+  /**
+   * Records a completed flow and its steps, each flow on a lane of its own since flows run concurrently.
+   */
+  public static void recordFlow(@NonNull String phase, @NonNull Flow<?> flow) {
+    val trace = CURRENT.get();
+    if (trace == null) {
+      return;
+    }
+
+    val flowStats = flow.getFlowStats();
+    if (flowStats.getFinishedTime() == 0) {
+      return;
+    }
+
+    val lane = "flow " + flow.getName();
+    trace.recordMillis(flow.getName(), phase, lane, flowStats.getStartTime(), flowStats.getFinishedTime());
+    for (val stepStats : flowStats.getFlowStepStats()) {
+      if (stepStats.getFinishedTime() != 0) {
+        trace.recordMillis(stepStats.getName(), phase + " step", lane,
+            stepStats.getStartTime(), stepStats.getFinishedTime());
+      }
+    }
+  }
+
+  /**
+   * Returns the traces of the last runs of {@code projectKey}, most recent first.
+   */
+  public static List<ValidationTrace> getTraces(@NonNull String projectKey) {
+    val traces = TRACES.get(projectKey);
+    if (traces == null) {
+      return ImmutableList.of();
+    }
+
+    synchronized (traces) {
+      return ImmutableList.copyOf(traces);
+    }
+  }
+
+}
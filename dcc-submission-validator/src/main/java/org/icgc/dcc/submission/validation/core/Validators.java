@@ -22,8 +22,7 @@ import static lombok.AccessLevel.PRIVATE;
 import org.icgc.dcc.submission.validation.ValidationExecutor;
 
 import lombok.NoArgsConstructor;
-import lombok.SneakyThrows;
-import lombok.val;
+import lombok.NonNull;
 
 /**
  * Utility methods for {@link Validator}s.
@@ -34,14 +33,11 @@ public final class Validators {
   /**
    * Checks if the validation has been cancelled.
    * 
-   * @throws InterruptedException when interrupted by the {@link ValidationExecutor}
+   * @throws InterruptedException when cancelled through the {@link ValidationExecutor} or interrupted
+   * @see CancellationToken#check(String)
    */
-  @SneakyThrows
-  public static void checkInterrupted(String name) {
-    val cancelled = Thread.currentThread().isInterrupted();
-    if (cancelled) {
-      throw new InterruptedException("'" + name + "' was interrupted");
-    }
+  public static void checkCancelled(@NonNull ValidationContext context, @NonNull String name) {
+    context.getCancellationToken().check(name);
   }
 
 }
@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.validation.first.core;
 
 import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
@@ -40,6 +41,9 @@ public class AbstractChecker implements Checker {
   @Getter
   @NonNull
   private final FPVFileSystem fileSystem;
+  @Getter
+  @NonNull
+  private final CancellationToken cancellationToken;
 
   /**
    * Metadata.
@@ -60,6 +64,7 @@ public class AbstractChecker implements Checker {
     this.dictionary = validationContext.getDictionary();
     this.reportContext = validationContext;
     this.fileSystem = fileSystem;
+    this.cancellationToken = validationContext.getCancellationToken();
     this.failFast = failFast;
   }
 
@@ -22,7 +22,7 @@ import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Iterables.transform;
 import static org.icgc.dcc.submission.core.report.ErrorLevel.FILE_LEVEL;
 import static org.icgc.dcc.submission.core.report.ErrorLevel.ROW_LEVEL;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 
 import javax.validation.constraints.NotNull;
 
@@ -61,8 +61,12 @@ public class FPVSubmissionProcessor {
 
     // TODO: Add check that at least DONOR exists (+ create new error)
 
+    // List the submission directory once for all the file level checks
+    val snapshot = fs.takeSnapshot(validationContext.getDictionary().getFiles());
+    log.info("Taken snapshot of {} submission files", snapshot.getFileNames().size());
+
     // Resolve the selected files to validate
-    val fileNames = getSelectedFileNames(validationContext, fs);
+    val fileNames = snapshot.getMatchingFileNames(getSelectedFilePatterns(validationContext));
 
     // Validate each file in turn
     for (val fileName : fileNames) {
@@ -70,22 +74,16 @@ public class FPVSubmissionProcessor {
       log.info("Validate '{}' level well-formedness for file: {}", FILE_LEVEL, fileName);
 
       fileChecker.checkFile(fileName);
-      checkInterrupted(stepName);
+      checkCancelled(validationContext, stepName);
 
       if (fileChecker.canContinue()) {
         log.info("Validating '{}' well-formedness for file: '{}'", ROW_LEVEL, fileName);
         rowChecker.checkFile(fileName);
-        checkInterrupted(stepName);
+        checkCancelled(validationContext, stepName);
       }
     }
   }
 
-  private static Iterable<String> getSelectedFileNames(ValidationContext validationContext, FPVFileSystem fs) {
-    val selectedFilePatterns = getSelectedFilePatterns(validationContext);
-
-    return fs.listMatchingSubmissionFiles(selectedFilePatterns);
-  }
-
   private static Iterable<String> getSelectedFilePatterns(ValidationContext context) {
     val fileSchemata = context.getDictionary().getFileSchemata(context.getDataTypes());
 
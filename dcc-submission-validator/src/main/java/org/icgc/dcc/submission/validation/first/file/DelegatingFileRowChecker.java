@@ -17,17 +17,20 @@
  */
 package org.icgc.dcc.submission.validation.first.file;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.LINE_TERMINATOR_MISSING_ERROR;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
 import java.io.BufferedInputStream;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 import org.icgc.dcc.submission.validation.first.core.AbstractDelegatingChecker;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.core.RowChecker;
+import org.icgc.dcc.submission.validation.primary.report.NewlineIndex;
 
 import com.google.common.base.Stopwatch;
 
@@ -57,6 +60,7 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
    * Constants.
    */
   private static final char LINE_SEPARATOR_CHAR = '\n';
+  private static final String METRICS_PHASE = "first-pass";
 
   @NonNull
   protected final RowChecker delegate;
@@ -84,11 +88,15 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
         LINE_BUFFER_SIZE);
     val watch = Stopwatch.createStarted();
     val line = new StringBuilder(512);
+    val newlineIndex = new NewlineIndex();
     long lineNumber = 1;
+    long offset = 0;
 
     int nextByte = 0;
     while ((nextByte = inputStream.read()) > 0) {
       if ((char) nextByte == LINE_SEPARATOR_CHAR) {
+        // Spares the primary validation from re-scanning the file when remapping its byte offsets
+        newlineIndex.newline(offset);
 
         // Delegate
         checkRow(fileName, fileSchema, line, lineNumber);
@@ -96,10 +104,8 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
         // Book-keeping
         ++lineNumber;
 
-        if (lineNumber % 10000 == 0) {
-          // Check for cancellation
-          checkInterrupted(name);
-        }
+        // Check for cancellation
+        getCancellationToken().check(name, lineNumber);
 
         if (lineNumber % LINE_STATUS_THRESHOLD == 0L) {
           // Log status
@@ -113,8 +119,15 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
         // Buffer
         line.appendCodePoint(nextByte);
       }
+
+      ++offset;
     }
 
+    ValidationMetrics.recordFile(METRICS_PHASE, fileSchema.getName(), watch.elapsed(NANOSECONDS), lineNumber - 1,
+        offset);
+    ValidationTraces.recordFile(METRICS_PHASE, fileName, watch.elapsed(NANOSECONDS));
+    getFileSystem().writeNewlineIndex(fileName, newlineIndex);
+
     // Check buffer to be empty, otherwise we have a file with no trailing new line
     if (line.length() > 0) {
       log.info("Missing new line at end of file '{}'", fileName);
@@ -21,11 +21,8 @@ import static com.google.common.collect.ImmutableList.copyOf;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.TOO_MANY_FILES_ERROR;
 
-import java.util.List;
-
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 
-import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,11 +40,12 @@ public class FileCollisionChecker extends DelegatingFileChecker {
   @Override
   public void performSelfCheck(String fileName) {
     val fileSchema = getFileSchema(fileName);
+    val snapshot = getFileSystem().getSnapshot();
 
     val pattern = fileSchema.getPattern();
-    val fileNames = getFileSystem().getMatchingFileNames(pattern);
+    val fileNames = snapshot.getFileNames(fileSchema.getName());
     log.info("Files: '{}'", fileNames);
-    if (hasCollisions(fileNames)) {
+    if (snapshot.hasCollisions(fileSchema.getName())) {
       log.info("More than 1 file matching the file pattern: {}", pattern);
 
       reportError(error()
@@ -58,30 +56,4 @@ public class FileCollisionChecker extends DelegatingFileChecker {
     }
   }
 
-  /**
-   * Determines if a list of file names has collisions based on prefixes which would indicate either a poor choice in
-   * naming or accidental re-submission.
-   * <p>
-   * e.g. {@code hasCollisions(of("donor.1.txt", "donor.1.txt.gz")) == true}
-   * 
-   * @param fileNames the file names to check
-   * @return {@code true} if collisions exist, {@code false} otherwise
-   */
-  private boolean hasCollisions(@NonNull List<String> fileNames) {
-    val size = fileNames.size();
-    for (int i = 0; i < size; i++) {
-      val a = fileNames.get(i);
-      for (int j = i + 1; j < size; j++) {
-        val b = fileNames.get(j);
-
-        val prefix = a.startsWith(b) || b.startsWith(a);
-        if (prefix) {
-          return true;
-        }
-      }
-    }
-
-    return false;
-  }
-
 }
@@ -76,9 +76,7 @@ public class FileReferenceChecker extends DelegatingFileChecker {
       checkState(optionalReferencedFileSchema.isPresent(), "Invalid file schema: '%s'", relation.getOther());
       val referencedFileSchema = optionalReferencedFileSchema.get();
       if (referencedFileSchema.getRole() == FileSchemaRole.SUBMISSION) {
-        val pattern = referencedFileSchema.getPattern();
-        val fileNames = getFileSystem().getMatchingFileNames(pattern);
-        if (fileNames.isEmpty()) {
+        if (!getFileSystem().getSnapshot().hasFiles(referencedFileSchema.getName())) {
           log.info("Fail referenced check for '{}': missing referencing file with schema '{}'",
               fileName, referencedFileSchema.getName());
 
@@ -114,8 +112,7 @@ public class FileReferenceChecker extends DelegatingFileChecker {
 
     for (val referencingFileSchema : referencingFileSchemata) {
       checkState(referencingFileSchema.getRole() == FileSchemaRole.SUBMISSION);
-      val referencingFileNames = getFileSystem().getMatchingFileNames(referencingFileSchema.getPattern());
-      if (referencingFileNames.isEmpty()) {
+      if (!getFileSystem().getSnapshot().hasFiles(referencingFileSchema.getName())) {
         log.info("Fail referencing check for '{}': missing referencing file with schema '{}'",
             fileName, referencingFileSchema.getName());
 
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import static java.util.regex.Pattern.compile;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * Immutable view of the submission directory taken once at the start of the FPV, so that file level checks do not
+ * list the directory again for every file and relation.
+ * <p>
+ * File names are matched against the pattern of every file schema when the snapshot is taken, after which the files of
+ * a schema, its presence and whether its files collide are answered from memory.
+ */
+@ToString
+@RequiredArgsConstructor(staticName = "of")
+public class FPVDirectorySnapshot {
+
+  /**
+   * All the files of the submission directory.
+   */
+  @NonNull
+  private final List<String> fileNames;
+
+  /**
+   * File schema name to the names of the files matching its pattern, in lexicographic order.
+   */
+  @NonNull
+  private final ImmutableListMultimap<String, String> schemaFileNames;
+
+  /**
+   * Names of the file schemata with more than one file where one name is a prefix of another.
+   */
+  @NonNull
+  private final Set<String> collidingSchemaNames;
+
+  public static FPVDirectorySnapshot of(@NonNull Iterable<String> fileNames,
+      @NonNull Iterable<FileSchema> fileSchemata) {
+    val sortedFileNames = Ordering.<String> natural().immutableSortedCopy(fileNames);
+
+    val schemaFileNames = ImmutableListMultimap.<String, String> builder();
+    val collidingSchemaNames = ImmutableSet.<String> builder();
+    for (val fileSchema : fileSchemata) {
+      val pattern = compile(fileSchema.getPattern());
+      val matching = ImmutableList.<String> builder();
+      for (val fileName : sortedFileNames) {
+        if (pattern.matcher(fileName).matches()) {
+          matching.add(fileName);
+        }
+      }
+
+      val matchingFileNames = matching.build();
+      schemaFileNames.putAll(fileSchema.getName(), matchingFileNames);
+      if (hasCollisions(matchingFileNames)) {
+        collidingSchemaNames.add(fileSchema.getName());
+      }
+    }
+
+    return of(sortedFileNames, schemaFileNames.build(), collidingSchemaNames.build());
+  }
+
+  public List<String> getFileNames() {
+    return fileNames;
+  }
+
+  /**
+   * Returns the names of the files matching the pattern of the file schema named {@code schemaName}.
+   */
+  public List<String> getFileNames(@NonNull String schemaName) {
+    return schemaFileNames.get(schemaName);
+  }
+
+  /**
+   * Returns the names of the files matching any of {@code filePatterns}, in lexicographic order.
+   */
+  public List<String> getMatchingFileNames(@NonNull Iterable<String> filePatterns) {
+    val patterns = Lists.<Pattern> newArrayList();
+    for (val filePattern : filePatterns) {
+      patterns.add(compile(filePattern));
+    }
+
+    val matching = ImmutableList.<String> builder();
+    for (val fileName : fileNames) {
+      for (val pattern : patterns) {
+        if (pattern.matcher(fileName).matches()) {
+          matching.add(fileName);
+          break;
+        }
+      }
+    }
+
+    return matching.build();
+  }
+
+  public boolean hasFiles(@NonNull String schemaName) {
+    return schemaFileNames.containsKey(schemaName);
+  }
+
+  public boolean hasCollisions(@NonNull String schemaName) {
+    return collidingSchemaNames.contains(schemaName);
+  }
+
+  /**
+   * Determines if a list of file names has collisions based on prefixes which would indicate either a poor choice in
+   * naming or accidental re-submission.
+   * <p>
+   * e.g. {@code hasCollisions(of("donor.1.txt", "donor.1.txt.gz")) == true}
+   * <p>
+   * In lexicographic order, a name that is a prefix of others is immediately followed by one of them, so comparing
+   * neighbours is enough.
+   *
+   * @param sortedFileNames the file names to check, in lexicographic order
+   * @return {@code true} if collisions exist, {@code false} otherwise
+   */
+  static boolean hasCollisions(@NonNull List<String> sortedFileNames) {
+    for (int i = 1; i < sortedFileNames.size(); i++) {
+      if (sortedFileNames.get(i).startsWith(sortedFileNames.get(i - 1))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+}
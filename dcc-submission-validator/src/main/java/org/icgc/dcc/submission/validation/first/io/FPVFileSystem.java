@@ -17,12 +17,13 @@
  */
 package org.icgc.dcc.submission.validation.first.io;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.copyOf;
-import static java.util.regex.Pattern.compile;
 import static org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy.FIELD_SPLITTER;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,9 +37,12 @@ import org.apache.tika.Tika;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.validation.primary.report.NewlineIndex;
 
 import lombok.Cleanup;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
@@ -59,16 +63,26 @@ public class FPVFileSystem {
 
   private final SubmissionDirectory submissionDirectory;
 
-  public InputStream getDecompressingInputStream(String fileName) {
-    return submissionDirectory.getDecompressingInputStream(fileName);
+  /**
+   * Taken at the start of the FPV.
+   */
+  private FPVDirectorySnapshot snapshot;
+
+  /**
+   * Lists the submission directory once, to be used by the file level checks through {@link #getSnapshot()}.
+   */
+  public FPVDirectorySnapshot takeSnapshot(@NonNull Iterable<FileSchema> fileSchemata) {
+    this.snapshot = FPVDirectorySnapshot.of(submissionDirectory.listFile(), fileSchemata);
+    return snapshot;
   }
 
-  public Iterable<String> listMatchingSubmissionFiles(Iterable<String> filePatterns) {
-    return submissionDirectory.listFiles(filePatterns);
+  public FPVDirectorySnapshot getSnapshot() {
+    checkState(snapshot != null, "No snapshot of '%s' was taken", submissionDirectory.getSubmissionDirPath());
+    return snapshot;
   }
 
-  public List<String> getMatchingFileNames(String pattern) {
-    return copyOf(submissionDirectory.listFile(compile(pattern)));
+  public InputStream getDecompressingInputStream(String fileName) {
+    return submissionDirectory.getDecompressingInputStream(fileName);
   }
 
   public CodecType determineCodecFromFilename(String fileName) {
@@ -128,6 +142,16 @@ public class FPVFileSystem {
     }
   }
 
+  /**
+   * Persists the {@link NewlineIndex} of a submission file in the validation directory.
+   */
+  @SneakyThrows
+  public void writeNewlineIndex(String fileName, NewlineIndex newlineIndex) {
+    @Cleanup
+    DataOutputStream out = submissionDirectory.createValidationFile(NewlineIndex.getIndexFileName(fileName));
+    newlineIndex.write(out);
+  }
+
   /**
    * Files are expected to be present and uncorrupted at this stage.
    */
@@ -23,7 +23,7 @@ import static org.apache.hadoop.fs.CommonConfigurationKeysPublic.FS_DEFAULT_NAME
 import static org.apache.hadoop.mapred.JobConf.MAPRED_MAP_TASK_JAVA_OPTS;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.checkExistence;
 import static org.icgc.dcc.common.hadoop.util.HadoopConstants.MR_JOBTRACKER_ADDRESS_KEY;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 import static org.icgc.dcc.submission.validation.key.report.KVReporter.REPORT_FILE_NAME;
 
 import java.io.IOException;
@@ -37,20 +37,24 @@ import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.icgc.dcc.common.cascading.FlowExecutor;
 import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.key.core.KVValidatorRunner;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Cleanup;
-import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-@NoArgsConstructor
 @Slf4j
+@RequiredArgsConstructor
 public class KeyValidator implements Validator {
 
   /**
@@ -63,6 +67,16 @@ public class KeyValidator implements Validator {
    */
   private static final String DEFAULT_MAX_HEAP_SIZE = "24g";
 
+  /**
+   * How surjection is checked, chosen per key validation run.
+   */
+  @NonNull
+  private final SurjectionConfig surjectionConfig;
+
+  public KeyValidator() {
+    this(SurjectionConfig.DEFAULT);
+  }
+
   @Override
   public String getName() {
     return COMPONENT_NAME;
@@ -71,20 +85,27 @@ public class KeyValidator implements Validator {
   @Override
   public void validate(ValidationContext context) throws InterruptedException {
     val reportPath = getReportPath(context);
-    val runner = createRunner(context, reportPath);
+    val runner = createRunner(context, reportPath, surjectionConfig);
+
+    checkCancelled(context, getName());
 
     log.info("Starting key validation...");
-    execute(context, runner);
+    try (Span span = ValidationTraces.span("execute", getName())) {
+      execute(context, runner);
+    }
     log.info("Finished key validation");
 
-    checkInterrupted(getName());
+    checkCancelled(context, getName());
 
     log.info("Starting key validation report collection...");
-    collect(context, reportPath);
+    try (Span span = ValidationTraces.span("report", getName())) {
+      collect(context, reportPath);
+    }
     log.info("Finished key validation report collection");
   }
 
-  private static KVValidatorRunner createRunner(ValidationContext context, Path reportPath) {
+  private static KVValidatorRunner createRunner(ValidationContext context, Path reportPath,
+      SurjectionConfig surjectionConfig) {
     val submissionDirectory = context.getSubmissionDirectory();
     return new KVValidatorRunner(
         context.getFileSystem().getUri(),
@@ -92,7 +113,8 @@ public class KeyValidator implements Validator {
         context.getDictionary(),
         submissionDirectory.getSubmissionDirPath(),
         submissionDirectory.getSystemDirPath(),
-        reportPath.toUri().toString());
+        reportPath.toUri().toString(),
+        surjectionConfig);
   }
 
   private static Path getReportPath(ValidationContext context) {
@@ -23,6 +23,8 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.icgc.dcc.submission.validation.core.BasicValidationContext;
 import org.icgc.dcc.submission.validation.key.KeyValidator;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionEngine;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
 import lombok.val;
@@ -51,14 +53,18 @@ public class Main {
     val fsRoot = args.length >= ++i ? args[i - 1] : "/tmp/submission";
     val fsUrl = args.length >= ++i ? args[i - 1] : "file:///";
     val jobTracker = args.length >= ++i ? args[i - 1] : "localhost";
+    val surjectionEngine = args.length >= ++i ? SurjectionEngine.from(args[i - 1]) : SurjectionEngine.HASH_PROBE;
     val context = new BasicValidationContext(releaseName, projectKey, fsRoot, fsUrl, jobTracker);
+    val surjectionConfig =
+        new SurjectionConfig(surjectionEngine, SurjectionConfig.DEFAULT_MAX_BUFFERED_KEYS, null);
 
     // Validate
-    validate(context);
+    validate(context, surjectionConfig);
   }
 
-  private static void validate(BasicValidationContext context) throws InterruptedException {
-    val validator = new KeyValidator();
+  private static void validate(BasicValidationContext context, SurjectionConfig surjectionConfig)
+      throws InterruptedException {
+    val validator = new KeyValidator(surjectionConfig);
 
     validator.validate(context);
   }
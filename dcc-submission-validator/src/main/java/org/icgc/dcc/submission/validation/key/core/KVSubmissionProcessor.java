@@ -59,9 +59,10 @@ public class KVSubmissionProcessor {
   private final KVFileSystem kvFileSystem;
   @NonNull
   private final KVReporter reporter;
+  @NonNull
+  private final SurjectivityValidator surjectivityValidator;
 
   private final Map<KVFileType, KVPrimaryKeys> fileTypeToPrimaryKeys = newHashMap();
-  private final SurjectivityValidator surjectivityValidator = new SurjectivityValidator();
 
   public void processSubmission() {
     log.info("Loading data");
@@ -120,7 +121,11 @@ public class KVSubmissionProcessor {
     fileTypeToPrimaryKeys.put(fileType, primaryKeys);
 
     encounteredForeignKeys.entrySet()
-        .forEach(entry -> checkSurjection(fileType, entry.getKey(), entry.getValue()));
+        .forEach(entry -> {
+          try (KVEncounteredForeignKeys encounteredKeys = entry.getValue()) {
+            checkSurjection(fileType, entry.getKey(), encounteredKeys);
+          }
+        });
   }
 
   private void checkSurjection(
@@ -142,7 +147,7 @@ public class KVSubmissionProcessor {
 
   private Map<KVFileType, KVEncounteredForeignKeys> createEncounteredForeignKeys(KVFileType fileType) {
     return dictionary.getSurjectiveReferencedTypes(fileType).stream()
-        .collect(Collectors.toImmutableMap(rft -> rft, rft -> new KVEncounteredForeignKeys()));
+        .collect(Collectors.toImmutableMap(rft -> rft, rft -> surjectivityValidator.createEncounteredForeignKeys()));
   }
 
   private Map<KVFileType, KVReferencedPrimaryKeys> getReferencedPrimaryKeys(KVFileType fileType) {
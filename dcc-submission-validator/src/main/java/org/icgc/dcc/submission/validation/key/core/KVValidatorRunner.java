@@ -38,6 +38,8 @@ import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.hadoop.parser.FileLineListParser;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityValidator;
 
 import cascading.flow.hadoop.HadoopFlowStep;
 
@@ -67,6 +69,8 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
   private final String systemPath;
   @NonNull
   private final String reportPath;
+  @NonNull
+  private final SurjectionConfig surjectionConfig;
 
   @Override
   @SneakyThrows
@@ -80,7 +84,8 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
   }
 
   private void validate(Configuration configuration) throws IOException {
-    log.info("Starting key validation with memory: {}...", formatMemory());
+    log.info("Starting key validation with memory: {} and surjection config: {}...", formatMemory(),
+        surjectionConfig);
 
     val fileSystem = getFileSystem(configuration);
     val kvDictionary = new KVCachingDictionary(new KVDynamicDictionary(dictionary)); // TODO: inject
@@ -91,7 +96,8 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
           kvDictionary,
           new KVFileParser(fileSystem, new FileLineListParser(), false),
           new KVFileSystem(fileSystem, dataTypes, dictionary.getPatterns(),
-              new Path(submissionPath), new Path(systemPath)), report);
+              new Path(submissionPath), new Path(systemPath)), report,
+          new SurjectivityValidator(surjectionConfig));
 
       log.info("Processing submission...");
       validator.processSubmission();
@@ -18,43 +18,89 @@
 package org.icgc.dcc.submission.validation.key.data;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.io.Closeable;
 import java.util.Set;
 
-import lombok.RequiredArgsConstructor;
+import lombok.NonNull;
 
 /**
+ * Foreign keys encountered for a referenced file type, either held in a hash set to be probed or in
+ * {@link KVSortedKeyRuns} to be read back in order.
+ * <p>
  * TODO: inclusive delegate possible with lombok?
  */
-@RequiredArgsConstructor
-public final class KVEncounteredForeignKeys {
+public final class KVEncounteredForeignKeys implements Closeable {
 
-  private final Set<KVKey> encounteredFks = newHashSet(); // TODO: change to array (optimization)?
+  private final Set<KVKey> encounteredFks; // TODO: change to array (optimization)?
+  private final KVSortedKeyRuns sortedFks;
+
+  public KVEncounteredForeignKeys() {
+    this.encounteredFks = newHashSet();
+    this.sortedFks = null;
+  }
+
+  public KVEncounteredForeignKeys(@NonNull KVSortedKeyRuns sortedFks) {
+    this.encounteredFks = null;
+    this.sortedFks = sortedFks;
+  }
 
   public void addEncounteredForeignKey(KVKey fk) {
-    encounteredFks.add(checkNotNull(fk));
+    if (isSorted()) {
+      sortedFks.add(checkNotNull(fk));
+    } else {
+      encounteredFks.add(checkNotNull(fk));
+    }
   }
 
   public void addEncounteredForeignKeys(KVEncounteredForeignKeys surjectionEncountered) {
+    checkState(!isSorted() && !surjectionEncountered.isSorted(), "Only supported for hashed foreign keys");
     encounteredFks.addAll(surjectionEncountered.encounteredFks);
   }
 
   public boolean noneEncountered() {
-    return encounteredFks.isEmpty();
+    return isSorted() ? sortedFks.isEmpty() : encounteredFks.isEmpty();
   }
 
   public boolean encountered(KVKey encounteredKeys) {
+    checkState(!isSorted(), "Sorted foreign keys can only be read in order");
     return encounteredFks.contains(encounteredKeys);
   }
 
+  public boolean isSorted() {
+    return sortedFks != null;
+  }
+
+  /**
+   * Returns the distinct encountered foreign keys in ascending order. The returned reader must be closed.
+   */
+  public KVSortedKeyRuns.Reader readSorted() {
+    checkState(isSorted(), "Hashed foreign keys can only be probed");
+    return sortedFks.read();
+  }
+
+  /**
+   * The number of distinct keys if hashed, of keys added (duplicates included) if sorted.
+   */
   public long getSize() {
-    return encounteredFks.size();
+    return isSorted() ? sortedFks.getSize() : encounteredFks.size();
+  }
+
+  /**
+   * Releases the runs spilled to disk, if any.
+   */
+  @Override
+  public void close() {
+    if (isSorted()) {
+      sortedFks.close();
+    }
   }
 
   @Override
   public String toString() {
-    return String.format("KVEncounteredForeignKeys(encounteredFks=%s)", encounteredFks.size());
+    return String.format("KVEncounteredForeignKeys(encounteredFks=%s, sorted=%s)", getSize(), isSorted());
   }
 
 }
@@ -110,8 +110,12 @@ public class KVKey implements Comparable<KVKey> {
         return compared2;
       }
     } else {
-      // TODO: general case!!!!
-      checkState(false, "Not implemented yet");
+      for (int i = 0; i < size; i++) {
+        val compared = this.values[i].compareTo(keys.values[i]);
+        if (compared != 0) {
+          return compared;
+        }
+      }
     }
 
     return 0;
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Iterators.peekingIterator;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.io.Closer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collection of {@link KVKey}s in bounded memory that can be read back in ascending order and without duplicates.
+ * <p>
+ * Keys are buffered until {@code maxBufferedKeys} is reached, at which point the buffer is sorted, deduplicated and
+ * spilled to a run file of the spill directory. Reading merges the runs with what is left in the buffer. Run files are
+ * deleted on {@link #close()}.
+ */
+@Slf4j
+public final class KVSortedKeyRuns implements Closeable {
+
+  /**
+   * Number of runs above which they are merged into a single one, bounding the number of files open while reading.
+   */
+  private static final int MAX_RUNS = 64;
+
+  /**
+   * Marks the end of a run file, as keys have at least one value.
+   */
+  private static final short END_OF_RUN = 0;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int maxBufferedKeys;
+  private final File spillDir;
+
+  private final List<KVKey> buffer = Lists.newArrayList();
+  private final List<File> runs = Lists.newArrayList();
+
+  /**
+   * Number of keys added, duplicates included.
+   */
+  @Getter
+  private long size;
+
+  public KVSortedKeyRuns(int maxBufferedKeys, @NonNull File spillDir) {
+    checkArgument(maxBufferedKeys > 0, "Expecting a positive number of buffered keys, instead got: %s",
+        maxBufferedKeys);
+    this.maxBufferedKeys = maxBufferedKeys;
+    this.spillDir = spillDir;
+  }
+
+  public void add(@NonNull KVKey key) {
+    buffer.add(key);
+    size++;
+
+    if (buffer.size() >= maxBufferedKeys) {
+      spill();
+    }
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int getRunCount() {
+    return runs.size();
+  }
+
+  /**
+   * Returns the distinct keys added so far in ascending order. The returned reader must be closed.
+   */
+  public Reader read() {
+    Collections.sort(buffer);
+
+    val closer = Closer.create();
+    val sources = Lists.<PeekingIterator<KVKey>> newArrayListWithCapacity(runs.size() + 1);
+    for (val run : runs) {
+      sources.add(peekingIterator(closer.register(new RunIterator(run))));
+    }
+    sources.add(peekingIterator(buffer.iterator()));
+
+    return new Reader(sources, closer);
+  }
+
+  @Override
+  public void close() {
+    for (val run : runs) {
+      if (!run.delete()) {
+        log.warn("Could not delete key run '{}'", run);
+      }
+    }
+
+    runs.clear();
+    buffer.clear();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("KVSortedKeyRuns(size=%s, buffered=%s, runs=%s)",
+        formatCount(size), formatCount(buffer.size()), runs.size());
+  }
+
+  @SneakyThrows
+  private void spill() {
+    val run = createRun();
+    Collections.sort(buffer);
+    write(run, buffer.iterator());
+    log.debug("Spilled {} keys to '{}'", formatCount(buffer.size()), run);
+
+    runs.add(run);
+    buffer.clear();
+
+    if (runs.size() > MAX_RUNS) {
+      compact();
+    }
+  }
+
+  /**
+   * Merges all the runs into one.
+   */
+  @SneakyThrows
+  private void compact() {
+    val merged = createRun();
+    try (Reader reader = read()) {
+      write(merged, reader);
+    }
+    log.debug("Merged {} key runs into '{}'", runs.size(), merged);
+
+    close();
+    runs.add(merged);
+  }
+
+  private File createRun() throws IOException {
+    val run = File.createTempFile("kv-keys-", ".run", spillDir);
+    run.deleteOnExit();
+
+    return run;
+  }
+
+  /**
+   * Writes the distinct keys of {@code keys} which must be in ascending order.
+   */
+  private static void write(File run, Iterator<KVKey> keys) throws IOException {
+    try (val output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE))) {
+      KVKey previous = null;
+      while (keys.hasNext()) {
+        val key = keys.next();
+        if (previous != null && previous.compareTo(key) == 0) {
+          continue;
+        }
+
+        output.writeShort(key.getSize());
+        for (val value : key.getValues()) {
+          val bytes = value.array();
+          output.writeInt(bytes.length);
+          output.write(bytes);
+        }
+
+        previous = key;
+      }
+
+      output.writeShort(END_OF_RUN);
+    }
+  }
+
+  /**
+   * Merged view of the sources, skipping the keys equal to the previous one.
+   */
+  public static final class Reader implements PeekingIterator<KVKey>, Closeable {
+
+    private final PriorityQueue<PeekingIterator<KVKey>> queue;
+    private final Closer closer;
+    private KVKey next;
+
+    private Reader(List<PeekingIterator<KVKey>> sources, Closer closer) {
+      this.queue = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> a.peek().compareTo(b.peek()));
+      this.closer = closer;
+      for (val source : sources) {
+        if (source.hasNext()) {
+          queue.add(source);
+        }
+      }
+
+      this.next = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public KVKey peek() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+
+      return next;
+    }
+
+    @Override
+    public KVKey next() {
+      val current = peek();
+      next = advance();
+
+      return current;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      closer.close();
+    }
+
+    private KVKey advance() {
+      val source = queue.poll();
+      if (source == null) {
+        return null;
+      }
+
+      val key = source.next();
+      if (source.hasNext()) {
+        queue.add(source);
+      }
+
+      // Skip duplicates across (and within) sources
+      while (!queue.isEmpty() && queue.peek().peek().compareTo(key) == 0) {
+        val duplicate = queue.poll();
+        duplicate.next();
+        if (duplicate.hasNext()) {
+          queue.add(duplicate);
+        }
+      }
+
+      return key;
+    }
+
+  }
+
+  private static final class RunIterator extends AbstractIterator<KVKey> implements Closeable {
+
+    private final DataInputStream input;
+
+    @SneakyThrows
+    private RunIterator(File run) {
+      this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(run), BUFFER_SIZE));
+    }
+
+    @Override
+    @SneakyThrows
+    protected KVKey computeNext() {
+      val size = input.readShort();
+      if (size == END_OF_RUN) {
+        return endOfData();
+      }
+
+      val values = new ByteBuffer[size];
+      for (int i = 0; i < size; i++) {
+        val bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        values[i] = ByteBuffer.wrap(bytes);
+      }
+
+      return new KVKey(values, size);
+    }
+
+    @Override
+    public void close() throws IOException {
+      input.close();
+    }
+
+  }
+
+}
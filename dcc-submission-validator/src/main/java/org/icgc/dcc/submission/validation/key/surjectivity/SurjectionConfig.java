@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.surjectivity;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.Serializable;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Configuration of the surjection check of a key validation run.
+ * <p>
+ * Must be {@link Serializable} as it travels to the cluster with the {@code KVValidatorRunner}.
+ */
+@Value
+public class SurjectionConfig implements Serializable {
+
+  /**
+   * Default maximum number of keys held in memory by a sorted run buffer before it is spilled.
+   */
+  public static final int DEFAULT_MAX_BUFFERED_KEYS = 1000000;
+
+  public static final SurjectionConfig DEFAULT =
+      new SurjectionConfig(SurjectionEngine.HASH_PROBE, DEFAULT_MAX_BUFFERED_KEYS, null);
+
+  @NonNull
+  SurjectionEngine engine;
+
+  /**
+   * Maximum number of keys buffered in memory per sorted run collection ({@link SurjectionEngine#SORTED_RUN} only).
+   */
+  int maxBufferedKeys;
+
+  /**
+   * Local directory runs are spilled to, the JVM temporary directory if {@code null}.
+   */
+  String spillDir;
+
+  public SurjectionConfig(@NonNull SurjectionEngine engine, int maxBufferedKeys, String spillDir) {
+    checkArgument(maxBufferedKeys > 0, "Expecting a positive number of buffered keys, instead got: %s",
+        maxBufferedKeys);
+    this.engine = engine;
+    this.maxBufferedKeys = maxBufferedKeys;
+    this.spillDir = spillDir;
+  }
+
+  public File getSpillDirectory() {
+    return new File(spillDir == null ? System.getProperty("java.io.tmpdir") : spillDir);
+  }
+
+}
@@ -15,39 +15,27 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.key.surjectivity;
 
-import javax.annotation.concurrent.NotThreadSafe;
-
-import org.icgc.dcc.submission.core.report.ErrorReport;
-
-import lombok.Getter;
-import lombok.NonNull;
-import lombok.val;
-
-@NotThreadSafe
-public class ErrorCountVisitor extends NoOpVisitor {
-
-  @Getter
-  int errorCount = 0;
-
-  @Override
-  public void visit(@NonNull ErrorReport errorReport) {
-    // Accumulate leaf level error counts
-    errorCount += getErrorReportCount(errorReport);
-  }
-
-  //
-  // Helpers
-  //
-
-  private static int getErrorReportCount(ErrorReport errorReport) {
-    int count = 0;
-    for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
-      count += fieldErrorReport.getCount();
-    }
-
-    return count;
+/**
+ * Strategies for computing the expected primary keys that were never encountered as foreign keys.
+ */
+public enum SurjectionEngine {
+
+  /**
+   * Encountered foreign keys are kept in a hash set that every expected primary key is probed against. Fastest, but
+   * memory grows with the number of distinct foreign keys.
+   */
+  HASH_PROBE,
+
+  /**
+   * Encountered foreign keys are spilled to local disk as sorted, deduplicated runs, which are then merged with the
+   * sorted expected primary keys of each file. Memory is bounded by {@link SurjectionConfig#getMaxBufferedKeys()}.
+   */
+  SORTED_RUN;
+
+  public static SurjectionEngine from(String name) {
+    return valueOf(name.trim().toUpperCase());
   }
 
 }
@@ -17,17 +17,26 @@
  */
 package org.icgc.dcc.submission.validation.key.surjectivity;
 
+import static org.icgc.dcc.submission.validation.key.surjectivity.SurjectionEngine.SORTED_RUN;
+
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.submission.validation.key.core.KVFileType;
 import org.icgc.dcc.submission.validation.key.data.KVEncounteredForeignKeys;
+import org.icgc.dcc.submission.validation.key.data.KVKey;
 import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
+import org.icgc.dcc.submission.validation.key.data.KVSortedKeyRuns;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
 
 /**
  * Validates surjective relations.
+ * <p>
+ * How the expected keys are checked against the encountered ones depends on the {@link SurjectionEngine} of the
+ * {@link SurjectionConfig}.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -35,18 +44,43 @@ public class SurjectivityValidator {
 
   public static final long SURJECTION_ERROR_LINE_NUMBER = -1;
 
+  @NonNull
+  private final SurjectionConfig config;
+
+  public SurjectivityValidator() {
+    this(SurjectionConfig.DEFAULT);
+  }
+
+  /**
+   * Creates the collector of the foreign keys encountered for a referenced type, suited to the configured engine.
+   */
+  public KVEncounteredForeignKeys createEncounteredForeignKeys() {
+    if (config.getEngine() == SORTED_RUN) {
+      return new KVEncounteredForeignKeys(createSortedKeyRuns());
+    }
+
+    return new KVEncounteredForeignKeys();
+  }
+
   public void validateSurjection(
       KVFileType fileType,
       KVPrimaryKeys expectedKeys,
       KVEncounteredForeignKeys encounteredKeys,
       KVReporter reporter,
       KVFileType referencedFileType) {
-    val valid = validateSurjectionErrors(
-        fileType,
-        expectedKeys,
-        encounteredKeys,
-        reporter,
-        referencedFileType);
+    val valid = encounteredKeys.isSorted() ?
+        validateSortedSurjectionErrors(
+            fileType,
+            expectedKeys,
+            encounteredKeys,
+            reporter,
+            referencedFileType) :
+        validateSurjectionErrors(
+            fileType,
+            expectedKeys,
+            encounteredKeys,
+            reporter,
+            referencedFileType);
     log.info((valid ? "No" : "Some") + " surjection error found for file type '{}'", fileType);
   }
 
@@ -72,4 +106,56 @@ public class SurjectivityValidator {
     }
     return validFileType;
   }
+
+  /**
+   * Streams the sorted expected keys of each file against the sorted encountered keys, reporting the expected keys
+   * that are not matched. Errors of a file are therefore reported in key order.
+   */
+  @SneakyThrows
+  private boolean validateSortedSurjectionErrors(
+      KVFileType fileType,
+      KVPrimaryKeys expectedKeys,
+      KVEncounteredForeignKeys encounteredKeys,
+      KVReporter reporter,
+      KVFileType referencedFileType) {
+    log.info("Validating potential surjectivity errors by merging sorted runs: {}", encounteredKeys);
+
+    boolean validFileType = true;
+    for (val fileName : expectedKeys.getFilePaths()) {
+      try (KVSortedKeyRuns expectedRuns = createSortedKeyRuns()) {
+        val expectedIterator = expectedKeys.getPrimaryKeys(fileName);
+        while (expectedIterator.hasNext()) {
+          expectedRuns.add(expectedIterator.next());
+        }
+
+        try (KVSortedKeyRuns.Reader expected = expectedRuns.read();
+            KVSortedKeyRuns.Reader encountered = encounteredKeys.readSorted()) {
+          while (expected.hasNext()) {
+            val expectedKey = expected.next();
+            if (!advanceTo(encountered, expectedKey)) {
+              reporter.reportSurjectionError(fileType, fileName, expectedKey, referencedFileType);
+              validFileType = false;
+            }
+          }
+        }
+      }
+    }
+    return validFileType;
+  }
+
+  /**
+   * Skips the encountered keys lower than {@code key}, returning whether the next one is equal to it.
+   */
+  private static boolean advanceTo(KVSortedKeyRuns.Reader encountered, KVKey key) {
+    while (encountered.hasNext() && encountered.peek().compareTo(key) < 0) {
+      encountered.next();
+    }
+
+    return encountered.hasNext() && encountered.peek().compareTo(key) == 0;
+  }
+
+  private KVSortedKeyRuns createSortedKeyRuns() {
+    return new KVSortedKeyRuns(config.getMaxBufferedKeys(), config.getSpillDirectory());
+  }
+
 }
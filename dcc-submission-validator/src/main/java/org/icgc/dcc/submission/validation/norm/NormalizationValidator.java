@@ -27,7 +27,7 @@ import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_ANALYSIS_ID;
 import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
 import static org.icgc.dcc.common.core.util.Joiners.PATH;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_END;
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_START;
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.UNIQUE_REMAINING;
@@ -45,7 +45,11 @@ import org.icgc.dcc.common.cascading.Pipes;
 import org.icgc.dcc.common.core.dcc.Component;
 import org.icgc.dcc.common.hadoop.fs.DccFileSystem2;
 import org.icgc.dcc.submission.core.config.SubmissionProperties.NormalizerProperties;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
+import org.icgc.dcc.submission.validation.core.CancellationToken.Registration;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext.DefaultNormalizationContext;
@@ -53,6 +57,7 @@ import org.icgc.dcc.submission.validation.norm.core.NormalizationReport;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReporter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
+import org.icgc.dcc.submission.validation.norm.stats.NormalizationStatistics;
 import org.icgc.dcc.submission.validation.norm.steps.Counting;
 import org.icgc.dcc.submission.validation.norm.steps.DonorIdAddition;
 import org.icgc.dcc.submission.validation.norm.steps.FieldDiscarding;
@@ -60,6 +65,7 @@ import org.icgc.dcc.submission.validation.norm.steps.MaskedRowGeneration;
 import org.icgc.dcc.submission.validation.norm.steps.MutationRebuilding;
 import org.icgc.dcc.submission.validation.norm.steps.PreMarking;
 import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration;
+import org.icgc.dcc.submission.validation.norm.steps.RowNormalization;
 import org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking;
 import org.icgc.dcc.submission.validation.norm.steps.UniqueCounting;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
@@ -119,7 +125,8 @@ public class NormalizationValidator implements Validator {
   }
 
   /**
-   * Returns the default instance for the normalization.
+   * Returns the default instance for the normalization, where all the row-local steps are fused into a single
+   * {@link RowNormalization}.
    */
   public static NormalizationValidator getDefaultInstance(DccFileSystem2 dccFileSystem2,
       NormalizerProperties properties) {
@@ -134,6 +141,35 @@ public class NormalizationValidator implements Validator {
                 UNIQUE_START))
             .add(new Counting(TOTAL_START))
 
+            .add(new RowNormalization(
+                NormalizationConfig.isEnabled(new MaskedRowGeneration(), properties)))
+
+            .add(new UniqueCounting(
+                ANALYSIS_ID,
+                UNIQUE_REMAINING))
+
+            .add(new Counting(TOTAL_END))
+
+            .build());
+  }
+
+  /**
+   * Returns an instance running each of the normalization steps as a separate operation. Functionally equivalent to
+   * {@link #getDefaultInstance(DccFileSystem2, NormalizerProperties)} but slower; kept as a reference.
+   */
+  public static NormalizationValidator getStepwiseInstance(DccFileSystem2 dccFileSystem2,
+      NormalizerProperties properties) {
+    return new NormalizationValidator(
+        dccFileSystem2,
+        properties,
+        // Order matters for some steps
+        new ImmutableList.Builder<NormalizationStep>()
+
+            .add(new UniqueCounting(
+                ANALYSIS_ID,
+                UNIQUE_START))
+            .add(new Counting(TOTAL_START))
+
             .add(new DonorIdAddition())
 
             // Must happen before rebuilding the mutation
@@ -195,11 +231,18 @@ public class NormalizationValidator implements Validator {
    */
   private void normalize(List<String> fileNames, ValidationContext context) {
 
+    val outputDirPath = getOutputDirPath(context);
+    val statisticsDirPath = NormalizationStatistics.getStatisticsDirPath(outputDirPath);
+
     // Plan cascade
     val pipes = planCascade(
         fileNames,
         DefaultNormalizationContext
-            .getContext(context.getSubmissionDirectory(), context.getDictionary()));
+            .getContext(
+                context.getClinicalColumnIndex(),
+                context.getDictionary(),
+                context.getProjectKey(),
+                statisticsDirPath));
 
     // Connect cascade
     val connectedCascade = connectCascade(
@@ -207,13 +250,14 @@ public class NormalizationValidator implements Validator {
         context.getPlatformStrategy(),
         context.getRelease().getName(),
         context.getProjectKey(),
-        getOutputDirPath(context));
+        outputDirPath,
+        new NormalizationStatistics(statisticsDirPath));
 
     // Checks validator wasn't interrupted
-    checkInterrupted(getName());
+    checkCancelled(context, getName());
 
     // Run cascade synchronously
-    connectedCascade.completeCascade();
+    connectedCascade.completeCascade(context.getCancellationToken());
 
     // Perform sanity check on counters
     NormalizationReporter.performSanityChecks(connectedCascade);
@@ -280,7 +324,8 @@ public class NormalizationValidator implements Validator {
       @NonNull final SubmissionPlatformStrategy platform,
       @NonNull final String releaseName,
       @NonNull final String projectKey,
-      @NonNull final String outputDirPath) {
+      @NonNull final String outputDirPath,
+      @NonNull final NormalizationStatistics statistics) {
 
     // Define a flow
     val flowDef = flowDef().setName(Flows.getName(COMPONENT));
@@ -319,7 +364,8 @@ public class NormalizationValidator implements Validator {
         releaseName,
         projectKey,
         flow,
-        cascade);
+        cascade,
+        statistics);
   }
 
   /**
@@ -431,13 +477,22 @@ public class NormalizationValidator implements Validator {
     private final String projectKey;
     private final Flow<?> flow;
     private final Cascade cascade;
+    private final NormalizationStatistics statistics;
 
-    public void completeCascade() {
-      cascade.complete();
+    public void completeCascade(@NonNull CancellationToken cancellationToken) {
+      statistics.clear(flow.getConfig());
+      try (Registration registration = cancellationToken.onCancel(cascade::stop)) {
+        cascade.complete();
+      }
+      statistics.collect(flow.getConfig());
+      ValidationMetrics.recordFlow(COMPONENT_NAME, flow);
+      ValidationTraces.recordFlow(COMPONENT_NAME, flow);
     }
 
     public long getCounterValue(NormalizationCounter counter) {
-      return flow.getFlowStats().getCounterValue(counter);
+      return statistics.contains(counter) ?
+          statistics.getDistinctCount(counter) :
+          flow.getFlowStats().getCounterValue(counter);
     }
   }
 
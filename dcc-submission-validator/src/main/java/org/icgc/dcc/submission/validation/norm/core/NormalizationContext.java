@@ -22,8 +22,8 @@ import static com.google.common.collect.ImmutableList.copyOf;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
-import org.icgc.dcc.submission.fs.SubmissionDirectory;
-import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.core.ClinicalColumnIndex;
+import org.icgc.dcc.submission.validation.norm.stats.NormalizationStatistics;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -43,10 +43,20 @@ public interface NormalizationContext {
   ImmutableMap<String, ImmutableList<String>> getControlledFields();
 
   /**
-   * See {@link SubmissionPlatformStrategy#getSampleToDonorMap(Dictionary)}
+   * See {@link ClinicalColumnIndex#getSampleToDonorMap()}
    */
   Map<String, String> getSampleToDonorMap();
 
+  /**
+   * Returns the key of the project being normalized.
+   */
+  String getProjectKey();
+
+  /**
+   * Returns the directory where tasks write their partial statistics (see {@link NormalizationStatistics}).
+   */
+  String getStatisticsDirPath();
+
   @Value
   @Builder
   public static final class DefaultNormalizationContext implements NormalizationContext {
@@ -61,14 +71,27 @@ public interface NormalizationContext {
      */
     private final Map<String, String> sampleToDonorMap;
 
+    /**
+     * See {@link NormalizationContext#getProjectKey()}.
+     */
+    private final String projectKey;
+
+    /**
+     * See {@link NormalizationContext#getStatisticsDirPath()}.
+     */
+    private final String statisticsDirPath;
+
     /**
      * Creates the default {@link NormalizationContext}.
      */
-    public static NormalizationContext getContext(SubmissionDirectory submissionDirectory, Dictionary dictionary) {
+    public static NormalizationContext getContext(ClinicalColumnIndex clinicalColumnIndex, Dictionary dictionary,
+        String projectKey, String statisticsDirPath) {
       return DefaultNormalizationContext
           .builder()
           .controlledFields(getControlledFields(dictionary))
-          .sampleToDonorMap(submissionDirectory.getSampleToDonorMap(dictionary))
+          .sampleToDonorMap(clinicalColumnIndex.getSampleToDonorMap())
+          .projectKey(projectKey)
+          .statisticsDirPath(statisticsDirPath)
           .build();
     }
 
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.stats;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Mergeable distinct-count sketch.
+ * <p>
+ * The sketch keeps the exact 64-bit hashes of the values offered as long as there are at most {@link #EXACT_THRESHOLD}
+ * of them, and switches to HyperLogLog registers past that (relative error of about 0.8% with the precision used
+ * here). Merging is idempotent, so the same partial sketch may safely be merged more than once (task retries).
+ * <p>
+ * Not thread-safe.
+ */
+public final class HyperLogLog implements Serializable {
+
+  /**
+   * Number of bits of the hash used to select a register.
+   */
+  static final int PRECISION = 14;
+  static final int REGISTER_COUNT = 1 << PRECISION;
+
+  /**
+   * Maximum number of hashes kept before switching to the approximate representation.
+   */
+  static final int EXACT_THRESHOLD = 1 << 11;
+
+  /**
+   * Hash used in place of {@code null} values so that they are counted like any other value (as a {@code Unique} would).
+   */
+  private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Slot marker in {@link #hashes} (an actual zero hash is remapped to {@link #ZERO_HASH}).
+   */
+  private static final long EMPTY = 0L;
+  private static final long ZERO_HASH = 1L;
+
+  private static final byte EXACT_MODE = 0;
+  private static final byte APPROXIMATE_MODE = 1;
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  /**
+   * Open-addressing set of hashes for the exact mode, {@code null} in the approximate mode. Twice as large as
+   * {@link #EXACT_THRESHOLD} so that it never fills up.
+   */
+  private long[] hashes = new long[EXACT_THRESHOLD * 2];
+  private int size;
+
+  /**
+   * Registers for the approximate mode, {@code null} in the exact mode.
+   */
+  private byte[] registers;
+
+  public boolean isExact() {
+    return registers == null;
+  }
+
+  public void offer(String value) {
+    offerHash(value == null ? NULL_HASH : HASH_FUNCTION.hashString(value, UTF_8).asLong());
+  }
+
+  public void offerHash(long hash) {
+    if (isExact()) {
+      addExact(hash);
+      if (size > EXACT_THRESHOLD) {
+        toApproximate();
+      }
+    } else {
+      addRegister(hash);
+    }
+  }
+
+  /**
+   * Merges {@code other} into this sketch.
+   */
+  public void merge(@NonNull HyperLogLog other) {
+    if (other.isExact()) {
+      for (long hash : other.hashes) {
+        if (hash != EMPTY) {
+          offerHash(hash);
+        }
+      }
+    } else {
+      if (isExact()) {
+        toApproximate();
+      }
+      for (int i = 0; i < REGISTER_COUNT; i++) {
+        if (other.registers[i] > registers[i]) {
+          registers[i] = other.registers[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of distinct values offered (exact in the exact mode, estimated otherwise).
+   */
+  public long cardinality() {
+    if (isExact()) {
+      return size;
+    }
+
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double m = REGISTER_COUNT;
+    double alpha = 0.7213 / (1 + 1.079 / m);
+    double estimate = alpha * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // Linear counting for the small range
+      estimate = m * Math.log(m / zeros);
+    }
+
+    return Math.round(estimate);
+  }
+
+  public void write(@NonNull DataOutput output) throws IOException {
+    if (isExact()) {
+      output.writeByte(EXACT_MODE);
+      output.writeInt(size);
+      for (long hash : hashes) {
+        if (hash != EMPTY) {
+          output.writeLong(hash);
+        }
+      }
+    } else {
+      output.writeByte(APPROXIMATE_MODE);
+      output.write(registers);
+    }
+  }
+
+  public static HyperLogLog read(@NonNull DataInput input) throws IOException {
+    val sketch = new HyperLogLog();
+    byte mode = input.readByte();
+    if (mode == EXACT_MODE) {
+      int count = input.readInt();
+      for (int i = 0; i < count; i++) {
+        sketch.offerHash(input.readLong());
+      }
+    } else {
+      checkState(mode == APPROXIMATE_MODE, "Unknown sketch mode: '%s'", mode);
+      sketch.hashes = null;
+      sketch.size = 0;
+      sketch.registers = new byte[REGISTER_COUNT];
+      input.readFully(sketch.registers);
+    }
+
+    return sketch;
+  }
+
+  private void addExact(long hash) {
+    if (hash == EMPTY) {
+      hash = ZERO_HASH;
+    }
+
+    int mask = hashes.length - 1;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while (hashes[slot] != EMPTY) {
+      if (hashes[slot] == hash) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    hashes[slot] = hash;
+    size++;
+  }
+
+  private void toApproximate() {
+    registers = new byte[REGISTER_COUNT];
+    for (long hash : hashes) {
+      if (hash != EMPTY) {
+        addRegister(hash);
+      }
+    }
+    hashes = null;
+    size = 0;
+  }
+
+  private void addRegister(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - PRECISION));
+    long remainder = (hash << PRECISION) | (1L << (PRECISION - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remainder) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.stats;
+
+import static com.google.common.collect.Maps.newEnumMap;
+import static java.util.UUID.randomUUID;
+
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
+
+import cascading.flow.FlowProcess;
+import cascading.flow.hadoop.HadoopFlowProcess;
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Side-channel for the normalization statistics that cannot be expressed as Hadoop counters (which can only be summed).
+ * <p>
+ * Each task writes its partial {@link HyperLogLog} sketch under {@code <statisticsDir>/<counter>/} when it completes,
+ * and the sketches are merged once the flow is done. This replaces a {@code Unique} (and therefore a shuffle) per
+ * distinct count.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class NormalizationStatistics {
+
+  /**
+   * Name of the directory holding the sketches, relative to the normalization output directory. Starts with an
+   * underscore so that Hadoop input formats ignore it.
+   */
+  public static final String STATISTICS_DIR_NAME = "_normalization_statistics";
+
+  private static final String SKETCH_EXTENSION = ".hll";
+
+  @NonNull
+  private final String statisticsDirPath;
+
+  /**
+   * Distinct counts collected from the sketches, empty until {@link #collect(Object)} is called.
+   */
+  private final Map<NormalizationCounter, Long> distinctCounts = newEnumMap(NormalizationCounter.class);
+
+  public static String getStatisticsDirPath(@NonNull String outputDirPath) {
+    return new Path(outputDirPath, STATISTICS_DIR_NAME).toString();
+  }
+
+  /**
+   * Removes sketches left over by a previous run. Must be called before the flow starts.
+   */
+  @SneakyThrows
+  public void clear(Object flowConfig) {
+    val path = new Path(statisticsDirPath);
+    val fileSystem = path.getFileSystem(toConfiguration(flowConfig));
+    if (fileSystem.exists(path)) {
+      log.info("Deleting stale normalization statistics: '{}'", path);
+      fileSystem.delete(path, true);
+    }
+  }
+
+  /**
+   * Merges the sketches written by the tasks of the completed flow.
+   */
+  @SneakyThrows
+  public void collect(Object flowConfig) {
+    val path = new Path(statisticsDirPath);
+    val fileSystem = path.getFileSystem(toConfiguration(flowConfig));
+
+    distinctCounts.clear();
+    for (val counter : NormalizationCounter.values()) {
+      val counterPath = new Path(path, counter.name());
+      if (!fileSystem.exists(counterPath)) {
+        continue;
+      }
+
+      val merged = new HyperLogLog();
+      for (val status : fileSystem.listStatus(counterPath)) {
+        @Cleanup
+        val input = fileSystem.open(status.getPath());
+        merged.merge(HyperLogLog.read(input));
+      }
+
+      log.info("Merged distinct count for '{}': {} (exact: {})", new Object[] { counter, merged.cardinality(),
+          merged.isExact() });
+      distinctCounts.put(counter, merged.cardinality());
+    }
+  }
+
+  public boolean contains(@NonNull NormalizationCounter counter) {
+    return distinctCounts.containsKey(counter);
+  }
+
+  public long getDistinctCount(@NonNull NormalizationCounter counter) {
+    val count = distinctCounts.get(counter);
+    return count == null ? 0L : count;
+  }
+
+  /**
+   * Writes the partial sketch of a task. Meant to be called from an operation's {@code cleanup}.
+   */
+  @SneakyThrows
+  public static void write(
+      @NonNull FlowProcess<?> flowProcess,
+      @NonNull String statisticsDirPath,
+      @NonNull NormalizationCounter counter,
+      @NonNull HyperLogLog sketch) {
+    // Random suffix guards against slice numbers clashing across task attempts (merging is idempotent)
+    val fileName = flowProcess.getCurrentSliceNum() + "-" + randomUUID() + SKETCH_EXTENSION;
+    val path = new Path(new Path(statisticsDirPath, counter.name()), fileName);
+    val fileSystem = path.getFileSystem(getConfiguration(flowProcess));
+
+    @Cleanup
+    val output = fileSystem.create(path, true);
+    sketch.write(output);
+  }
+
+  private static Configuration getConfiguration(FlowProcess<?> flowProcess) {
+    return flowProcess instanceof HadoopFlowProcess ?
+        ((HadoopFlowProcess) flowProcess).getJobConf() :
+        new Configuration();
+  }
+
+  private static Configuration toConfiguration(Object flowConfig) {
+    return flowConfig instanceof Configuration ?
+        (Configuration) flowConfig :
+        new Configuration();
+  }
+
+}
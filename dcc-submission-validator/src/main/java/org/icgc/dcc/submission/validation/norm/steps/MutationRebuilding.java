@@ -95,11 +95,15 @@ public final class MutationRebuilding implements NormalizationStep {
       val entry = functionCall.getArguments();
       val mutatedFromAllele = entry.getString(MUTATED_FROM_ALLELE_FIELD);
       val mutatedToAllele = entry.getString(MUTATED_TO_ALLELE_FIELD);
-      val mutation = MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele);
+      val mutation = rebuild(mutatedFromAllele, mutatedToAllele);
       functionCall
           .getOutputCollector()
           .add(new Tuple(mutation));
     }
   }
 
+  static String rebuild(String mutatedFromAllele, String mutatedToAllele) {
+    return MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele);
+  }
+
 }
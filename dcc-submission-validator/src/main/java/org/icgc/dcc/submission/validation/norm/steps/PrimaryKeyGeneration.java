@@ -18,7 +18,7 @@
 package org.icgc.dcc.submission.validation.norm.steps;
 
 import static cascading.tuple.Fields.ALL;
-import static java.util.UUID.randomUUID;
+import static com.google.common.base.Charsets.UTF_8;
 import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
 
 import java.util.UUID;
@@ -27,15 +27,19 @@ import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 /**
@@ -60,30 +64,70 @@ public final class PrimaryKeyGeneration implements NormalizationStep {
     return new Each(
         pipe,
         ALL,
-        new PrimaryKeyGenerator(),
+        new PrimaryKeyGenerator(context.getProjectKey()),
         ALL);
   }
 
   /**
-   * Generates a primary key using {@link UUID}.
+   * Generates a deterministic primary key in the {@link UUID} format.
+   * <p>
+   * The most significant bits are derived once per task from the namespace (project key) and the slice number, the
+   * least significant ones are a per-task sequence. This avoids hitting {@code SecureRandom} for every row (as
+   * {@link UUID#randomUUID()} does) while keeping keys unique within a run and reproducible across runs.
    */
   @VisibleForTesting
-  static final class PrimaryKeyGenerator extends BaseOperation<Void> implements Function<Void> {
+  static final class PrimaryKeyGenerator extends BaseOperation<ObservationIdSequence> implements
+      Function<ObservationIdSequence> {
+
+    private final String namespace;
 
     @VisibleForTesting
-    PrimaryKeyGenerator() {
+    PrimaryKeyGenerator(@NonNull String namespace) {
       super(OBSERVATION_ID_FIELD);
+      this.namespace = namespace;
+    }
+
+    @Override
+    public void prepare(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        OperationCall<ObservationIdSequence> operationCall) {
+      operationCall.setContext(new ObservationIdSequence(
+          getMostSignificantBits(namespace, flowProcess.getCurrentSliceNum())));
     }
 
     @Override
     public void operate(
         @SuppressWarnings("rawtypes") FlowProcess flowProcess,
-        FunctionCall<Void> functionCall) {
+        FunctionCall<ObservationIdSequence> functionCall) {
 
-      val observationId = randomUUID().toString(); // Sub-optimal but approved by Bob for the time being
+      val observationId = functionCall.getContext().next();
       functionCall
           .getOutputCollector()
           .add(new Tuple(observationId));
     }
+
+    @VisibleForTesting
+    static long getMostSignificantBits(String namespace, int sliceNum) {
+      return Hashing.murmur3_128()
+          .newHasher()
+          .putString(namespace, UTF_8)
+          .putInt(sliceNum)
+          .hash()
+          .asLong();
+    }
+  }
+
+  /**
+   * Per-task state of the {@link PrimaryKeyGenerator}.
+   */
+  @RequiredArgsConstructor
+  static final class ObservationIdSequence {
+
+    private final long mostSignificantBits;
+    private long sequence;
+
+    String next() {
+      return new UUID(mostSignificantBits, sequence++).toString();
+    }
   }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.steps;
+
+import static cascading.tuple.Fields.ALL;
+import static cascading.tuple.Fields.ARGS;
+import static cascading.tuple.Fields.REPLACE;
+import static org.icgc.dcc.common.core.model.Marking.CONTROLLED;
+import static org.icgc.dcc.common.core.model.Marking.MASKED;
+import static org.icgc.dcc.common.core.model.Marking.OPEN;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.COUNT_INCREMENT;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.MARKED_AS_CONTROLLED;
+import static org.icgc.dcc.submission.validation.norm.steps.MutationRebuilding.MUTATION_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.PreMarking.MARKING_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration.OBSERVATION_ID_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.CONTROL_GENOTYPE_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.MUTATED_FROM_ALLELE_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.MUTATED_TO_ALLELE_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.REFERENCE_GENOME_ALLELE_FIELD;
+import static org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.TUMOUR_GENOTYPE_FIELD;
+
+import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
+import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration.ObservationIdSequence;
+import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration.PrimaryKeyGenerator;
+import org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking.SensitiveRowMarker;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.Insert;
+import cascading.operation.OperationCall;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Performs all the row-local steps of the normalization in a single pass:
+ * <ul>
+ * <li>{@link PreMarking} and {@link SensitiveRowMarking}</li>
+ * <li>{@link MaskedRowGeneration} (if enabled)</li>
+ * <li>{@link MutationRebuilding}</li>
+ * <li>{@link PrimaryKeyGeneration}</li>
+ * </ul>
+ * {@link DonorIdAddition} followed by its {@link FieldDiscarding} is a no-op on the output and is therefore left out.
+ * <p>
+ * The individual steps each copied the tuple and looked fields up by name; here the field positions are resolved once
+ * per task and the output {@link Tuple} is re-used.
+ */
+@RequiredArgsConstructor
+public final class RowNormalization implements NormalizationStep {
+
+  /**
+   * Short name for the step.
+   */
+  private static final String SHORT_NAME = "row-normalization";
+
+  /**
+   * Fields added by the normalization, in order.
+   */
+  static final Fields ADDED_FIELDS = MARKING_FIELD
+      .append(MUTATION_FIELD)
+      .append(OBSERVATION_ID_FIELD);
+
+  /**
+   * Whether {@link MaskedRowGeneration} is enabled.
+   */
+  private final boolean masking;
+
+  @Override
+  public String shortName() {
+    return SHORT_NAME;
+  }
+
+  @Override
+  public Pipe extend(Pipe pipe, NormalizationContext context) {
+    // Appends the new fields, pre-marked as open
+    pipe = new Each(
+        pipe,
+        new Insert(ADDED_FIELDS, OPEN.getTupleValue(), null, null),
+        ALL);
+
+    return new Each(
+        pipe,
+        ALL,
+        new RowNormalizer(masking, context.getProjectKey()),
+        REPLACE);
+  }
+
+  /**
+   * See {@link RowNormalization}.
+   */
+  @VisibleForTesting
+  static final class RowNormalizer extends BaseOperation<RowNormalizerContext> implements
+      Function<RowNormalizerContext> {
+
+    private final boolean masking;
+    private final String namespace;
+
+    @VisibleForTesting
+    RowNormalizer(boolean masking, @NonNull String namespace) {
+      super(ARGS);
+      this.masking = masking;
+      this.namespace = namespace;
+    }
+
+    @Override
+    public void prepare(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        OperationCall<RowNormalizerContext> operationCall) {
+      val fields = operationCall.getArgumentFields();
+      operationCall.setContext(new RowNormalizerContext(
+          fields.size(),
+          fields.getPos(REFERENCE_GENOME_ALLELE_FIELD),
+          fields.getPos(CONTROL_GENOTYPE_FIELD),
+          fields.getPos(TUMOUR_GENOTYPE_FIELD),
+          fields.getPos(MUTATED_FROM_ALLELE_FIELD),
+          fields.getPos(MUTATED_TO_ALLELE_FIELD),
+          fields.getPos(MARKING_FIELD),
+          fields.getPos(MUTATION_FIELD),
+          fields.getPos(OBSERVATION_ID_FIELD),
+          new ObservationIdSequence(
+              PrimaryKeyGenerator.getMostSignificantBits(namespace, flowProcess.getCurrentSliceNum()))));
+    }
+
+    @Override
+    public void operate(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        FunctionCall<RowNormalizerContext> functionCall) {
+      val context = functionCall.getContext();
+      val arguments = functionCall.getArguments().getTuple();
+      val output = context.getOutput();
+      for (int i = 0; i < context.getSize(); i++) {
+        output.set(i, arguments.getObject(i));
+      }
+
+      val referenceGenomeAllele = arguments.getString(context.getReferenceGenomeAllelePosition());
+      val mutatedToAllele = arguments.getString(context.getMutatedToAllelePosition());
+      val sensitive = SensitiveRowMarker.isSensitive(
+          referenceGenomeAllele,
+          arguments.getString(context.getControlGenotypePosition()),
+          arguments.getString(context.getTumourGenotypePosition()),
+          mutatedToAllele);
+      if (sensitive) {
+        flowProcess.increment(MARKED_AS_CONTROLLED, COUNT_INCREMENT);
+      }
+
+      // Original observation
+      output.set(context.getMarkingPosition(), (sensitive ? CONTROLLED : OPEN).getTupleValue());
+      emit(
+          functionCall,
+          arguments.getString(context.getMutatedFromAllelePosition()),
+          mutatedToAllele);
+
+      // Masked counterpart (must happen before rebuilding the mutation)
+      if (masking && sensitive) {
+        output.set(context.getControlGenotypePosition(), SpecialValue.NO_VALUE);
+        output.set(context.getTumourGenotypePosition(), SpecialValue.NO_VALUE);
+        output.set(context.getMutatedFromAllelePosition(), referenceGenomeAllele);
+        output.set(context.getMarkingPosition(), MASKED.getTupleValue());
+        emit(functionCall, referenceGenomeAllele, mutatedToAllele);
+
+        flowProcess.increment(NormalizationCounter.MASKED, COUNT_INCREMENT);
+      }
+    }
+
+    private static void emit(FunctionCall<RowNormalizerContext> functionCall, String mutatedFromAllele,
+        String mutatedToAllele) {
+      val context = functionCall.getContext();
+      val output = context.getOutput();
+      output.set(context.getMutationPosition(), MutationRebuilding.rebuild(mutatedFromAllele, mutatedToAllele));
+      output.set(context.getObservationIdPosition(), context.getSequence().next());
+
+      // Safe as collectors copy the values over
+      functionCall.getOutputCollector().add(output);
+    }
+  }
+
+  /**
+   * Per-task state of the {@link RowNormalizer}.
+   */
+  @Value
+  static final class RowNormalizerContext {
+
+    int size;
+
+    int referenceGenomeAllelePosition;
+    int controlGenotypePosition;
+    int tumourGenotypePosition;
+    int mutatedFromAllelePosition;
+    int mutatedToAllelePosition;
+
+    int markingPosition;
+    int mutationPosition;
+    int observationIdPosition;
+
+    ObservationIdSequence sequence;
+    Tuple output;
+
+    RowNormalizerContext(int size, int referenceGenomeAllelePosition, int controlGenotypePosition,
+        int tumourGenotypePosition, int mutatedFromAllelePosition, int mutatedToAllelePosition, int markingPosition,
+        int mutationPosition, int observationIdPosition, ObservationIdSequence sequence) {
+      this.size = size;
+      this.referenceGenomeAllelePosition = referenceGenomeAllelePosition;
+      this.controlGenotypePosition = controlGenotypePosition;
+      this.tumourGenotypePosition = tumourGenotypePosition;
+      this.mutatedFromAllelePosition = mutatedFromAllelePosition;
+      this.mutatedToAllelePosition = mutatedToAllelePosition;
+      this.markingPosition = markingPosition;
+      this.mutationPosition = mutationPosition;
+      this.observationIdPosition = observationIdPosition;
+      this.sequence = sequence;
+      this.output = Tuple.size(size);
+    }
+  }
+
+}
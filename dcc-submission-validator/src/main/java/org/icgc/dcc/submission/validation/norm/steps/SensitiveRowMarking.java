@@ -20,7 +20,7 @@ package org.icgc.dcc.submission.validation.norm.steps;
 import static cascading.tuple.Fields.ARGS;
 import static cascading.tuple.Fields.REPLACE;
 import static com.google.common.base.Preconditions.checkState;
-import static com.google.common.collect.Sets.newLinkedHashSet;
+import static java.lang.String.format;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CONTROL_GENOTYPE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
@@ -32,14 +32,11 @@ import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.N
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.MARKED_AS_CONTROLLED;
 import static org.icgc.dcc.submission.validation.norm.steps.PreMarking.MARKING_FIELD;
 
-import java.util.Set;
-
 import org.icgc.dcc.common.core.model.Marking;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Splitter;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
@@ -103,7 +100,7 @@ public final class SensitiveRowMarking implements NormalizationStep {
   @VisibleForTesting
   static final class SensitiveRowMarker extends BaseOperation<Void> implements Function<Void> {
 
-    private static final Splitter ALLELES_SPLITTER = Splitter.on("/");
+    private static final char ALLELE_SEPARATOR = '/';
 
     @VisibleForTesting
     SensitiveRowMarker() {
@@ -130,9 +127,7 @@ public final class SensitiveRowMarking implements NormalizationStep {
 
       // Mark if applicable
       final Marking masking;
-      if (!matchesAllControlAlleles(referenceGenomeAllele, controlGenotype)
-          || !matchesAllTumourAllelesButTo(referenceGenomeAllele, tumourGenotype, mutatedToAllele)) {
-
+      if (isSensitive(referenceGenomeAllele, controlGenotype, tumourGenotype, mutatedToAllele)) {
         log.debug("Marking sensitive row: '{}'", entry); // Should be rare enough
         masking = CONTROLLED;
 
@@ -152,39 +147,70 @@ public final class SensitiveRowMarking implements NormalizationStep {
           masking.getTupleValue()));
     }
 
-    private boolean matchesAllControlAlleles(String referenceGenomeAllele, String controlGenotype) {
-      val controlAlleles = getUniqueAlleles(controlGenotype);
-      for (val controlAllele : controlAlleles) {
-        if (!referenceGenomeAllele.equals(controlAllele)) {
+    /**
+     * Returns whether the observation is sensitive, that is when a control allele or a tumour allele (other than the
+     * "to" allele) differs from the reference genome allele.
+     * <p>
+     * The genotypes are scanned in place rather than split into sets since this runs for every observation.
+     */
+    static boolean isSensitive(String referenceGenomeAllele, String controlGenotype, String tumourGenotype,
+        String mutatedToAllele) {
+      return !matchesAllControlAlleles(referenceGenomeAllele, controlGenotype)
+          || !matchesAllTumourAllelesButTo(referenceGenomeAllele, tumourGenotype, mutatedToAllele);
+    }
+
+    private static boolean matchesAllControlAlleles(String referenceGenomeAllele, String controlGenotype) {
+      int start = 0;
+      while (true) {
+        int end = getAlleleEnd(controlGenotype, start);
+        if (!isAllele(controlGenotype, start, end, referenceGenomeAllele)) {
           return false;
         }
-      }
+        if (end == controlGenotype.length()) {
+          return true;
+        }
 
-      return true;
+        start = end + 1;
+      }
     }
 
-    private boolean matchesAllTumourAllelesButTo(String referenceGenomeAllele, String tumourGenotype,
+    private static boolean matchesAllTumourAllelesButTo(String referenceGenomeAllele, String tumourGenotype,
         String mutatedToAllele) {
-      for (val tumourAllele : getTumourAllelesMinusToAllele(tumourGenotype, mutatedToAllele)) {
-        if (!referenceGenomeAllele.equals(tumourAllele)) {
-          return false;
+      boolean removed = false;
+      boolean matches = true;
+
+      int start = 0;
+      while (true) {
+        int end = getAlleleEnd(tumourGenotype, start);
+        if (isAllele(tumourGenotype, start, end, mutatedToAllele)) {
+          removed = true;
+        } else if (!isAllele(tumourGenotype, start, end, referenceGenomeAllele)) {
+          matches = false;
         }
+        if (end == tumourGenotype.length()) {
+          break;
+        }
+
+        start = end + 1;
       }
-      return true;
+
+      if (!removed) {
+        throw new IllegalStateException(format(
+            "'%s' ('%s') is expected to be in '%s' ('%s') as per primary validation rules",
+            mutatedToAllele, MUTATED_TO_ALLELE_FIELD, tumourGenotype, TUMOUR_GENOTYPE_FIELD));
+      }
+
+      return matches;
     }
 
-    private Set<String> getTumourAllelesMinusToAllele(String tumourGenotype, String mutatedToAllele) {
-      val alleles = getUniqueAlleles(tumourGenotype);
-      val removed = alleles.remove(mutatedToAllele);
-      checkState(
-          removed,
-          "'%s' ('%s') is expected to be in '%s' ('%s') as per primary validation rules",
-          mutatedToAllele, MUTATED_TO_ALLELE_FIELD, tumourGenotype, TUMOUR_GENOTYPE_FIELD);
-      return alleles;
+    private static int getAlleleEnd(String genotype, int start) {
+      int end = genotype.indexOf(ALLELE_SEPARATOR, start);
+      return end == -1 ? genotype.length() : end;
     }
 
-    private static Set<String> getUniqueAlleles(String controlGenotype) {
-      return newLinkedHashSet(ALLELES_SPLITTER.split(controlGenotype));
+    private static boolean isAllele(String genotype, int start, int end, String allele) {
+      int length = end - start;
+      return allele.length() == length && genotype.regionMatches(start, allele, 0, length);
     }
 
   }
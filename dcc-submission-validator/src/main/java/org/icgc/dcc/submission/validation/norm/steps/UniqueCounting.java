@@ -17,28 +17,31 @@
  */
 package org.icgc.dcc.submission.validation.norm.steps;
 
-import static cascading.tuple.Fields.ALL;
-import static cascading.tuple.Fields.RESULTS;
-import static java.lang.String.format;
-import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.COUNT_INCREMENT;
-
-import org.icgc.dcc.common.cascading.CascadingFunctions.Counter;
-import org.icgc.dcc.common.cascading.CascadingFunctions.EmitNothing;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
+import org.icgc.dcc.submission.validation.norm.stats.HyperLogLog;
+import org.icgc.dcc.submission.validation.norm.stats.NormalizationStatistics;
+
+import com.google.common.annotations.VisibleForTesting;
 
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Filter;
+import cascading.operation.FilterCall;
+import cascading.operation.OperationCall;
 import cascading.pipe.Each;
-import cascading.pipe.Merge;
 import cascading.pipe.Pipe;
-import cascading.pipe.SubAssembly;
-import cascading.pipe.assembly.Unique;
-import cascading.tap.Tap;
 import cascading.tuple.Fields;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Counts unique occurrences of the given field.
+ * <p>
+ * The count is computed map-side with a {@link HyperLogLog} per task (exact for small cardinalities), the partial
+ * sketches being merged by {@link NormalizationStatistics} once the flow completes. This used to rely on a
+ * {@code Unique}, which cost a full shuffle for the sake of a single counter.
  */
 @RequiredArgsConstructor
 public final class UniqueCounting implements NormalizationStep {
@@ -58,41 +61,45 @@ public final class UniqueCounting implements NormalizationStep {
 
   @Override
   public Pipe extend(Pipe pipe, NormalizationContext context) {
-    return new CountUnique( // Will leave the pipe unaltered
+    return new Each( // Will leave the pipe unaltered
         pipe,
-        shortName(),
         new Fields(fieldName),
-        counter);
+        new DistinctCounter(counter, context.getStatisticsDirPath()));
   }
 
   /**
-   * Performs a unique count for the given field(s) and in a transparent manner to the flow it originates from (and
-   * eventually merges to).
-   * <p>
-   * This uses a trick whereby we split the flow, do the count, filter out all tuples and merge back in the original
-   * flow. This is to circumvent the issue with cascading of having to have sink {@link Tap} for a branch to be run
-   * (TODO: find better way?).
+   * Pass-through {@link Filter} that offers the argument to a task-local sketch and writes the sketch out on cleanup.
    */
-  private final class CountUnique extends SubAssembly {
+  @VisibleForTesting
+  @RequiredArgsConstructor
+  static final class DistinctCounter extends BaseOperation<HyperLogLog> implements Filter<HyperLogLog> {
 
-    private CountUnique(Pipe pipe, String stepShortName, Fields fields, NormalizationCounter counter) {
-      Pipe unique = new Pipe(
-          format("%s-%s-pipe", stepShortName, counter),
-          pipe);
+    @NonNull
+    private final NormalizationCounter counter;
+    @NonNull
+    private final String statisticsDirPath;
 
-      unique = new Unique(unique, fields);
-      unique = new Each(
-          unique,
-          ALL,
-          new Counter(counter, COUNT_INCREMENT),
-          RESULTS);
+    @Override
+    public void prepare(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        OperationCall<HyperLogLog> operationCall) {
+      operationCall.setContext(new HyperLogLog());
+    }
 
-      // Trick to re-join main branch without consequences (else side branch does not get executed)
-      unique = new Each(unique, new EmitNothing());
+    @Override
+    public boolean isRemove(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        FilterCall<HyperLogLog> filterCall) {
+      filterCall.getContext().offer(filterCall.getArguments().getString(0));
+
+      return false;
+    }
 
-      setTails(new Merge(
-          pipe, // Will effectively remain unaltered
-          unique));
+    @Override
+    public void cleanup(
+        @SuppressWarnings("rawtypes") FlowProcess flowProcess,
+        OperationCall<HyperLogLog> operationCall) {
+      NormalizationStatistics.write(flowProcess, statisticsDirPath, counter, operationCall.getContext());
     }
   }
 }
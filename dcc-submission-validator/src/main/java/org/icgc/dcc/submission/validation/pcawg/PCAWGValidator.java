@@ -28,7 +28,6 @@ import org.icgc.dcc.common.core.model.Programs;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.util.CodeLists;
 import org.icgc.dcc.submission.validation.core.ClinicalCore;
-import org.icgc.dcc.submission.validation.core.ClinicalParser;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGClinicalFilter;
@@ -93,7 +92,8 @@ public class PCAWGValidator implements Validator {
   }
 
   private ClinicalCore filterClinicalCore(String projectKey, ValidationContext context) {
-    val clinical = ClinicalParser.parse(context);
+    // Copy of the shared index, since it is filtered in place
+    val clinical = context.getClinicalColumnIndex().toClinical();
 
     val filter = new PCAWGClinicalFilter(projectKey, pcawgDictionary);
     filter.filter(clinical);
@@ -17,29 +17,31 @@
  */
 package org.icgc.dcc.submission.validation.pcawg.core;
 
-import static com.google.common.base.Suppliers.memoizeWithExpiration;
-import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
 
 import java.net.URL;
 import java.util.Map;
 import java.util.Set;
 
+import org.icgc.dcc.submission.validation.core.ReferenceData;
+import org.icgc.dcc.submission.validation.core.ReferenceDataStore;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
-@RequiredArgsConstructor
+/**
+ * Externalizable exclusions of the PCAWG validation.
+ * <p>
+ * Lookups are served from the exclusions converted once per refresh of the dictionary (see {@link ReferenceData}).
+ */
 public class PCAWGDictionary {
 
   /**
@@ -47,49 +49,44 @@ public class PCAWGDictionary {
    */
   public static final URL DEFAULT_PCAWG_DICTIONARY_URL = Resources.getResource("pcawg-dictionary.json");
 
-  /**
-   * Configuration
-   */
-  @NonNull
-  private final URL url;
-
   /**
    * State.
    */
-  private final Supplier<JsonNode> supplier = memoizeWithExpiration(this::readDictionary, 10, MINUTES);
+  private final ReferenceData<Exclusions> data;
 
   public PCAWGDictionary() {
     this(DEFAULT_PCAWG_DICTIONARY_URL);
   }
 
-  public Set<String> getExcludedProjectKeys() {
-    val excludedProjectKeys = readField("excludedProjectKeys");
-    if (excludedProjectKeys.isMissingNode()) {
-      return ImmutableSet.of();
-    }
+  public PCAWGDictionary(@NonNull URL url) {
+    this(url, ReferenceDataStore.getDefault());
+  }
 
-    return DEFAULT.convertValue(excludedProjectKeys, new TypeReference<Set<String>>() {});
+  public PCAWGDictionary(@NonNull URL url, @NonNull ReferenceDataStore store) {
+    this.data = store.register("pcawg-dictionary", url, PCAWGDictionary::readExclusions);
+  }
+
+  public Set<String> getExcludedProjectKeys() {
+    return exclusions().getProjectKeys();
   }
 
   public Set<String> getExcludedDonorIds(@NonNull String projectKey) {
-    return readFieldMap(projectKey, "excludedDonorIds");
+    return getProjectValues(exclusions().getDonorIds(), projectKey);
   }
 
   public Set<String> getExcludedSpecimenIds(@NonNull String projectKey) {
-    return readFieldMap(projectKey, "excludedSpecimenIds");
+    return getProjectValues(exclusions().getSpecimenIds(), projectKey);
   }
 
   public Set<String> getExcludedSampleIds(@NonNull String projectKey) {
-    return readFieldMap(projectKey, "excludedSampleIds");
+    return getProjectValues(exclusions().getSampleIds(), projectKey);
   }
 
-  private JsonNode dictionary() {
-    return supplier.get();
+  private Exclusions exclusions() {
+    return data.get();
   }
 
-  private Set<String> readFieldMap(String projectKey, final java.lang.String fieldName) {
-    Map<String, Set<String>> map = readFieldProjectMap(fieldName);
-
+  private static Set<String> getProjectValues(Map<String, Set<String>> map, String projectKey) {
     val values = map.get(projectKey);
     if (values == null) {
       return ImmutableSet.of();
@@ -98,24 +95,50 @@ public class PCAWGDictionary {
     return values;
   }
 
-  private Map<String, Set<String>> readFieldProjectMap(String fieldName) {
-    val values = readField(fieldName);
+  @SneakyThrows
+  private static Exclusions readExclusions(byte[] content) {
+    val dictionary = DEFAULT.readTree(content);
+
+    return new Exclusions(
+        readFieldSet(dictionary, "excludedProjectKeys"),
+        readFieldProjectMap(dictionary, "excludedDonorIds"),
+        readFieldProjectMap(dictionary, "excludedSpecimenIds"),
+        readFieldProjectMap(dictionary, "excludedSampleIds"));
+  }
+
+  private static Set<String> readFieldSet(JsonNode dictionary, String fieldName) {
+    val values = dictionary.path(fieldName);
     if (values.isMissingNode()) {
-      return ImmutableMap.of();
+      return ImmutableSet.of();
     }
 
-    val type = new TypeReference<Map<String, Set<String>>>() {};
-    return DEFAULT.convertValue(values, type);
+    Set<String> set = DEFAULT.convertValue(values, new TypeReference<Set<String>>() {});
+    return ImmutableSet.copyOf(set);
   }
 
-  private JsonNode readField(String fieldName) {
-    return dictionary().path(fieldName);
+  private static Map<String, Set<String>> readFieldProjectMap(JsonNode dictionary, String fieldName) {
+    val values = dictionary.path(fieldName);
+    if (values.isMissingNode()) {
+      return ImmutableMap.of();
+    }
+
+    Map<String, Set<String>> map = DEFAULT.convertValue(values, new TypeReference<Map<String, Set<String>>>() {});
+    val immutable = ImmutableMap.<String, Set<String>> builder();
+    for (val entry : map.entrySet()) {
+      immutable.put(entry.getKey(), ImmutableSet.copyOf(entry.getValue()));
+    }
+
+    return immutable.build();
   }
 
-  @SneakyThrows
-  private JsonNode readDictionary() {
-    log.info("Refreshing dictionary...");
-    return DEFAULT.readTree(url);
+  @Value
+  private static class Exclusions {
+
+    Set<String> projectKeys;
+    Map<String, Set<String>> donorIds;
+    Map<String, Set<String>> specimenIds;
+    Map<String, Set<String>> sampleIds;
+
   }
 
 }
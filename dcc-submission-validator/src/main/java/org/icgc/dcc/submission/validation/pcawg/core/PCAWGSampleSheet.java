@@ -17,31 +17,33 @@
  */
 package org.icgc.dcc.submission.validation.pcawg.core;
 
-import static com.google.common.base.Suppliers.memoizeWithExpiration;
-import static java.util.concurrent.TimeUnit.MINUTES;
-import static java.util.stream.Collectors.toList;
 import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
-import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableSet;
 
 import java.net.URL;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
+
+import org.icgc.dcc.submission.validation.core.ReferenceData;
+import org.icgc.dcc.submission.validation.core.ReferenceDataStore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.io.Resources;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The PCAWG sample sheet, indexed by project.
+ * <p>
+ * Lookups are served from indexes built once per refresh of the sheet (see {@link ReferenceData}).
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class PCAWGSampleSheet {
 
   /**
@@ -49,68 +51,82 @@ public class PCAWGSampleSheet {
    */
   public static final URL DEFAULT_PCAWG_SAMPLE_SHEET_URL = Resources.getResource("pcawg-sample-sheet.json");
 
-  /**
-   * Configuration.
-   */
-  @NonNull
-  private final URL url;
-
   /**
    * State.
    */
-  private final Supplier<List<PCAWGSample>> supplier = memoizeWithExpiration(this::readSamples, 10, MINUTES);
+  private final ReferenceData<Index> data;
 
   public PCAWGSampleSheet() {
     this(DEFAULT_PCAWG_SAMPLE_SHEET_URL);
   }
 
-  public boolean hasProject(@NonNull String projectKey) {
-    val projectNames = getProjects();
+  public PCAWGSampleSheet(@NonNull URL url) {
+    this(url, ReferenceDataStore.getDefault());
+  }
 
-    return projectNames.contains(projectKey);
+  public PCAWGSampleSheet(@NonNull URL url, @NonNull ReferenceDataStore store) {
+    this.data = store.register("pcawg-sample-sheet", url, PCAWGSampleSheet::readIndex);
+  }
+
+  public boolean hasProject(@NonNull String projectKey) {
+    return index().getSamples().containsKey(projectKey);
   }
 
   public Set<String> getProjects() {
-    return samples().stream().map(PCAWGSample::getProjectKey).collect(toImmutableSet());
+    return index().getSamples().keySet();
   }
 
   public List<PCAWGSample> getProjectSamples(@NonNull String projectKey) {
-    return samples().stream().filter(sample -> sample.getProjectKey().equals(projectKey)).collect(toList());
+    return index().getSamples().get(projectKey);
   }
 
   public Multimap<String, String> getProjectDonorIds() {
-    return getProjectFields(PCAWGSample::getDonorId);
+    return index().getDonorIds();
   }
 
   public Multimap<String, String> getProjectSpecimenIds() {
-    return getProjectFields(PCAWGSample::getSpecimenId);
+    return index().getSpecimenIds();
   }
 
   public Multimap<String, String> getProjectSampleIds() {
-    return getProjectFields(PCAWGSample::getSampleId);
+    return index().getSampleIds();
   }
 
-  private Multimap<String, String> getProjectFields(@NonNull Function<PCAWGSample, String> accessor) {
-    // Keep unique values only
-    val builder = ImmutableSetMultimap.<String, String> builder();
+  private Index index() {
+    return data.get();
+  }
 
-    for (val sample : samples()) {
+  @SneakyThrows
+  private static Index readIndex(byte[] content) {
+    List<PCAWGSample> samples = DEFAULT.readValue(content, new TypeReference<List<PCAWGSample>>() {});
+
+    // Keep unique values only
+    val projectSamples = ImmutableListMultimap.<String, PCAWGSample> builder();
+    val donorIds = ImmutableSetMultimap.<String, String> builder();
+    val specimenIds = ImmutableSetMultimap.<String, String> builder();
+    val sampleIds = ImmutableSetMultimap.<String, String> builder();
+    for (val sample : samples) {
       val projectKey = sample.getProjectKey();
-      val fieldValue = accessor.apply(sample);
-      builder.put(projectKey, fieldValue);
+      projectSamples.put(projectKey, sample);
+      donorIds.put(projectKey, sample.getDonorId());
+      specimenIds.put(projectKey, sample.getSpecimenId());
+      sampleIds.put(projectKey, sample.getSampleId());
     }
 
-    return builder.build();
-  }
+    val index = new Index(projectSamples.build(), donorIds.build(), specimenIds.build(), sampleIds.build());
+    log.info("Indexed {} samples of {} projects", samples.size(), index.getSamples().keySet().size());
 
-  private List<PCAWGSample> samples() {
-    return supplier.get();
+    return index;
   }
 
-  @SneakyThrows
-  private List<PCAWGSample> readSamples() {
-    log.info("Refreshing sample sheet...");
-    return DEFAULT.readValue(url, new TypeReference<List<PCAWGSample>>() {});
+  @Value
+  private static class Index {
+
+    ImmutableListMultimap<String, PCAWGSample> samples;
+    ImmutableSetMultimap<String, String> donorIds;
+    ImmutableSetMultimap<String, String> specimenIds;
+    ImmutableSetMultimap<String, String> sampleIds;
+
   }
 
 }
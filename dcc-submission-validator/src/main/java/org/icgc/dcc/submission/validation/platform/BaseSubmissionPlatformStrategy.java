@@ -108,6 +108,11 @@ public abstract class BaseSubmissionPlatformStrategy implements SubmissionPlatfo
             augmentFlowProperties(flowProperties));
   }
 
+  @Override
+  public FlowConnector getFlowConnector(String fileName) {
+    return getFlowConnector();
+  }
+
   /**
    * TODO: phase out in favour of {@link #getSourceTap(FileType)}; Temporary: see DCC-1876
    */
@@ -15,40 +15,42 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.platform;
 
-import static com.google.common.collect.ImmutableMap.builder;
-
-import java.util.Map;
-
-import org.icgc.dcc.common.core.model.FileTypes.FileType;
-import org.icgc.dcc.submission.core.report.FileReport;
-
-import com.google.common.collect.ImmutableMap.Builder;
+import static lombok.AccessLevel.PRIVATE;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 /**
- * Value producing visitor that returns a mapping of file names to file types for all files in the report.
+ * Where the flow validating a submission file is executed, as recorded in the summary of the file's report.
  */
-public class GetFilesVisitor extends NoOpVisitor {
+@RequiredArgsConstructor(access = PRIVATE)
+public enum FlowExecution {
+
+  /**
+   * In-process, with the local Cascading platform on the local filesystem.
+   */
+  LOCAL("local"),
 
   /**
-   * Mapping of {@link FileReport#getFileName()} to {@link FileReport#getFileType()}.
+   * In-process, with the Hadoop local job runner, so that files on HDFS do not pay the launch latency of cluster jobs.
    */
-  private final Builder<String, FileType> files = builder();
+  IN_PROCESS("in-process"),
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    files.put(fileReport.getFileName(), fileReport.getFileType());
-  }
+  /**
+   * As MapReduce jobs on the cluster.
+   */
+  CLUSTER("cluster");
 
-  //
-  // Result
-  //
+  /**
+   * Name of the summary the execution is reported under.
+   */
+  public static final String SUMMARY_NAME = "execution";
 
-  public Map<String, FileType> getFiles() {
-    return files.build();
-  }
+  @Getter
+  @NonNull
+  private final String id;
 
 }
@@ -34,6 +34,8 @@ import org.icgc.dcc.common.cascading.CascadingContext;
 import org.icgc.dcc.common.core.collect.Maps2;
 import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroupsSerialization;
+import org.icgc.dcc.submission.validation.primary.report.FieldStatsSerialization;
 
 import cascading.property.AppProps;
 import cascading.tuple.hadoop.TupleSerializationProps;
@@ -61,6 +63,8 @@ public class HadoopSubmissionPlatformStrategy extends BaseSubmissionPlatformStra
 
     // Custom serialization
     TupleSerializationProps.addSerialization(additionalFlowProperties, TupleStateSerialization.class.getName());
+    TupleSerializationProps.addSerialization(additionalFlowProperties, FieldStatsSerialization.class.getName());
+    TupleSerializationProps.addSerialization(additionalFlowProperties, ErrorGroupsSerialization.class.getName());
 
     // M/R job entry point
     AppProps.setApplicationJarClass(additionalFlowProperties, this.getClass());
@@ -78,6 +82,11 @@ public class HadoopSubmissionPlatformStrategy extends BaseSubmissionPlatformStra
     return flowProperties;
   }
 
+  @Override
+  public FlowExecution getFlowExecution(String fileName) {
+    return FlowExecution.CLUSTER;
+  }
+
   @Override
   @SneakyThrows
   public InputStream readReportTap(String fileName, FlowType type, String reportName) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.platform;
+
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static com.google.common.collect.Maps.newHashMap;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.submission.validation.platform.FlowExecution.CLUSTER;
+import static org.icgc.dcc.submission.validation.platform.FlowExecution.IN_PROCESS;
+
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.validation.primary.report.NewlineIndex;
+
+import cascading.flow.FlowConnector;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hadoop platform executing the flows of small files in-process rather than on the cluster.
+ * <p>
+ * A file is small if it is at most {@link HybridThresholds#getMaxInProcessBytes()} (as stored, so possibly compressed)
+ * and, if the first pass validation indexed its lines, has at most {@link HybridThresholds#getMaxInProcessRows()}
+ * rows. The flows of small files are connected with the Hadoop local job runner: they share the taps of the cluster
+ * flows, so they read and write the same HDFS paths and their offsets are remapped to line numbers the same way, but
+ * they skip the job submission and task launch latency that dominates the validation of clinical files.
+ * <p>
+ * Decisions are made once per file and strategy, so that a flow and its report agree.
+ */
+@Slf4j
+public class HybridSubmissionPlatformStrategy extends HadoopSubmissionPlatformStrategy {
+
+  /**
+   * Hadoop properties selecting the local job runner, for MR1 and YARN respectively.
+   */
+  private static final String JOB_TRACKER_PROPERTY = "mapred.job.tracker";
+  private static final String FRAMEWORK_NAME_PROPERTY = "mapreduce.framework.name";
+  private static final String LOCAL_RUNNER = "local";
+
+  private final HybridThresholds thresholds;
+  private final Map<String, FlowExecution> executions = newConcurrentMap();
+
+  public HybridSubmissionPlatformStrategy(
+      @NonNull final Map<String, String> hadoopProperties,
+      @NonNull final FileSystem fileSystem,
+      @NonNull final Path source,
+      @NonNull final Path output,
+      @NonNull final HybridThresholds thresholds) {
+    super(hadoopProperties, fileSystem, source, output);
+    this.thresholds = thresholds;
+  }
+
+  @Override
+  public FlowConnector getFlowConnector(String fileName) {
+    return getFlowExecution(fileName) == IN_PROCESS ? getInProcessFlowConnector() : getFlowConnector();
+  }
+
+  @Override
+  public FlowExecution getFlowExecution(@NonNull String fileName) {
+    FlowExecution execution = executions.get(fileName);
+    if (execution == null) {
+      execution = route(fileName);
+      executions.put(fileName, execution);
+    }
+
+    return execution;
+  }
+
+  private FlowConnector getInProcessFlowConnector() {
+    val connector = getFlowConnector();
+    Map<Object, Object> properties = newHashMap(connector.getProperties());
+    properties.put(JOB_TRACKER_PROPERTY, LOCAL_RUNNER);
+    properties.put(FRAMEWORK_NAME_PROPERTY, LOCAL_RUNNER);
+
+    return getCascadingContext()
+        .getConnectors()
+        .getFlowConnector(properties);
+  }
+
+  @SneakyThrows
+  private FlowExecution route(String fileName) {
+    val file = getFile(fileName);
+    val bytes = fileSystem.getFileStatus(file).getLen();
+    if (bytes > thresholds.getMaxInProcessBytes()) {
+      log.info("Executing '{}' on the cluster: {} exceeds {}", new Object[] {
+          fileName, formatBytes(bytes), formatBytes(thresholds.getMaxInProcessBytes()) });
+      return CLUSTER;
+    }
+
+    val index = NewlineIndex.read(fileSystem, file);
+    if (index != null && index.getMaxLineCount() > thresholds.getMaxInProcessRows()) {
+      log.info("Executing '{}' on the cluster: up to {} rows exceeds {}", new Object[] {
+          fileName, formatCount(index.getMaxLineCount()), formatCount(thresholds.getMaxInProcessRows()) });
+      return CLUSTER;
+    }
+
+    log.info("Executing '{}' in-process ({})", fileName, formatBytes(bytes));
+    return IN_PROCESS;
+  }
+
+}
@@ -15,33 +15,31 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.platform;
 
-import static com.google.common.base.Optional.fromNullable;
+import java.util.Map;
 
-import org.icgc.dcc.submission.core.report.FileReport;
-
-import com.google.common.base.Optional;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
-public class GetFileReportVisitor extends AbstractFileNameReportVisitor {
-
-  private FileReport fileReport;
+@RequiredArgsConstructor
+public class HybridSubmissionPlatformStrategyFactory implements SubmissionPlatformStrategyFactory {
 
-  public GetFileReportVisitor(@NonNull String fileName) {
-    super(fileName);
-  }
+  @NonNull
+  private final Map<String, String> hadoopProperties;
+  @NonNull
+  private final FileSystem fileSystem;
+  @NonNull
+  private final HybridThresholds thresholds;
 
   @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      this.fileReport = fileReport;
-    }
-  }
-
-  public Optional<FileReport> getFileReport() {
-    return fromNullable(fileReport);
+  public SubmissionPlatformStrategy get(
+      @NonNull final Path input,
+      @NonNull final Path output) {
+    return new HybridSubmissionPlatformStrategy(hadoopProperties, fileSystem, input, output, thresholds);
   }
 
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.platform;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.Value;
+
+/**
+ * Limits below which {@link HybridSubmissionPlatformStrategy} executes the flow of a file in-process.
+ */
+@Value
+public class HybridThresholds {
+
+  /**
+   * Maximum size of the file, as stored.
+   */
+  long maxInProcessBytes;
+
+  /**
+   * Maximum number of rows of the file, when known.
+   */
+  long maxInProcessRows;
+
+  public HybridThresholds(long maxInProcessBytes, long maxInProcessRows) {
+    checkArgument(maxInProcessBytes >= 0, "Expecting a non-negative number of bytes, instead got: %s",
+        maxInProcessBytes);
+    checkArgument(maxInProcessRows >= 0, "Expecting a non-negative number of rows, instead got: %s",
+        maxInProcessRows);
+    this.maxInProcessBytes = maxInProcessBytes;
+    this.maxInProcessRows = maxInProcessRows;
+  }
+
+}
@@ -51,6 +51,11 @@ public class LocalSubmissionPlatformStrategy extends BaseSubmissionPlatformStrat
     return properties; // Nothing to add in local mode
   }
 
+  @Override
+  public FlowExecution getFlowExecution(String fileName) {
+    return FlowExecution.LOCAL;
+  }
+
   @Override
   @SneakyThrows
   public InputStream readReportTap(String fileName, FlowType type, String reportName) {
@@ -46,6 +46,16 @@ public interface SubmissionPlatformStrategy {
 
   FlowConnector getFlowConnector();
 
+  /**
+   * Returns the connector of the flow validating {@code fileName}, which may differ between the files of a submission.
+   */
+  FlowConnector getFlowConnector(String fileName);
+
+  /**
+   * Describes where the flow validating {@code fileName} is executed.
+   */
+  FlowExecution getFlowExecution(String fileName);
+
   /**
    * TODO: Adapt submission code to use {@link #getNormalizerSourceTap(FileSchema)} since we can now assume the header
    * is known (and therefore we should use TextDelimited rather than TextLine.
@@ -24,6 +24,7 @@ import javax.inject.Provider;
 import org.apache.hadoop.fs.FileSystem;
 import org.icgc.dcc.common.core.util.Scheme;
 import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.core.config.SubmissionProperties.PlatformProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import lombok.NonNull;
@@ -34,6 +35,7 @@ public class SubmissionPlatformStrategyFactoryProvider implements Provider<Submi
 
   private final FileSystem fs;
   private final Map<String, String> hadoopProperties;
+  private final PlatformProperties platformProperties;
 
   @Autowired
   public SubmissionPlatformStrategyFactoryProvider(
@@ -41,6 +43,7 @@ public class SubmissionPlatformStrategyFactoryProvider implements Provider<Submi
       @NonNull final FileSystem fs) {
     this.fs = fs;
     this.hadoopProperties = properties.getHadoop().getProperties();
+    this.platformProperties = properties.getPlatform();
   }
 
   @Override
@@ -50,6 +53,11 @@ public class SubmissionPlatformStrategyFactoryProvider implements Provider<Submi
     if (Scheme.isFile(fsUrl)) {
       log.info("System configured for local filesystem");
       return new LocalSubmissionPlatformStrategyFactory(hadoopProperties);
+    } else if (Scheme.isHdfs(fsUrl) && platformProperties.isHybrid()) {
+      log.info("System configured for Hadoop filesystem, executing small files in-process: {}", platformProperties);
+      return new HybridSubmissionPlatformStrategyFactory(hadoopProperties, fs, new HybridThresholds(
+          platformProperties.getMaxInProcessBytes(),
+          platformProperties.getMaxInProcessRows()));
     } else if (Scheme.isHdfs(fsUrl)) {
       log.info("System configured for Hadoop filesystem");
       return new HadoopSubmissionPlatformStrategyFactory(hadoopProperties, fs);
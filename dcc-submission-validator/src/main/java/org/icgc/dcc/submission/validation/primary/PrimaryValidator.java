@@ -18,14 +18,21 @@
 package org.icgc.dcc.submission.validation.primary;
 
 import static com.google.common.collect.Iterables.size;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 
+import org.icgc.dcc.submission.validation.core.CancellationToken.Registration;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
+import org.icgc.dcc.submission.validation.core.ValidationTraces;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.planner.Planner;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.base.Stopwatch;
+
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -63,26 +70,42 @@ public class PrimaryValidator implements Validator {
 
     // Plan
     log.info("Planning cascade for project '{}'", projectKey);
-    Plan plan = planner.plan(projectKey, dataTypes, platform, dictionary);
+    Plan plan;
+    try (Span span = ValidationTraces.span("plan", getName())) {
+      plan = planner.plan(projectKey, dataTypes, platform, dictionary, context.getCodeLists());
+    }
     log.info("Planned cascade for project '{}', # of row-based flow planners: {}",
         new Object[] { projectKey, size(plan.getRowBasedFlowPlanners()) });
 
     // Connect
     log.info("Connecting cascade for project '{}'", projectKey);
-    plan.connect();
-    log.info("Connected cascade for project '{}'", projectKey);
-    checkInterrupted(getName());
+    val watch = Stopwatch.createStarted();
+    try (Span span = ValidationTraces.span("connect", getName())) {
+      plan.connect();
+    }
+    ValidationMetrics.recordPlanConnect(watch.elapsed(NANOSECONDS));
+    log.info("Connected cascade for project '{}' in {}", projectKey, watch);
+    checkCancelled(context, getName());
 
     try {
-      // Start (blocking)
+      // Start (blocking), stopping it as soon as the validation is cancelled
       log.info("Starting cascade for project '{}'", projectKey);
-      plan.getCascade().complete();
+      try (Registration registration = context.getCancellationToken().onCancel(plan.getCascade()::stop);
+          Span span = ValidationTraces.span("cascade", getName())) {
+        plan.getCascade().complete();
+      }
       log.info("Finished cascade for project '{}'", projectKey);
-      checkInterrupted(getName());
+      for (val flow : plan.getCascade().getFlows()) {
+        ValidationMetrics.recordFlow(getName(), flow);
+        ValidationTraces.recordFlow(getName(), flow);
+      }
+      checkCancelled(context, getName());
 
       // Report
       log.info("Collecting report for project '{}'", projectKey);
-      plan.collectSubmissionReport(context);
+      try (Span span = ValidationTraces.span("report", getName())) {
+        plan.collectSubmissionReport(context);
+      }
       log.info("Finished collecting report for project '{}'", projectKey);
     } catch (Throwable t) {
       log.info("Exception completing cascade for project '{}': '{}'", projectKey, t.getMessage());
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.core;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+
+import cascading.pipe.Pipe;
+
+/**
+ * A {@link ReportingPlanElement} whose report can be computed for several files at once (see
+ * {@link PlanMode#COALESCED}).
+ * <p>
+ * Each file's split is first tagged with the name of the file, so that the tagged pipes of all the elements of a given
+ * name share the same fields and can be grouped together, on {@link ValidationFields#FILE_FIELD} first.
+ */
+public interface CoalescableReportingPlanElement extends ReportingPlanElement {
+
+  /**
+   * Same as {@link #report(Pipe)} up to the first grouping, with the {@link ValidationFields#FILE_FIELD} field added.
+   */
+  Pipe tag(Pipe pipe);
+
+  /**
+   * Produces the reports of all the {@code tagged} pipes, as obtained from {@link #tag(Pipe)} on each of the
+   * {@code elements} of this element's name (in the same order), as tuples of the {@link ValidationFields#FILE_FIELD}
+   * and "report" fields.
+   */
+  Pipe coalesce(List<CoalescableReportingPlanElement> elements, Pipe[] tagged);
+
+}
@@ -19,18 +19,24 @@ package org.icgc.dcc.submission.validation.primary.core;
 
 import static com.google.common.collect.Iterables.unmodifiableIterable;
 import static com.google.common.collect.Maps.newHashMap;
+import static org.icgc.dcc.submission.validation.primary.core.PlanMode.COALESCED;
 
+import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.planner.CoalescedFlowConnector;
 import org.icgc.dcc.submission.validation.primary.planner.FileFlowPlanner;
 import org.icgc.dcc.submission.validation.primary.planner.RowBasedFlowPlanner;
 
+import com.google.common.collect.ImmutableList;
+
 import cascading.cascade.Cascade;
 import cascading.cascade.CascadeConnector;
 import cascading.cascade.CascadeDef;
+import cascading.flow.Flow;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -62,6 +68,8 @@ public class Plan {
   private final Dictionary dictionary;
   @NonNull
   private final SubmissionPlatformStrategy platform;
+  @NonNull
+  private final PlanMode mode;
 
   /**
    * Metadata.
@@ -72,24 +80,55 @@ public class Plan {
    * Transient state
    */
   private Cascade cascade;
+  private SubmissionPlatformStrategy reportPlatform;
 
   public void connect() {
     val cascadeDef = new CascadeDef()
         .setName(projectKey + " validation cascade")
         .setMaxConcurrentFlows(MAX_CONCURRENT_FLOWS);
 
+    for (val flow : connectFlows()) {
+      flow.writeDOT("/tmp/validation-flow-" + flow.getName() + ".dot");
+      flow.writeStepsDOT("/tmp/validation-flow-steps-" + flow.getName() + ".dot");
+
+      cascadeDef.addFlow(flow);
+    }
+
+    cascade = new CascadeConnector().connect(cascadeDef);
+    cascade.writeDOT("/tmp/validation-cascade.dot");
+  }
+
+  private List<Flow<?>> connectFlows() {
+    if (mode == COALESCED) {
+      val connector = new CoalescedFlowConnector(projectKey, platform);
+      val flows = connector.connect(rowBasedFlowPlanners.values());
+      reportPlatform = connector.getReportPlatform();
+
+      return flows;
+    }
+
+    val flows = ImmutableList.<Flow<?>> builder();
     for (val flowPlanner : rowBasedFlowPlanners.values()) {
       val flow = flowPlanner.connect(platform);
       if (flow != null) {
-        flow.writeDOT("/tmp/validation-flow-" + flow.getName() + ".dot");
-        flow.writeStepsDOT("/tmp/validation-flow-steps-" + flow.getName() + ".dot");
-
-        cascadeDef.addFlow(flow);
+        flows.add(flow);
       }
     }
+    reportPlatform = platform;
 
-    cascade = new CascadeConnector().connect(cascadeDef);
-    cascade.writeDOT("/tmp/validation-cascade.dot");
+    return flows.build();
+  }
+
+  /**
+   * Returns a plan sharing the flow planners of this one, whose flows are connected to the taps of {@code platform}.
+   * <p>
+   * Flow planners are not modified once planned, so the plans may be connected and collected independently.
+   */
+  public Plan rebind(@NonNull SubmissionPlatformStrategy platform) {
+    val plan = new Plan(projectKey, dictionary, platform, mode);
+    plan.rowBasedFlowPlanners.putAll(rowBasedFlowPlanners);
+
+    return plan;
   }
 
   public void include(String fileName, RowBasedFlowPlanner rowBasedFlowPlanner) {
@@ -98,7 +137,7 @@ public class Plan {
 
   public void collectSubmissionReport(ReportContext reportContext) {
     for (val planner : rowBasedFlowPlanners.values()) {
-      planner.collectFileReport(platform, reportContext);
+      planner.collectFileReport(reportPlatform, reportContext);
     }
   }
 
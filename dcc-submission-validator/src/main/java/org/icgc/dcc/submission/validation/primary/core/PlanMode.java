@@ -15,27 +15,28 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.primary.core;
 
-import org.icgc.dcc.submission.core.report.FieldReport;
-import org.icgc.dcc.submission.core.report.FileReport;
-
-import lombok.NonNull;
-
-public class AddFieldVisitor extends AbstractFileNameReportVisitor {
+/**
+ * Strategies for turning the flow planners of a {@link Plan} into Cascading flows.
+ */
+public enum PlanMode {
 
-  private final FieldReport fieldReport;
+  /**
+   * One flow per file, each report of which is at least one MapReduce job. Files are isolated from one another but
+   * the number of jobs grows with the number of files.
+   */
+  PER_FILE,
 
-  public AddFieldVisitor(@NonNull String fileName, @NonNull FieldReport fieldReport) {
-    super(fileName);
-    this.fieldReport = fieldReport;
-  }
+  /**
+   * The reports of all the files sharing an execution are computed by one multi-source, multi-sink flow, in which
+   * tuples are tagged with the name of their file. The number of jobs then depends on the kinds of reports rather than
+   * on the number of files.
+   */
+  COALESCED;
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      fileReport.addFieldReport(fieldReport);
-    }
+  public static PlanMode from(String name) {
+    return valueOf(name.trim().toUpperCase());
   }
 
 }
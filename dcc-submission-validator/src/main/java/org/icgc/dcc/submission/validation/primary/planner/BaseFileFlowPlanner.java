@@ -19,12 +19,15 @@ package org.icgc.dcc.submission.validation.primary.planner;
 
 import static java.lang.String.format;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.validation.core.ReportContext;
+import org.icgc.dcc.submission.validation.platform.FlowExecution;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.report.ReportCollector;
@@ -52,6 +55,8 @@ public abstract class BaseFileFlowPlanner implements FileFlowPlanner {
 
   private final Map<String, ReportCollector> collectors = Maps.newHashMap();
 
+  private final Map<String, TaggedReport> taggedReports = Maps.newHashMap();
+
   protected BaseFileFlowPlanner(
       @NonNull FileSchema fileSchema,
       @NonNull String fileName,
@@ -61,6 +66,11 @@ public abstract class BaseFileFlowPlanner implements FileFlowPlanner {
     this.flowType = flowType;
   }
 
+  @Override
+  public String getFileName() {
+    return fileName;
+  }
+
   protected String getSchemaName() {
     return fileSchema.getName();
   }
@@ -109,6 +119,23 @@ public abstract class BaseFileFlowPlanner implements FileFlowPlanner {
     collectors.put(
         elementName,
         reportingPlanElement.getCollector());
+
+    if (reportingPlanElement instanceof CoalescableReportingPlanElement) {
+      val element = (CoalescableReportingPlanElement) reportingPlanElement;
+
+      // Named after the file as the splits of all the files end up in the same flow
+      val taggedPipe = new Pipe(
+          format("%s_%s_tagged", fileName, elementName),
+          element.tag(getReportTailPipe(format("%s_%s", fileName, elementName))));
+      taggedReports.put(
+          elementName,
+          new TaggedReport(fileName, flowType, element, taggedPipe));
+    }
+  }
+
+  @Override
+  public Collection<TaggedReport> getTaggedReports() {
+    return taggedReports.values();
   }
 
   protected Pipe getReportTailPipe(String basename) {
@@ -117,27 +144,38 @@ public abstract class BaseFileFlowPlanner implements FileFlowPlanner {
 
   @Override
   public Flow<?> connect(SubmissionPlatformStrategy platform) {
-    val flowDef = new FlowDef().setName(getFlowName());
+    val flowDef = define(new FlowDef().setName(getFlowName()), platform, false);
+
+    // Make a flow only if there's something to do
+    val hasSourcesAndSinks = flowDef.getSinks().size() > 0 && flowDef.getSources().size() > 0;
+    return hasSourcesAndSinks ? connect(platform, flowDef) : null;
+  }
 
+  @Override
+  public FlowDef define(FlowDef flowDef, SubmissionPlatformStrategy platform, boolean coalesced) {
     for (Map.Entry<String, Pipe> p : reportPipes.entrySet()) {
+      if (coalesced && taggedReports.containsKey(p.getKey())) {
+        continue;
+      }
+
       flowDef.addTailSink(p.getValue(), platform.getReportTap(fileName, flowType, p.getKey()));
     }
 
-    onConnect(flowDef, platform);
-
-    // Make a flow only if there's something to do
-    val hasSourcesAndSinks = flowDef.getSinks().size() > 0 && flowDef.getSources().size() > 0;
-    return hasSourcesAndSinks ? connect(platform, flowDef) : null;
+    return onConnect(flowDef, platform);
   }
 
   private Flow<?> connect(SubmissionPlatformStrategy platform, FlowDef flowDef) {
     return platform
-        .getFlowConnector()
+        .getFlowConnector(fileName)
         .connect(flowDef);
   }
 
   @Override
   public void collectFileReport(SubmissionPlatformStrategy strategy, ReportContext context) {
+    if (!collectors.isEmpty()) {
+      context.reportSummary(fileName, FlowExecution.SUMMARY_NAME, strategy.getFlowExecution(fileName).getId());
+    }
+
     for (val reportCollector : collectors.values()) {
       reportCollector.collect(strategy, context);
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.planner;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static java.lang.String.format;
+import static org.icgc.dcc.common.core.util.Joiners.DOT;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD_NAME;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.validation.platform.FlowExecution;
+import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.PlanMode;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.LinkedListMultimap;
+
+import cascading.flow.Flow;
+import cascading.flow.FlowDef;
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connects the flow planners of a plan into one flow per {@link FlowExecution}, in which each report is computed for
+ * all the files at once (see {@link PlanMode#COALESCED}).
+ * <p>
+ * A MapReduce job writing a single sink, the reports of all the files are written to a single tap per report, as
+ * {@link CoalescedReport}s, rather than split into the taps of each file at the cost of a job per file. They are read
+ * back through {@link #getReportPlatform()} so that the report collectors are unaffected.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CoalescedFlowConnector {
+
+  /**
+   * Prefix of the names the coalesced report taps are named after, in lieu of a file name.
+   */
+  private static final String COALESCED_NAME_PREFIX = "_coalesced";
+
+  private static final String REPORT = "report";
+
+  @NonNull
+  private final String projectKey;
+  @NonNull
+  private final SubmissionPlatformStrategy platform;
+
+  /**
+   * Name of the coalesced report taps holding the reports of each file, by file name.
+   */
+  private final Map<String, String> coalescedNames = newHashMap();
+
+  /**
+   * Connects the flows of {@code flowPlanners}, files which are not executed alike (see
+   * {@link SubmissionPlatformStrategy#getFlowExecution(String)}) being coalesced separately.
+   */
+  public List<Flow<?>> connect(@NonNull Iterable<? extends FileFlowPlanner> flowPlanners) {
+    val flows = ImmutableList.<Flow<?>> builder();
+    val executions = ArrayListMultimap.<FlowExecution, FileFlowPlanner> create();
+    for (val flowPlanner : flowPlanners) {
+      if (flowPlanner.getTaggedReports().isEmpty()) {
+        // Nothing to coalesce
+        val flow = flowPlanner.connect(platform);
+        if (flow != null) {
+          flows.add(flow);
+        }
+      } else {
+        executions.put(platform.getFlowExecution(flowPlanner.getFileName()), flowPlanner);
+      }
+    }
+
+    for (val execution : executions.keySet()) {
+      flows.add(connect(execution, executions.get(execution)));
+    }
+
+    return flows.build();
+  }
+
+  /**
+   * Returns the platform to collect the reports of the connected flows from.
+   */
+  public SubmissionPlatformStrategy getReportPlatform() {
+    return new CoalescedReportPlatformStrategy(platform, ImmutableMap.copyOf(coalescedNames));
+  }
+
+  private Flow<?> connect(FlowExecution execution, List<FileFlowPlanner> flowPlanners) {
+    val coalescedName = DOT.join(COALESCED_NAME_PREFIX, execution.getId());
+    val flowDef = new FlowDef().setName(DOT.join(projectKey, coalescedName));
+
+    val reports = LinkedListMultimap.<String, TaggedReport> create();
+    for (val flowPlanner : flowPlanners) {
+      flowPlanner.define(flowDef, platform, true);
+      for (val report : flowPlanner.getTaggedReports()) {
+        reports.put(report.getElementName(), report);
+      }
+
+      coalescedNames.put(flowPlanner.getFileName(), coalescedName);
+    }
+
+    for (val elementName : reports.keySet()) {
+      val elementReports = reports.get(elementName);
+      val elements = ImmutableList.<CoalescableReportingPlanElement> builder();
+      val tagged = new Pipe[elementReports.size()];
+      for (int i = 0; i < tagged.length; i++) {
+        elements.add(elementReports.get(i).getElement());
+        tagged[i] = elementReports.get(i).getPipe();
+      }
+
+      val first = elementReports.get(0);
+      Pipe pipe = first.getElement().coalesce(elements.build(), tagged);
+      pipe = new Pipe(format("%s_%s", coalescedName, elementName), pipe);
+      pipe = new Each(pipe, new CoalescedReportFunction(), Fields.RESULTS);
+
+      flowDef.addTailSink(pipe, platform.getReportTap(coalescedName, first.getFlowType(), elementName));
+    }
+
+    log.info("Coalescing {} report(s) of {} file(s) executed {} into flow '{}'", new Object[] {
+        reports.keySet().size(), flowPlanners.size(), execution.getId(), flowDef.getName() });
+
+    // The files share their execution, hence their connector
+    return platform
+        .getFlowConnector(flowPlanners.get(0).getFileName())
+        .connect(flowDef);
+  }
+
+  /**
+   * The report of a file, as written to a coalesced report tap.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class CoalescedReport {
+
+    public static final String FILE_NAME_PROPERTY = "fileName";
+    public static final String REPORT_PROPERTY = "report";
+
+    private String fileName;
+    private Object report;
+
+  }
+
+  /**
+   * Wraps the file and report of each tuple into a {@link CoalescedReport}.
+   */
+  @SuppressWarnings("rawtypes")
+  static class CoalescedReportFunction extends BaseOperation implements Function {
+
+    public CoalescedReportFunction() {
+      super(2, new Fields(REPORT));
+    }
+
+    @Override
+    public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
+      TupleEntry entry = functionCall.getArguments();
+      functionCall.getOutputCollector().add(
+          new Tuple(new CoalescedReport(entry.getString(FILE_FIELD_NAME), entry.getObject(REPORT))));
+    }
+
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.planner;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.icgc.dcc.submission.validation.primary.planner.CoalescedFlowConnector.CoalescedReport.FILE_NAME_PROPERTY;
+import static org.icgc.dcc.submission.validation.primary.planner.CoalescedFlowConnector.CoalescedReport.REPORT_PROPERTY;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.core.FlowType;
+import org.icgc.dcc.submission.validation.primary.planner.CoalescedFlowConnector.CoalescedReport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.experimental.Delegate;
+
+/**
+ * Reads the reports of the coalesced files from the coalesced report taps (see {@link CoalescedFlowConnector}), as if
+ * they had been written to the report taps of the files.
+ * <p>
+ * Each coalesced report tap is read once, the reports of the files being kept until they are collected.
+ */
+@RequiredArgsConstructor
+class CoalescedReportPlatformStrategy implements SubmissionPlatformStrategy {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @NonNull
+  @Delegate(excludes = ReportReading.class)
+  private final SubmissionPlatformStrategy delegate;
+
+  /**
+   * Name of the coalesced report taps holding the reports of each file, by file name.
+   */
+  @NonNull
+  private final Map<String, String> coalescedNames;
+
+  /**
+   * The reports of each file, by coalesced report tap.
+   */
+  private final Map<List<?>, ListMultimap<String, JsonNode>> reports = newHashMap();
+
+  @Override
+  @SneakyThrows
+  public InputStream readReportTap(String fileName, FlowType type, String reportName) {
+    val coalescedName = coalescedNames.get(fileName);
+    if (coalescedName == null) {
+      return delegate.readReportTap(fileName, type, reportName);
+    }
+
+    val output = new ByteArrayOutputStream();
+    for (val report : getReports(coalescedName, type, reportName).get(fileName)) {
+      output.write(MAPPER.writeValueAsBytes(report));
+    }
+
+    return new ByteArrayInputStream(output.toByteArray());
+  }
+
+  private ListMultimap<String, JsonNode> getReports(String coalescedName, FlowType type, String reportName)
+      throws IOException {
+    List<?> key = ImmutableList.<Object> of(coalescedName, type, reportName);
+    ListMultimap<String, JsonNode> fileReports = reports.get(key);
+    if (fileReports == null) {
+      fileReports = ArrayListMultimap.create();
+      try (InputStream inputStream = delegate.readReportTap(coalescedName, type, reportName)) {
+        MappingIterator<JsonNode> values = MAPPER.reader().forType(JsonNode.class).readValues(inputStream);
+        while (values.hasNext()) {
+          JsonNode value = values.next();
+          fileReports.put(value.get(FILE_NAME_PROPERTY).asText(), value.get(REPORT_PROPERTY));
+        }
+      }
+
+      reports.put(key, fileReports);
+    }
+
+    return fileReports;
+  }
+
+  /**
+   * The methods not delegated, as {@link CoalescedReport}s are to be unwrapped.
+   */
+  private interface ReportReading {
+
+    InputStream readReportTap(String fileName, FlowType type, String reportName);
+
+  }
+
+}
@@ -17,18 +17,23 @@
  */
 package org.icgc.dcc.submission.validation.primary.planner;
 
+import java.util.Collection;
+
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.visitor.PlanningVisitor;
 
 import cascading.flow.Flow;
+import cascading.flow.FlowDef;
 
 /**
  * Plans a {@code Flow} for a particular file (associated with a {@code FileSchema}).
  */
 public interface FileFlowPlanner {
 
+  String getFileName();
+
   void acceptVisitor(PlanningVisitor<?> planningVisitor);
 
   void applyReportingPlanElement(ReportingPlanElement element);
@@ -37,4 +42,15 @@ public interface FileFlowPlanner {
 
   Flow<?> connect(SubmissionPlatformStrategy cascadingStrategy);
 
+  /**
+   * Adds the source of the file and the sinks of its reports to {@code flowDef}, except those of the reports that are
+   * coalesced with the reports of other files if {@code coalesced}.
+   */
+  FlowDef define(FlowDef flowDef, SubmissionPlatformStrategy cascadingStrategy, boolean coalesced);
+
+  /**
+   * Returns the splits of the reports that may be coalesced with those of other files.
+   */
+  Collection<TaggedReport> getTaggedReports();
+
 }
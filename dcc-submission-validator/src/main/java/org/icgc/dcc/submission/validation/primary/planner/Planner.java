@@ -17,46 +17,120 @@
  */
 package org.icgc.dcc.submission.validation.primary.planner;
 
+import static com.google.common.base.Equivalence.identity;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.icgc.dcc.submission.validation.primary.core.FlowType.ROW_BASED;
+import static org.icgc.dcc.submission.validation.primary.core.PlanMode.PER_FILE;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import org.icgc.dcc.common.core.model.DataType;
+import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.ValidationMetrics;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
+import org.icgc.dcc.submission.validation.primary.core.PlanMode;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.visitor.ErrorReportingPlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.PlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.RowBasedRestrictionPlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.SummaryReportingPlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.ValueTypePlanningVisitor;
-import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.base.Equivalence.Wrapper;
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
 
 import cascading.pipe.Pipe;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@RequiredArgsConstructor
 public class Planner {
 
+  /**
+   * Maximum number of plans kept in memory.
+   */
+  private static final int MAX_CACHED_PLANS = 100;
+
   @NonNull
   private final Set<RestrictionType> restrictionTypes;
+  @NonNull
+  private final PlanMode mode;
+
+  /**
+   * Plans with the elements of the planning visitors applied, by what they were planned from. Only their taps, which
+   * are bound when they are connected, differ between validations.
+   */
+  private final Cache<PlanKey, Plan> plans = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PLANS).build();
+
+  public Planner(Set<RestrictionType> restrictionTypes) {
+    this(restrictionTypes, PER_FILE);
+  }
 
   public Plan plan(@NonNull String projectKey, @NonNull Collection<DataType> dataTypes,
       @NonNull SubmissionPlatformStrategy platform, @NonNull Dictionary dictionary) {
-    val plan = new Plan(projectKey, dictionary, platform);
+    val watch = Stopwatch.createStarted();
+    val plan = createPlan(projectKey, platform, dictionary, listFileNames(projectKey, dataTypes, platform, dictionary));
+    ValidationMetrics.recordPlanning(false, watch.elapsed(NANOSECONDS));
+
+    return plan;
+  }
+
+  /**
+   * Plans as {@link #plan(String, Collection, SubmissionPlatformStrategy, Dictionary)} does, reusing the plan of a
+   * previous validation of the project if it was for the same dictionary, code lists, data types and file names.
+   * <p>
+   * The dictionary and code lists are compared by identity as they are shared snapshots replaced on every update.
+   */
+  public Plan plan(@NonNull String projectKey, @NonNull Collection<DataType> dataTypes,
+      @NonNull SubmissionPlatformStrategy platform, @NonNull Dictionary dictionary, @NonNull List<CodeList> codeLists) {
+    val watch = Stopwatch.createStarted();
+    val fileNames = listFileNames(projectKey, dataTypes, platform, dictionary);
+    val key = new PlanKey(
+        projectKey,
+        dictionary.getVersion(),
+        identity().wrap(dictionary),
+        identity().wrap(codeLists),
+        ImmutableSet.copyOf(dataTypes),
+        fileNames);
+
+    val cached = plans.getIfPresent(key);
+    val reused = cached != null;
+    Plan plan;
+    if (reused) {
+      log.info("Reusing plan of a previous validation for '{}'", projectKey);
+      plan = cached;
+    } else {
+      plan = createPlan(projectKey, platform, dictionary, fileNames);
+      plans.put(key, plan);
+    }
+
+    ValidationMetrics.recordPlanning(reused, watch.elapsed(NANOSECONDS));
+
+    // Never hand out the cached instance itself, which would hold the cascade of the validation connecting it
+    return plan.rebind(platform);
+  }
+
+  private Plan createPlan(String projectKey, SubmissionPlatformStrategy platform, Dictionary dictionary,
+      ImmutableListMultimap<FileSchema, String> fileNames) {
+    val plan = new Plan(projectKey, dictionary, platform, mode);
 
     log.info("Including flow planners for '{}'", projectKey);
-    includeFlowPlanners(plan, projectKey, dataTypes, platform, dictionary);
+    includeFlowPlanners(plan, projectKey, fileNames);
 
     log.info("Applying planning visitors for '{}'", projectKey);
     applyVisitors(plan, platform, projectKey);
@@ -65,12 +139,11 @@ public class Planner {
   }
 
   /**
-   * Include flow planners based on file presence.
+   * Lists the files matching the file schemata of the data types.
    */
-
-  private void includeFlowPlanners(
-      Plan plan, String projectKey, Collection<DataType> dataTypes,
-      SubmissionPlatformStrategy platform, Dictionary dictionary) {
+  private static ImmutableListMultimap<FileSchema, String> listFileNames(String projectKey,
+      Collection<DataType> dataTypes, SubmissionPlatformStrategy platform, Dictionary dictionary) {
+    val fileNames = ImmutableListMultimap.<FileSchema, String> builder();
 
     // Selective validation filtering
     val fileSchemata = dictionary.getFileSchemata(dataTypes);
@@ -80,15 +153,27 @@ public class Planner {
         log.info("File schema '{}' has no matching datafile in submission directory for '{}'",
             new Object[] { fileSchema.getName(), projectKey });
       } else {
-        for (val fileName : matchingFileNames) {
-          log.info("Including file '{}' with file schema '{}' flow planners for '{}'",
-              new Object[] { fileName, fileSchema.getName(), projectKey });
-          plan.include(
-              fileName,
-              new DefaultRowBasedFlowPlanner(fileSchema, fileName));
-        }
+        fileNames.putAll(fileSchema, matchingFileNames);
       }
     }
+
+    return fileNames.build();
+  }
+
+  /**
+   * Include flow planners based on file presence.
+   */
+  private static void includeFlowPlanners(Plan plan, String projectKey,
+      ImmutableListMultimap<FileSchema, String> fileNames) {
+    for (val entry : fileNames.entries()) {
+      val fileSchema = entry.getKey();
+      val fileName = entry.getValue();
+      log.info("Including file '{}' with file schema '{}' flow planners for '{}'",
+          new Object[] { fileName, fileSchema.getName(), projectKey });
+      plan.include(
+          fileName,
+          new DefaultRowBasedFlowPlanner(fileSchema, fileName));
+    }
   }
 
   /**
@@ -112,4 +197,20 @@ public class Planner {
         new SummaryReportingPlanningVisitor(projectKey, platform),
         new ErrorReportingPlanningVisitor(projectKey, platform, ROW_BASED));
   }
+
+  /**
+   * What a plan is planned from. File schemata compare by identity, as the dictionary they belong to does.
+   */
+  @Value
+  private static class PlanKey {
+
+    String projectKey;
+    String dictionaryVersion;
+    Wrapper<Dictionary> dictionary;
+    Wrapper<List<CodeList>> codeLists;
+    Set<DataType> dataTypes;
+    ImmutableListMultimap<FileSchema, String> fileNames;
+
+  }
+
 }
@@ -15,28 +15,33 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.primary.planner;
 
-import org.icgc.dcc.submission.core.report.FileReport;
-import org.icgc.dcc.submission.core.report.SummaryReport;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
+import cascading.pipe.Pipe;
 import lombok.NonNull;
+import lombok.Value;
 
-public class AddSummaryVisitor extends AbstractFileNameReportVisitor {
+/**
+ * The split of a file's flow tagged by a {@link CoalescableReportingPlanElement}, to be coalesced with those of the
+ * other files.
+ */
+@Value
+public class TaggedReport {
 
   @NonNull
-  private final SummaryReport summaryReport;
-
-  public AddSummaryVisitor(@NonNull String fileName, @NonNull String name, @NonNull String value) {
-    super(fileName);
-    this.summaryReport = new SummaryReport(name, value);
-  }
+  String fileName;
+  @NonNull
+  FlowType flowType;
+  @NonNull
+  CoalescableReportingPlanElement element;
+  @NonNull
+  Pipe pipe;
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      fileReport.addSummaryReport(summaryReport);
-    }
+  public String getElementName() {
+    return element.getElementName();
   }
 
 }
@@ -20,7 +20,7 @@ package org.icgc.dcc.submission.validation.primary.report;
 import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Iterables.transform;
 import static java.lang.String.format;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.COMPLETENESS;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.COMPLETENESS;
 
 import java.io.InputStream;
 import java.util.Iterator;
@@ -33,8 +33,8 @@ import org.icgc.dcc.submission.validation.cascading.TupleStates;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.PlanExecutionException;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
-import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Function;
@@ -53,7 +53,7 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public abstract class BaseStatsReportingPlanElement implements ReportingPlanElement {
+public abstract class BaseStatsReportingPlanElement implements CoalescableReportingPlanElement {
 
   private static final ObjectMapper MAPPER = new ObjectMapper();
 
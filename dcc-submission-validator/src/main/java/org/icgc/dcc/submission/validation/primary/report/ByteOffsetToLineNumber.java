@@ -24,7 +24,6 @@ import static java.util.Collections.sort;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +34,7 @@ import org.apache.hadoop.io.compress.CompressionCodecFactory;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 
 import lombok.Cleanup;
 import lombok.NonNull;
@@ -69,7 +69,8 @@ public class ByteOffsetToLineNumber {
 
     // Need to sort offsets to ensure correct iteration order
     val sortedOffsets = sortOffsets(offsets);
-    log.info("Offsets: {}", sortedOffsets);
+    log.info("Remapping {} offsets", sortedOffsets.size());
+    log.debug("Offsets: {}", sortedOffsets);
 
     val mapping = buildByteToLineOffsetMap(file, sortedOffsets);
 
@@ -78,11 +79,15 @@ public class ByteOffsetToLineNumber {
 
   @SneakyThrows
   private static Map<Long, Long> buildByteToLineOffsetMap(Path file, List<Long> sortedOffsets) {
+    val index = NewlineIndex.read(fileSystem, file);
+
     @Cleanup
     val inputStream = createInputStream(file);
+    val buffer = new byte[BUFFER_SIZE_BYTES];
 
     val mapping = Maps.<Long, Long> newLinkedHashMap();
     long previousOffset = 0;
+    long position = 0; // Position in the decompressed stream
     long lineOffset = 1; // 1-based
 
     for (Long byteOffset : sortedOffsets) {
@@ -98,7 +103,21 @@ public class ByteOffsetToLineNumber {
           checkState(currentOffset > previousOffset,
               "Current offset %s is greater than previous offset %s", currentOffset, previousOffset);
 
-          lineOffset += countLinesInInterval(inputStream, previousOffset, currentOffset, lineOffset);
+          if (index != null) {
+            // Jump to the closest line start known to precede the offset rather than counting up to it
+            val checkpoint = index.floor(currentOffset);
+            val checkpointOffset = index.getCheckpointOffset(checkpoint);
+            if (checkpointOffset > position) {
+              skipFully(inputStream, checkpointOffset - position);
+              position = checkpointOffset;
+              lineOffset = index.getCheckpointLineNumber(checkpoint);
+            }
+          }
+
+          if (currentOffset > position) {
+            lineOffset += countLinesInInterval(inputStream, buffer, position, currentOffset);
+            position = currentOffset;
+          }
           mapping.put(byteOffset, lineOffset);
 
           previousOffset = byteOffset;
@@ -112,19 +131,19 @@ public class ByteOffsetToLineNumber {
     return mapping;
   }
 
-  private static long countLinesInInterval(DataInputStream is, long previousOffset, long currentOffset,
-      long lineOffset) {
+  private static long countLinesInInterval(DataInputStream is, byte[] buffer, long previousOffset,
+      long currentOffset) {
     long difference = currentOffset - previousOffset;
-    long quotient = (long) Math.floor(difference / (double) BUFFER_SIZE_BYTES);
-    int remainder = (int) (difference % BUFFER_SIZE_BYTES);
+    long quotient = difference / buffer.length;
+    int remainder = (int) (difference % buffer.length);
 
     long lines = 0;
     try {
-      for (int i = 0; i < quotient; i++) {
-        lines += countLinesInChunk(is, BUFFER_SIZE_BYTES, false); // can be zero
+      for (long i = 0; i < quotient; i++) {
+        lines += countLinesInChunk(is, buffer, buffer.length, remainder == 0 && i == quotient - 1);
       }
       if (remainder > 0) {
-        lines += countLinesInChunk(is, remainder, true); // at least one
+        lines += countLinesInChunk(is, buffer, remainder, true); // at least one
       }
 
       return lines;
@@ -133,12 +152,12 @@ public class ByteOffsetToLineNumber {
     }
   }
 
-  private static long countLinesInChunk(DataInputStream is, int size, boolean lastChunk) {
-    val buffer = readBuffer(is, size);
+  private static long countLinesInChunk(DataInputStream is, byte[] buffer, int size, boolean lastChunk) {
+    readBuffer(is, buffer, size);
     byte b = buffer[size - 1];
 
     checkState(!lastChunk || b == '\n', "expected '\\n' instead of byte %s (char %s) for chunk: %s",
-        b, Character.toString((char) b), new String(buffer));
+        b, Character.toString((char) b), new String(buffer, 0, size));
 
     long lines = 0;
     for (int i = 0; i < size; i++) {
@@ -158,16 +177,21 @@ public class ByteOffsetToLineNumber {
     return sortedOffsets;
   }
 
-  private static byte[] readBuffer(DataInputStream inputStream, int size) {
-    val buffer = new byte[size];
-
+  private static void readBuffer(DataInputStream inputStream, byte[] buffer, int size) {
     try {
-      inputStream.readFully(buffer);
+      inputStream.readFully(buffer, 0, size);
     } catch (IOException e) {
-      throw new RuntimeException("Error reading " + size + " bytes into buffer: " + Arrays.toString(buffer), e);
+      throw new RuntimeException("Error reading " + size + " bytes into buffer", e);
     }
+  }
 
-    return buffer;
+  private static void skipFully(DataInputStream inputStream, long size) {
+    try {
+      // Seeks when the file is not compressed
+      ByteStreams.skipFully(inputStream, size);
+    } catch (IOException e) {
+      throw new RuntimeException("Error skipping " + size + " bytes", e);
+    }
   }
 
   private static DataInputStream createInputStream(Path file) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.icgc.dcc.submission.core.report.FieldErrorReport.MAXIMUM_NUM_STORED_ERRORS;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.report.ErrorParameterKey;
+import org.icgc.dcc.submission.core.report.ErrorType;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.ComparisonChain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Errors of a file sharing the same type, number, column names and parameters, as aggregated within the flow.
+ * <p>
+ * The {@link #count} is exact whereas only the {@link #MAXIMUM_NUM_SAMPLES} errors with the lowest line numbers (ties
+ * broken on the value) are sampled, so that the sample does not depend on the order in which partial groups are
+ * merged.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ *  {
+ *    "type": "CODELIST_ERROR",
+ *    "number": 0,
+ *    "columnNames": [ "f1" ],
+ *    "parameters": { ... },
+ *    "count": 1000,
+ *    "lineNumbers": [ 10, 20, 30 ],
+ *    "values": [ "v1", "v2", "v3" ]
+ *  }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class ErrorGroup implements Serializable {
+
+  /**
+   * Maximum number of sampled errors, which is as many as a report stores.
+   */
+  public static final int MAXIMUM_NUM_SAMPLES = MAXIMUM_NUM_STORED_ERRORS;
+
+  /**
+   * Key.
+   */
+  private ErrorType type;
+  private int number;
+  private List<String> columnNames;
+  private Map<ErrorParameterKey, Object> parameters;
+
+  /**
+   * Values, with line numbers in ascending order.
+   */
+  private long count;
+  private List<Long> lineNumbers = newArrayList();
+  private List<Object> values = newArrayList();
+
+  public ErrorGroup(@NonNull ErrorType type, int number, @NonNull List<String> columnNames,
+      @NonNull Map<ErrorParameterKey, Object> parameters) {
+    this.type = type;
+    this.number = number;
+    this.columnNames = columnNames;
+    this.parameters = parameters;
+  }
+
+  /**
+   * Accounts for an error at {@code lineNumber}.
+   */
+  public void add(long lineNumber, Object value) {
+    count++;
+    sample(lineNumber, value);
+  }
+
+  /**
+   * Adds the errors of {@code other} to this group.
+   */
+  public void merge(@NonNull ErrorGroup other) {
+    checkArgument(type == other.type && number == other.number && columnNames.equals(other.columnNames),
+        "Cannot merge groups of different errors");
+
+    count += other.count;
+    for (int i = 0; i < other.lineNumbers.size(); i++) {
+      sample(other.lineNumbers.get(i), other.values.get(i));
+    }
+  }
+
+  /**
+   * Returns the number of errors that were counted but not sampled.
+   */
+  @JsonIgnore
+  public long getUnsampledCount() {
+    return count - lineNumbers.size();
+  }
+
+  private void sample(long lineNumber, Object value) {
+    // Insertion sort from the end as samples mostly arrive in line order
+    int i = lineNumbers.size();
+    while (i > 0 && compare(lineNumber, value, lineNumbers.get(i - 1), values.get(i - 1)) < 0) {
+      i--;
+    }
+
+    if (i >= MAXIMUM_NUM_SAMPLES) {
+      return;
+    }
+
+    lineNumbers.add(i, lineNumber);
+    values.add(i, value);
+    if (lineNumbers.size() > MAXIMUM_NUM_SAMPLES) {
+      lineNumbers.remove(MAXIMUM_NUM_SAMPLES);
+      values.remove(MAXIMUM_NUM_SAMPLES);
+    }
+  }
+
+  private static int compare(long lineNumber, Object value, long otherLineNumber, Object otherValue) {
+    return ComparisonChain.start()
+        .compare(lineNumber, otherLineNumber)
+        .compare(String.valueOf(value), String.valueOf(otherValue))
+        .result();
+  }
+
+}
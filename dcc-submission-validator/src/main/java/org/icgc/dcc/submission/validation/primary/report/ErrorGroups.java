@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.report.ErrorParameterKey;
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
+
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Per-file accumulator of the {@link ErrorGroup}s of the invalid tuples of a flow.
+ * <p>
+ * Memory is bounded by the number of distinct errors rather than by the number of invalid tuples, and accumulators can
+ * be merged in any order, which allows them to be updated map side and combined cheaply (see
+ * {@link ErrorGroupsSerialization}).
+ */
+public final class ErrorGroups implements Serializable {
+
+  /**
+   * Order of the first sampled line, ties broken on the key to remain deterministic.
+   */
+  private static final Ordering<ErrorGroup> FIRST_LINE_ORDER = new Ordering<ErrorGroup>() {
+
+    @Override
+    public int compare(ErrorGroup left, ErrorGroup right) {
+      return ComparisonChain.start()
+          .compare(left.getLineNumbers().get(0), right.getLineNumbers().get(0))
+          .compare(left.getType(), right.getType())
+          .compare(left.getNumber(), right.getNumber())
+          .compare(left.getColumnNames().toString(), right.getColumnNames().toString())
+          .compare(left.getParameters().toString(), right.getParameters().toString())
+          .result();
+    }
+
+  };
+
+  private final Map<Key, ErrorGroup> groups = Maps.newHashMap();
+
+  public void add(@NonNull TupleState tupleState) {
+    for (val error : tupleState.getErrors()) {
+      add(error);
+    }
+  }
+
+  public void add(@NonNull TupleError error) {
+    val key = new Key(error.getType(), error.getNumber(), error.getColumnNames(), error.getParameters());
+    ErrorGroup group = groups.get(key);
+    if (group == null) {
+      group = new ErrorGroup(key.getType(), key.getNumber(), key.getColumnNames(), key.getParameters());
+      groups.put(key, group);
+    }
+
+    group.add(error.getLine(), error.getValue());
+  }
+
+  /**
+   * Adds the groups of {@code other} to this accumulator.
+   */
+  public void merge(@NonNull ErrorGroups other) {
+    for (val entry : other.groups.entrySet()) {
+      val group = groups.get(entry.getKey());
+      if (group == null) {
+        groups.put(entry.getKey(), entry.getValue());
+      } else {
+        group.merge(entry.getValue());
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return groups.isEmpty();
+  }
+
+  /**
+   * Returns the groups in the order of their first sampled line, which is the order in which a sequential read of the
+   * file would have first encountered them.
+   */
+  public List<ErrorGroup> getGroups() {
+    return FIRST_LINE_ORDER.sortedCopy(groups.values());
+  }
+
+  @Value
+  private static class Key implements Serializable {
+
+    ErrorType type;
+    int number;
+    List<String> columnNames;
+    Map<ErrorParameterKey, Object> parameters;
+
+  }
+
+}
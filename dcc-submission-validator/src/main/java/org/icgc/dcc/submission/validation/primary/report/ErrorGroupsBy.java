@@ -15,7 +15,11 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.validation.cascading;
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
+
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.Aggregator;
@@ -26,34 +30,33 @@ import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
 
+/**
+ * Computes the {@link ErrorGroups} of the tuple states of a flow in a single aggregation.
+ * <p>
+ * Each map task accumulates the errors of its tuples into a single {@link ErrorGroups} partial; the partials are then
+ * merged on the reduce side, so the reducer only receives one partial per map task, bounded by the number of distinct
+ * errors.
+ *
+ * @see cascading.pipe.assembly.AggregateBy
+ */
 @SuppressWarnings("rawtypes")
-public class MinMaxBy extends AggregateBy {
+public class ErrorGroupsBy extends AggregateBy {
 
   private static final long serialVersionUID = 1L;
 
-  private static final int VALUE_OFFSET = 0;
-
-  private static final int MIN_OFFSET = 0;
-
-  private static final int MAX_OFFSET = 1;
-
-  public static final String MIN = "min";
-
-  public static final String MAX = "max";
-
-  private static final Fields MIN_MAX_FIELDS = new Fields(MIN, MAX);
+  public static final String GROUPS = "groups";
 
-  public static class MinMaxPartial implements Functor {
+  /**
+   * Class ErrorGroupsPartial is a {@link cascading.pipe.assembly.AggregateBy.Functor} that accumulates the errors of the
+   * tuple states of the tuple stream.
+   */
+  public static class ErrorGroupsPartial implements Functor {
 
     private static final long serialVersionUID = 1L;
 
     private final Fields declaredFields;
 
-    public MinMaxPartial() {
-      this(MIN_MAX_FIELDS);
-    }
-
-    public MinMaxPartial(Fields declaredFields) {
+    public ErrorGroupsPartial(Fields declaredFields) {
       this.declaredFields = declaredFields;
     }
 
@@ -63,90 +66,61 @@ public class MinMaxBy extends AggregateBy {
     }
 
     @Override
-    public Tuple complete(FlowProcess flowProcess, Tuple context) {
+    public Tuple aggregate(FlowProcess flowProcess, TupleEntry args, Tuple context) {
+      if (context == null) {
+        context = new Tuple(new ErrorGroups());
+      }
+
+      ErrorGroups groups = (ErrorGroups) context.getObject(0);
+      groups.add((TupleState) args.getObject(0));
+
       return context;
     }
 
     @Override
-    public Tuple aggregate(FlowProcess flowProcess, TupleEntry tupleEntry, Tuple tuple) {
-      if (tuple == null) {
-        tuple = Tuple.size(MIN_MAX_FIELDS.size());
-      }
-
-      Object object = tupleEntry.getObject(VALUE_OFFSET);
-      if (object != null) {
-        double value = tupleEntry.getDouble(VALUE_OFFSET);
-        if (tuple.getObject(MIN_OFFSET) == null || value < tuple.getDouble(MIN_OFFSET)) {
-          tuple.set(MIN_OFFSET, value);
-        }
-        if (tuple.getObject(MAX_OFFSET) == null || value > tuple.getDouble(MAX_OFFSET)) {
-          tuple.set(MAX_OFFSET, value);
-        }
-      }
-
-      return tuple;
+    public Tuple complete(FlowProcess flowProcess, Tuple context) {
+      return context;
     }
 
   }
 
-  public static class MinMaxFinal extends BaseOperation<MinMaxFinal.Context> implements Aggregator<MinMaxFinal.Context> {
+  /**
+   * Class ErrorGroupsFinal merges the partials on the reduce side of the process. It must be used in tandem with a
+   * {@link ErrorGroupsPartial} Functor.
+   */
+  public static class ErrorGroupsFinal extends BaseOperation<ErrorGroups> implements Aggregator<ErrorGroups> {
 
     private static final long serialVersionUID = 1L;
 
-    protected static class Context {
-
-      Double min;
-
-      Double max;
-
-      public Context reset() {
-        min = null;
-        max = null;
-        return this;
-      }
-    }
-
-    public MinMaxFinal(Fields fieldDeclaration) {
-      super(MIN_MAX_FIELDS.size(), fieldDeclaration);
+    public ErrorGroupsFinal(Fields fieldDeclaration) {
+      super(1, fieldDeclaration);
     }
 
     @Override
-    public void start(FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall) {
-      if (aggregatorCall.getContext() != null) {
-        aggregatorCall.getContext().reset();
-      } else {
-        aggregatorCall.setContext(new Context());
-      }
+    public void start(FlowProcess flowProcess, AggregatorCall<ErrorGroups> aggregatorCall) {
+      aggregatorCall.setContext(new ErrorGroups());
     }
 
     @Override
-    public void aggregate(FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall) {
-      TupleEntry tupleEntry = aggregatorCall.getArguments();
-
-      Context context = aggregatorCall.getContext();
-      if (tupleEntry.getObject(MIN_OFFSET) != null) {
-        double min = tupleEntry.getDouble(MIN_OFFSET);
-        if (context.min == null || min < context.min) {
-          context.min = min;
-        }
-      }
-      if (tupleEntry.getObject(MAX_OFFSET) != null) {
-        double max = tupleEntry.getDouble(MAX_OFFSET);
-        if (context.max == null || max > context.max) {
-          context.max = max;
-        }
-      }
-
+    public void aggregate(FlowProcess flowProcess, AggregatorCall<ErrorGroups> aggregatorCall) {
+      aggregatorCall.getContext().merge((ErrorGroups) aggregatorCall.getArguments().getObject(0));
     }
 
     @Override
-    public void complete(FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall) {
-      Context context = aggregatorCall.getContext();
-      aggregatorCall.getOutputCollector().add(new Tuple(context.min, context.max));
+    public void complete(FlowProcess flowProcess, AggregatorCall<ErrorGroups> aggregatorCall) {
+      aggregatorCall.getOutputCollector().add(new Tuple(aggregatorCall.getContext()));
     }
+
   }
 
-  public MinMaxBy(Fields valueField, Fields minMaxFields) {
-    super(valueField, new MinMaxPartial(minMaxFields), new MinMaxFinal(minMaxFields));
+  /**
+   * @param groupsField the field holding the resulting {@link ErrorGroups}
+   */
+  public ErrorGroupsBy(Fields groupsField) {
+    super(
+        STATE_FIELD,
+        new ErrorGroupsPartial(groupsField),
+        new ErrorGroupsFinal(groupsField));
   }
+
 }
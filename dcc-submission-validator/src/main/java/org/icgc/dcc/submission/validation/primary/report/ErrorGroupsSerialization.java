@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serialization;
+import org.apache.hadoop.io.serializer.Serializer;
+
+import cascading.tuple.hadoop.SerializationToken;
+
+/**
+ * Hadoop serialization of the {@link ErrorGroups} partials sent from the map side of an errors report.
+ * <p>
+ * Error values and parameters are arbitrary objects so Java serialization is used, as for tuple states, which is cheap
+ * here as there is a single partial per map task.
+ */
+@SerializationToken(tokens = { 224 },
+    classNames = { "org.icgc.dcc.submission.validation.primary.report.ErrorGroups" })
+public class ErrorGroupsSerialization extends Configured implements Serialization<ErrorGroups> {
+
+  public static class ErrorGroupsDeserializer implements Deserializer<ErrorGroups> {
+
+    private DataInputStream in;
+
+    @Override
+    public void open(InputStream in) throws IOException {
+      if (in instanceof DataInputStream) {
+        this.in = (DataInputStream) in;
+      } else {
+        this.in = new DataInputStream(in);
+      }
+    }
+
+    @Override
+    public ErrorGroups deserialize(ErrorGroups groups) throws IOException {
+      try {
+        return (ErrorGroups) new ObjectInputStream(in).readObject();
+      } catch (ClassNotFoundException e) {
+        throw new IOException("Could not deserialize error groups", e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+  public static class ErrorGroupsSerializer implements Serializer<ErrorGroups> {
+
+    private DataOutputStream out;
+
+    @Override
+    public void open(OutputStream out) throws IOException {
+      if (out instanceof DataOutputStream) {
+        this.out = (DataOutputStream) out;
+      } else {
+        this.out = new DataOutputStream(out);
+      }
+    }
+
+    @Override
+    public void serialize(ErrorGroups groups) throws IOException {
+      ObjectOutputStream outputStream = new ObjectOutputStream(out);
+      outputStream.writeObject(groups);
+      outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+
+  }
+
+  @Override
+  public boolean accept(Class<?> c) {
+    return ErrorGroups.class.isAssignableFrom(c);
+  }
+
+  @Override
+  public Serializer<ErrorGroups> getSerializer(Class<ErrorGroups> c) {
+    return new ErrorGroupsSerializer();
+  }
+
+  @Override
+  public Deserializer<ErrorGroups> getDeserializer(Class<ErrorGroups> c) {
+    return new ErrorGroupsDeserializer();
+  }
+
+}
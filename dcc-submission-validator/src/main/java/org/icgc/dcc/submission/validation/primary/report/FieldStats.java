@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.WritableUtils;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Per-file accumulator of the statistics of a summary report, one column per summarized field.
+ * <p>
+ * Each column tracks its completeness counts and, if {@code numeric}, the count, minimum, maximum, mean and sum of
+ * squared deviations of its values (Welford's online algorithm). Accumulators of the same shape can be merged in any
+ * order, which allows them to be updated map side and combined cheaply, and written in a compact binary form (see
+ * {@link FieldStatsSerialization}).
+ */
+public final class FieldStats {
+
+  /**
+   * Names of the completeness statistics, reported together as {@link #COMPLETENESS}.
+   */
+  public static final String COMPLETENESS = "completeness";
+  public static final String NULLS = "nulls";
+  public static final String MISSING = "missing";
+  public static final String POPULATED = "populated";
+
+  /**
+   * Names of the statistics of numeric fields.
+   */
+  public static final String MIN = "min";
+  public static final String MAX = "max";
+  public static final String AVG = "avg";
+  public static final String STDDEV = "stddev";
+
+  @Getter
+  private final boolean numeric;
+
+  /**
+   * Completeness.
+   */
+  private final long[] nulls;
+  private final long[] missing;
+  private final long[] populated;
+
+  /**
+   * Numeric moments, empty if not {@link #numeric}.
+   */
+  private final long[] counts;
+  private final double[] means;
+  private final double[] squaredDeviations;
+  private final double[] mins;
+  private final double[] maxes;
+
+  public FieldStats(int columnCount, boolean numeric) {
+    this.numeric = numeric;
+    this.nulls = new long[columnCount];
+    this.missing = new long[columnCount];
+    this.populated = new long[columnCount];
+
+    int numericCount = numeric ? columnCount : 0;
+    this.counts = new long[numericCount];
+    this.means = new double[numericCount];
+    this.squaredDeviations = new double[numericCount];
+    this.mins = new double[numericCount];
+    this.maxes = new double[numericCount];
+    Arrays.fill(mins, Double.POSITIVE_INFINITY);
+    Arrays.fill(maxes, Double.NEGATIVE_INFINITY);
+  }
+
+  public int getColumnCount() {
+    return nulls.length;
+  }
+
+  /**
+   * Accounts for {@code value} in {@code column}.
+   *
+   * @param missingValue whether the value was a missing code
+   */
+  public void add(int column, Object value, boolean missingValue) {
+    if (missingValue) {
+      missing[column]++;
+    } else if (value == null || isEmptyString(value)) {
+      nulls[column]++;
+    } else {
+      populated[column]++;
+    }
+
+    if (numeric && value != null && !isEmptyString(value)) {
+      addNumeric(column, toDouble(value));
+    }
+  }
+
+  /**
+   * Adds the statistics of {@code other} to this accumulator.
+   */
+  public void merge(@NonNull FieldStats other) {
+    checkArgument(other.getColumnCount() == getColumnCount() && other.numeric == numeric,
+        "Cannot merge statistics of different shapes");
+
+    for (int column = 0; column < getColumnCount(); column++) {
+      nulls[column] += other.nulls[column];
+      missing[column] += other.missing[column];
+      populated[column] += other.populated[column];
+
+      if (numeric && other.counts[column] > 0) {
+        mergeNumeric(column, other.counts[column], other.means[column], other.squaredDeviations[column],
+            other.mins[column], other.maxes[column]);
+      }
+    }
+  }
+
+  public long getNulls(int column) {
+    return nulls[column];
+  }
+
+  public long getMissing(int column) {
+    return missing[column];
+  }
+
+  public long getPopulated(int column) {
+    return populated[column];
+  }
+
+  public long getCount(int column) {
+    return counts[column];
+  }
+
+  /**
+   * Returns the minimum value or {@code null} if there was none.
+   */
+  public Double getMin(int column) {
+    return counts[column] == 0 ? null : mins[column];
+  }
+
+  /**
+   * Returns the maximum value or {@code null} if there was none.
+   */
+  public Double getMax(int column) {
+    return counts[column] == 0 ? null : maxes[column];
+  }
+
+  /**
+   * Returns the mean value or {@code NaN} if there was none.
+   */
+  public double getAverage(int column) {
+    return counts[column] == 0 ? Double.NaN : means[column];
+  }
+
+  /**
+   * Returns the population standard deviation or {@code NaN} if there was no value.
+   */
+  public double getStandardDeviation(int column) {
+    return counts[column] == 0 ? Double.NaN : Math.sqrt(squaredDeviations[column] / counts[column]);
+  }
+
+  public void write(@NonNull DataOutput output) throws IOException {
+    output.writeBoolean(numeric);
+    WritableUtils.writeVInt(output, getColumnCount());
+    for (int column = 0; column < getColumnCount(); column++) {
+      WritableUtils.writeVLong(output, nulls[column]);
+      WritableUtils.writeVLong(output, missing[column]);
+      WritableUtils.writeVLong(output, populated[column]);
+
+      if (numeric) {
+        WritableUtils.writeVLong(output, counts[column]);
+        if (counts[column] > 0) {
+          output.writeDouble(means[column]);
+          output.writeDouble(squaredDeviations[column]);
+          output.writeDouble(mins[column]);
+          output.writeDouble(maxes[column]);
+        }
+      }
+    }
+  }
+
+  public static FieldStats read(@NonNull DataInput input) throws IOException {
+    boolean numeric = input.readBoolean();
+    FieldStats stats = new FieldStats(WritableUtils.readVInt(input), numeric);
+    for (int column = 0; column < stats.getColumnCount(); column++) {
+      stats.nulls[column] = WritableUtils.readVLong(input);
+      stats.missing[column] = WritableUtils.readVLong(input);
+      stats.populated[column] = WritableUtils.readVLong(input);
+
+      if (numeric) {
+        stats.counts[column] = WritableUtils.readVLong(input);
+        if (stats.counts[column] > 0) {
+          stats.means[column] = input.readDouble();
+          stats.squaredDeviations[column] = input.readDouble();
+          stats.mins[column] = input.readDouble();
+          stats.maxes[column] = input.readDouble();
+        }
+      }
+    }
+
+    return stats;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("FieldStats(columns=%s, numeric=%s, populated=%s)",
+        getColumnCount(), numeric, Arrays.toString(populated));
+  }
+
+  private void addNumeric(int column, double value) {
+    long count = ++counts[column];
+    double delta = value - means[column];
+    means[column] += delta / count;
+    squaredDeviations[column] += delta * (value - means[column]);
+
+    if (value < mins[column]) {
+      mins[column] = value;
+    }
+    if (value > maxes[column]) {
+      maxes[column] = value;
+    }
+  }
+
+  /**
+   * Pairwise combination of the moments (Chan et al.).
+   */
+  private void mergeNumeric(int column, long otherCount, double otherMean, double otherSquaredDeviations,
+      double otherMin, double otherMax) {
+    long count = counts[column] + otherCount;
+    double delta = otherMean - means[column];
+    means[column] += delta * otherCount / count;
+    squaredDeviations[column] += otherSquaredDeviations + delta * delta * counts[column] * otherCount / count;
+    counts[column] = count;
+
+    mins[column] = Math.min(mins[column], otherMin);
+    maxes[column] = Math.max(maxes[column], otherMax);
+  }
+
+  private static boolean isEmptyString(Object value) {
+    return value instanceof String && ((String) value).isEmpty();
+  }
+
+  private static double toDouble(Object value) {
+    return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.icgc.dcc.common.cascading.Fields2.fields;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+
+import com.google.common.collect.ImmutableList;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+
+/**
+ * Computes the {@link FieldStats} of a set of fields in a single aggregation.
+ * <p>
+ * Each map task accumulates its tuples into a single {@link FieldStats} partial; the partials are then merged on the
+ * reduce side, so the reducer only receives one compact partial per map task.
+ * 
+ * @see cascading.pipe.assembly.AggregateBy
+ */
+@SuppressWarnings("rawtypes")
+public class FieldStatsBy extends AggregateBy {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String STATS = "stats";
+
+  /**
+   * Class FieldStatsPartial is a {@link cascading.pipe.assembly.AggregateBy.Functor} that accumulates the field values
+   * and states of the tuple stream.
+   */
+  public static class FieldStatsPartial implements Functor {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> fieldNames;
+    private final boolean numeric;
+    private final Fields declaredFields;
+
+    public FieldStatsPartial(List<String> fieldNames, boolean numeric, Fields declaredFields) {
+      this.fieldNames = ImmutableList.copyOf(fieldNames);
+      this.numeric = numeric;
+      this.declaredFields = declaredFields;
+    }
+
+    @Override
+    public Fields getDeclaredFields() {
+      return declaredFields;
+    }
+
+    @Override
+    public Tuple aggregate(FlowProcess flowProcess, TupleEntry args, Tuple context) {
+      int columnCount = fieldNames.size();
+      if (context == null) {
+        context = new Tuple(new FieldStats(columnCount, numeric));
+      }
+
+      // Arguments are the fields in column order followed by the state
+      FieldStats stats = (FieldStats) context.getObject(0);
+      TupleState state = (TupleState) args.getObject(columnCount);
+      for (int column = 0; column < columnCount; column++) {
+        stats.add(column, args.getObject(column), state.isFieldMissing(fieldNames.get(column)));
+      }
+
+      return context;
+    }
+
+    @Override
+    public Tuple complete(FlowProcess flowProcess, Tuple context) {
+      return context;
+    }
+
+  }
+
+  /**
+   * Class FieldStatsFinal merges the partials on the reduce side of the process. It must be used in tandem with a
+   * {@link FieldStatsPartial} Functor.
+   * <p>
+   * The merged stats are sized after the first partial of each group, so that groups of different files, hence of
+   * different columns, may share the same aggregator.
+   */
+  public static class FieldStatsFinal extends BaseOperation<FieldStats> implements Aggregator<FieldStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean numeric;
+
+    public FieldStatsFinal(boolean numeric, Fields fieldDeclaration) {
+      super(1, fieldDeclaration);
+      this.numeric = numeric;
+    }
+
+    @Override
+    public void start(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      aggregatorCall.setContext(null);
+    }
+
+    @Override
+    public void aggregate(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      FieldStats partial = (FieldStats) aggregatorCall.getArguments().getObject(0);
+      if (aggregatorCall.getContext() == null) {
+        aggregatorCall.setContext(new FieldStats(partial.getColumnCount(), numeric));
+      }
+
+      aggregatorCall.getContext().merge(partial);
+    }
+
+    @Override
+    public void complete(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      aggregatorCall.getOutputCollector().add(new Tuple(aggregatorCall.getContext()));
+    }
+
+  }
+
+  /**
+   * @param fieldNames the fields to summarize, in column order
+   * @param numeric whether numeric statistics should be computed in addition to completeness
+   * @param statsField the field holding the resulting {@link FieldStats}
+   */
+  public FieldStatsBy(List<String> fieldNames, boolean numeric, Fields statsField) {
+    super(
+        fields(ImmutableList.<String> builder().addAll(fieldNames).add(STATE_FIELD_NAME).build()),
+        new FieldStatsPartial(fieldNames, numeric, statsField),
+        new FieldStatsFinal(numeric, statsField));
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serialization;
+import org.apache.hadoop.io.serializer.Serializer;
+
+import cascading.tuple.hadoop.SerializationToken;
+
+/**
+ * Hadoop serialization of the {@link FieldStats} partials sent from the map side of a summary report, in their binary
+ * form.
+ */
+@SerializationToken(tokens = { 223 },
+    classNames = { "org.icgc.dcc.submission.validation.primary.report.FieldStats" })
+public class FieldStatsSerialization extends Configured implements Serialization<FieldStats> {
+
+  public static class FieldStatsDeserializer implements Deserializer<FieldStats> {
+
+    private DataInputStream in;
+
+    @Override
+    public void open(InputStream in) throws IOException {
+      if (in instanceof DataInputStream) {
+        this.in = (DataInputStream) in;
+      } else {
+        this.in = new DataInputStream(in);
+      }
+    }
+
+    @Override
+    public FieldStats deserialize(FieldStats stats) throws IOException {
+      return FieldStats.read(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+  public static class FieldStatsSerializer implements Serializer<FieldStats> {
+
+    private DataOutputStream out;
+
+    @Override
+    public void open(OutputStream out) throws IOException {
+      if (out instanceof DataOutputStream) {
+        this.out = (DataOutputStream) out;
+      } else {
+        this.out = new DataOutputStream(out);
+      }
+    }
+
+    @Override
+    public void serialize(FieldStats stats) throws IOException {
+      stats.write(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+
+  }
+
+  @Override
+  public boolean accept(Class<?> c) {
+    return FieldStats.class.isAssignableFrom(c);
+  }
+
+  @Override
+  public Serializer<FieldStats> getSerializer(Class<FieldStats> c) {
+    return new FieldStatsSerializer();
+  }
+
+  @Override
+  public Deserializer<FieldStats> getDeserializer(Class<FieldStats> c) {
+    return new FieldStatsDeserializer();
+  }
+
+}
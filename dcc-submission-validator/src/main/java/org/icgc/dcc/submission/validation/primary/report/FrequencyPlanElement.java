@@ -18,12 +18,15 @@
 package org.icgc.dcc.submission.validation.primary.report;
 
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
 import com.google.common.base.Optional;
@@ -72,6 +75,39 @@ public final class FrequencyPlanElement extends BaseStatsReportingPlanElement {
     return pipe;
   }
 
+  @Override
+  public Pipe tag(Pipe pipe) {
+    pipe = keepStructurallyValidTuples(pipe);
+
+    Pipe[] values = new Pipe[fieldNames.size()];
+    int i = 0;
+    for (String fieldName : fieldNames) {
+      values[i] = values(fieldName, pipe);
+      values[i] = new Each(values[i], new Insert(FILE_FIELD.append(FIELD_FIELDS), fileName, fieldName), Fields.ALL);
+      i++;
+    }
+
+    return new Merge(values);
+  }
+
+  /**
+   * Same as {@link #report(Pipe)} with the values of all the fields of all the files counted at once.
+   */
+  @Override
+  public Pipe coalesce(List<CoalescableReportingPlanElement> elements, Pipe[] tagged) {
+    Fields fileAndField = FILE_FIELD.append(FIELD_FIELDS);
+
+    Pipe pipe = new CountBy(getElementName(), tagged, fileAndField.append(new Fields(VALUE, MISSING_FLAG)),
+        new Fields(FREQ));
+    pipe = new GroupBy(pipe, fileAndField);
+    pipe = new Every(
+        pipe,
+        new Fields(VALUE, FREQ, MISSING_FLAG),
+        new FrequencySummaryBuffer(),
+        FILE_FIELD.append(REPORT_FIELDS));
+    return pipe;
+  }
+
   /**
    * - keep only the field of interest "my_field" and "_state"<br/>
    * - replace "_state" with boolean "missing?"<br/>
@@ -109,12 +145,20 @@ public final class FrequencyPlanElement extends BaseStatsReportingPlanElement {
    * </table>
    */
   protected Pipe frequency(String field, Pipe pipe) {
+    pipe = values(field, pipe);
+    pipe = new CountBy(pipe, new Fields(VALUE, MISSING_FLAG), new Fields(FREQ));
+    pipe = new Each(pipe, new Insert(new Fields(FIELD), field), new Fields(FIELD, VALUE, MISSING_FLAG, FREQ));
+    return pipe;
+  }
+
+  /**
+   * Keeps only the "value" and "missing?" of {@code field}.
+   */
+  private Pipe values(String field, Pipe pipe) {
     pipe = new Pipe(getSubPipeName(FREQ + "_" + field), pipe);
     pipe = new Retain(pipe, new Fields(field).append(ValidationFields.STATE_FIELD));
     pipe = new Each(pipe, ValidationFields.STATE_FIELD, new MissingFlaggerFunction(field), Fields.SWAP);
     pipe = new Rename(pipe, new Fields(field), new Fields(VALUE));
-    pipe = new CountBy(pipe, new Fields(VALUE, MISSING_FLAG), new Fields(FREQ));
-    pipe = new Each(pipe, new Insert(new Fields(FIELD), field), new Fields(FIELD, VALUE, MISSING_FLAG, FREQ));
     return pipe;
   }
 
@@ -140,7 +184,7 @@ public final class FrequencyPlanElement extends BaseStatsReportingPlanElement {
    * This also populates {@code FieldSummary}'s fields populated, missing and nulls, which collectively represent what
    * we refer to as "completeness".
    * <p>
-   * FIXME?: There is some logic in here that is redundant with that of {@code CompletenessBy}... (see DCC-770)
+   * FIXME?: There is some logic in here that is redundant with that of {@code FieldStats}... (see DCC-770)
    */
   @SuppressWarnings("rawtypes")
   public static class FrequencySummaryBuffer extends BaseOperation implements Buffer {
@@ -154,7 +198,7 @@ public final class FrequencyPlanElement extends BaseStatsReportingPlanElement {
       @SuppressWarnings("unchecked")
       Iterator<TupleEntry> tuples = bufferCall.getArgumentsIterator();
       FieldSummary fs = new FieldSummary();
-      fs.field = bufferCall.getGroup().getString(0);
+      fs.field = bufferCall.getGroup().getString(FIELD);
       while (tuples.hasNext()) {
         TupleEntry tuple = tuples.next();
         String value = tuple.getString(0); // TODO: use field names...
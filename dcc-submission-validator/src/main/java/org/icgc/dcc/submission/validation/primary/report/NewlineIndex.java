@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import lombok.Cleanup;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sparse index of the line starts of a (decompressed) submission file.
+ * <p>
+ * Records the byte offset at which every {@link #getInterval()}-th line begins, so that converting a byte offset to a
+ * line number only requires scanning from the nearest preceding checkpoint rather than from the beginning of the file.
+ * Built once per file while the first pass validation reads it (see {@code DelegatingFileRowChecker}), and persisted in
+ * the validation directory for {@link ByteOffsetToLineNumber} to pick up.
+ * <p>
+ * Not thread-safe.
+ */
+@Slf4j
+public final class NewlineIndex {
+
+  /**
+   * Default number of lines between two checkpoints (about 2.5 MB of a typical submission file).
+   */
+  public static final int DEFAULT_INTERVAL = 8192;
+
+  private static final String INDEX_FILE_EXTENSION = ".newlines";
+  private static final int VERSION = 1;
+
+  /**
+   * Number of lines between two checkpoints.
+   */
+  @Getter
+  private final int interval;
+
+  /**
+   * Checkpoint {@code i} is the byte offset at which line {@code i * interval + 1} begins. The first checkpoint is
+   * always {@code 0}.
+   */
+  private long[] checkpoints;
+  private int size;
+
+  /**
+   * Number of newlines seen so far.
+   */
+  private long lineCount;
+
+  public NewlineIndex() {
+    this(DEFAULT_INTERVAL);
+  }
+
+  public NewlineIndex(int interval) {
+    checkArgument(interval > 0, "Interval must be positive: %s", interval);
+    this.interval = interval;
+    this.checkpoints = new long[16];
+    this.size = 1;
+  }
+
+  /**
+   * Returns the name of the index file for a submission file.
+   */
+  public static String getIndexFileName(@NonNull String fileName) {
+    return fileName + INDEX_FILE_EXTENSION;
+  }
+
+  /**
+   * Returns the path of the index file for a submission file, that is in the validation directory next to it.
+   */
+  public static Path getIndexPath(@NonNull Path file) {
+    return new Path(new Path(file.getParent(), VALIDATION_DIRNAME), getIndexFileName(file.getName()));
+  }
+
+  /**
+   * Registers the newline found at {@code offset} (offsets must be increasing).
+   */
+  public void newline(long offset) {
+    lineCount++;
+    if (lineCount % interval == 0) {
+      if (size == checkpoints.length) {
+        checkpoints = Arrays.copyOf(checkpoints, size * 2);
+      }
+
+      // The next line begins right after the newline
+      checkpoints[size++] = offset + 1;
+    }
+  }
+
+  public int getCheckpointCount() {
+    return size;
+  }
+
+  /**
+   * Returns the index of the last checkpoint at or before {@code offset}.
+   */
+  public int floor(long offset) {
+    checkArgument(offset >= 0, "Offset is negative: %s", offset);
+    int index = Arrays.binarySearch(checkpoints, 0, size, offset);
+
+    return index >= 0 ? index : -index - 2;
+  }
+
+  public long getCheckpointOffset(int index) {
+    return checkpoints[index];
+  }
+
+  /**
+   * Returns the (1-based) line number of the line beginning at checkpoint {@code index}.
+   */
+  public long getCheckpointLineNumber(int index) {
+    return (long) index * interval + 1;
+  }
+
+  /**
+   * Returns an upper bound of the number of lines of the indexed file, within {@link #getInterval()} of the actual
+   * count.
+   */
+  public long getMaxLineCount() {
+    return (long) size * interval;
+  }
+
+  public void write(@NonNull DataOutput output) throws IOException {
+    output.writeInt(VERSION);
+    output.writeInt(interval);
+    output.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      output.writeLong(checkpoints[i]);
+    }
+  }
+
+  public static NewlineIndex read(@NonNull DataInput input) throws IOException {
+    int version = input.readInt();
+    checkState(version == VERSION, "Unsupported newline index version: %s", version);
+
+    val index = new NewlineIndex(input.readInt());
+    int size = input.readInt();
+    checkState(size > 0, "Invalid newline index size: %s", size);
+    index.checkpoints = new long[size];
+    for (int i = 0; i < size; i++) {
+      index.checkpoints[i] = input.readLong();
+    }
+    index.size = size;
+
+    return index;
+  }
+
+  /**
+   * Returns the index built by the first pass validation for {@code file}, or {@code null} if there is none or it
+   * predates the last modification of the file.
+   */
+  public static NewlineIndex read(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    val indexPath = getIndexPath(file);
+    try {
+      if (!fileSystem.exists(indexPath)) {
+        log.info("No newline index found for '{}'", file);
+        return null;
+      }
+
+      val indexModificationTime = fileSystem.getFileStatus(indexPath).getModificationTime();
+      val fileModificationTime = fileSystem.getFileStatus(file).getModificationTime();
+      if (indexModificationTime < fileModificationTime) {
+        log.warn("Ignoring stale newline index '{}'", indexPath);
+        return null;
+      }
+
+      @Cleanup
+      val inputStream = fileSystem.open(indexPath);
+      val index = read(inputStream);
+      log.info("Using newline index '{}' ({} checkpoints)", indexPath, index.getCheckpointCount());
+
+      return index;
+    } catch (Exception e) {
+      log.warn("Could not read newline index '" + indexPath + "': ", e);
+      return null;
+    }
+  }
+
+}
@@ -17,29 +17,31 @@
  */
 package org.icgc.dcc.submission.validation.primary.report;
 
-import static java.lang.String.format;
+import static cascading.pipe.assembly.AggregateBy.USE_DEFAULT_THRESHOLD;
+import static org.icgc.dcc.common.cascading.Fields2.fields;
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.MIN_MAX;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.MISSING;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.NULLS;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.POPULATED;
-import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MAX;
-import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MIN;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD_NAME;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
-import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.AVG;
-import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.STDDEV;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.AVG;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.MAX;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.MIN;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.STDDEV;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStatsBy.STATS;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.SummaryType;
-import org.icgc.dcc.submission.validation.cascading.CompletenessBy;
-import org.icgc.dcc.submission.validation.cascading.MinMaxBy;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
+import org.icgc.dcc.submission.validation.primary.report.FieldStatsBy.FieldStatsFinal;
+import org.icgc.dcc.submission.validation.primary.report.FieldStatsBy.FieldStatsPartial;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 
 import cascading.flow.FlowProcess;
@@ -48,18 +50,20 @@ import cascading.operation.Function;
 import cascading.operation.FunctionCall;
 import cascading.operation.Insert;
 import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
 import cascading.pipe.Pipe;
 import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.AggregateBy.CompositeFunction;
 import cascading.pipe.assembly.Discard;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
 
-  protected static String summaryFieldName(String originalFieldName, String summaryName) {
-    return format("%s#%s", originalFieldName, summaryName);
-  }
+  private static final Fields STATS_FIELDS = new Fields(STATS);
 
   protected SummaryPlanElement(
       FlowType flowType, Optional<SummaryType> optionalSummaryType,
@@ -71,21 +75,11 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
   public Pipe report(Pipe pipe) {
     pipe = keepStructurallyValidTuples(pipe);
 
-    ArrayList<AggregateBy> summaries = new ArrayList<AggregateBy>();
-    for (String fieldName : fieldNames) {
-      Iterables.addAll(summaries, collectAggregateBys(fieldName));
-    }
-
-    // This is highly inefficient. This adds a constant to every row so we can group on it so that the AggregateBy
-    // instances see all values.
-    // Alternatively, we could set a random number to each row and group on this, each group would then produce
-    // intermediate result (sum, count for average) and another pipe could then process this smaller set as done here.
+    // All the fields are accumulated into a single FieldStats per map task, so although a constant is grouped on for a
+    // single result to emerge, the one group only merges a compact partial per map task.
     Fields constantField = new Fields("__constant__");
     pipe = new Each(pipe, new Insert(constantField, "1"), Fields.ALL);
-    pipe = new AggregateBy(pipe, constantField, Iterables.toArray(summaries, AggregateBy.class)); // only one group
-                                                                                                  // emerges from
-                                                                                                  // grouping on
-                                                                                                  // "__constant__"
+    pipe = new AggregateBy(pipe, constantField, new FieldStatsBy(fieldNames, isNumeric(), STATS_FIELDS));
     pipe = new Discard(pipe, constantField);
     pipe = new Each(
         pipe,
@@ -94,72 +88,59 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
     return pipe;
   }
 
-  protected AggregateBy makeDeviation(String fieldName) {
-    return new DeviationBy(
-        new Fields(fieldName),
-        fieldName,
-        new Fields(
-            summaryFieldName(fieldName, AVG),
-            summaryFieldName(fieldName, STDDEV)));
-  }
+  /**
+   * Computes the {@link FieldStats} partials of the file before its pipe is merged with those of other files, which
+   * hold different fields.
+   */
+  @Override
+  public Pipe tag(Pipe pipe) {
+    pipe = keepStructurallyValidTuples(pipe);
+    pipe = new Each(pipe, new Insert(FILE_FIELD, fileName), Fields.ALL);
 
-  protected AggregateBy makeMinMax(String fieldName) {
-    return new MinMaxBy(
-        new Fields(fieldName),
-        new Fields(
-            summaryFieldName(fieldName, MIN),
-            summaryFieldName(fieldName, MAX)));
+    Fields argumentFields = fields(ImmutableList.<String> builder().addAll(fieldNames).add(STATE_FIELD_NAME).build());
+    return new Each(
+        pipe,
+        FILE_FIELD.append(argumentFields),
+        new CompositeFunction(
+            FILE_FIELD,
+            argumentFields,
+            new FieldStatsPartial(fieldNames, isNumeric(), STATS_FIELDS),
+            USE_DEFAULT_THRESHOLD),
+        Fields.RESULTS);
   }
 
-  protected AggregateBy makeCompleteness(String fieldName) {
-    return new CompletenessBy(
-        new Fields(fieldName, STATE_FIELD_NAME),
-        new Fields(
-            summaryFieldName(fieldName, NULLS),
-            summaryFieldName(fieldName, MISSING),
-            summaryFieldName(fieldName, POPULATED)));
-  }
+  @Override
+  public Pipe coalesce(List<CoalescableReportingPlanElement> elements, Pipe[] tagged) {
+    val fileFieldNames = ImmutableMap.<String, List<String>> builder();
+    for (val element : elements) {
+      val summaryElement = (SummaryPlanElement) element;
+      fileFieldNames.put(summaryElement.fileName, summaryElement.fieldNames);
+    }
 
-  /**
-   * Returns a iterable of {@code AggregateBy} instances to be applied to every tuples in the one group that results in
-   * grouping on "__constant__"
-   * <p>
-   * See TODO about that __constant__ field.
-   */
-  protected abstract Iterable<AggregateBy> collectAggregateBys(String fieldName);
+    Pipe pipe = new GroupBy(getElementName(), tagged, FILE_FIELD);
+    pipe = new Every(pipe, STATS_FIELDS, new FieldStatsFinal(isNumeric(), STATS_FIELDS), Fields.ALL);
+    pipe = new Each(
+        pipe,
+        new SummaryFunction(fileFieldNames.build(), summaryFields()),
+        FILE_FIELD.append(REPORT_FIELDS));
+    return pipe;
+  }
 
   /**
    * Returns a list of aggregate types such as min, max, average and stddev (possibly empty).
    */
   protected abstract Iterable<String> summaryFields();
 
-  protected Pipe average(String field, Pipe pipe) {
-    return pipe;
+  /**
+   * Numeric statistics are only needed (and the values only expected to be numbers) if there are aggregate types.
+   */
+  private boolean isNumeric() {
+    return !Iterables.isEmpty(summaryFields());
   }
 
   /**
-   * Input contains only 1 tuple like:<br/>
-   * <br/>
-   * <table>
-   * <tr>
-   * <td>"f1#nulls"</td>
-   * <td>"f1#missing"</td>
-   * <td>...</td>
-   * <td>"f2#nulls"</td>
-   * <td>"f2#missing"</td>
-   * <td>...</td>
-   * <tr>
-   * <td>4</td>
-   * <td>5</td>
-   * <td>...</td>
-   * <td>0</td>
-   * <td>3</td>
-   * <td>...</td>
-   * </tr>
-   * </table>
-   * <br/>
-   * <br/>
-   * And output one tuple per data-field, each tuple having only one "report" {@code Fields} like:<br/>
+   * Input contains only 1 tuple holding the {@link FieldStats} of all the fields, and output one tuple per data-field,
+   * each tuple having only one "report" {@code Fields} like:<br/>
    * <br/>
    * <table>
    * <tr>
@@ -178,29 +159,62 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
 
     private final List<String> fieldNames;
 
+    /**
+     * The fields of each file when the stats of several files are summarized, in which case {@link #fieldNames} is
+     * {@code null}.
+     */
+    private final Map<String, List<String>> fileFieldNames;
+
     private final List<String> summaryFields;
 
     public SummaryFunction(List<String> fieldNames, Iterable<String> summaryFields) {
       super(REPORT_FIELDS);
       this.fieldNames = fieldNames;
+      this.fileFieldNames = null;
+      this.summaryFields = ImmutableList.copyOf(summaryFields);
+    }
+
+    public SummaryFunction(Map<String, List<String>> fileFieldNames, Iterable<String> summaryFields) {
+      super(REPORT_FIELDS);
+      this.fieldNames = null;
+      this.fileFieldNames = fileFieldNames;
       this.summaryFields = ImmutableList.copyOf(summaryFields);
     }
 
     @Override
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
-      TupleEntry te = functionCall.getArguments();
-      for (String fieldName : fieldNames) {
+      TupleEntry arguments = functionCall.getArguments();
+      FieldStats stats = (FieldStats) arguments.getObject(STATS);
+      List<String> fieldNames =
+          fileFieldNames == null ? this.fieldNames : fileFieldNames.get(arguments.getString(FILE_FIELD_NAME));
+      for (int column = 0; column < fieldNames.size(); column++) {
         FieldSummary fs = new FieldSummary();
-        fs.field = fieldName;
-        fs.nulls = te.getInteger(summaryFieldName(fieldName, CompletenessBy.NULLS));
-        fs.missing = te.getInteger(summaryFieldName(fieldName, CompletenessBy.MISSING));
-        fs.populated = te.getInteger(summaryFieldName(fieldName, CompletenessBy.POPULATED));
+        fs.field = fieldNames.get(column);
+        fs.nulls = stats.getNulls(column);
+        fs.missing = stats.getMissing(column);
+        fs.populated = stats.getPopulated(column);
         for (String summaryField : summaryFields) {
-          fs.summary.put(summaryField, te.getObject(summaryFieldName(fieldName, summaryField)));
+          fs.summary.put(summaryField, getSummaryValue(stats, column, summaryField));
         }
         functionCall.getOutputCollector().add(new Tuple(fs));
       }
     }
+
+    private static Object getSummaryValue(FieldStats stats, int column, String summaryField) {
+      switch (summaryField) {
+      case MIN:
+        return stats.getMin(column);
+      case MAX:
+        return stats.getMax(column);
+      case AVG:
+        return stats.getAverage(column);
+      case STDDEV:
+        return stats.getStandardDeviation(column);
+      default:
+        throw new IllegalArgumentException("Unknown summary field: " + summaryField);
+      }
+    }
+
   }
 
   public static class CompletenessPlanElement extends SummaryPlanElement {
@@ -210,11 +224,6 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
       super(flowType, Optional.<SummaryType> absent(), fileName, fieldStatDigests);
     }
 
-    @Override
-    protected Iterable<AggregateBy> collectAggregateBys(String fieldName) {
-      return ImmutableList.of(makeCompleteness(fieldName));
-    }
-
     @Override
     protected Iterable<String> summaryFields() {
       return ImmutableList.of();
@@ -228,14 +237,9 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
       super(flowType, Optional.of(MIN_MAX), fileName, fieldStatDigests);
     }
 
-    @Override
-    protected Iterable<AggregateBy> collectAggregateBys(String fieldName) {
-      return ImmutableList.of(makeMinMax(fieldName), makeCompleteness(fieldName));
-    }
-
     @Override
     protected Iterable<String> summaryFields() {
-      return ImmutableList.of(MinMaxBy.MIN, MinMaxBy.MAX);
+      return ImmutableList.of(MIN, MAX);
     }
   }
 
@@ -246,14 +250,9 @@ public abstract class SummaryPlanElement extends BaseStatsReportingPlanElement {
       super(flowType, Optional.of(AVERAGE), fileName, fieldStatDigests);
     }
 
-    @Override
-    protected Iterable<AggregateBy> collectAggregateBys(String fieldName) {
-      return ImmutableList.of(makeDeviation(fieldName), makeMinMax(fieldName), makeCompleteness(fieldName));
-    }
-
     @Override
     protected Iterable<String> summaryFields() {
-      return ImmutableList.of(MinMaxBy.MIN, MinMaxBy.MAX, DeviationBy.AVG, DeviationBy.STDDEV);
+      return ImmutableList.of(MIN, MAX, AVG, STDDEV);
     }
   }
 
@@ -18,16 +18,19 @@
 package org.icgc.dcc.submission.validation.primary.report;
 
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.UNIQUE_COUNT;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.MISSING;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.NULLS;
-import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.POPULATED;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.MISSING;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.NULLS;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStats.POPULATED;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
 import com.google.common.base.Optional;
@@ -96,6 +99,54 @@ public final class UniqueCountPlanElement extends BaseStatsReportingPlanElement
     return pipe;
   }
 
+  @Override
+  public Pipe tag(Pipe pipe) {
+    pipe = keepStructurallyValidTuples(pipe);
+
+    Pipe[] values = new Pipe[fieldNames.size()];
+    int i = 0;
+    for (String fieldName : fieldNames) {
+      values[i++] = values(fieldName, pipe);
+    }
+
+    return new Merge(values);
+  }
+
+  /**
+   * Same as {@link #report(Pipe)} with the values of all the fields of all the files uniquified at once.
+   */
+  @Override
+  public Pipe coalesce(List<CoalescableReportingPlanElement> elements, Pipe[] tagged) {
+    Fields fileAndField = FILE_FIELD.append(FIELD_FIELDS);
+
+    Pipe pipe = new GroupBy(getElementName(), tagged, fileAndField.append(VALUE_FIELDS));
+    pipe = new Every(
+        pipe,
+        STATE_FIELD,
+        new CompletenessAnnotationBuffer(),
+        fileAndField.append(VALUE_FIELDS).append(COMPLETENESS_TMP_FIELDS));
+
+    pipe = new GroupBy(pipe, fileAndField);
+    pipe = new Every(pipe, new CompletenessBuffer());
+    pipe = new Discard(pipe, COMPLETENESS_TMP_FIELDS);
+    pipe = new Each(pipe, new UniqueCountSummaryFunction(), FILE_FIELD.append(REPORT_FIELDS));
+
+    return pipe;
+  }
+
+  /**
+   * Keeps only the "value" of {@code fieldName} and the state, tagged with the file and field names.
+   */
+  private Pipe values(String fieldName, Pipe pipe) {
+    pipe = new Pipe(getSubPipeName(UCOUNT + "_" + fieldName), pipe);
+
+    pipe = new Retain(pipe, new Fields(fieldName).append(ValidationFields.STATE_FIELD));
+    pipe = new Rename(pipe, new Fields(fieldName), VALUE_FIELDS);
+    pipe = new Each(pipe, new Insert(FILE_FIELD.append(FIELD_FIELDS), fileName, fieldName), Fields.ALL);
+
+    return pipe;
+  }
+
   protected Pipe count(String fieldName, Pipe pipe) {
     pipe = new Pipe(getSubPipeName(UCOUNT + "_" + fieldName), pipe);
 
@@ -121,6 +172,9 @@ public final class UniqueCountPlanElement extends BaseStatsReportingPlanElement
   @SuppressWarnings("rawtypes")
   public static class CompletenessAnnotationBuffer extends BaseOperation implements Buffer {
 
+    /**
+     * The grouped field, or {@code null} if it is part of the group.
+     */
     private final String fieldName;
 
     public CompletenessAnnotationBuffer(String fieldName) {
@@ -128,9 +182,14 @@ public final class UniqueCountPlanElement extends BaseStatsReportingPlanElement
       this.fieldName = fieldName;
     }
 
+    public CompletenessAnnotationBuffer() {
+      this(null);
+    }
+
     @Override
     public void operate(FlowProcess flowProcess, BufferCall bufferCall) {
       String value = bufferCall.getGroup().getString(VALUE);
+      String fieldName = this.fieldName == null ? bufferCall.getGroup().getString(FIELD) : this.fieldName;
       @SuppressWarnings("unchecked")
       Iterator<TupleEntry> entries = bufferCall.getArgumentsIterator();
       long nulls = 0, missing = 0, populated = 0;
@@ -19,26 +19,39 @@ package org.icgc.dcc.submission.validation.primary.visitor;
 
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.validation.cascading.TupleStates.keepInvalidTuplesFilter;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.FILE_FIELD;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.List;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
-import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.PlanExecutionException;
+import org.icgc.dcc.submission.validation.primary.core.CoalescableReportingPlanElement;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
-import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroup;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroups;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroupsBy;
 import org.icgc.dcc.submission.validation.primary.report.ReportCollector;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.Insert;
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.Discard;
 import cascading.pipe.assembly.Retain;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
 import lombok.Cleanup;
 import lombok.Getter;
 import lombok.NonNull;
@@ -63,7 +76,10 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
         getFlowType()));
   }
 
-  static class ErrorsPlanElement implements ReportingPlanElement {
+  static class ErrorsPlanElement implements CoalescableReportingPlanElement {
+
+    private static final Fields GROUPS_FIELD = new Fields(ErrorGroupsBy.GROUPS);
+    private static final Fields REPORT_FIELD = new Fields("report");
 
     /**
      * Configuration.
@@ -91,6 +107,35 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
 
     @Override
     public Pipe report(Pipe pipe) {
+      pipe = keepInvalidStates(pipe);
+
+      // Errors are grouped within the flow so that only the exact counts and a bounded sample per group are written,
+      // regardless of how many tuples are invalid. As for the summary reports, a constant is grouped on for a single
+      // result to emerge from the partials of the map tasks.
+      Fields constantField = new Fields("__constant__");
+      pipe = new Each(pipe, new Insert(constantField, "1"), Fields.ALL);
+      pipe = new AggregateBy(pipe, constantField, new ErrorGroupsBy(GROUPS_FIELD));
+      pipe = new Discard(pipe, constantField);
+
+      return new Each(pipe, new ErrorGroupsFunction(), REPORT_FIELD);
+    }
+
+    @Override
+    public Pipe tag(Pipe pipe) {
+      return new Each(keepInvalidStates(pipe), new Insert(FILE_FIELD, fileName), Fields.ALL);
+    }
+
+    /**
+     * Same as {@link #report(Pipe)} with the file, rather than a constant, grouped on.
+     */
+    @Override
+    public Pipe coalesce(List<CoalescableReportingPlanElement> elements, Pipe[] tagged) {
+      Pipe pipe = new AggregateBy(getElementName(), tagged, FILE_FIELD, new ErrorGroupsBy(GROUPS_FIELD));
+
+      return new Each(pipe, GROUPS_FIELD, new ErrorGroupsFunction(), FILE_FIELD.append(REPORT_FIELD));
+    }
+
+    private static Pipe keepInvalidStates(Pipe pipe) {
       return new Retain(new Each(pipe, keepInvalidTuplesFilter()), STATE_FIELD);
     }
 
@@ -103,6 +148,27 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
       return new ErrorReportCollector(fileName);
     }
 
+    /**
+     * Input contains at most 1 tuple holding the {@link ErrorGroups} of the file, and output one tuple per
+     * {@link ErrorGroup}.
+     */
+    @SuppressWarnings("rawtypes")
+    static class ErrorGroupsFunction extends BaseOperation implements Function {
+
+      public ErrorGroupsFunction() {
+        super(REPORT_FIELD);
+      }
+
+      @Override
+      public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
+        ErrorGroups groups = (ErrorGroups) functionCall.getArguments().getObject(ErrorGroupsBy.GROUPS);
+        for (ErrorGroup group : groups.getGroups()) {
+          functionCall.getOutputCollector().add(new Tuple(group));
+        }
+      }
+
+    }
+
     @RequiredArgsConstructor
     class ErrorReportCollector implements ReportCollector {
 
@@ -116,24 +182,10 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
         try {
           @Cleanup
           val reportInputStream = getReportInputStream(platform);
-          val tupleStates = getTupleStates(reportInputStream);
-
-          while (tupleStates.hasNext()) {
-            val tupleState = tupleStates.next();
-            if (tupleState.isInvalid()) {
-              for (val errorTuple : tupleState.getErrors()) {
-                context.reportError(
-                    error()
-                        .fileName(fileName)
-                        .fieldNames(errorTuple.getColumnNames())
-                        .type(errorTuple.getType())
-                        .number(errorTuple.getNumber())
-                        .lineNumber(errorTuple.getLine())
-                        .value(errorTuple.getValue())
-                        .params(errorTuple.getParameters())
-                        .build());
-              }
-            }
+          val errorGroups = getErrorGroups(reportInputStream);
+
+          while (errorGroups.hasNext()) {
+            reportErrorGroup(context, errorGroups.next());
           }
 
           context.reportLineNumbers(platform.getFile(fileName));
@@ -149,9 +201,33 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
         return strategy.readReportTap(fileName, getFlowType(), getElementName());
       }
 
+      /**
+       * Reports the sampled errors of {@code group}, the last one accounting for those that were only counted.
+       */
+      private void reportErrorGroup(ReportContext context, ErrorGroup group) {
+        val lineNumbers = group.getLineNumbers();
+        val values = group.getValues();
+        for (int i = 0; i < lineNumbers.size(); i++) {
+          val last = i == lineNumbers.size() - 1;
+          val occurrences = last ? 1 + group.getUnsampledCount() : 1;
+
+          context.reportError(
+              error()
+                  .fileName(fileName)
+                  .fieldNames(group.getColumnNames())
+                  .type(group.getType())
+                  .number(group.getNumber())
+                  .lineNumber(lineNumbers.get(i))
+                  .value(values.get(i))
+                  .params(group.getParameters())
+                  .build(),
+              occurrences);
+        }
+      }
+
       @SneakyThrows
-      private MappingIterator<TupleState> getTupleStates(InputStream reportInputStream) {
-        val reader = new ObjectMapper().reader().forType(TupleState.class);
+      private MappingIterator<ErrorGroup> getErrorGroups(InputStream reportInputStream) {
+        val reader = new ObjectMapper().reader().forType(ErrorGroup.class);
 
         return reader.readValues(reportInputStream);
       }
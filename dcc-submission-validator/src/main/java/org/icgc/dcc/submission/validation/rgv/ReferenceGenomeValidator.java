@@ -22,7 +22,6 @@ import static org.icgc.dcc.submission.core.parser.SubmissionFileParsers.newMapFi
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_INSERTION_ERROR;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_MISMATCH_ERROR;
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 import static org.icgc.dcc.submission.validation.rgv.util.ChromosomeConverter.convert;
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.REFERENCE_INSERTION_VALUE;
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.isInsertionType;
@@ -214,7 +213,7 @@ public class ReferenceGenomeValidator implements Validator {
         }
 
         // Cooperate
-        checkInterrupted(getName());
+        context.getCancellationToken().check(getName(), lineNumber);
       }
 
     });
@@ -17,7 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.sample;
 
-import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.checkCancelled;
 
 import java.util.Collection;
 
@@ -87,11 +87,14 @@ public class SampleTypeValidator implements Validator {
 
       // Perform actual validation within the processor
       log.info("Processing {}...", metaFile.toString());
-      metaFileParser.parse(metaFile, metaFileProcessor);
+      metaFileParser.parse(metaFile, (lineNumber, record) -> {
+        // Allow for user canceling within files
+        context.getCancellationToken().check(getName(), lineNumber);
+        metaFileProcessor.process(lineNumber, record);
+      });
 
-      // TODO: Consider moving the this lower in the call stack
       // Allow for user canceling between files
-      checkInterrupted(getName());
+      checkCancelled(context, getName());
     }
   }
 
@@ -18,25 +18,34 @@
 package org.icgc.dcc.submission.validation.sample.core;
 
 import java.util.Map;
+import java.util.function.Function;
+
+import org.icgc.dcc.submission.validation.core.ClinicalColumnIndex;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Encapsulated container and view of parsed specimen and sample information that has been joined for the convenience of
  * clients.
  */
-@RequiredArgsConstructor
 public class Samples {
 
   /**
    * Mapping from {@code sample_id} to {@code speciment_type}.
    */
   @NonNull
-  private final Map<String, String> specimenTypeBySampleId;
+  private final Function<String, String> specimenTypeBySampleId;
+
+  public Samples(@NonNull Map<String, String> specimenTypeBySampleId) {
+    this.specimenTypeBySampleId = specimenTypeBySampleId::get;
+  }
+
+  public Samples(@NonNull ClinicalColumnIndex clinicalColumnIndex) {
+    this.specimenTypeBySampleId = clinicalColumnIndex::getSpecimenTypeBySampleId;
+  }
 
   public String getSpecimenTypeBySampleId(String sampleId) {
-    return specimenTypeBySampleId.get(sampleId);
+    return specimenTypeBySampleId.apply(sampleId);
   }
 
 }
@@ -23,6 +23,7 @@ import static java.util.Collections.sort;
 
 import java.io.File;
 import java.util.List;
+import java.util.Set;
 
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
@@ -89,16 +90,20 @@ public abstract class BaseValidationIntegrityTest {
 
   @Before
   public void before() {
-    this.planner = new Planner(ImmutableSet.<RestrictionType> builder()
+    this.planner = new Planner(getRestrictionTypes());
+
+    this.dictionary = getDictionary();
+  }
+
+  protected Set<RestrictionType> getRestrictionTypes() {
+    return ImmutableSet.<RestrictionType> builder()
         .add(new DiscreteValuesRestriction.Type())
         .add(new RegexRestriction.Type())
         .add(new RangeFieldRestriction.Type())
         .add(new RequiredRestriction.Type())
         .add(new CodeListRestriction.Type(context))
         .add(new ScriptRestriction.Type())
-        .build());
-
-    this.dictionary = getDictionary();
+        .build();
   }
 
   protected static FileSchema getFileSchemaByName(Dictionary dictionary, String name) {
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.when;
 import java.util.concurrent.CountDownLatch;
 
 import org.icgc.dcc.submission.validation.core.Validation;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.junit.After;
@@ -203,6 +204,7 @@ public class ValidationExecutorTest {
     // Can't use @Mock since we are 1:m
     val context = mock(ValidationContext.class);
     when(context.getProjectKey()).thenReturn(projectKey);
+    when(context.getCancellationToken()).thenReturn(new CancellationToken());
 
     return context;
   }
@@ -19,9 +19,11 @@ package org.icgc.dcc.submission.validation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.apache.commons.io.FileUtils.readFileToString;
 import static org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy.REPORT_FILES_INFO_SEPARATOR;
+import static org.icgc.dcc.submission.validation.primary.core.PlanMode.COALESCED;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +31,8 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
@@ -38,8 +42,11 @@ import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
 import org.icgc.dcc.submission.dictionary.model.RestrictionType;
 import org.icgc.dcc.submission.validation.cascading.ForbiddenValuesFunction;
+import org.icgc.dcc.submission.validation.core.DefaultReportContext;
 import org.icgc.dcc.submission.validation.platform.LocalSubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
+import org.icgc.dcc.submission.validation.primary.planner.Planner;
+import org.icgc.dcc.submission.validation.primary.report.ByteOffsetToLineNumber;
 import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.DiscreteValuesRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestriction;
@@ -50,7 +57,10 @@ import org.icgc.dcc.submission.validation.primary.visitor.ValueTypePlanningVisit
 import org.junit.Before;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.mongodb.BasicDBObject;
 
@@ -64,6 +74,7 @@ public class ValidationRowBasedIntegrityTest extends BaseValidationIntegrityTest
    */
   private static final String ROOT_DIR = "/fixtures/validation/internal"; // TODO: rename to "row-based"
   private static final String PROJECT_KEY = "dummyProject";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
 
   @Before
   public void setUp() throws Exception {
@@ -182,6 +193,66 @@ public class ValidationRowBasedIntegrityTest extends BaseValidationIntegrityTest
     testErrorType(ScriptRestriction.NAME);
   }
 
+  @Test
+  public void test_plan_reused() {
+    val dataTypes = DataTypes.values();
+    val rootDir = new Path(this.getClass().getResource(ROOT_DIR).getFile());
+    val platformStrategy = new LocalSubmissionPlatformStrategy(
+        Collections.<String, String> emptyMap(), rootDir, new Path(rootDir, ".validation"));
+    val codeLists = Lists.<CodeList> newArrayList();
+
+    val plan = planner.plan(PROJECT_KEY, dataTypes, platformStrategy, dictionary, codeLists);
+    val reused = planner.plan(PROJECT_KEY, dataTypes, platformStrategy, dictionary, codeLists);
+    val updated = planner.plan(PROJECT_KEY, dataTypes, platformStrategy, dictionary, Lists.<CodeList> newArrayList());
+
+    assertNotSame(plan, reused);
+    assertFalse(ImmutableSet.copyOf(plan.getRowBasedFlowPlanners()).isEmpty());
+    assertEquals(ImmutableSet.copyOf(plan.getRowBasedFlowPlanners()),
+        ImmutableSet.copyOf(reused.getRowBasedFlowPlanners()));
+    assertTrue(Collections.disjoint(ImmutableSet.copyOf(plan.getRowBasedFlowPlanners()),
+        ImmutableSet.copyOf(updated.getRowBasedFlowPlanners())));
+  }
+
+  @Test
+  public void test_validate_coalesced() {
+    val submissionFilePath = ROOT_DIR + "/error/" + CodeListRestriction.NAME;
+    val perFile = collect(planner, submissionFilePath);
+    val coalesced = collect(new Planner(getRestrictionTypes(), COALESCED), submissionFilePath);
+
+    assertTrue(perFile.toString(), perFile.get("dataTypeReports").size() > 0);
+    assertEquals(perFile, coalesced);
+  }
+
+  @Test
+  public void test_validate_coalesced_files() {
+    // Files of different schemas, one of which has errors, sharing the coalesced flow
+    val submissionFilePath = ROOT_DIR + "/coalesced";
+    val perFile = collect(planner, submissionFilePath);
+    val coalesced = collect(new Planner(getRestrictionTypes(), COALESCED), submissionFilePath);
+
+    val fileNames = ImmutableSet.copyOf(Lists.transform(perFile.findValues("fileName"), JsonNode::asText));
+    assertEquals(ImmutableSet.of("donor.txt", "specimen.txt", "sample.txt"), fileNames);
+    assertFalse(perFile.toString(), perFile.findValues("summaryReports").isEmpty());
+    assertEquals(perFile, coalesced);
+  }
+
+  @SneakyThrows
+  private JsonNode collect(Planner planner, String submissionFilePath) {
+    ByteOffsetToLineNumber.setFileSystem(FileSystem.getLocal(new Configuration()));
+    val rootDir = new Path(this.getClass().getResource(submissionFilePath).getFile());
+    val platformStrategy = new LocalSubmissionPlatformStrategy(
+        Collections.<String, String> emptyMap(), rootDir, new Path(rootDir, ".validation"));
+
+    val plan = planner.plan(PROJECT_KEY, DataTypes.values(), platformStrategy, dictionary);
+    plan.connect();
+    plan.getCascade().complete();
+
+    val context = new DefaultReportContext();
+    plan.collectSubmissionReport(context);
+
+    return MAPPER.valueToTree(context.getReport());
+  }
+
   private void testErrorType(String errorType) {
     val submissionFilePath = "/fixtures/validation/internal/error/" + errorType;
     val content = validate(dictionary, submissionFilePath);
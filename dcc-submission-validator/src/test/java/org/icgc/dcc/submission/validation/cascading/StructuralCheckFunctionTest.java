@@ -18,11 +18,15 @@
 package org.icgc.dcc.submission.validation.cascading;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.validation.cascading.StructuralCheckFunction.LINE_FIELD_NAME;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFSET_FIELD_NAME;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.state;
 
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.icgc.dcc.common.core.model.SpecialValue;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -73,6 +77,37 @@ public class StructuralCheckFunctionTest {
     assertThat(values.get(3)).isEmpty();
   }
 
+  @Test
+  public void test_operate_missingCodesAndBlanks() {
+    val missingCode = SpecialValue.FULL_MISSING_CODES.iterator().next();
+    val function = new StructuralCheckFunction(DICTIONARY_FIELD_NAMES);
+    val arguments = new TupleEntry(new Fields(OFFSET_FIELD_NAME, LINE_FIELD_NAME),
+        new Tuple(10L, "v.1.1\t" + missingCode + "\t \t"));
+
+    val result = CascadingTestCase.invokeFunction(function, arguments, function.getFieldDeclaration())
+        .entryIterator().next();
+
+    assertThat(result.getString("col1")).isEqualTo("v.1.1");
+    assertThat(result.getObject("col2")).isNull();
+    assertThat(result.getObject("col3")).isNull();
+    assertThat(result.getObject("col4")).isNull();
+
+    val state = state(result);
+    assertThat(state.getOffset()).isEqualTo(10L);
+    assertThat(state.isFieldMissing("col1")).isFalse();
+    assertThat(state.isFieldMissing("col2")).isTrue();
+    assertThat(state.isFieldMissing("col3")).isFalse();
+    assertThat(state.isFieldMissing("col4")).isFalse();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void test_operate_wrongNumberOfValues() {
+    val function = new StructuralCheckFunction(DICTIONARY_FIELD_NAMES);
+    val arguments = new TupleEntry(new Fields(OFFSET_FIELD_NAME, LINE_FIELD_NAME), new Tuple(10L, "v.1.1\tv.1.2"));
+
+    CascadingTestCase.invokeFunction(function, arguments, function.getFieldDeclaration());
+  }
+
   @Test
   @Ignore
   public void test_operate_valid() {
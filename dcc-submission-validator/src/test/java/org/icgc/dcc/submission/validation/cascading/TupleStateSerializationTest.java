@@ -30,6 +30,7 @@ import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.mysema.util.FileUtils;
 
@@ -66,6 +67,7 @@ public class TupleStateSerializationTest extends CascadingTestCase {
 
     TupleState testState = new TupleState(1L);
     testState.reportError(ErrorType.OUT_OF_RANGE_ERROR, "string", 4L, 1L, 10L);
+    testState.addMissingField(ImmutableMap.of("f1", 0, "f2", 1, "f3", 2), 1);
 
     Tuple outputTuple = new Tuple(testState);
     output.writeTuple(outputTuple);
@@ -90,6 +92,11 @@ public class TupleStateSerializationTest extends CascadingTestCase {
     // check TupleError list is serialized
     assertEquals(testErrors.length, resultErrors.length);
 
+    // check missing fields are serialized
+    assertFalse(resultState.isFieldMissing("f1"));
+    assertTrue(resultState.isFieldMissing("f2"));
+    assertFalse(resultState.isFieldMissing("f3"));
+
     input.close();
   }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.validation.core.CancellationToken.BATCH_ROWS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class CancellationTokenTest {
+
+  CancellationToken token = new CancellationToken();
+
+  @Test
+  public void testCancelRunsCallbacksOnce() {
+    val count = new AtomicInteger();
+    token.onCancel(count::incrementAndGet);
+
+    assertThat(token.cancel()).isTrue();
+    assertThat(token.cancel()).isFalse();
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(token.isRequested()).isTrue();
+    assertThat(token.isCancelled()).isTrue();
+  }
+
+  @Test
+  public void testOnCancelAfterCancelRunsImmediately() {
+    val count = new AtomicInteger();
+    token.cancel();
+    token.onCancel(count::incrementAndGet);
+
+    assertThat(count.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testClosedRegistrationIsNotRun() {
+    val count = new AtomicInteger();
+    token.onCancel(count::incrementAndGet).close();
+    token.cancel();
+
+    assertThat(count.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCheckNotCancelled() {
+    token.check("test");
+    token.check("test", 0);
+  }
+
+  @Test(expected = InterruptedException.class)
+  public void testCheckCancelled() {
+    token.cancel();
+    token.check("test");
+  }
+
+  @Test
+  public void testCheckRowBatch() {
+    token.cancel();
+
+    // Not a batch boundary
+    token.check("test", 1);
+    token.check("test", BATCH_ROWS - 1);
+
+    try {
+      token.check("test", BATCH_ROWS);
+    } catch (Exception e) {
+      assertThat(e).isInstanceOf(InterruptedException.class);
+      return;
+    }
+
+    throw new AssertionError("Expected cancellation");
+  }
+
+}
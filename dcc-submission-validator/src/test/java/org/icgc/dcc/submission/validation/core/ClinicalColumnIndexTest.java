@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import lombok.val;
+
+public class ClinicalColumnIndexTest {
+
+  private static final Path DONOR_FILE = new Path("/project/donor.txt");
+  private static final Path SPECIMEN_FILE = new Path("/project/specimen.txt");
+  private static final Path SAMPLE_FILE = new Path("/project/sample.txt");
+
+  ClinicalColumnIndex index = ClinicalColumnIndex.builder()
+      .addDonor("d2", DONOR_FILE, 2)
+      .addDonor("d1", DONOR_FILE, 3)
+      .addSpecimen("sp2", "d1", "tumour", SPECIMEN_FILE, 2)
+      .addSpecimen("sp1", "d1", "normal", SPECIMEN_FILE, 3)
+      .addSpecimen("sp3", "d2", "tumour", SPECIMEN_FILE, 4)
+      .addSample("sa1", "sp1", "PCAWG", SAMPLE_FILE, 2)
+      .addSample("sa2", "sp2", null, SAMPLE_FILE, 3)
+      .addSample("sa3", "sp3", null, SAMPLE_FILE, 4)
+      .addSample("sa4", "unknown", null, SAMPLE_FILE, 5)
+      .addSample("sa1", "sp3", null, SAMPLE_FILE, 6)
+      .build();
+
+  @Test
+  public void testIds() {
+    assertThat(index.getDonorIds()).containsExactly("d1", "d2");
+    assertThat(index.getSpecimenIds()).containsExactly("sp1", "sp2", "sp3");
+    assertThat(index.getSampleIds()).containsExactly("sa1", "sa2", "sa3", "sa4");
+    assertThat(index.containsDonor("d1")).isTrue();
+    assertThat(index.containsDonor("d3")).isFalse();
+  }
+
+  @Test
+  public void testRelations() {
+    assertThat(index.getDonorSpecimenIds("d1")).containsExactly("sp1", "sp2");
+    assertThat(index.getDonorSpecimenIds("d3")).isEmpty();
+    assertThat(index.getSpecimenSampleIds("sp3")).containsExactly("sa3");
+    assertThat(index.getSpecimenDonorId("sp3")).isEqualTo("d2");
+    assertThat(index.getSampleDonorId("sa2")).isEqualTo("d1");
+    assertThat(index.getSampleDonorId("sa4")).isNull();
+  }
+
+  @Test
+  public void testDuplicateKeepsFirst() {
+    assertThat(index.getSampleSpecimenId("sa1")).isEqualTo("sp1");
+    assertThat(index.getSampleStudy("sa1")).isEqualTo("PCAWG");
+  }
+
+  @Test
+  public void testSpecimenTypeBySampleId() {
+    assertThat(index.getSpecimenTypeBySampleId("sa1")).isEqualTo("normal");
+    assertThat(index.getSpecimenTypeBySampleId("sa2")).isEqualTo("tumour");
+    assertThat(index.getSpecimenTypeBySampleId("sa4")).isNull();
+    assertThat(index.getSpecimenTypeBySampleId("missing")).isNull();
+  }
+
+  @Test
+  public void testSampleToDonorMap() {
+    val sampleToDonor = index.getSampleToDonorMap();
+
+    assertThat(sampleToDonor).containsEntry("sa1", "d1").containsEntry("sa3", "d2").hasSize(4);
+  }
+
+  @Test
+  public void testToClinical() {
+    val clinical = index.toClinical();
+    val specimens = clinical.getCore().getSpecimens();
+
+    assertThat(clinical.getCore().getDonors()).hasSize(2);
+    assertThat(specimens).hasSize(3);
+    assertThat(ClinicalFields.getSpecimenType(specimens.get(1))).isEqualTo("tumour");
+    assertThat(specimens.get(1).getFile()).isEqualTo(SPECIMEN_FILE);
+    assertThat(specimens.get(1).getLineNumber()).isEqualTo(2);
+
+    // Filtered in place by clients
+    clinical.getCore().getSamples().clear();
+    assertThat(index.getSampleCount()).isEqualTo(4);
+  }
+
+}
@@ -76,6 +76,29 @@ public class ClinicalParserTest {
     log.info("Clinical: {}", clinical);
   }
 
+  @Test
+  public void testParseIndex() throws Exception {
+    val dictionary = ValidationTests.getTestDictionary();
+
+    when(context.getFileSystem()).thenReturn(FileSystems.getDefaultLocalFileSystem());
+
+    mockProjectFile(dictionary, FileType.DONOR_TYPE, "donor.txt");
+    mockProjectFile(dictionary, FileType.SPECIMEN_TYPE, "specimen.txt");
+    mockProjectFile(dictionary, FileType.SAMPLE_TYPE, "sample.txt");
+
+    val clinical = ClinicalParser.parse(context);
+    val index = ClinicalParser.parseIndex(context);
+
+    assertThat(index.getDonorCount()).isEqualTo(clinical.getCore().getDonors().size());
+    assertThat(index.getSpecimenCount()).isEqualTo(clinical.getCore().getSpecimens().size());
+    assertThat(index.getSampleCount()).isEqualTo(clinical.getCore().getSamples().size());
+
+    for (val sample : clinical.getCore().getSamples()) {
+      val sampleId = ClinicalFields.getSampleSampleId(sample);
+      assertThat(index.getSampleSpecimenId(sampleId)).isEqualTo(ClinicalFields.getSampleSpecimenId(sample));
+    }
+  }
+
   private Path mockProjectFile(Dictionary dictionary, FileType fileType, String fileName) {
     val file = fileName != null ? new Path(TEST_PROJECT_PATH, fileName) : null;
     val files = fileName != null ? ImmutableList.of(file) : Collections.<Path> emptyList();
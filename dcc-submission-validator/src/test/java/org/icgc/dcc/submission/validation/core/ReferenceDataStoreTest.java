@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+import lombok.val;
+
+public class ReferenceDataStoreTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  File source;
+  File snapshotDir;
+  ReferenceDataStore store;
+
+  @Before
+  public void setUp() throws Exception {
+    source = tmp.newFile("source.json");
+    snapshotDir = new File(tmp.getRoot(), "snapshots");
+    store = new ReferenceDataStore(snapshotDir, ReferenceDataStore.DEFAULT_MAX_AGE_MS);
+  }
+
+  @After
+  public void tearDown() {
+    store.close();
+  }
+
+  @Test
+  public void testGetFetchesAndSnapshots() throws Exception {
+    Files.write("v1", source, UTF_8);
+    val data = store.register("test", source.toURI().toURL(), content -> new String(content, UTF_8));
+
+    assertThat(data.getAgeMs()).isEqualTo(-1);
+    assertThat(data.get()).isEqualTo("v1");
+    assertThat(data.getAgeMs()).isGreaterThanOrEqualTo(0);
+    assertThat(Files.toString(new File(snapshotDir, "test.json"), UTF_8)).isEqualTo("v1");
+  }
+
+  @Test
+  public void testRefreshKeepsDataOnFailure() throws Exception {
+    Files.write("v1", source, UTF_8);
+    val data = store.register("test", source.toURI().toURL(), content -> new String(content, UTF_8));
+    assertThat(data.get()).isEqualTo("v1");
+
+    Files.write("v2", source, UTF_8);
+    data.refresh();
+    assertThat(data.get()).isEqualTo("v2");
+
+    source.delete();
+    data.refresh();
+    assertThat(data.get()).isEqualTo("v2");
+  }
+
+  @Test
+  public void testGetServesExpiredDataWhileRefreshing() throws Exception {
+    val refreshing = new CountDownLatch(1);
+    val release = new CountDownLatch(1);
+    val parses = new AtomicInteger();
+    val expiring = new ReferenceDataStore(null, 1, false);
+    try {
+      Files.write("v1", source, UTF_8);
+      val data = expiring.register("test", source.toURI().toURL(), content -> {
+        if (parses.getAndIncrement() > 0) {
+          refreshing.countDown();
+          awaitUninterruptibly(release);
+        }
+
+        return new String(content, UTF_8);
+      });
+      assertThat(data.get()).isEqualTo("v1");
+
+      Files.write("v2", source, UTF_8);
+      Thread.sleep(10);
+      assertThat(data.get()).isEqualTo("v1");
+      assertThat(refreshing.await(10, SECONDS)).isTrue();
+      assertThat(data.get()).isEqualTo("v1");
+
+      release.countDown();
+      val deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+      while (!data.get().equals("v2") && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(data.get()).isEqualTo("v2");
+    } finally {
+      release.countDown();
+      expiring.close();
+    }
+  }
+
+  @Test
+  public void testRegisterIsIdempotentPerUrl() throws Exception {
+    Files.write("v1", source, UTF_8);
+    val other = tmp.newFile("other.json");
+    Files.write("v2", other, UTF_8);
+
+    val data = store.register("test", source.toURI().toURL(), content -> new String(content, UTF_8));
+    assertThat(store.register("test", source.toURI().toURL(), content -> new String(content, UTF_8)))
+        .isSameAs(data);
+
+    val replaced = store.register("test", other.toURI().toURL(), content -> new String(content, UTF_8));
+    assertThat(replaced).isNotSameAs(data);
+    assertThat(replaced.get()).isEqualTo("v2");
+  }
+
+  @Test
+  public void testGetLoadsSnapshotWhenOffline() throws Exception {
+    Files.write("v1", source, UTF_8);
+    store.register("test", source.toURI().toURL(), content -> new String(content, UTF_8)).get();
+    source.delete();
+
+    val restarted = new ReferenceDataStore(snapshotDir, ReferenceDataStore.DEFAULT_MAX_AGE_MS);
+    try {
+      val data = restarted.register("test", source.toURI().toURL(), content -> new String(content, UTF_8));
+      assertThat(data.get()).isEqualTo("v1");
+    } finally {
+      restarted.close();
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.submission.validation.core.ValidationMetrics.JvmSnapshot;
+import org.junit.Test;
+
+import lombok.val;
+
+public class ValidationMetricsTest {
+
+  @Test
+  public void test_recordValidator() {
+    val registry = ValidationMetrics.getRegistry();
+    val before = registry.timer("validation.validator.first-pass-validator.time").getCount();
+
+    ValidationMetrics.recordValidator("First-pass Validator", SECONDS.toNanos(1), JvmSnapshot.take());
+
+    assertThat(registry.timer("validation.validator.first-pass-validator.time").getCount()).isEqualTo(before + 1);
+    assertThat(registry.getHistograms()).containsKey("validation.validator.first-pass-validator.heap-used");
+  }
+
+  @Test
+  public void test_recordFile() {
+    val registry = ValidationMetrics.getRegistry();
+    val rows = registry.meter("validation.test-phase.rows").getCount();
+
+    ValidationMetrics.recordFile("test-phase", "ssm_p", SECONDS.toNanos(2), 1000, 4000);
+
+    assertThat(registry.meter("validation.test-phase.rows").getCount()).isEqualTo(rows + 1000);
+    val throughput = registry.histogram("validation.test-phase.ssm_p.rows-per-second").getSnapshot();
+    assertThat(throughput.getMax()).isEqualTo(500);
+  }
+
+  @Test
+  public void test_recordFile_unknown_type() {
+    ValidationMetrics.recordFile("test-phase", null, 0, 0, 0);
+
+    assertThat(ValidationMetrics.getRegistry().getTimers()).containsKey("validation.test-phase.unknown.time");
+  }
+
+}
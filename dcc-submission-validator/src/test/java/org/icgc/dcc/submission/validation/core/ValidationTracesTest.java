@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.core.ValidationTrace.Span;
+import org.icgc.dcc.submission.validation.core.ValidationTrace.TraceEvent;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class ValidationTracesTest {
+
+  @After
+  public void tearDown() {
+    ValidationTraces.end();
+  }
+
+  @Test
+  public void testSpansAreRecordedOnThreadLane() {
+    val trace = ValidationTraces.begin("traced");
+    try (Span outer = ValidationTraces.span("validation", "job")) {
+      try (Span inner = ValidationTraces.span("primary", "validator")) {
+        inner.arg("files", 2);
+      }
+    }
+    ValidationTraces.end();
+
+    val events = trace.getEvents();
+    assertThat(events).hasSize(2);
+
+    val inner = events.get(0);
+    val outer = events.get(1);
+    assertThat(inner.getName()).isEqualTo("primary");
+    assertThat(inner.getPh()).isEqualTo("X");
+    assertThat(inner.getArgs()).containsEntry("files", "2");
+    assertThat(outer.getName()).isEqualTo("validation");
+    assertThat(outer.getTid()).isEqualTo(inner.getTid());
+    assertThat(outer.getTs()).isLessThanOrEqualTo(inner.getTs());
+    assertThat(outer.getTs() + outer.getDur()).isGreaterThanOrEqualTo(inner.getTs() + inner.getDur());
+  }
+
+  @Test
+  public void testSpansOutsideOfRunAreIgnored() {
+    assertThat(ValidationTraces.current().isPresent()).isFalse();
+    assertThat(ValidationTraces.span("validation", "job")).isSameAs(Span.NONE);
+  }
+
+  @Test
+  public void testTracesAreBoundedPerProject() {
+    ValidationTrace last = null;
+    for (int i = 0; i < ValidationTraces.MAX_TRACES_PER_PROJECT + 2; i++) {
+      last = ValidationTraces.begin("bounded");
+      ValidationTraces.end();
+    }
+
+    val traces = ValidationTraces.getTraces("bounded");
+    assertThat(traces).hasSize(ValidationTraces.MAX_TRACES_PER_PROJECT);
+    assertThat(traces.get(0)).isSameAs(last);
+    assertThat(ValidationTraces.getTraces("untraced")).isEmpty();
+  }
+
+  @Test
+  public void testRunsStartingWhenRequestedHaveNoNegativeTimestamps() throws Exception {
+    val traces = ImmutableList.<ValidationTrace> builder();
+    for (int i = 0; i < 3; i++) {
+      // As a validation job does
+      val started = currentTimeMillis();
+      val requested = started - 20 * (i + 1);
+      val trace = ValidationTraces.begin("requested", requested);
+      trace.recordMillis("queue-wait", "job", currentThread().getName(), requested, started);
+      try (Span span = ValidationTraces.span("validation", "job")) {
+        Thread.sleep(1);
+      }
+      ValidationTraces.end();
+
+      traces.add(trace);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<TraceEvent> events = (List<TraceEvent>) ValidationTrace.toChromeTrace(traces.build()).get("traceEvents");
+    assertThat(events).extracting("ph").contains("X");
+    for (val event : events) {
+      // Metadata events have none
+      if (event.getTs() != null) {
+        assertThat(event.getTs()).isGreaterThanOrEqualTo(0L);
+      }
+    }
+  }
+
+  @Test
+  public void testToChromeTrace() {
+    val trace = new ValidationTrace("exported");
+    trace.recordMillis("flow", "primary", "flow lane", trace.getStartTime(), trace.getStartTime() + 5);
+
+    val chromeTrace = ValidationTrace.toChromeTrace(ImmutableList.of(trace));
+    assertThat(chromeTrace).containsEntry("displayTimeUnit", "ms");
+
+    @SuppressWarnings("unchecked")
+    List<TraceEvent> events = (List<TraceEvent>) chromeTrace.get("traceEvents");
+    assertThat(events).extracting("ph").containsExactly("M", "M", "M", "X");
+    assertThat(events).extracting("pid").containsOnly(1);
+    assertThat(events.get(1).getArgs()).containsEntry("sort_index", 1);
+    assertThat(events.get(2).getArgs()).containsEntry("name", "flow lane");
+    assertThat(events.get(3).getTs()).isEqualTo(0L);
+    assertThat(events.get(3).getDur()).isEqualTo(5000L);
+  }
+
+}
@@ -36,9 +36,11 @@ import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.dictionary.model.FileSchemaRole;
 import org.icgc.dcc.submission.dictionary.model.Relation;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.FPVSubmissionProcessor;
 import org.icgc.dcc.submission.validation.first.file.FileCorruptionCheckerTest;
+import org.icgc.dcc.submission.validation.first.io.FPVDirectorySnapshot;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.row.TestUtils;
 import org.junit.Before;
@@ -129,13 +131,12 @@ public class FPVSubmissionProcessorClientTest {
     doReturn(ImmutableList.<FileSchema> of(schema1, schema2, schema3))
         .when(dict).getFileSchemata(anyDataTypeIterable());
     when(validationContext.getDictionary()).thenReturn(dict);
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
 
     ImmutableList<String> files = ImmutableList.of(schema1.getName(), schema2.getName(), schema3.getName());
-    when(fs.listMatchingSubmissionFiles(Mockito.anyListOf(String.class))).thenReturn(files);
-
-    when(fs.getMatchingFileNames(schema1.getName())).thenReturn(newArrayList(schema1.getName()));
-    when(fs.getMatchingFileNames(schema2.getName())).thenReturn(newArrayList(schema2.getName()));
-    when(fs.getMatchingFileNames(schema3.getName())).thenReturn(newArrayList(schema3.getName()));
+    val snapshot = FPVDirectorySnapshot.of(files, ImmutableList.of(schema1, schema2, schema3));
+    when(fs.takeSnapshot(Mockito.anyListOf(FileSchema.class))).thenReturn(snapshot);
+    when(fs.getSnapshot()).thenReturn(snapshot);
 
     when(fs.determineCodecFromFilename(schema1.getName())).thenReturn(BZIP2);
     when(fs.determineCodecFromFilename(schema2.getName())).thenReturn(GZIP);
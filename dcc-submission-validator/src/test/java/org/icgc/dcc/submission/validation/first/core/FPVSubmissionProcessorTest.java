@@ -27,13 +27,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.util.Collections;
 
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.file.DelegatingFileChecker;
+import org.icgc.dcc.submission.validation.first.io.FPVDirectorySnapshot;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.row.TestUtils;
 import org.junit.Before;
@@ -63,16 +64,19 @@ public class FPVSubmissionProcessorTest {
   public void setup() throws IOException {
     dict = mock(Dictionary.class);
 
-    when(fs.listMatchingSubmissionFiles(Mockito.anyListOf(String.class))).thenReturn(ImmutableList.of("anyfile"));
-    when(fs.getMatchingFileNames(anyString())).thenReturn(ImmutableList.of("anyfile"));
-
     FileSchema schema = new FileSchema("anyfile");
     schema.setPattern("anyfile");
+    val snapshot = FPVDirectorySnapshot.of(ImmutableList.of("anyfile"), ImmutableList.of(schema));
+    when(fs.takeSnapshot(Mockito.anyListOf(FileSchema.class))).thenReturn(snapshot);
+    when(fs.getSnapshot()).thenReturn(snapshot);
+
     when(dict.getFiles()).thenReturn(newArrayList(schema));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.of(schema));
     when(dict.getFileSchemata(anyDataTypeIterable())).thenReturn(ImmutableList.<FileSchema> of(schema));
 
     when(validationContext.getDictionary()).thenReturn(dict);
+
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
   }
 
   @Test
@@ -124,10 +128,14 @@ public class FPVSubmissionProcessorTest {
 
     @SuppressWarnings("unchecked")
     Iterable<? extends DataType> dataTypes = any(Iterable.class);
-    when(dictionary.getFileSchemata(dataTypes)).thenReturn(Collections.<FileSchema> emptyList());
+    FileSchema schema = new FileSchema("anyfile");
+    schema.setPattern("anyfile");
+    when(dictionary.getFileSchemata(dataTypes)).thenReturn(ImmutableList.of(schema));
 
     when(validationContext.getDictionary()).thenReturn(dictionary);
 
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
+
     when(fileChecker.getReportContext()).thenReturn(validationContext);
     when(fileChecker.isValid()).thenReturn(false);
     when(fileChecker.isFailFast()).thenReturn(true); // fail it right away
@@ -23,12 +23,12 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
-import java.util.List;
-
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.first.io.FPVDirectorySnapshot;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,21 +65,23 @@ public class FileCollisionCheckerTest {
 
   @Before
   public void setup() {
-    val pattern = "testfile1";
+    val pattern = "testfile.*";
+    when(fileSchema.getName()).thenReturn("testfile");
     when(fileSchema.getPattern()).thenReturn(pattern);
     when(dictionary.getFileSchemaByName(anyString())).thenReturn(Optional.of(fileSchema));
     when(dictionary.getFileSchemaByFileName(anyString())).thenReturn(Optional.of(fileSchema));
 
     when(context.getSubmissionFileSystem()).thenReturn(submissionFileSystem);
     when(context.getDictionary()).thenReturn(dictionary);
+    when(context.getCancellationToken()).thenReturn(new CancellationToken());
 
     checker = new FileCollisionChecker(new FileNoOpChecker(context, fs));
   }
 
   @Test
   public void matchNone() throws Exception {
-    when(fs.getMatchingFileNames(anyString()))
-        .thenReturn(fileNames());
+    when(fs.getSnapshot())
+        .thenReturn(snapshot());
 
     checker.checkFile("testfile1");
 
@@ -89,8 +91,8 @@ public class FileCollisionCheckerTest {
 
   @Test
   public void matchOne() throws Exception {
-    when(fs.getMatchingFileNames(anyString()))
-        .thenReturn(fileNames("testfile1"));
+    when(fs.getSnapshot())
+        .thenReturn(snapshot("testfile1"));
 
     checker.checkFile("testfile1");
 
@@ -101,8 +103,8 @@ public class FileCollisionCheckerTest {
 
   @Test
   public void matchTwo_coexsit() throws Exception {
-    when(fs.getMatchingFileNames(anyString()))
-        .thenReturn(fileNames("testfile1", "testfile2"));
+    when(fs.getSnapshot())
+        .thenReturn(snapshot("testfile1", "testfile2"));
 
     checker.checkFile("testfile1");
 
@@ -111,16 +113,16 @@ public class FileCollisionCheckerTest {
 
   @Test
   public void matchTwo_collide() throws Exception {
-    when(fs.getMatchingFileNames(anyString()))
-        .thenReturn(fileNames("testfile1", "testfile1.gz"));
+    when(fs.getSnapshot())
+        .thenReturn(snapshot("testfile1", "testfile1.gz"));
 
     checker.checkFile("testfile1");
 
     checkFileCollisionErrorReported(context, 1);
   }
 
-  private static List<String> fileNames(String... fileNames) {
-    return ImmutableList.copyOf(fileNames);
+  private FPVDirectorySnapshot snapshot(String... fileNames) {
+    return FPVDirectorySnapshot.of(ImmutableList.copyOf(fileNames), ImmutableList.of(fileSchema));
   }
 
 }
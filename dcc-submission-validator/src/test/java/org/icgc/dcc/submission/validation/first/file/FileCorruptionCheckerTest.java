@@ -31,6 +31,7 @@ import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
@@ -68,6 +69,8 @@ public class FileCorruptionCheckerTest {
 
     when(validationContext.getDictionary()).thenReturn(dict);
 
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
+
     fs = spy(new FPVFileSystem(submissionDirectory));
   }
 
@@ -27,6 +27,7 @@ import java.io.DataInputStream;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
@@ -62,6 +63,8 @@ public class FileHeaderCheckerTest {
         Optional.of(fileSchema));
 
     when(validationContext.getDictionary()).thenReturn(dict);
+
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
   }
 
   @Test
@@ -17,7 +17,6 @@
  */
 package org.icgc.dcc.submission.validation.first.file;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static org.icgc.dcc.common.core.model.ValueType.INTEGER;
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
 import static org.junit.Assert.assertTrue;
@@ -32,8 +31,10 @@ import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.dictionary.model.FileSchemaRole;
 import org.icgc.dcc.submission.dictionary.model.Relation;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
+import org.icgc.dcc.submission.validation.first.io.FPVDirectorySnapshot;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.row.TestUtils;
 import org.junit.Before;
@@ -41,13 +42,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
-import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.mockito.stubbing.Answer;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import lombok.val;
 
@@ -111,6 +109,8 @@ public class FileReferenceCheckerTest {
     dict.addFile(Schema.C.getSchema());
 
     when(validationContext.getDictionary()).thenReturn(dict);
+
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
   }
 
   @Test
@@ -119,10 +119,10 @@ public class FileReferenceCheckerTest {
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.B.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
     // regardless of the listfile, the file exists
-    when(fs.getMatchingFileNames(anyString())).thenReturn(newArrayList(anyString()));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "C", "D"));
 
     checker.checkFile("testfile1");
-    verify(fs, times(2)).getMatchingFileNames(anyString());
+    verify(fs, times(2)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
@@ -133,9 +133,9 @@ public class FileReferenceCheckerTest {
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.B.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
     // no referencing and referenced file exists
-    when(fs.getMatchingFileNames(anyString())).thenReturn(Lists.<String> newArrayList());
+    when(fs.getSnapshot()).thenReturn(snapshot());
     checker.checkFile("testfile1");
-    verify(fs, times(2)).getMatchingFileNames(anyString());
+    verify(fs, times(2)).getSnapshot();
     TestUtils.checkReferentialErrorReported(validationContext, 2);
   }
 
@@ -146,9 +146,9 @@ public class FileReferenceCheckerTest {
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
 
     // no referenced file
-    when(fs.getMatchingFileNames(anyString())).thenAnswer(new NoSchemaFound("C"));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(2)).getMatchingFileNames(anyString());
+    verify(fs, times(2)).getSnapshot();
     TestUtils.checkReferentialErrorReported(validationContext, 1);
   }
 
@@ -159,9 +159,9 @@ public class FileReferenceCheckerTest {
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
 
     // no referenced file
-    when(fs.getMatchingFileNames(anyString())).thenAnswer(new NoSchemaFound("A"));
+    when(fs.getSnapshot()).thenReturn(snapshot("B", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(2)).getMatchingFileNames(anyString());
+    verify(fs, times(2)).getSnapshot();
     TestUtils.checkReferentialErrorReported(validationContext, 1);
   }
 
@@ -171,9 +171,9 @@ public class FileReferenceCheckerTest {
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.A.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
     // regardless of the listfile, the file exists
-    when(fs.getMatchingFileNames(anyString())).thenReturn(newArrayList(anyString()));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(1)).getMatchingFileNames(anyString());
+    verify(fs, times(1)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
@@ -183,9 +183,9 @@ public class FileReferenceCheckerTest {
     FileChecker baseChecker = spy(new FileNoOpChecker(validationContext, fs));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.A.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
-    when(fs.getMatchingFileNames(anyString())).thenAnswer(new NoSchemaFound("B"));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(1)).getMatchingFileNames(anyString());
+    verify(fs, times(1)).getSnapshot();
     TestUtils.checkReferentialErrorReported(validationContext, 1);
   }
 
@@ -194,9 +194,9 @@ public class FileReferenceCheckerTest {
     FileChecker baseChecker = spy(new FileNoOpChecker(validationContext, fs));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.A.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
-    when(fs.getMatchingFileNames(anyString())).thenAnswer(new NoSchemaFound("C"));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(1)).getMatchingFileNames(anyString());
+    verify(fs, times(1)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
@@ -206,9 +206,9 @@ public class FileReferenceCheckerTest {
     FileChecker baseChecker = spy(new FileNoOpChecker(validationContext, fs));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.C.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
-    when(fs.getMatchingFileNames(anyString())).thenReturn(newArrayList(anyString()));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(0)).getMatchingFileNames(anyString());
+    verify(fs, times(0)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
@@ -218,9 +218,9 @@ public class FileReferenceCheckerTest {
     FileChecker baseChecker = spy(new FileNoOpChecker(validationContext, fs));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.C.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
-    when(fs.getMatchingFileNames(anyString())).thenAnswer(new NoSchemaFound("B"));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(0)).getMatchingFileNames(anyString());
+    verify(fs, times(0)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
@@ -230,28 +230,20 @@ public class FileReferenceCheckerTest {
     FileChecker baseChecker = spy(new FileNoOpChecker(validationContext, fs));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> of(Schema.C.getSchema()));
     FileReferenceChecker checker = new FileReferenceChecker(baseChecker);
-    when(fs.getMatchingFileNames(anyString())).thenReturn(newArrayList(anyString()));
+    when(fs.getSnapshot()).thenReturn(snapshot("A", "B", "C", "D"));
     checker.checkFile("testfile1");
-    verify(fs, times(0)).getMatchingFileNames(anyString());
+    verify(fs, times(0)).getSnapshot();
     TestUtils.checkNoErrorsReported(validationContext);
     assertTrue(checker.isValid());
   }
 
-  private static class NoSchemaFound implements Answer<Iterable<String>> {
-
-    private final String schemaName;
-
-    public NoSchemaFound(String schemaName) {
-      this.schemaName = schemaName;
-    }
-
-    @Override
-    public Iterable<String> answer(InvocationOnMock invocation) throws Throwable {
-      String pattern = (String) invocation.getArguments()[0];
-      if (pattern.equals(schemaName)) return ImmutableList.of();
-      return ImmutableList.of(schemaName);
+  private static FPVDirectorySnapshot snapshot(String... fileNames) {
+    val fileSchemata = ImmutableList.<FileSchema> builder();
+    for (val schema : Schema.values()) {
+      fileSchemata.add(schema.getSchema());
     }
 
+    return FPVDirectorySnapshot.of(ImmutableList.copyOf(fileNames), fileSchemata.build());
   }
 
 }
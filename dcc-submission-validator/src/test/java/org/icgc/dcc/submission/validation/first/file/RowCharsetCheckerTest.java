@@ -26,6 +26,7 @@ import java.io.DataInputStream;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.row.TestUtils;
@@ -62,6 +63,7 @@ public class RowCharsetCheckerTest {
     when(dict.getFileSchemaByName(anyString())).thenReturn(Optional.of(testSchema));
     when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.of(testSchema));
     when(validationContext.getDictionary()).thenReturn(dict);
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
     when(baseChecker.getReportContext()).thenReturn(validationContext);
   }
 
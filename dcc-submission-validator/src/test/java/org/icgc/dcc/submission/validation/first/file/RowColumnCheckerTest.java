@@ -28,6 +28,7 @@ import java.io.DataInputStream;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.row.TestUtils;
@@ -67,6 +68,8 @@ public class RowColumnCheckerTest {
     when(dict.getFileSchemaByName(anyString())).thenReturn(option);
 
     when(validationContext.getDictionary()).thenReturn(dict);
+
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
   }
 
   @Test
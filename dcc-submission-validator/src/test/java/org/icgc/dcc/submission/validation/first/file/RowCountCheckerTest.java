@@ -29,6 +29,7 @@ import java.io.DataInputStream;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.junit.Before;
@@ -74,6 +75,8 @@ public class RowCountCheckerTest {
 
     when(validationContext.getDictionary()).thenReturn(dictionay);
 
+    when(validationContext.getCancellationToken()).thenReturn(new CancellationToken());
+
     this.checker = new RowCountChecker(new RowNoOpChecker(validationContext, fs));
   }
 
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class FPVDirectorySnapshotTest {
+
+  @Test
+  public void testSnapshot() {
+    val snapshot = FPVDirectorySnapshot.of(
+        ImmutableList.of("specimen.txt", "donor.1.txt.gz", "sample.txt", "donor.1.txt", "other.txt"),
+        ImmutableList.of(
+            schema("donor", "donor\\..*"),
+            schema("specimen", "specimen\\..*"),
+            schema("sample", "sample\\..*"),
+            schema("surgery", "surgery\\..*")));
+
+    assertThat(snapshot.getFileNames("donor")).containsExactly("donor.1.txt", "donor.1.txt.gz");
+    assertThat(snapshot.getFileNames("surgery")).isEmpty();
+
+    assertThat(snapshot.hasFiles("specimen")).isTrue();
+    assertThat(snapshot.hasFiles("surgery")).isFalse();
+
+    assertThat(snapshot.hasCollisions("donor")).isTrue();
+    assertThat(snapshot.hasCollisions("sample")).isFalse();
+
+    assertThat(snapshot.getMatchingFileNames(ImmutableList.of("sample\\..*", "specimen\\..*")))
+        .containsExactly("sample.txt", "specimen.txt");
+  }
+
+  @Test
+  public void testHasCollisions() {
+    assertThat(FPVDirectorySnapshot.hasCollisions(ImmutableList.<String> of())).isFalse();
+    assertThat(FPVDirectorySnapshot.hasCollisions(ImmutableList.of("a.txt", "b.txt"))).isFalse();
+    assertThat(FPVDirectorySnapshot.hasCollisions(ImmutableList.of("a.txt", "a.txt.1", "b.txt"))).isTrue();
+    assertThat(FPVDirectorySnapshot.hasCollisions(ImmutableList.of("a", "a.txt", "ab"))).isTrue();
+  }
+
+  private static FileSchema schema(String name, String pattern) {
+    val fileSchema = new FileSchema(name);
+    fileSchema.setPattern(pattern);
+
+    return fileSchema;
+  }
+
+}
@@ -52,6 +52,7 @@ import org.icgc.dcc.common.hadoop.fs.FileSystems;
 import org.icgc.dcc.submission.fs.ReleaseFileSystem;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.junit.Before;
@@ -148,6 +149,7 @@ public class KeyValidatorTest {
     when(context.getSubmissionDirectory()).thenReturn(submissionDirectory);
     when(context.getPlatformStrategy()).thenReturn(platformStrategy);
     when(context.getDictionary()).thenReturn(dictionary);
+    when(context.getCancellationToken()).thenReturn(new CancellationToken());
 
     return context;
   }
@@ -1,6 +1,7 @@
 package org.icgc.dcc.submission.validation.key.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.validation.key.surjectivity.SurjectionEngine.SORTED_RUN;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -10,6 +11,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.ValidationTests;
+import org.icgc.dcc.submission.validation.key.surjectivity.SurjectionConfig;
 import org.junit.Test;
 
 import cascading.flow.hadoop.HadoopFlowStep;
@@ -29,7 +31,8 @@ public class KVValidatorRunnerTest {
    */
   @Test
   public void testSerializable() throws URISyntaxException {
-    val runner = new KVValidatorRunner(new URI("file:///"), DataTypes.values(), getDictionary(), "", "", "");
+    val runner = new KVValidatorRunner(new URI("file:///"), DataTypes.values(), getDictionary(), "", "", "",
+        new SurjectionConfig(SORTED_RUN, 10, "/tmp"));
     val serialized = cascadingSerialize(runner);
     log.info("runner: {}, serialized: {}", runner, serialized);
 
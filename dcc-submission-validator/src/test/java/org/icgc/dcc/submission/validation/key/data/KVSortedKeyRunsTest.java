@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class KVSortedKeyRunsTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testReadInMemory() {
+    try (KVSortedKeyRuns runs = createRuns(100)) {
+      add(runs, "c", "a", "b", "a");
+
+      assertThat(runs.getRunCount()).isEqualTo(0);
+      assertThat(runs.getSize()).isEqualTo(4);
+      assertThat(read(runs)).containsExactly("a", "b", "c");
+    }
+  }
+
+  @Test
+  public void testReadSpilled() {
+    try (KVSortedKeyRuns runs = createRuns(2)) {
+      add(runs, "e", "c", "c", "a", "e", "b", "d");
+
+      assertThat(runs.getRunCount()).isEqualTo(3);
+      assertThat(read(runs)).containsExactly("a", "b", "c", "d", "e");
+
+      // Readable more than once
+      assertThat(read(runs)).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    assertThat(tmp.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void testCompaction() {
+    try (KVSortedKeyRuns runs = createRuns(1)) {
+      for (int i = 0; i < 100; i++) {
+        add(runs, String.format("%03d", 99 - i), "000");
+      }
+
+      assertThat(runs.getRunCount()).isLessThanOrEqualTo(65);
+      val keys = read(runs);
+      assertThat(keys).hasSize(100).startsWith("000", "001").endsWith("099");
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void testCompositeKeys() {
+    try (KVSortedKeyRuns runs = createRuns(1)) {
+      runs.add(KVKey.from(ImmutableList.of("a", "2", "x", "y"), ImmutableList.of(0, 1, 2, 3)));
+      runs.add(KVKey.from(ImmutableList.of("a", "1", "x", "z"), ImmutableList.of(0, 1, 2, 3)));
+      runs.add(KVKey.from(ImmutableList.of("a", "1", "x", "y"), ImmutableList.of(0, 1, 2, 3)));
+
+      try (KVSortedKeyRuns.Reader reader = runs.read()) {
+        assertThat(reader.next().getStringValues()).containsExactly("a", "1", "x", "y");
+        assertThat(reader.next().getStringValues()).containsExactly("a", "1", "x", "z");
+        assertThat(reader.next().getStringValues()).containsExactly("a", "2", "x", "y");
+        assertThat(reader.hasNext()).isFalse();
+      }
+    }
+  }
+
+  private KVSortedKeyRuns createRuns(int maxBufferedKeys) {
+    return new KVSortedKeyRuns(maxBufferedKeys, tmp.getRoot());
+  }
+
+  private static void add(KVSortedKeyRuns runs, String... values) {
+    for (val value : values) {
+      runs.add(KVKey.from(ImmutableList.of(value), ImmutableList.of(0)));
+    }
+  }
+
+  @SneakyThrows
+  private static List<String> read(KVSortedKeyRuns runs) {
+    val values = Lists.<String> newArrayList();
+    try (KVSortedKeyRuns.Reader reader = runs.read()) {
+      while (reader.hasNext()) {
+        values.add(reader.next().getStringValues()[0]);
+      }
+    }
+
+    return values;
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.surjectivity;
+
+import static org.icgc.dcc.submission.validation.key.core.KVFileType.DONOR;
+import static org.icgc.dcc.submission.validation.key.core.KVFileType.SPECIMEN;
+import static org.icgc.dcc.submission.validation.key.core.KVKeyType.PK;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.icgc.dcc.submission.validation.key.core.KVFileType;
+import org.icgc.dcc.submission.validation.key.data.KVEncounteredForeignKeys;
+import org.icgc.dcc.submission.validation.key.data.KVKey;
+import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
+import org.icgc.dcc.submission.validation.key.data.KVRow;
+import org.icgc.dcc.submission.validation.key.report.KVReporter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableTable;
+
+import lombok.val;
+
+public class SurjectivityValidatorTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  KVReporter reporter = mock(KVReporter.class);
+  KVPrimaryKeys expectedKeys = new KVPrimaryKeys();
+
+  @Before
+  public void setUp() {
+    for (int i = 0; i < 10; i++) {
+      expectedKeys.updatePks("donor1.txt", row("d" + i));
+    }
+    expectedKeys.updatePks("donor2.txt", row("d3"));
+    expectedKeys.updatePks("donor2.txt", row("e1"));
+  }
+
+  @Test
+  public void testHashProbe() {
+    validate(new SurjectionConfig(SurjectionEngine.HASH_PROBE, 1, null));
+  }
+
+  @Test
+  public void testSortedRun() {
+    validate(new SurjectionConfig(SurjectionEngine.SORTED_RUN, 3, tmp.getRoot().getPath()));
+  }
+
+  private void validate(SurjectionConfig config) {
+    val validator = new SurjectivityValidator(config);
+    try (KVEncounteredForeignKeys encounteredKeys = validator.createEncounteredForeignKeys()) {
+      // Every even donor, some more than once
+      for (int i = 0; i < 10; i += 2) {
+        encounteredKeys.addEncounteredForeignKey(key("d" + i));
+        encounteredKeys.addEncounteredForeignKey(key("d" + i));
+      }
+      encounteredKeys.addEncounteredForeignKey(key("d3"));
+
+      validator.validateSurjection(SPECIMEN, expectedKeys, encounteredKeys, reporter, DONOR);
+    }
+
+    verifyMissing("donor1.txt", "d1", "d5", "d7", "d9");
+    verifyMissing("donor2.txt", "e1");
+    verify(reporter, never()).reportSurjectionError(eq(SPECIMEN), anyString(), eq(key("d3")), eq(DONOR));
+    verify(reporter, times(5)).reportSurjectionError(any(KVFileType.class), anyString(), any(KVKey.class),
+        any(KVFileType.class));
+  }
+
+  private void verifyMissing(String fileName, String... values) {
+    for (val value : values) {
+      verify(reporter).reportSurjectionError(SPECIMEN, fileName, key(value), DONOR);
+    }
+  }
+
+  private static KVRow row(String value) {
+    return new KVRow(ImmutableTable.of(PK, DONOR, key(value)));
+  }
+
+  private static KVKey key(String value) {
+    return KVKey.from(ImmutableList.of(value), ImmutableList.of(0));
+  }
+
+}
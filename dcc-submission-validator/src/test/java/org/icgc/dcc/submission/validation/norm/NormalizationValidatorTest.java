@@ -36,7 +36,6 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.List;
-import java.util.UUID;
 
 import lombok.SneakyThrows;
 import lombok.val;
@@ -50,29 +49,24 @@ import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
+import org.icgc.dcc.submission.validation.core.ClinicalColumnIndex;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReporter;
-import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration;
-import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGenerationTest;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PowerMockIgnore;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
+import org.mockito.runners.MockitoJUnitRunner;
 
 import cascading.tap.Tap;
 
 import com.google.common.collect.ImmutableMap;
 
-@PowerMockIgnore({ "javax.management.*", "javax.xml.parsers.*", "com.sun.org.apache.xerces.internal.jaxp.*", "ch.qos.logback.*", "org.slf4j.*" })
-@RunWith(PowerMockRunner.class)
-@PrepareForTest({ PrimaryKeyGeneration.class })
+@RunWith(MockitoJUnitRunner.class)
 public class NormalizationValidatorTest {
 
   private static final CascadingContext ctx = CascadingContext.getLocal();
@@ -95,8 +89,10 @@ public class NormalizationValidatorTest {
       format("/tmp/submission/%s/%s/%s", COMPONENT_NAME, INPUT, FILE_NAME);
   private static final String SPEC_DERIVED_REFERENCE_FILE =
       format("/tmp/submission/%s/%s/%s", COMPONENT_NAME, REFERENCE, FILE_NAME);
+  private static final String OUTPUT_DIR =
+      format("/tmp/submission/%s/%s", COMPONENT_NAME, OUTPUT);
   private static final String OUTPUT_FILE =
-      format("/tmp/submission/%s/%s/%s", COMPONENT_NAME, OUTPUT, FILE_NAME);
+      format("%s/%s", OUTPUT_DIR, FILE_NAME);
 
   public static final String OBSERVATION_ID_DEFAULT_VALUE = "v1";
 
@@ -108,6 +104,9 @@ public class NormalizationValidatorTest {
   @Mock
   private SubmissionDirectory mockSubmissionDirectory;
 
+  @Mock
+  private ClinicalColumnIndex mockClinicalColumnIndex;
+
   @Mock
   private SubmissionPlatformStrategy mockPlatformStrategy;
 
@@ -137,6 +136,8 @@ public class NormalizationValidatorTest {
     when(mockDictionary.getFileSchema(SSM_P_TYPE))
         .thenReturn(mockFileSchema);
 
+    when(mockValidationContext.getCancellationToken())
+        .thenReturn(new CancellationToken());
     when(mockValidationContext.getDictionary())
         .thenReturn(mockDictionary);
     when(mockValidationContext.getSubmissionDirectory())
@@ -150,8 +151,10 @@ public class NormalizationValidatorTest {
     when(mockValidationContext.getPlatformStrategy())
         .thenReturn(mockPlatformStrategy);
     when(mockValidationContext.getOutputDirPath())
-        .thenReturn(FILE_NAME);
-    when(mockSubmissionDirectory.getSampleToDonorMap(mockDictionary)).thenReturn(
+        .thenReturn(OUTPUT_DIR);
+    when(mockValidationContext.getClinicalColumnIndex())
+        .thenReturn(mockClinicalColumnIndex);
+    when(mockClinicalColumnIndex.getSampleToDonorMap()).thenReturn(
         new ImmutableMap.Builder<String, String>()
             .put("00302", "dr1")
             .put("00312", "dr1")
@@ -168,11 +171,25 @@ public class NormalizationValidatorTest {
   @Test
   public void test_normalization_basic() {
 
-    mockUUID(true);
+    properties.getSteps().put("duplicates.enabled", "true");
+    test(NormalizationValidator.getDefaultInstance(mockDccFileSystem2, properties),
+        BASIC_INPUT_FILE, BASIC_REFERENCE_FILE);
+
+    verifyBasicInternalReport();
+  }
+
+  @SneakyThrows
+  @Test
+  public void test_normalization_basic_stepwise() {
 
     properties.getSteps().put("duplicates.enabled", "true");
-    test(BASIC_INPUT_FILE, BASIC_REFERENCE_FILE);
+    test(NormalizationValidator.getStepwiseInstance(mockDccFileSystem2, properties),
+        BASIC_INPUT_FILE, BASIC_REFERENCE_FILE);
+
+    verifyBasicInternalReport();
+  }
 
+  private void verifyBasicInternalReport() {
     // Check internal report
     verify(mockDccFileSystem2, times(1))
         .writeNormalizationReport(
@@ -197,15 +214,15 @@ public class NormalizationValidatorTest {
     ExecutableSpecConverter.convert(
         EXECUTABLE_SPEC_FILE,
         SPEC_DERIVED_INPUT_FILE, SPEC_DERIVED_REFERENCE_FILE);
-    mockUUID(false);
     properties.getSteps().put("duplicates.enabled", "false");
 
-    test(SPEC_DERIVED_INPUT_FILE, SPEC_DERIVED_REFERENCE_FILE);
+    test(NormalizationValidator.getDefaultInstance(mockDccFileSystem2, properties),
+        SPEC_DERIVED_INPUT_FILE, SPEC_DERIVED_REFERENCE_FILE);
 
   }
 
   @SneakyThrows
-  private void test(String inputFile, String referenceFile) {
+  private void test(NormalizationValidator validator, String inputFile, String referenceFile) {
     mockInputTap(inputFile);
     when(mockPlatformStrategy.getFlowConnector())
         .thenReturn(ctx.getConnectors().getFlowConnector());
@@ -213,7 +230,7 @@ public class NormalizationValidatorTest {
         .thenReturn(newArrayList(new Path(inputFile)));
 
     new File(OUTPUT_FILE).delete();
-    normalizationValidator = spy(NormalizationValidator.getDefaultInstance(mockDccFileSystem2, properties));
+    normalizationValidator = spy(validator);
     mockOutputTap(OUTPUT_FILE);
 
     normalizationValidator.validate(mockValidationContext);
@@ -228,30 +245,6 @@ public class NormalizationValidatorTest {
         .isEqualTo(NEWLINE.join(referenceLines));
   }
 
-  /**
-   * Copied from {@link PrimaryKeyGenerationTest#mockUUID()}, somehow we can't seem to be able to use it directly
-   * (probably because of powermock).
-   */
-  public void mockUUID(boolean incremental) {
-    PowerMockito.mockStatic(UUID.class);
-    UUID mockUuid = PowerMockito.mock(UUID.class);
-    val stub = PowerMockito.when(mockUuid.toString()).thenReturn(OBSERVATION_ID_DEFAULT_VALUE);
-    if (incremental) {
-      stub.thenReturn("v2")
-          .thenReturn("v3")
-          .thenReturn("v4")
-          .thenReturn("v5")
-          .thenReturn("v6")
-          .thenReturn("v7")
-          .thenReturn("v8")
-          .thenReturn("v9")
-          .thenReturn("v10");
-    }
-
-    PowerMockito.when(UUID.randomUUID())
-        .thenReturn(mockUuid);
-  }
-
   // TODO: Shouldn't have to do that
   @SuppressWarnings("unchecked")
   private void mockInputTap(String inputFile) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void test_cardinality_exact() {
+    val sketch = new HyperLogLog();
+    sketch.offer("a1");
+    sketch.offer("a2");
+    sketch.offer("a1");
+    sketch.offer(null);
+    sketch.offer(null);
+
+    assertThat(sketch.isExact()).isTrue();
+    assertThat(sketch.cardinality()).isEqualTo(3);
+  }
+
+  @Test
+  public void test_cardinality_approximate() {
+    val sketch = new HyperLogLog();
+    int count = 100000;
+    for (int i = 0; i < count; i++) {
+      sketch.offer("analysis-" + i);
+      sketch.offer("analysis-" + i);
+    }
+
+    assertThat(sketch.isExact()).isFalse();
+    assertThat((double) sketch.cardinality()).isBetween(count * 0.97, count * 1.03);
+  }
+
+  @Test
+  public void test_merge() {
+    val left = new HyperLogLog();
+    val right = new HyperLogLog();
+    for (int i = 0; i < 1000; i++) {
+      left.offer("analysis-" + i);
+      right.offer("analysis-" + (i + 500));
+    }
+
+    left.merge(right);
+    assertThat(left.cardinality()).isEqualTo(1500);
+
+    // Idempotent
+    left.merge(right);
+    assertThat(left.cardinality()).isEqualTo(1500);
+  }
+
+  @Test
+  public void test_merge_mixed_modes() {
+    val exact = new HyperLogLog();
+    val approximate = new HyperLogLog();
+    for (int i = 0; i < 10; i++) {
+      exact.offer("exact-" + i);
+    }
+    for (int i = 0; i < HyperLogLog.EXACT_THRESHOLD * 4; i++) {
+      approximate.offer("approximate-" + i);
+    }
+
+    val expected = HyperLogLog.EXACT_THRESHOLD * 4 + 10;
+    exact.merge(approximate);
+    assertThat(exact.isExact()).isFalse();
+    assertThat((double) exact.cardinality()).isBetween(expected * 0.97, expected * 1.03);
+  }
+
+  @Test
+  public void test_serialization() {
+    val exact = new HyperLogLog();
+    exact.offer("a1");
+    exact.offer("a2");
+    assertThat(roundTrip(exact).cardinality()).isEqualTo(2);
+
+    val approximate = new HyperLogLog();
+    for (int i = 0; i < HyperLogLog.EXACT_THRESHOLD * 4; i++) {
+      approximate.offer("analysis-" + i);
+    }
+    assertThat(roundTrip(approximate).cardinality()).isEqualTo(approximate.cardinality());
+  }
+
+  @SneakyThrows
+  private static HyperLogLog roundTrip(HyperLogLog sketch) {
+    val bytes = new ByteArrayOutputStream();
+    sketch.write(new DataOutputStream(bytes));
+
+    return HyperLogLog.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+}
@@ -23,27 +23,20 @@ import java.util.Iterator;
 import java.util.UUID;
 
 import org.icgc.dcc.submission.validation.cascading.CascadingTestUtils;
-import org.icgc.dcc.submission.validation.norm.NormalizationValidatorTest;
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
 
 import cascading.operation.Function;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
 
-@RunWith(PowerMockRunner.class)
-@PrepareForTest({ PrimaryKeyGeneration.class })
 public class PrimaryKeyGenerationTest {
 
+  private static final String NAMESPACE = "dummy_project";
+
   @Test
   public void test_cascading_PrimaryKeyGenerator() {
-    mockUUID();
-
-    Function<?> function = new PrimaryKeyGeneration.PrimaryKeyGenerator();
+    Function<?> function = new PrimaryKeyGeneration.PrimaryKeyGenerator(NAMESPACE);
 
     Fields inputFields =
         new Fields("f1", "f2")
@@ -59,28 +52,22 @@ public class PrimaryKeyGenerationTest {
     Fields resultFields = PrimaryKeyGeneration.OBSERVATION_ID_FIELD;
 
     Tuple[] resultTuples = new Tuple[] {
-        new Tuple("v1"),
-        new Tuple("v2"),
-        new Tuple("v3")
+        new Tuple(getExpectedObservationId(0)),
+        new Tuple(getExpectedObservationId(1)),
+        new Tuple(getExpectedObservationId(2))
     };
 
     Iterator<TupleEntry> iterator = CascadingTestUtils.invokeFunction(function, entries, resultFields);
     checkOperationResults(iterator, resultTuples);
-  }
 
-  /**
-   * If updating this method, also update its clone in {@link NormalizationValidatorTest#mockUUID()} (see comment on
-   * it).
-   */
-  public void mockUUID() {
-    PowerMockito.mockStatic(UUID.class);
-    UUID mockUuid = PowerMockito.mock(UUID.class);
-    PowerMockito.when(mockUuid.toString())
-        .thenReturn("v1")
-        .thenReturn("v2")
-        .thenReturn("v3");
+    // Must be reproducible
+    iterator = CascadingTestUtils.invokeFunction(function, entries, resultFields);
+    checkOperationResults(iterator, resultTuples);
+  }
 
-    PowerMockito.when(UUID.randomUUID())
-        .thenReturn(mockUuid);
+  private static String getExpectedObservationId(long sequence) {
+    long mostSignificantBits = PrimaryKeyGeneration.PrimaryKeyGenerator.getMostSignificantBits(NAMESPACE, 0);
+    return new UUID(mostSignificantBits, sequence).toString();
   }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.steps;
+
+import static org.icgc.dcc.submission.validation.cascading.CascadingTestUtils.checkOperationResults;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.submission.validation.cascading.CascadingTestUtils;
+import org.junit.Test;
+
+import cascading.CascadingTestCase;
+import cascading.operation.Function;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+
+public class RowNormalizationTest extends CascadingTestCase {
+
+  private static final String NAMESPACE = "dummy_project";
+
+  private static final Fields INPUT_FIELDS =
+      new Fields("f1", "f2")
+          .append(SensitiveRowMarking.REFERENCE_GENOME_ALLELE_FIELD)
+          .append(SensitiveRowMarking.CONTROL_GENOTYPE_FIELD)
+          .append(SensitiveRowMarking.TUMOUR_GENOTYPE_FIELD)
+          .append(SensitiveRowMarking.MUTATED_FROM_ALLELE_FIELD)
+          .append(SensitiveRowMarking.MUTATED_TO_ALLELE_FIELD)
+          .append(RowNormalization.ADDED_FIELDS);
+
+  private static final String DUMMY_VALUE = "dummy";
+
+  @Test
+  public void test_cascading_RowNormalizer_masking() {
+    Function<?> function = new RowNormalization.RowNormalizer(true, NAMESPACE);
+
+    Iterator<TupleEntry> iterator = CascadingTestUtils.invokeFunction(function, getEntries(), INPUT_FIELDS);
+
+    Tuple[] resultTuples = new Tuple[] {
+        new Tuple(DUMMY_VALUE, DUMMY_VALUE, "A", "A/A", "A/T", "A", "T",
+            Marking.OPEN.getTupleValue(), "A>T", getExpectedObservationId(0)),
+        new Tuple(DUMMY_VALUE, DUMMY_VALUE, "A", "G/G", "G/T", "G", "T",
+            Marking.CONTROLLED.getTupleValue(), "G>T", getExpectedObservationId(1)),
+        new Tuple(DUMMY_VALUE, DUMMY_VALUE, "A",
+            null, null, // Erased
+            "A", // Changed to match reference genome allele
+            "T",
+            Marking.MASKED.getTupleValue(), "A>T", getExpectedObservationId(2))
+    };
+    checkOperationResults(iterator, resultTuples);
+  }
+
+  @Test
+  public void test_cascading_RowNormalizer_no_masking() {
+    Function<?> function = new RowNormalization.RowNormalizer(false, NAMESPACE);
+
+    Iterator<TupleEntry> iterator = CascadingTestUtils.invokeFunction(function, getEntries(), INPUT_FIELDS);
+
+    Tuple[] resultTuples = new Tuple[] {
+        new Tuple(DUMMY_VALUE, DUMMY_VALUE, "A", "A/A", "A/T", "A", "T",
+            Marking.OPEN.getTupleValue(), "A>T", getExpectedObservationId(0)),
+        new Tuple(DUMMY_VALUE, DUMMY_VALUE, "A", "G/G", "G/T", "G", "T",
+            Marking.CONTROLLED.getTupleValue(), "G>T", getExpectedObservationId(1))
+    };
+    checkOperationResults(iterator, resultTuples);
+  }
+
+  private static TupleEntry[] getEntries() {
+    return new TupleEntry[] {
+        new TupleEntry(INPUT_FIELDS, new Tuple(
+            DUMMY_VALUE, DUMMY_VALUE, "A", "A/A", "A/T", "A", "T", Marking.OPEN.getTupleValue(), null, null)),
+        new TupleEntry(INPUT_FIELDS, new Tuple(
+            DUMMY_VALUE, DUMMY_VALUE, "A", "G/G", "G/T", "G", "T", Marking.OPEN.getTupleValue(), null, null))
+    };
+  }
+
+  private static String getExpectedObservationId(long sequence) {
+    long mostSignificantBits = PrimaryKeyGeneration.PrimaryKeyGenerator.getMostSignificantBits(NAMESPACE, 0);
+    return new UUID(mostSignificantBits, sequence).toString();
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.platform;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Strings.repeat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+import static org.icgc.dcc.submission.validation.platform.FlowExecution.CLUSTER;
+import static org.icgc.dcc.submission.validation.platform.FlowExecution.IN_PROCESS;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.validation.primary.report.NewlineIndex;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class HybridSubmissionPlatformStrategyTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  HybridSubmissionPlatformStrategy strategy;
+  File submissionDir;
+
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    submissionDir = tmp.newFolder("submission");
+    val validationDir = new File(submissionDir, VALIDATION_DIRNAME);
+    validationDir.mkdir();
+
+    strategy = new HybridSubmissionPlatformStrategy(
+        ImmutableMap.<String, String> of(),
+        FileSystem.getLocal(new Configuration()),
+        new Path(submissionDir.getAbsolutePath()),
+        new Path(validationDir.getAbsolutePath()),
+        new HybridThresholds(1000, 100));
+  }
+
+  @Test
+  public void testSmallFileIsExecutedInProcess() {
+    writeFile("donor.txt", 10);
+
+    assertThat(strategy.getFlowExecution("donor.txt")).isEqualTo(IN_PROCESS);
+    assertThat(strategy.getFlowConnector("donor.txt").getProperties()).containsEntry("mapred.job.tracker", "local");
+  }
+
+  @Test
+  public void testLargeFileIsExecutedOnTheCluster() {
+    writeFile("ssm_p.txt", 1000);
+
+    assertThat(strategy.getFlowExecution("ssm_p.txt")).isEqualTo(CLUSTER);
+    assertThat(strategy.getFlowConnector("ssm_p.txt").getProperties()).doesNotContainEntry("mapred.job.tracker",
+        "local");
+  }
+
+  @Test
+  @SneakyThrows
+  public void testFileWithManyRowsIsExecutedOnTheCluster() {
+    writeFile("specimen.txt", 10);
+
+    // As if the first pass counted more rows than the threshold
+    val index = new NewlineIndex(10);
+    for (int i = 0; i < 200; i++) {
+      index.newline(i);
+    }
+
+    val indexFile = new File(new File(submissionDir, VALIDATION_DIRNAME), NewlineIndex.getIndexFileName(
+        "specimen.txt"));
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(indexFile))) {
+      index.write(out);
+    }
+
+    assertThat(strategy.getFlowExecution("specimen.txt")).isEqualTo(CLUSTER);
+  }
+
+  @SneakyThrows
+  private void writeFile(String fileName, int rows) {
+    Files.write(repeat("a\tb\n", rows), new File(submissionDir, fileName), UTF_8);
+  }
+
+}
@@ -88,6 +88,38 @@ public class ByteOffsetToLineNumberTest {
     }
   }
 
+  @Test
+  @SneakyThrows
+  public void testConvertWithIndex() {
+    for (val file : new File(TEST_DIR).listFiles()) {
+      if (file.getName().endsWith("bz2")) {
+        // Skip this file as it is for the other test only.
+        continue;
+      }
+
+      log.info("Processing '{}'", file.getName());
+      val mapping = getMapping(file);
+
+      // Only every other offset to exercise skipping ahead
+      val expected = ImmutableMap.<Long, Long> builder();
+      int i = 0;
+      for (val entry : mapping.entrySet()) {
+        if (i++ % 2 == 0) {
+          expected.put(entry);
+        }
+      }
+
+      Path path = new Path(tmp.getRoot().getAbsolutePath(), file.getName());
+      fileSystem.copyFromLocalFile(new Path(file.toURI()), path);
+      writeIndex(file, path);
+
+      // Exercise
+      val actual = ByteOffsetToLineNumber.convert(path, expected.build().keySet(), false);
+
+      assertThat(actual).isEqualTo(expected.build());
+    }
+  }
+
   /**
    * See https://jira.oicr.on.ca/browse/DCC-4752
    */
@@ -122,6 +154,21 @@ public class ByteOffsetToLineNumberTest {
     return mapping.build();
   }
 
+  @SneakyThrows
+  private void writeIndex(File file, Path path) {
+    val index = new NewlineIndex(3);
+    val bytes = getBytes(file);
+    for (int offset = 0; offset < bytes.length; offset++) {
+      if (bytes[offset] == '\n') {
+        index.newline(offset);
+      }
+    }
+
+    @Cleanup
+    val output = fileSystem.create(NewlineIndex.getIndexPath(path), true);
+    index.write(output);
+  }
+
   @SneakyThrows
   private static byte[] getBytes(File file) {
     @Cleanup
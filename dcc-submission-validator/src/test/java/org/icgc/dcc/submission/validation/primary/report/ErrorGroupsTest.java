@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.REGEX_ERROR;
+import static org.icgc.dcc.submission.validation.primary.report.ErrorGroup.MAXIMUM_NUM_SAMPLES;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroupsSerialization.ErrorGroupsDeserializer;
+import org.icgc.dcc.submission.validation.primary.report.ErrorGroupsSerialization.ErrorGroupsSerializer;
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class ErrorGroupsTest {
+
+  @Test
+  public void testGroupsByTypeColumnsAndParameters() {
+    val groups = new ErrorGroups();
+    groups.add(state(1, "f1", REGEX_ERROR, "a", "^x$"));
+    groups.add(state(2, "f1", REGEX_ERROR, "b", "^y$"));
+    groups.add(state(3, "f1", REGEX_ERROR, "c", "^x$"));
+    groups.add(state(4, "f2", CODELIST_ERROR, "d"));
+
+    val result = groups.getGroups();
+    assertThat(result).hasSize(3);
+    assertThat(result.get(0).getCount()).isEqualTo(2);
+    assertThat(result.get(0).getLineNumbers()).containsExactly(1L, 3L);
+    assertThat(result.get(0).getValues()).containsExactly("a", "c");
+    assertThat(result.get(1).getCount()).isEqualTo(1);
+    assertThat(result.get(2).getType()).isEqualTo(CODELIST_ERROR);
+    assertThat(result.get(2).getColumnNames()).containsExactly("f2");
+  }
+
+  @Test
+  public void testSampleIsBounded() {
+    val groups = new ErrorGroups();
+    int count = MAXIMUM_NUM_SAMPLES * 3;
+    for (int i = count; i > 0; i--) {
+      groups.add(state(i, "f1", CODELIST_ERROR, "v" + i));
+    }
+
+    val group = groups.getGroups().get(0);
+    assertThat(group.getCount()).isEqualTo(count);
+    assertThat(group.getLineNumbers()).hasSize(MAXIMUM_NUM_SAMPLES).startsWith(1L, 2L, 3L);
+    assertThat(group.getValues()).hasSize(MAXIMUM_NUM_SAMPLES).startsWith("v1", "v2", "v3");
+    assertThat(group.getUnsampledCount()).isEqualTo(count - MAXIMUM_NUM_SAMPLES);
+  }
+
+  @Test
+  public void testMergeIsOrderIndependent() {
+    val even = new ErrorGroups();
+    val odd = new ErrorGroups();
+    for (int i = 0; i < MAXIMUM_NUM_SAMPLES * 2; i++) {
+      (i % 2 == 0 ? even : odd).add(state(i, "f1", CODELIST_ERROR, "v" + i));
+    }
+
+    val evenThenOdd = new ErrorGroups();
+    evenThenOdd.merge(roundTrip(even));
+    evenThenOdd.merge(roundTrip(odd));
+    val oddThenEven = new ErrorGroups();
+    oddThenEven.merge(roundTrip(odd));
+    oddThenEven.merge(roundTrip(even));
+
+    assertThat(evenThenOdd.getGroups()).isEqualTo(oddThenEven.getGroups());
+    assertThat(evenThenOdd.getGroups().get(0).getCount()).isEqualTo(MAXIMUM_NUM_SAMPLES * 2);
+    assertThat(evenThenOdd.getGroups().get(0).getLineNumbers()).startsWith(0L, 1L, 2L);
+  }
+
+  private static TupleState state(long offset, String columnName, ErrorType type, Object value, Object... params) {
+    val state = new TupleState(offset);
+    state.reportError(type, columnName, value, params);
+
+    return state;
+  }
+
+  @SneakyThrows
+  private static ErrorGroups roundTrip(ErrorGroups groups) {
+    val bytes = new ByteArrayOutputStream();
+    val serializer = new ErrorGroupsSerializer();
+    serializer.open(bytes);
+    serializer.serialize(groups);
+
+    val deserializer = new ErrorGroupsDeserializer();
+    deserializer.open(new ByteArrayInputStream(bytes.toByteArray()));
+
+    return deserializer.deserialize(null);
+  }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class FieldStatsTest {
+
+  @Test
+  public void testCompleteness() {
+    val stats = new FieldStats(2, false);
+    stats.add(0, "a", false);
+    stats.add(0, "", false);
+    stats.add(0, null, false);
+    stats.add(0, null, true);
+    stats.add(1, "not a number", false);
+
+    assertThat(stats.getPopulated(0)).isEqualTo(1);
+    assertThat(stats.getNulls(0)).isEqualTo(2);
+    assertThat(stats.getMissing(0)).isEqualTo(1);
+    assertThat(stats.getPopulated(1)).isEqualTo(1);
+  }
+
+  @Test
+  public void testMoments() {
+    val stats = new FieldStats(1, true);
+    for (val value : new Object[] { 2, 4L, "4", 4.0, 5, 5, 7, 9, null }) {
+      stats.add(0, value, false);
+    }
+
+    assertThat(stats.getCount(0)).isEqualTo(8);
+    assertThat(stats.getNulls(0)).isEqualTo(1);
+    assertThat(stats.getMin(0)).isEqualTo(2.0);
+    assertThat(stats.getMax(0)).isEqualTo(9.0);
+    assertThat(stats.getAverage(0)).isEqualTo(5.0, offset(1e-12));
+    assertThat(stats.getStandardDeviation(0)).isEqualTo(2.0, offset(1e-12));
+  }
+
+  @Test
+  public void testNoValues() {
+    val stats = new FieldStats(1, true);
+    stats.add(0, null, false);
+
+    assertThat(stats.getMin(0)).isNull();
+    assertThat(stats.getMax(0)).isNull();
+    assertThat(stats.getAverage(0)).isNaN();
+  }
+
+  @Test
+  public void testStability() {
+    // Large offset with a small spread, where the sum of squares approach loses all precision
+    val stats = new FieldStats(1, true);
+    for (int i = 0; i < 1000; i++) {
+      stats.add(0, 1e9 + (i % 2), false);
+    }
+
+    assertThat(stats.getStandardDeviation(0)).isEqualTo(0.5, offset(1e-6));
+  }
+
+  @Test
+  public void testMerge() {
+    val all = new FieldStats(1, true);
+    val left = new FieldStats(1, true);
+    val right = new FieldStats(1, true);
+    for (int i = 0; i < 100; i++) {
+      val value = i * 1.5 - 20;
+      all.add(0, value, false);
+      (i < 30 ? left : right).add(0, value, false);
+    }
+    right.add(0, null, true);
+
+    left.merge(right);
+    left.merge(new FieldStats(1, true));
+
+    assertThat(left.getCount(0)).isEqualTo(all.getCount(0));
+    assertThat(left.getMissing(0)).isEqualTo(1);
+    assertThat(left.getMin(0)).isEqualTo(all.getMin(0));
+    assertThat(left.getMax(0)).isEqualTo(all.getMax(0));
+    assertThat(left.getAverage(0)).isEqualTo(all.getAverage(0), offset(1e-9));
+    assertThat(left.getStandardDeviation(0)).isEqualTo(all.getStandardDeviation(0), offset(1e-9));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMergeDifferentShapes() {
+    new FieldStats(1, true).merge(new FieldStats(2, true));
+  }
+
+  @Test
+  public void testWriteRead() {
+    val stats = new FieldStats(3, true);
+    stats.add(0, 1.5, false);
+    stats.add(0, 2.5, false);
+    stats.add(1, null, true);
+
+    val read = writeRead(stats);
+
+    assertThat(read.isNumeric()).isTrue();
+    assertThat(read.getColumnCount()).isEqualTo(3);
+    assertThat(read.getCount(0)).isEqualTo(2);
+    assertThat(read.getAverage(0)).isEqualTo(2.0);
+    assertThat(read.getStandardDeviation(0)).isEqualTo(0.5);
+    assertThat(read.getMissing(1)).isEqualTo(1);
+    assertThat(read.getMin(2)).isNull();
+  }
+
+  @SneakyThrows
+  private static FieldStats writeRead(FieldStats stats) {
+    val bytes = new ByteArrayOutputStream();
+    stats.write(new DataOutputStream(bytes));
+
+    return FieldStats.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+}
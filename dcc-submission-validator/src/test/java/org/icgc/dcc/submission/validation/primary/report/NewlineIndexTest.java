@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class NewlineIndexTest {
+
+  @Test
+  public void test_floor() {
+    // Lines of 10 bytes
+    val index = new NewlineIndex(2);
+    for (int line = 0; line < 100; line++) {
+      index.newline(line * 10 + 9);
+    }
+
+    assertThat(index.getCheckpointCount()).isEqualTo(51);
+    assertThat(index.floor(0)).isEqualTo(0);
+    assertThat(index.floor(19)).isEqualTo(0);
+    assertThat(index.floor(20)).isEqualTo(1);
+    assertThat(index.getCheckpointOffset(1)).isEqualTo(20);
+    assertThat(index.getCheckpointLineNumber(1)).isEqualTo(3);
+    assertThat(index.floor(995)).isEqualTo(49);
+    assertThat(index.floor(5000)).isEqualTo(50);
+  }
+
+  @Test
+  @SneakyThrows
+  public void test_serialization() {
+    val index = new NewlineIndex(4);
+    for (int line = 0; line < 10; line++) {
+      index.newline(line * 5 + 4);
+    }
+
+    val bytes = new ByteArrayOutputStream();
+    index.write(new DataOutputStream(bytes));
+    val actual = NewlineIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(actual.getInterval()).isEqualTo(4);
+    assertThat(actual.getCheckpointCount()).isEqualTo(3);
+    assertThat(actual.getCheckpointOffset(2)).isEqualTo(40);
+    assertThat(actual.getCheckpointLineNumber(2)).isEqualTo(9);
+  }
+
+  @Test
+  public void test_getIndexPath() {
+    assertThat(NewlineIndex.getIndexPath(new Path("/release1/project1/ssm_p.txt.gz")))
+        .isEqualTo(new Path("/release1/project1/.validation/ssm_p.txt.gz.newlines"));
+  }
+
+}
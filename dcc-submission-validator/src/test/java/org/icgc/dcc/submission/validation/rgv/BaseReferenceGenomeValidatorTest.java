@@ -36,6 +36,7 @@ import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.validation.core.CancellationToken;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.rgv.reference.HtsjdkReferenceGenome;
 import org.junit.Before;
@@ -91,6 +92,7 @@ public class BaseReferenceGenomeValidatorTest {
     val context = mock(ValidationContext.class);
     val submissionDirectory = mock(SubmissionDirectory.class);
     when(context.getProjectKey()).thenReturn("project.test");
+    when(context.getCancellationToken()).thenReturn(new CancellationToken());
     when(context.getDataTypes()).thenReturn(DataTypes.values());
     when(context.getFileSystem()).thenReturn(fileSystem);
     when(context.getFiles(SSM_P_TYPE)).thenReturn(ImmutableList.<Path> of(ssmPrimaryFile));